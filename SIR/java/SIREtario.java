@@ -0,0 +1,115 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import nucleo.EstadoSimulacao;
+import nucleo.Integrador;
+import nucleo.MatrizContato;
+import nucleo.ModeloSIREtario;
+
+/**
+ * Modelo SIR estruturado por idade resolvido com RK4: G grupos misturados por
+ * uma matriz de contatos (nucleo.ModeloSIREtario). A força de infecção de cada
+ * estágio é um produto matriz-vetor denso (G² operações); com numeroThreads > 1
+ * e matrizes grandes (>= 128 grupos), as linhas do produto são divididas entre
+ * as threads.
+ */
+public class SIREtario {
+
+    // Parâmetros da simulação
+    private final double[] populacoesGrupos;
+    private final MatrizContato contatos;
+    private final double taxaTransmissao;
+    private final double taxaRecuperacao;
+    private final double[] infectadosIniciais;
+    private final double tempoMaximo;
+    private final int numeroPassos;
+    private final int numeroThreads;
+
+    // Construtor (população e infectados iniciais divididos igualmente entre os grupos)
+    public SIREtario(double populacaoTotal, MatrizContato contatos, double taxaTransmissao, double taxaRecuperacao,
+                     double infectadosIniciais, double tempoMaximo, int numeroPassos, int numeroThreads) {
+        this(dividir(populacaoTotal, contatos.getNumeroGrupos()), contatos, taxaTransmissao, taxaRecuperacao,
+             dividir(infectadosIniciais, contatos.getNumeroGrupos()), tempoMaximo, numeroPassos, numeroThreads);
+    }
+
+    // Construtor com populações e infectados iniciais por grupo
+    public SIREtario(double[] populacoesGrupos, MatrizContato contatos, double taxaTransmissao, double taxaRecuperacao,
+                     double[] infectadosIniciais, double tempoMaximo, int numeroPassos, int numeroThreads) {
+        this.populacoesGrupos = populacoesGrupos.clone();
+        this.contatos = contatos;
+        this.taxaTransmissao = taxaTransmissao;
+        this.taxaRecuperacao = taxaRecuperacao;
+        this.infectadosIniciais = infectadosIniciais.clone();
+        this.tempoMaximo = tempoMaximo;
+        this.numeroPassos = numeroPassos;
+        this.numeroThreads = numeroThreads;
+    }
+
+    private static double[] dividir(double total, int numeroGrupos) {
+        double[] grupos = new double[numeroGrupos];
+        Arrays.fill(grupos, total / numeroGrupos);
+        return grupos;
+    }
+
+    // --- 1. Simulação RK4 acompanhando o total de infectados ---
+    public double executarSimulacao() {
+        System.out.println("Iniciando simulação SIR etária com " + populacoesGrupos.length + " grupos e "
+            + numeroPassos + " passos...");
+        long tempoInicio = System.nanoTime();
+
+        ForkJoinPool pool = numeroThreads > 1 ? new ForkJoinPool(numeroThreads) : null;
+        try {
+            ModeloSIREtario modelo = new ModeloSIREtario(populacoesGrupos, contatos, taxaTransmissao, taxaRecuperacao)
+                .comParalelismo(pool);
+            double[] estadoInicial = modelo.estadoInicial(infectadosIniciais);
+
+            // Pico do total de infectados (soma dos grupos) em fluxo, sem guardar a trajetória
+            double[] pico = {modelo.infectadosTotais(estadoInicial), 0.0};
+            EstadoSimulacao estadoFinal = EstadoSimulacao.inicial(modelo, estadoInicial,
+                    Integrador.incrementoTempo(tempoMaximo, numeroPassos))
+                .avancar(numeroPassos - 1, (passo, tempo, estado) -> {
+                    double infectados = modelo.infectadosTotais(estado);
+                    if (infectados > pico[0]) {
+                        pico[0] = infectados;
+                        pico[1] = tempo;
+                    }
+                });
+
+            double[] estado = estadoFinal.getEstado();
+            double populacaoTotal = 0, recuperados = 0;
+            for (int i = 0; i < populacoesGrupos.length; i++) {
+                populacaoTotal += populacoesGrupos[i];
+                recuperados += estado[2 * populacoesGrupos.length + i];
+            }
+            System.out.printf("Pico de infectados: %.2f no dia %.2f; taxa de ataque final: %.2f%%\n",
+                              pico[0], pico[1], 100.0 * recuperados / populacaoTotal);
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+
+        long tempoFim = System.nanoTime();
+        double tempoDecorridoMs = (tempoFim - tempoInicio) / 1_000_000.0;
+        System.out.printf("Tempo de execução: %.4f milissegundos\n", tempoDecorridoMs);
+        return tempoDecorridoMs;
+    }
+
+    // --- 2. Main para Execução ---
+    public static void main(String[] args) {
+        // 16 faixas etárias de 5 anos, contatos concentrados em idades próximas; surto iniciado na faixa 20-24
+        double[] infectadosIniciais = new double[16];
+        infectadosIniciais[4] = 10.0;
+        SIREtario simulacao = new SIREtario(dividir(1000000.0, 16), MatrizContato.assortativa(16, 12.0, 2.0),
+                                            0.02, 1.0 / 10.0, infectadosIniciais, 500.0, 50000, 1);
+        double tempoExecucao = simulacao.executarSimulacao();
+        System.out.printf("Tempo de execução (16 grupos): %.4f ms\n", tempoExecucao);
+
+        // 256 grupos (ex.: idade × região): produto dividido entre as threads disponíveis
+        SIREtario simulacaoGrande = new SIREtario(1000000.0, MatrizContato.assortativa(256, 12.0, 32.0),
+                                                  0.02, 1.0 / 10.0, 10.0, 500.0, 5000,
+                                                  Runtime.getRuntime().availableProcessors());
+        tempoExecucao = simulacaoGrande.executarSimulacao();
+        System.out.printf("Tempo de execução (256 grupos): %.4f ms\n", tempoExecucao);
+    }
+}
@@ -0,0 +1,121 @@
+import java.util.concurrent.ForkJoinPool;
+
+import nucleo.EstadoSimulacao;
+import nucleo.Integrador;
+import nucleo.MatrizMobilidade;
+import nucleo.ModeloSIRMetapopulacao;
+
+/**
+ * Modelo SIR em metapopulação resolvido com RK4: milhares de regiões
+ * (municípios) acopladas por uma matriz de mobilidade esparsa (CSR). Ao
+ * contrário dos blocos isolados do SIRParalelo, as regiões trocam infecção a
+ * cada estágio; com numeroThreads > 1, a derivada de cada estágio é dividida
+ * entre as threads em faixas de regiões (nucleo.ModeloMetapopulacao).
+ */
+public class SIRMetapopulacao {
+
+    // Fração das regiões atingidas: recuperados acima de 1% da população ao final
+    private static final double LIMIAR_REGIAO_ATINGIDA = 0.01;
+
+    // Parâmetros da simulação
+    private final double[] populacoesRegioes;
+    private final MatrizMobilidade mobilidade;
+    private final double taxaTransmissao;
+    private final double taxaRecuperacao;
+    private final double[] infectadosIniciais;
+    private final double tempoMaximo;
+    private final int numeroPassos;
+    private final int numeroThreads;
+
+    public SIRMetapopulacao(double[] populacoesRegioes, MatrizMobilidade mobilidade, double taxaTransmissao,
+                            double taxaRecuperacao, double[] infectadosIniciais, double tempoMaximo,
+                            int numeroPassos, int numeroThreads) {
+        if (populacoesRegioes.length != mobilidade.getNumeroRegioes()) {
+            throw new IllegalArgumentException(populacoesRegioes.length + " populações para uma matriz de "
+                + mobilidade.getNumeroRegioes() + " regiões");
+        }
+        this.populacoesRegioes = populacoesRegioes.clone();
+        this.mobilidade = mobilidade;
+        this.taxaTransmissao = taxaTransmissao;
+        this.taxaRecuperacao = taxaRecuperacao;
+        this.infectadosIniciais = infectadosIniciais.clone();
+        this.tempoMaximo = tempoMaximo;
+        this.numeroPassos = numeroPassos;
+        this.numeroThreads = numeroThreads;
+    }
+
+    // Populações de 'regioes' municípios somando populacaoTotal, com tamanhos em lei de Zipf
+    // (o k-ésimo maior tem ~1/k da população do maior), como em redes urbanas reais
+    public static double[] populacoesZipf(int regioes, double populacaoTotal) {
+        double soma = 0;
+        for (int k = 1; k <= regioes; k++) {
+            soma += 1.0 / k;
+        }
+        double[] populacoes = new double[regioes];
+        for (int k = 0; k < regioes; k++) {
+            populacoes[k] = populacaoTotal / (soma * (k + 1));
+        }
+        return populacoes;
+    }
+
+    // --- 1. Simulação RK4 acompanhando o total de infectados ---
+    public double executarSimulacao() {
+        int regioes = populacoesRegioes.length;
+        System.out.println("Iniciando simulação SIR em metapopulação com " + regioes + " regiões ("
+            + mobilidade.getNumeroNaoNulos() + " ligações) e " + numeroPassos + " passos...");
+        long tempoInicio = System.nanoTime();
+
+        ForkJoinPool pool = numeroThreads > 1 ? new ForkJoinPool(numeroThreads) : null;
+        try {
+            ModeloSIRMetapopulacao modelo = new ModeloSIRMetapopulacao(populacoesRegioes, mobilidade,
+                                                                       taxaTransmissao, taxaRecuperacao)
+                .comParalelismo(pool);
+            double[] estadoInicial = modelo.estadoInicial(infectadosIniciais);
+
+            // Pico do total de infectados (soma das regiões) em fluxo, sem guardar a trajetória
+            double[] pico = {modelo.infectadosTotais(estadoInicial), 0.0};
+            EstadoSimulacao estadoFinal = EstadoSimulacao.inicial(modelo, estadoInicial,
+                    Integrador.incrementoTempo(tempoMaximo, numeroPassos))
+                .avancar(numeroPassos - 1, (passo, tempo, estado) -> {
+                    double infectados = modelo.infectadosTotais(estado);
+                    if (infectados > pico[0]) {
+                        pico[0] = infectados;
+                        pico[1] = tempo;
+                    }
+                });
+
+            double[] estado = estadoFinal.getEstado();
+            int atingidas = 0;
+            for (int i = 0; i < regioes; i++) {
+                if (estado[2 * regioes + i] > LIMIAR_REGIAO_ATINGIDA * populacoesRegioes[i]) {
+                    atingidas++;
+                }
+            }
+            System.out.printf("Pico de infectados: %.2f no dia %.2f; regiões atingidas: %d de %d\n",
+                              pico[0], pico[1], atingidas, regioes);
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+
+        long tempoFim = System.nanoTime();
+        double tempoDecorridoMs = (tempoFim - tempoInicio) / 1_000_000.0;
+        System.out.printf("Tempo de execução: %.4f milissegundos\n", tempoDecorridoMs);
+        return tempoDecorridoMs;
+    }
+
+    // --- 2. Main para Execução ---
+    public static void main(String[] args) {
+        // 5 570 municípios (escala do Brasil), 10 destinos por município e 10% dos contatos fora
+        // de casa; surto iniciado com 10 infectados na maior cidade
+        int regioes = 5570;
+        double[] infectadosIniciais = new double[regioes];
+        infectadosIniciais[0] = 10.0;
+        SIRMetapopulacao simulacao = new SIRMetapopulacao(populacoesZipf(regioes, 200000000.0),
+            MatrizMobilidade.sintetica(regioes, 10, 0.1, 42L), 0.2, 1.0 / 10.0, infectadosIniciais,
+            500.0, 5000, Runtime.getRuntime().availableProcessors());
+        double tempoExecucao = simulacao.executarSimulacao();
+        System.out.printf("Tempo de execução: %.4f ms\n", tempoExecucao);
+    }
+}
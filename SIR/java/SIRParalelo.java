@@ -1,54 +1,76 @@
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.*;
 
+import nucleo.Integrador;
+import nucleo.ModeloSIR;
+import nucleo.ResultadoParareal;
+import nucleo.SolverParareal;
+import nucleo.Trajetoria;
+
 /**
  * Implementação Paralela do Modelo SIR (RK4) com Paralelização por População.
  * Divide a população em blocos e cada thread simula um bloco independente.
+ * Blocos equivalentes por escala (as mesmas frações iniciais) são resolvidos
+ * uma única vez; só blocos realmente diferentes ocupam threads.
  */
 public class SIRParalelo {
 
     // Parâmetros da simulação
-    private final double populacaoTotal;
     private final double taxaTransmissao;
     private final double taxaRecuperacao;
-    private final double infectadosIniciais;
-    private final double recuperadosIniciais;
     private final double tempoMaximo;
     private final int numeroPassos;
     private final int numeroThreads;
 
-    // Construtor
+    // Diagnóstico da última execução do Parareal (vazio antes dela)
+    private List<ResultadoParareal> resultadosParareal = Collections.emptyList();
+
+    // Blocos da população (subpopulações isoladas, com as mesmas taxas)
+    private final double[] populacoesBlocos;
+    private final double[] infectadosBlocos;
+    private final double[] recuperadosBlocos;
+
+    // Construtor (população dividida igualmente em numeroThreads blocos)
     public SIRParalelo(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao, 
                        double infectadosIniciais, double recuperadosIniciais, 
                        double tempoMaximo, int numeroPassos, int numeroThreads) {
-        this.populacaoTotal = populacaoTotal;
+        this(taxaTransmissao, taxaRecuperacao, dividir(populacaoTotal, numeroThreads),
+             dividir(infectadosIniciais, numeroThreads), dividir(recuperadosIniciais, numeroThreads),
+             tempoMaximo, numeroPassos, numeroThreads);
+    }
+
+    // Construtor com blocos explícitos, ex.: subpopulações de tamanhos ou condições iniciais diferentes
+    public SIRParalelo(double taxaTransmissao, double taxaRecuperacao, double[] populacoesBlocos,
+                       double[] infectadosBlocos, double[] recuperadosBlocos,
+                       double tempoMaximo, int numeroPassos, int numeroThreads) {
+        if (populacoesBlocos.length != infectadosBlocos.length || populacoesBlocos.length != recuperadosBlocos.length) {
+            throw new IllegalArgumentException("Blocos com tamanhos diferentes: " + populacoesBlocos.length + ", "
+                + infectadosBlocos.length + " e " + recuperadosBlocos.length);
+        }
+        this.populacoesBlocos = populacoesBlocos.clone();
+        this.infectadosBlocos = infectadosBlocos.clone();
+        this.recuperadosBlocos = recuperadosBlocos.clone();
         this.taxaTransmissao = taxaTransmissao;
         this.taxaRecuperacao = taxaRecuperacao;
-        this.infectadosIniciais = infectadosIniciais;
-        this.recuperadosIniciais = recuperadosIniciais;
         this.tempoMaximo = tempoMaximo;
         this.numeroPassos = numeroPassos;
         this.numeroThreads = numeroThreads;
     }
 
-    // --- 1. Função de Derivada (Calcula as 3 EDOs) ---
-    private static double[] derivSir(double[] estadoAtual, double tempo, double populacaoTotal, 
-                                     double taxaTransmissao, double taxaRecuperacao) {
-        double suscetiveis = estadoAtual[0];
-        double infectados = estadoAtual[1];
-
-        double derivadaSuscetiveis = -taxaTransmissao * suscetiveis * infectados / populacaoTotal;
-        double derivadaInfectados = taxaTransmissao * suscetiveis * infectados / populacaoTotal - taxaRecuperacao * infectados;
-        double derivadaRecuperados = taxaRecuperacao * infectados;
-
-        return new double[]{derivadaSuscetiveis, derivadaInfectados, derivadaRecuperados};
+    private static double[] dividir(double total, int numeroBlocos) {
+        double[] blocos = new double[numeroBlocos];
+        Arrays.fill(blocos, total / numeroBlocos);
+        return blocos;
     }
 
-    // --- 2. Tarefa para simular um bloco da população ---
-    static class TarefaSimulacaoBloco implements Callable<double[][]> {
+    // --- 1. Tarefa para simular um bloco da população ---
+    static class TarefaSimulacaoBloco implements Callable<Trajetoria> {
         private final double populacaoBloco;
         private final double taxaTransmissao;
         private final double taxaRecuperacao;
@@ -70,94 +92,80 @@ public class SIRParalelo {
         }
 
         @Override
-        public double[][] call() {
+        public Trajetoria call() {
             return rungeKutta4Sequencial(populacaoBloco, taxaTransmissao, taxaRecuperacao,
                                          infectadosIniciais, recuperadosIniciais, tempoMaximo, numeroPassos);
         }
     }
 
-    // --- 3. Solver RK4 Sequencial (usado por cada thread) ---
-    private static double[][] rungeKutta4Sequencial(double populacaoTotal, double taxaTransmissao, 
+    // --- 2. Solver RK4 Sequencial (usado por cada thread) ---
+    private static Trajetoria rungeKutta4Sequencial(double populacaoTotal, double taxaTransmissao, 
                                                     double taxaRecuperacao, double infectadosIniciais,
                                                     double recuperadosIniciais, double tempoMaximo, int numeroPassos) {
-        double suscetiveisIniciais = populacaoTotal - infectadosIniciais - recuperadosIniciais;
-        double[] estadoAtual = {suscetiveisIniciais, infectadosIniciais, recuperadosIniciais};
-        int numeroCompartimentos = 3;
-        double incrementoTempo = tempoMaximo / (numeroPassos - 1);
-        double[][] historico = new double[numeroPassos][numeroCompartimentos];
-        historico[0] = Arrays.copyOf(estadoAtual, numeroCompartimentos);
-
-        for (int passo = 0; passo < numeroPassos - 1; passo++) {
-            double tempoAtual = passo * incrementoTempo;
-            
-            // K1
-            double[] k1 = derivSir(estadoAtual, tempoAtual, populacaoTotal, taxaTransmissao, taxaRecuperacao);
-            
-            // K2
-            double[] estadoK1 = new double[numeroCompartimentos];
-            for (int i = 0; i < numeroCompartimentos; i++) {
-                estadoK1[i] = estadoAtual[i] + 0.5 * incrementoTempo * k1[i];
-            }
-            double[] k2 = derivSir(estadoK1, tempoAtual + incrementoTempo / 2, populacaoTotal, taxaTransmissao, taxaRecuperacao);
-            
-            // K3
-            double[] estadoK2 = new double[numeroCompartimentos];
-            for (int i = 0; i < numeroCompartimentos; i++) {
-                estadoK2[i] = estadoAtual[i] + 0.5 * incrementoTempo * k2[i];
-            }
-            double[] k3 = derivSir(estadoK2, tempoAtual + incrementoTempo / 2, populacaoTotal, taxaTransmissao, taxaRecuperacao);
-            
-            // K4
-            double[] estadoK3 = new double[numeroCompartimentos];
-            for (int i = 0; i < numeroCompartimentos; i++) {
-                estadoK3[i] = estadoAtual[i] + incrementoTempo * k3[i];
-            }
-            double[] k4 = derivSir(estadoK3, tempoAtual + incrementoTempo, populacaoTotal, taxaTransmissao, taxaRecuperacao);
-            
-            // Atualização RK4
-            for (int i = 0; i < numeroCompartimentos; i++) {
-                estadoAtual[i] += incrementoTempo * (k1[i] + 2*k2[i] + 2*k3[i] + k4[i]) / 6.0;
-                if (estadoAtual[i] < 0) estadoAtual[i] = 0;
+        ModeloSIR modelo = new ModeloSIR(populacaoTotal, taxaTransmissao, taxaRecuperacao);
+        return Integrador.integrarRK4(modelo, modelo.estadoInicial(infectadosIniciais, recuperadosIniciais), tempoMaximo, numeroPassos);
+    }
+
+    // --- 2b. Blocos equivalentes por escala ---
+    // O SIR é homogêneo de grau 1: com as mesmas taxas, o bloco (c·N, c·I0, c·R0) tem a trajetória
+    // c·y(t), e o RK4 preserva isso a menos de arredondamento. Blocos com as mesmas frações I0/N e
+    // R0/N formam um grupo: o representante é resolvido uma vez e entra na soma com peso
+    // ΣN_bloco / N_representante (exatamente o número de blocos quando são idênticos)
+    static class GrupoBlocos {
+        final int representante;
+        double fatorEscala;
+
+        GrupoBlocos(int representante) {
+            this.representante = representante;
+        }
+    }
+
+    List<GrupoBlocos> agruparBlocos() {
+        Map<List<Double>, GrupoBlocos> grupos = new LinkedHashMap<>();
+        for (int bloco = 0; bloco < populacoesBlocos.length; bloco++) {
+            List<Double> fracoes = Arrays.asList(infectadosBlocos[bloco] / populacoesBlocos[bloco],
+                                                 recuperadosBlocos[bloco] / populacoesBlocos[bloco]);
+            GrupoBlocos grupo = grupos.get(fracoes);
+            if (grupo == null) {
+                grupo = new GrupoBlocos(bloco);
+                grupos.put(fracoes, grupo);
             }
-            
-            historico[passo + 1] = Arrays.copyOf(estadoAtual, numeroCompartimentos);
+            grupo.fatorEscala += populacoesBlocos[bloco] / populacoesBlocos[grupo.representante];
         }
-        
-        return historico;
+        return new ArrayList<>(grupos.values());
+    }
+
+    // Quantos blocos precisam de fato ser integrados
+    public int numeroBlocosDistintos() {
+        return agruparBlocos().size();
     }
 
-    // --- 4. Método para executar simulação com paralelização por população ---
+    // --- 3. Método para executar simulação com paralelização por população ---
     public double executarSimulacao() {
         long tempoInicio = System.nanoTime();
         
-        ExecutorService executor = Executors.newFixedThreadPool(numeroThreads);
-        List<Future<double[][]>> futuros = new ArrayList<>();
-        
-        // Divide a população em blocos
-        double populacaoPorThread = populacaoTotal / numeroThreads;
-        double infectadosPorThread = infectadosIniciais / numeroThreads;
-        double recuperadosPorThread = recuperadosIniciais / numeroThreads;
+        // Um bloco por grupo de blocos equivalentes; threads além disso ficam livres
+        List<GrupoBlocos> grupos = agruparBlocos();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(numeroThreads, grupos.size()));
+        List<Future<Trajetoria>> futuros = new ArrayList<>();
         
-        // Submete tarefas para cada bloco de população
-        for (int i = 0; i < numeroThreads; i++) {
+        // Submete uma tarefa por bloco distinto
+        for (GrupoBlocos grupo : grupos) {
+            int bloco = grupo.representante;
             TarefaSimulacaoBloco tarefa = new TarefaSimulacaoBloco(
-                populacaoPorThread, taxaTransmissao, taxaRecuperacao,
-                infectadosPorThread, recuperadosPorThread, tempoMaximo, numeroPassos
+                populacoesBlocos[bloco], taxaTransmissao, taxaRecuperacao,
+                infectadosBlocos[bloco], recuperadosBlocos[bloco], tempoMaximo, numeroPassos
             );
             futuros.add(executor.submit(tarefa));
         }
         
         // Agrega resultados de todos os blocos
         try {
-            double[][] resultadoAgregado = new double[numeroPassos][3];
+            // Soma série a série: cada compartimento é um vetor contíguo
+            Trajetoria resultadoAgregado = Trajetoria.comGrade(3, tempoMaximo, numeroPassos);
             
-            for (Future<double[][]> futuro : futuros) {
-                double[][] resultadoBloco = futuro.get();
-                for (int passo = 0; passo < numeroPassos; passo++) {
-                    for (int comp = 0; comp < 3; comp++) {
-                        resultadoAgregado[passo][comp] += resultadoBloco[passo][comp];
-                    }
-                }
+            for (int g = 0; g < grupos.size(); g++) {
+                resultadoAgregado.somar(futuros.get(g).get(), grupos.get(g).fatorEscala);
             }
             
         } catch (Exception e) {
@@ -170,10 +178,63 @@ public class SIRParalelo {
         return (tempoFim - tempoInicio) / 1_000_000.0;
     }
 
-    // --- 5. Main para Execução ---
+    // --- 3b. Paralelismo no tempo (Parareal): uma única simulação dividida em fatias ---
+    // Ao contrário da divisão por população, que roda numeroThreads cópias independentes, aqui
+    // a mesma trajetória é repartida no tempo: cada thread integra uma fatia com RK4 fino e um
+    // propagador grosso corrige os inícios das fatias até a convergência (ver SolverParareal)
+    public double executarSimulacaoParareal() {
+        long tempoInicio = System.nanoTime();
+
+        // Cada bloco distinto é repartido no tempo entre todas as threads, e somado com seu peso
+        List<ResultadoParareal> resultados = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(numeroThreads);
+        try {
+            Trajetoria resultadoAgregado = Trajetoria.comGrade(3, tempoMaximo, numeroPassos);
+            for (GrupoBlocos grupo : agruparBlocos()) {
+                int bloco = grupo.representante;
+                ModeloSIR modelo = new ModeloSIR(populacoesBlocos[bloco], taxaTransmissao, taxaRecuperacao);
+                ResultadoParareal resultado = SolverParareal.integrar(modelo,
+                    modelo.estadoInicial(infectadosBlocos[bloco], recuperadosBlocos[bloco]),
+                    tempoMaximo, numeroPassos, numeroThreads, executor);
+                resultadoAgregado.somar(resultado.getTrajetoria(), grupo.fatorEscala);
+                resultados.add(resultado);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        long tempoFim = System.nanoTime();
+        resultadosParareal = resultados;
+        return (tempoFim - tempoInicio) / 1_000_000.0;
+    }
+
+    // Fatias, iterações e correção de cada bloco distinto da última executarSimulacaoParareal
+    public List<ResultadoParareal> getResultadosParareal() {
+        return resultadosParareal;
+    }
+
+    // --- 4. Main para Execução ---
     public static void main(String[] args) {
         SIRParalelo simulacao = new SIRParalelo(1000000.0, 0.2, 1.0 / 10.0, 10.0, 0.0, 500.0, 50000, 8);
         double tempoExecucao = simulacao.executarSimulacao();
+        System.out.printf("Blocos integrados: %d de 8\n", simulacao.numeroBlocosDistintos());
         System.out.printf("Tempo de execução: %.4f ms\n", tempoExecucao);
+
+        // Blocos heterogêneos: dois tamanhos com a mesma fração de infectados (um grupo) e um com surto maior
+        SIRParalelo simulacaoBlocos = new SIRParalelo(0.2, 1.0 / 10.0,
+            new double[] {250000.0, 250000.0, 500000.0, 250000.0}, new double[] {2.5, 2.5, 5.0, 100.0},
+            new double[] {0.0, 0.0, 0.0, 0.0}, 500.0, 50000, 8);
+        tempoExecucao = simulacaoBlocos.executarSimulacao();
+        System.out.printf("Blocos integrados: %d de 4\n", simulacaoBlocos.numeroBlocosDistintos());
+        System.out.printf("Tempo de execução (blocos heterogêneos): %.4f ms\n", tempoExecucao);
+
+        // A mesma simulação de 50 000 passos repartida no tempo entre as 8 threads
+        tempoExecucao = simulacao.executarSimulacaoParareal();
+        System.out.printf("Tempo de execução (Parareal): %.4f ms\n", tempoExecucao);
+        for (ResultadoParareal resultado : simulacao.getResultadosParareal()) {
+            System.out.printf("Parareal: %d fatias, %d iterações (speedup ideal %.2fx), correção final %.2e\n",
+                              resultado.getNumeroFatias(), resultado.getIteracoes(), resultado.getSpeedupIdeal(),
+                              resultado.getCorrecaoFinal());
+        }
     }
 }
@@ -0,0 +1,83 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import nucleo.EpidemiaRede;
+import nucleo.GrafoContatos;
+
+/**
+ * Modelo SIR individual em uma rede de contatos (nucleo.EpidemiaRede): cada
+ * pessoa é um nó de um grafo CSR (nucleo.GrafoContatos) e só infecta seus
+ * vizinhos. Os estados ficam em bitsets e cada passo percorre só a fronteira
+ * de infectados; com numeroThreads > 1 ela é dividida entre as threads, com
+ * resultado idêntico ao de uma thread.
+ */
+public class SIRRede {
+
+    // Parâmetros da simulação
+    private final GrafoContatos grafo;
+    private final double taxaTransmissao;
+    private final double taxaRecuperacao;
+    private final int infectadosIniciais;
+    private final double tempoMaximo;
+    private final int numeroPassos;
+    private final long semente;
+    private final int numeroThreads;
+
+    // taxaTransmissao é por contato (aresta) e por dia
+    public SIRRede(GrafoContatos grafo, double taxaTransmissao, double taxaRecuperacao, int infectadosIniciais,
+                   double tempoMaximo, int numeroPassos, long semente, int numeroThreads) {
+        this.grafo = grafo;
+        this.taxaTransmissao = taxaTransmissao;
+        this.taxaRecuperacao = taxaRecuperacao;
+        this.infectadosIniciais = infectadosIniciais;
+        this.tempoMaximo = tempoMaximo;
+        this.numeroPassos = numeroPassos;
+        this.semente = semente;
+        this.numeroThreads = numeroThreads;
+    }
+
+    // --- 1. Simulação acompanhando o pico de infectados ---
+    public double executarSimulacao() {
+        System.out.println("Iniciando simulação SIR em rede com " + grafo.getNumeroNos() + " nós ("
+            + grafo.getNumeroArestas() + " arestas) e " + numeroPassos + " passos...");
+        long tempoInicio = System.nanoTime();
+
+        ForkJoinPool pool = numeroThreads > 1 ? new ForkJoinPool(numeroThreads) : null;
+        try {
+            EpidemiaRede epidemia = EpidemiaRede.sir(grafo, taxaTransmissao, taxaRecuperacao).comParalelismo(pool);
+            double[] pico = {0.0, 0.0};
+            double[] estado = epidemia.simular(grafo.sortearNos(infectadosIniciais, semente), semente,
+                                               tempoMaximo, numeroPassos, (passo, tempo, contagens) -> {
+                    if (contagens[1] > pico[0]) {
+                        pico[0] = contagens[1];
+                        pico[1] = tempo;
+                    }
+                });
+            System.out.printf("Pico de infectados: %.0f no dia %.2f; recuperados ao final: %.0f (%.2f%%)\n",
+                              pico[0], pico[1], estado[2], 100.0 * estado[2] / grafo.getNumeroNos());
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+
+        long tempoFim = System.nanoTime();
+        double tempoDecorridoMs = (tempoFim - tempoInicio) / 1_000_000.0;
+        System.out.printf("Tempo de execução: %.4f milissegundos\n", tempoDecorridoMs);
+        return tempoDecorridoMs;
+    }
+
+    // --- 2. Main para Execução ---
+    public static void main(String[] args) throws IOException {
+        // Grafo do arquivo de arestas passado como argumento ou, sem ele, aleatório com 2 milhões
+        // de pessoas e 10 contatos cada; surto iniciado com 10 infectados
+        GrafoContatos grafo = args.length > 0
+            ? GrafoContatos.carregar(Path.of(args[0]))
+            : GrafoContatos.aleatorio(2000000, 10.0, 42L);
+        SIRRede simulacao = new SIRRede(grafo, 0.05, 1.0 / 10.0, 10, 300.0, 3001, 42L,
+                                        Runtime.getRuntime().availableProcessors());
+        double tempoExecucao = simulacao.executarSimulacao();
+        System.out.printf("Tempo de execução: %.4f ms\n", tempoExecucao);
+    }
+}
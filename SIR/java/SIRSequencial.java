@@ -1,9 +1,19 @@
-
-import java.util.Arrays;
+import nucleo.ConfiguracaoSolver;
+import nucleo.EstadoSimulacao;
+import nucleo.Integrador;
+import nucleo.MetodoIntegracao;
+import nucleo.ModeloSIR;
+import nucleo.ObservadorTrajetoria;
+import nucleo.ResultadoAdaptativo;
+import nucleo.SimuladorTauLeaping;
+import nucleo.SolverAdamsBashforthMoulton;
+import nucleo.Trajetoria;
 
 /**
  * Implementação Sequencial Simplificada do Modelo SIR resolvido com RK4. A
- * lógica de vetor (soma e escala) foi embutida no solver.
+ * lógica de vetor (soma e escala) foi embutida no solver. Opcionalmente usa o
+ * Dormand-Prince (RK45) de passo adaptativo, o multipasso ABM4 ou o Rosenbrock
+ * implícito (regimes rígidos), escolhidos via ConfiguracaoSolver.
  */
 public class SIRSequencial {
 
@@ -15,11 +25,20 @@ public class SIRSequencial {
     private final double recuperadosIniciais;
     private final double tempoMaximo;
     private final int numeroPassos;
+    private final ConfiguracaoSolver configuracao;
 
-    // Construtor
+    // Construtor (RK4 de passo fixo)
     public SIRSequencial(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao, 
                          double infectadosIniciais, double recuperadosIniciais, 
                          double tempoMaximo, int numeroPassos) {
+        this(populacaoTotal, taxaTransmissao, taxaRecuperacao, infectadosIniciais, recuperadosIniciais,
+             tempoMaximo, numeroPassos, ConfiguracaoSolver.rk4());
+    }
+
+    // Construtor com escolha do método de integração
+    public SIRSequencial(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao, 
+                         double infectadosIniciais, double recuperadosIniciais, 
+                         double tempoMaximo, int numeroPassos, ConfiguracaoSolver configuracao) {
         this.populacaoTotal = populacaoTotal;
         this.taxaTransmissao = taxaTransmissao;
         this.taxaRecuperacao = taxaRecuperacao;
@@ -27,92 +46,126 @@ public class SIRSequencial {
         this.recuperadosIniciais = recuperadosIniciais;
         this.tempoMaximo = tempoMaximo;
         this.numeroPassos = numeroPassos;
+        this.configuracao = configuracao;
     }
 
     // --- 1. A função de derivada do Modelo SIR ---
     public static double[] derivSir(double[] estadoAtual, double tempo, double populacaoTotal, double taxaTransmissao, double taxaRecuperacao) {
-        double suscetiveis = estadoAtual[0];
-        double infectados = estadoAtual[1];
-        // recuperados = estadoAtual[2] não é necessário para o cálculo das derivadas
-
-        double derivadaSuscetiveis = -taxaTransmissao * suscetiveis * infectados / populacaoTotal;
-        double derivadaInfectados = taxaTransmissao * suscetiveis * infectados / populacaoTotal - taxaRecuperacao * infectados;
-        double derivadaRecuperados = taxaRecuperacao * infectados;
-
-        return new double[]{derivadaSuscetiveis, derivadaInfectados, derivadaRecuperados};
+        // As equações ficam em um único lugar: nucleo.ModeloSIR
+        double[] derivada = new double[3];
+        new ModeloSIR(populacaoTotal, taxaTransmissao, taxaRecuperacao).derivada(tempo, estadoAtual, derivada);
+        return derivada;
     }
 
     // --- 2. Implementação do Solver RK4 (Simplificado) ---
-    public static double[][] rungeKutka4(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao, double infectadosIniciais, double recuperadosIniciais, double tempoMaximo,
+    public static Trajetoria rungeKutka4(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao, double infectadosIniciais, double recuperadosIniciais, double tempoMaximo,
             int numeroPassos) {
-        double suscetiveisIniciais = populacaoTotal - infectadosIniciais - recuperadosIniciais;
-        double[] estadoInicial = {suscetiveisIniciais, infectadosIniciais, recuperadosIniciais};
-        int numeroCompartimentos = estadoInicial.length;
-        double incrementoTempo = tempoMaximo / (numeroPassos - 1);
+        System.out.println("Iniciando simulação sequencial simplificada com " + numeroPassos + " passos...");
+        long tempoInicio = System.nanoTime();
 
-        double[][] historico = new double[numeroPassos][numeroCompartimentos];
-        historico[0] = Arrays.copyOf(estadoInicial, numeroCompartimentos);
-        double[] estadoAtual = Arrays.copyOf(estadoInicial, numeroCompartimentos);
+        // Motor único do nucleo (passo RK4 fundido, sem alocação por passo)
+        ModeloSIR modelo = new ModeloSIR(populacaoTotal, taxaTransmissao, taxaRecuperacao);
+        Trajetoria historico = Integrador.integrarRK4(modelo, modelo.estadoInicial(infectadosIniciais, recuperadosIniciais),
+                                                      tempoMaximo, numeroPassos);
 
-        System.out.println("Iniciando simulação sequencial simplificada com " + numeroPassos + " passos...");
+        long tempoFim = System.nanoTime();
+        double tempoDecorridoMs = (tempoFim - tempoInicio) / 1_000_000.0;
+        System.out.printf("Tempo de execução sequencial: %.4f milissegundos\n", tempoDecorridoMs);
+
+        return historico;
+    }
+
+    // --- 2b. RK4 em fluxo com decimação: guarda apenas 1 a cada 'fatorDecimacao' pontos ---
+    // A memória é O(numeroPassos / fatorDecimacao); com ObservadorTrajetoria próprio, O(1)
+    public static Trajetoria rungeKutka4Decimado(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao,
+                                                 double infectadosIniciais, double recuperadosIniciais, double tempoMaximo, int numeroPassos,
+                                                 int fatorDecimacao) {
+        System.out.println("Iniciando simulação SIR (RK4 em fluxo) com " + numeroPassos + " passos, guardando 1 a cada "
+                           + fatorDecimacao + "...");
         long tempoInicio = System.nanoTime();
 
-        for (int passo = 0; passo < numeroPassos - 1; passo++) {
-            double tempoAtualPasso = passo * incrementoTempo;
-            double[] coeficienteK1, coeficienteK2, coeficienteK3, coeficienteK4;
-
-            // --- 1. k1 = h * f(t_i, y_i) ---
-            double[] derivada1 = derivSir(estadoAtual, tempoAtualPasso, populacaoTotal, taxaTransmissao, taxaRecuperacao);
-            coeficienteK1 = new double[numeroCompartimentos];
-            for (int compartimento = 0; compartimento < numeroCompartimentos; compartimento++) {
-                coeficienteK1[compartimento] = derivada1[compartimento] * incrementoTempo;
-            }
-
-            // --- 2. k2 = h * f(t_i + h/2, y_i + k1/2) ---
-            double[] estadoIntermediarioK1 = new double[numeroCompartimentos];
-            for (int compartimento = 0; compartimento < numeroCompartimentos; compartimento++) {
-                estadoIntermediarioK1[compartimento] = estadoAtual[compartimento] + 0.5 * coeficienteK1[compartimento];
-            }
-            double[] derivada2 = derivSir(estadoIntermediarioK1, tempoAtualPasso + incrementoTempo / 2, populacaoTotal, taxaTransmissao, taxaRecuperacao);
-            coeficienteK2 = new double[numeroCompartimentos];
-            for (int compartimento = 0; compartimento < numeroCompartimentos; compartimento++) {
-                coeficienteK2[compartimento] = derivada2[compartimento] * incrementoTempo;
-            }
-
-            // --- 3. k3 = h * f(t_i + h/2, y_i + k2/2) ---
-            double[] estadoIntermediarioK2 = new double[numeroCompartimentos];
-            for (int compartimento = 0; compartimento < numeroCompartimentos; compartimento++) {
-                estadoIntermediarioK2[compartimento] = estadoAtual[compartimento] + 0.5 * coeficienteK2[compartimento];
-            }
-            double[] derivada3 = derivSir(estadoIntermediarioK2, tempoAtualPasso + incrementoTempo / 2, populacaoTotal, taxaTransmissao, taxaRecuperacao);
-            coeficienteK3 = new double[numeroCompartimentos];
-            for (int compartimento = 0; compartimento < numeroCompartimentos; compartimento++) {
-                coeficienteK3[compartimento] = derivada3[compartimento] * incrementoTempo;
-            }
-
-            // --- 4. k4 = h * f(t_i + h, y_i + k3) ---
-            double[] estadoIntermediarioK3 = new double[numeroCompartimentos];
-            for (int compartimento = 0; compartimento < numeroCompartimentos; compartimento++) {
-                estadoIntermediarioK3[compartimento] = estadoAtual[compartimento] + coeficienteK3[compartimento];
-            }
-            double[] derivada4 = derivSir(estadoIntermediarioK3, tempoAtualPasso + incrementoTempo, populacaoTotal, taxaTransmissao, taxaRecuperacao);
-            coeficienteK4 = new double[numeroCompartimentos];
-            for (int compartimento = 0; compartimento < numeroCompartimentos; compartimento++) {
-                coeficienteK4[compartimento] = derivada4[compartimento] * incrementoTempo;
-            }
-
-            // --- Nova solução: estadoAtual_{i+1} = estadoAtual_i + 1/6 * (k1 + 2*k2 + 2*k3 + k4) ---
-            for (int compartimento = 0; compartimento < numeroCompartimentos; compartimento++) {
-                estadoAtual[compartimento] += (coeficienteK1[compartimento] + 2.0 * coeficienteK2[compartimento] + 2.0 * coeficienteK3[compartimento] + coeficienteK4[compartimento]) / 6.0;
-
-                // Garante que os números de indivíduos sejam não negativos
-                if (estadoAtual[compartimento] < 0) {
-                    estadoAtual[compartimento] = 0;
-                }
-            }
-
-            historico[passo + 1] = Arrays.copyOf(estadoAtual, numeroCompartimentos);
-        }
+        ModeloSIR modelo = new ModeloSIR(populacaoTotal, taxaTransmissao, taxaRecuperacao);
+        Trajetoria amostras = new Trajetoria(3, (numeroPassos - 1) / fatorDecimacao + 1);
+        Integrador.integrarRK4(modelo, modelo.estadoInicial(infectadosIniciais, recuperadosIniciais), tempoMaximo, numeroPassos,
+                               ObservadorTrajetoria.decimado(fatorDecimacao, ObservadorTrajetoria.coletando(amostras)));
+
+        long tempoFim = System.nanoTime();
+        double tempoDecorridoMs = (tempoFim - tempoInicio) / 1_000_000.0;
+        System.out.printf("Pontos guardados: %d\n", amostras.tamanho());
+        System.out.printf("Tempo de execução: %.4f milissegundos\n", tempoDecorridoMs);
+
+        return amostras;
+    }
+
+    // --- 2c. Continuação: retoma a partir de um estado capturado (EstadoSimulacao) ---
+    // Estender o horizonte ou refazer um cenário a partir de um dia qualquer custa só o novo intervalo;
+    // na mesma grade de passos o resultado é idêntico ao da integração contínua desde t = 0
+    public static EstadoSimulacao continuar(EstadoSimulacao estado, double tempoMaximo) {
+        System.out.printf("Continuando simulação SIR de t = %.1f até t = %.1f...\n", estado.getTempo(), tempoMaximo);
+        long tempoInicio = System.nanoTime();
+
+        EstadoSimulacao estadoFinal = estado.avancarAte(tempoMaximo);
+
+        long tempoFim = System.nanoTime();
+        double tempoDecorridoMs = (tempoFim - tempoInicio) / 1_000_000.0;
+        System.out.printf("Passos novos: %d, pico de infectados desde t = 0: %.2f\n",
+                          estadoFinal.getPasso() - estado.getPasso(), estadoFinal.getPicoInfectados());
+        System.out.printf("Tempo de execução: %.4f milissegundos\n", tempoDecorridoMs);
+
+        return estadoFinal;
+    }
+
+    // --- 2d. Tau-leaping: uma realização estocástica na mesma grade de passos do RK4 ---
+    // Populações inteiras com incrementos binomiais por passo (ver SimuladorTauLeaping); o custo
+    // independe da população, e a mesma semente reproduz a mesma realização
+    public static Trajetoria tauLeaping(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao,
+                                        double infectadosIniciais, double recuperadosIniciais, double tempoMaximo,
+                                        int numeroPassos, long semente) {
+        System.out.println("Iniciando simulação SIR estocástica (tau-leaping) com " + numeroPassos + " passos...");
+        long tempoInicio = System.nanoTime();
+
+        ModeloSIR modelo = new ModeloSIR(populacaoTotal, taxaTransmissao, taxaRecuperacao);
+        Trajetoria historico = SimuladorTauLeaping.sir(modelo, tempoMaximo, numeroPassos)
+            .realizacao(modelo.estadoInicial(infectadosIniciais, recuperadosIniciais), semente);
+
+        long tempoFim = System.nanoTime();
+        double tempoDecorridoMs = (tempoFim - tempoInicio) / 1_000_000.0;
+        System.out.printf("Pico de infectados: %.0f\n", historico.maximo(1));
+        System.out.printf("Tempo de execução: %.4f milissegundos\n", tempoDecorridoMs);
+
+        return historico;
+    }
+
+    // --- 3. Solvers de passo adaptativo: Dormand-Prince (RK45) ou Rosenbrock (regimes rígidos) ---
+    // Retorna um ponto por passo aceito (instantes não uniformes)
+    public static ResultadoAdaptativo solverAdaptativo(ConfiguracaoSolver configuracao, double populacaoTotal,
+                                                       double taxaTransmissao, double taxaRecuperacao, double infectadosIniciais,
+                                                       double recuperadosIniciais, double tempoMaximo) {
+        System.out.println("Iniciando simulação sequencial com " + configuracao + "...");
+        long tempoInicio = System.nanoTime();
+
+        ModeloSIR modelo = new ModeloSIR(populacaoTotal, taxaTransmissao, taxaRecuperacao);
+        ResultadoAdaptativo resultado = Integrador.integrarAdaptativo(configuracao, modelo, modelo.estadoInicial(infectadosIniciais, recuperadosIniciais), tempoMaximo);
+
+        long tempoFim = System.nanoTime();
+        double tempoDecorridoMs = (tempoFim - tempoInicio) / 1_000_000.0;
+        System.out.printf("Passos aceitos: %d, rejeitados: %d\n", resultado.getPassosAceitos(), resultado.getPassosRejeitados());
+        System.out.printf("Tempo de execução sequencial: %.4f milissegundos\n", tempoDecorridoMs);
+
+        return resultado;
+    }
+
+    // --- 4. Solver Adams-Bashforth-Moulton (ABM4) de passo fixo ---
+    // Mesma grade de tempo do RK4, com 2 avaliações de derivada por passo em vez de 4
+    public static Trajetoria adamsBashforthMoulton4(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao,
+                                                    double infectadosIniciais, double recuperadosIniciais, double tempoMaximo,
+                                                    int numeroPassos) {
+        System.out.println("Iniciando simulação sequencial com Adams-Bashforth-Moulton (ABM4) e " + numeroPassos + " passos...");
+        long tempoInicio = System.nanoTime();
+
+        ModeloSIR modelo = new ModeloSIR(populacaoTotal, taxaTransmissao, taxaRecuperacao);
+        Trajetoria historico = SolverAdamsBashforthMoulton.integrar(modelo, modelo.estadoInicial(infectadosIniciais, recuperadosIniciais),
+                                                                    tempoMaximo, numeroPassos);
 
         long tempoFim = System.nanoTime();
         double tempoDecorridoMs = (tempoFim - tempoInicio) / 1_000_000.0;
@@ -121,19 +174,64 @@ public class SIRSequencial {
         return historico;
     }
 
-    // --- 3. Método público para executar simulação ---
+    // --- 5. Método público para executar simulação ---
     public double executarSimulacao() {
         long tempoInicio = System.nanoTime();
-        rungeKutka4(populacaoTotal, taxaTransmissao, taxaRecuperacao, 
-                    infectadosIniciais, recuperadosIniciais, tempoMaximo, numeroPassos);
+        MetodoIntegracao metodo = configuracao.getMetodo();
+        if (metodo == MetodoIntegracao.AUTOMATICO) {
+            // RK4 de passo fixo, a menos que o passo viole a estabilidade do RK4 (cenário rígido)
+            ModeloSIR modelo = new ModeloSIR(populacaoTotal, taxaTransmissao, taxaRecuperacao);
+            boolean rigido = Integrador.rigidoParaRK4(modelo, modelo.estadoInicial(infectadosIniciais, recuperadosIniciais), tempoMaximo, numeroPassos);
+            metodo = rigido ? MetodoIntegracao.ROSENBROCK : MetodoIntegracao.RK4;
+        }
+        switch (metodo) {
+            case DORMAND_PRINCE:
+            case ROSENBROCK:
+                solverAdaptativo(configuracao, populacaoTotal, taxaTransmissao, taxaRecuperacao, infectadosIniciais,
+                                 recuperadosIniciais, tempoMaximo);
+                break;
+            case ABM4:
+                adamsBashforthMoulton4(populacaoTotal, taxaTransmissao, taxaRecuperacao, infectadosIniciais, recuperadosIniciais,
+                                       tempoMaximo, numeroPassos);
+                break;
+            case RK4:
+            default:
+                rungeKutka4(populacaoTotal, taxaTransmissao, taxaRecuperacao, 
+                            infectadosIniciais, recuperadosIniciais, tempoMaximo, numeroPassos);
+        }
         long tempoFim = System.nanoTime();
         return (tempoFim - tempoInicio) / 1_000_000.0;
     }
 
-    // --- 4. Main para Execução ---
+    // --- 6. Main para Execução ---
     public static void main(String[] args) {
         SIRSequencial simulacao = new SIRSequencial(1000000.0, 0.2, 1.0 / 10.0, 10.0, 0.0, 500.0, 50000);
         double tempoExecucao = simulacao.executarSimulacao();
         System.out.printf("Tempo de execução: %.4f ms\n", tempoExecucao);
+
+        SIRSequencial simulacaoAdaptativa = new SIRSequencial(1000000.0, 0.2, 1.0 / 10.0, 10.0, 0.0, 500.0, 50000,
+                                                              ConfiguracaoSolver.dormandPrince());
+        tempoExecucao = simulacaoAdaptativa.executarSimulacao();
+        System.out.printf("Tempo de execução (RK45): %.4f ms\n", tempoExecucao);
+
+        SIRSequencial simulacaoMultipasso = new SIRSequencial(1000000.0, 0.2, 1.0 / 10.0, 10.0, 0.0, 500.0, 50000,
+                                                              ConfiguracaoSolver.abm4());
+        tempoExecucao = simulacaoMultipasso.executarSimulacao();
+        System.out.printf("Tempo de execução (ABM4): %.4f ms\n", tempoExecucao);
+
+        // Uma realização estocástica (tau-leaping) na mesma grade do RK4 acima
+        tauLeaping(1000000.0, 0.2, 1.0 / 10.0, 10.0, 0.0, 500.0, 50000, 42L);
+
+        // 10^7 passos guardando só 501 pontos (~16 KB em vez dos ~320 MB da trajetória completa)
+        rungeKutka4Decimado(1000000.0, 0.2, 1.0 / 10.0, 10.0, 0.0, 500.0, 10_000_001, 20_000);
+
+        // Continuação: captura o dia 200, segue até 500 e estende a 700 pagando só os 200 dias novos;
+        // a partir do mesmo dia 200, um "e se" com a transmissão reduzida à metade
+        ModeloSIR modelo = new ModeloSIR(1000000.0, 0.2, 1.0 / 10.0);
+        EstadoSimulacao dia200 = EstadoSimulacao.inicial(modelo, modelo.estadoInicial(10.0, 0.0),
+                                                         Integrador.incrementoTempo(500.0, 50000)).avancarAte(200.0);
+        EstadoSimulacao dia500 = continuar(dia200, 500.0);
+        continuar(dia500, 700.0);
+        continuar(dia200.comModelo(new ModeloSIR(1000000.0, 0.1, 1.0 / 10.0)), 500.0);
     }
 }
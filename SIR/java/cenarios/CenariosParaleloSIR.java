@@ -1,8 +1,24 @@
 package cenarios;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.concurrent.*;
 
+import nucleo.ArvoreCenarios;
+import nucleo.ComparacaoPrecisao;
+import nucleo.ConfiguracaoSolver;
+import nucleo.DefinicaoModelo;
+import nucleo.DetectorEventos;
+import nucleo.Evento;
+import nucleo.Integrador;
+import nucleo.KernelLote;
+import nucleo.ModeloDefinido;
+import nucleo.ModeloSIR;
+import nucleo.MotorAnaliticoSIR;
+import nucleo.OcorrenciaEvento;
+import nucleo.Precisao;
+import nucleo.ResultadoArvore;
+
 /**
  * Versão Paralela SIMPLIFICADA: Divide 100 simulações entre T threads (Paralelismo de Cenários).
  * Reutiliza o solver RK4 simplificado (sem funçöes de vetor) de forma independente em cada thread.
@@ -18,11 +34,25 @@ public class CenariosParaleloSIR {
     private final int numeroPassos;
     private final int numeroCenarios;
     private final int numeroThreads;
+    private final ConfiguracaoSolver configuracao;
+
+    // Cenários comparados com a referência double ao rodar o lote em precisão simples
+    private static final int AMOSTRA_COMPARACAO_PRECISAO = 32;
 
-    // Construtor
+    // Construtor (RK4 de passo fixo)
     public CenariosParaleloSIR(double populacaoBase, double infectadosIniciais, double recuperadosIniciais,
                                double taxaRecuperacao, double tempoMaximo, int numeroPassos, 
                                int numeroCenarios, int numeroThreads) {
+        this(populacaoBase, infectadosIniciais, recuperadosIniciais, taxaRecuperacao, tempoMaximo,
+             numeroPassos, numeroCenarios, numeroThreads, ConfiguracaoSolver.rk4());
+    }
+
+    // Construtor com escolha do método de integração (ex.: Dormand-Prince adaptativo, ou
+    // ConfiguracaoSolver.automatico() para usar Rosenbrock apenas nos cenários rígidos)
+    public CenariosParaleloSIR(double populacaoBase, double infectadosIniciais, double recuperadosIniciais,
+                               double taxaRecuperacao, double tempoMaximo, int numeroPassos, 
+                               int numeroCenarios, int numeroThreads,
+                               ConfiguracaoSolver configuracao) {
         this.populacaoBase = populacaoBase;
         this.infectadosIniciais = infectadosIniciais;
         this.recuperadosIniciais = recuperadosIniciais;
@@ -31,13 +61,23 @@ public class CenariosParaleloSIR {
         this.numeroPassos = numeroPassos;
         this.numeroCenarios = numeroCenarios;
         this.numeroThreads = numeroThreads;
-    } 
+        this.configuracao = configuracao;
+    }
 
     static class ParametrosCenario {
         double populacaoTotal, taxaTransmissao, taxaRecuperacao, infectadosIniciais, recuperadosIniciais, tempoMaximo;
         int numeroPassos;
+        ConfiguracaoSolver configuracao;
+
         public ParametrosCenario(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao,
                                 double infectadosIniciais, double recuperadosIniciais, double tempoMaximo, int numeroPassos) {
+            this(populacaoTotal, taxaTransmissao, taxaRecuperacao, infectadosIniciais, recuperadosIniciais,
+                 tempoMaximo, numeroPassos, ConfiguracaoSolver.rk4());
+        }
+
+        public ParametrosCenario(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao,
+                                double infectadosIniciais, double recuperadosIniciais, double tempoMaximo, int numeroPassos,
+                                ConfiguracaoSolver configuracao) {
             this.populacaoTotal = populacaoTotal; 
             this.taxaTransmissao = taxaTransmissao; 
             this.taxaRecuperacao = taxaRecuperacao;
@@ -45,69 +85,40 @@ public class CenariosParaleloSIR {
             this.recuperadosIniciais = recuperadosIniciais;
             this.tempoMaximo = tempoMaximo;
             this.numeroPassos = numeroPassos;
+            this.configuracao = configuracao;
         }
     }
     
-    // --- 1. A função de derivada do Modelo SIR ---
-    public static double[] derivSir(double[] estadoAtual, double populacaoTotal, double taxaTransmissao, double taxaRecuperacao) {
-        double suscetiveis = estadoAtual[0];
-        double infectados = estadoAtual[1];
-        
-        double derivadaSuscetiveis = -taxaTransmissao * suscetiveis * infectados / populacaoTotal;
-        double derivadaInfectados = taxaTransmissao * suscetiveis * infectados / populacaoTotal - taxaRecuperacao * infectados;
-        double derivadaRecuperados = taxaRecuperacao * infectados;
-        return new double[]{derivadaSuscetiveis, derivadaInfectados, derivadaRecuperados};
+    // --- 1. Implementação do Solver RK4 Sequencial para UM Cenário (SIMPLIFICADO) ---
+    public static double resolverRungeKutka4(ParametrosCenario parametros) {
+        // Motor único do nucleo: o laço roda sem alocar vetores intermediários
+        ModeloSIR modelo = new ModeloSIR(parametros.populacaoTotal, parametros.taxaTransmissao, parametros.taxaRecuperacao);
+        return Integrador.picoInfectadosRK4(modelo, modelo.estadoInicial(parametros.infectadosIniciais, parametros.recuperadosIniciais),
+                                            parametros.tempoMaximo, parametros.numeroPassos);
     }
 
-    // --- 2. Implementação do Solver RK4 Sequencial para UM Cenário (SIMPLIFICADO) ---
-    public static double resolverRungeKutka4(ParametrosCenario parametros) {
-        double suscetiveisIniciais = parametros.populacaoTotal - parametros.infectadosIniciais - parametros.recuperadosIniciais;
-        double[] estadoAtual = {suscetiveisIniciais, parametros.infectadosIniciais, parametros.recuperadosIniciais};
-        int numeroCompartimentos = estadoAtual.length;
-        double incrementoTempo = parametros.tempoMaximo / (parametros.numeroPassos - 1);
-        double maxInfectados = parametros.infectadosIniciais;
-        double[] coeficienteK1, coeficienteK2, coeficienteK3, coeficienteK4;
-
-        for (int passo = 0; passo < parametros.numeroPassos - 1; passo++) {
-            
-            // k1 = h * f(y)
-            double[] derivada1 = derivSir(estadoAtual, parametros.populacaoTotal, parametros.taxaTransmissao, parametros.taxaRecuperacao);
-            coeficienteK1 = new double[numeroCompartimentos];
-            for(int compartimento=0; compartimento<numeroCompartimentos; compartimento++) coeficienteK1[compartimento] = derivada1[compartimento] * incrementoTempo;
-
-            // k2
-            double[] estadoIntermediarioK1 = new double[numeroCompartimentos];
-            for(int compartimento=0; compartimento<numeroCompartimentos; compartimento++) estadoIntermediarioK1[compartimento] = estadoAtual[compartimento] + 0.5 * coeficienteK1[compartimento];
-            double[] derivada2 = derivSir(estadoIntermediarioK1, parametros.populacaoTotal, parametros.taxaTransmissao, parametros.taxaRecuperacao);
-            coeficienteK2 = new double[numeroCompartimentos];
-            for(int compartimento=0; compartimento<numeroCompartimentos; compartimento++) coeficienteK2[compartimento] = derivada2[compartimento] * incrementoTempo;
-
-            // k3
-            double[] estadoIntermediarioK2 = new double[numeroCompartimentos];
-            for(int compartimento=0; compartimento<numeroCompartimentos; compartimento++) estadoIntermediarioK2[compartimento] = estadoAtual[compartimento] + 0.5 * coeficienteK2[compartimento];
-            double[] derivada3 = derivSir(estadoIntermediarioK2, parametros.populacaoTotal, parametros.taxaTransmissao, parametros.taxaRecuperacao);
-            coeficienteK3 = new double[numeroCompartimentos];
-            for(int compartimento=0; compartimento<numeroCompartimentos; compartimento++) coeficienteK3[compartimento] = derivada3[compartimento] * incrementoTempo;
-
-            // k4
-            double[] estadoIntermediarioK3 = new double[numeroCompartimentos];
-            for(int compartimento=0; compartimento<numeroCompartimentos; compartimento++) estadoIntermediarioK3[compartimento] = estadoAtual[compartimento] + coeficienteK3[compartimento];
-            double[] derivada4 = derivSir(estadoIntermediarioK3, parametros.populacaoTotal, parametros.taxaTransmissao, parametros.taxaRecuperacao);
-            coeficienteK4 = new double[numeroCompartimentos];
-            for(int compartimento=0; compartimento<numeroCompartimentos; compartimento++) coeficienteK4[compartimento] = derivada4[compartimento] * incrementoTempo;
-
-            // Atualização Y (y_{i+1})
-            for (int compartimento = 0; compartimento < numeroCompartimentos; compartimento++) {
-                estadoAtual[compartimento] += (coeficienteK1[compartimento] + 2.0 * coeficienteK2[compartimento] + 2.0 * coeficienteK3[compartimento] + coeficienteK4[compartimento]) / 6.0;
-                if (estadoAtual[compartimento] < 0) estadoAtual[compartimento] = 0;
-            }
-            
-            if (estadoAtual[1] > maxInfectados) maxInfectados = estadoAtual[1];
-        }
-        return maxInfectados;
+    // --- 1b. Solver de UM Cenário com o método escolhido na configuração do cenário ---
+    public static double resolverCenario(ParametrosCenario parametros) {
+        ModeloSIR modelo = new ModeloSIR(parametros.populacaoTotal, parametros.taxaTransmissao, parametros.taxaRecuperacao);
+        return Integrador.picoInfectados(parametros.configuracao, modelo,
+                                         modelo.estadoInicial(parametros.infectadosIniciais, parametros.recuperadosIniciais),
+                                         parametros.tempoMaximo, parametros.numeroPassos);
     }
 
-    // --- 3. Callable para a Tarefa de Cenário ---
+    // --- 1c. Cenário com detecção de eventos (pico, capacidade e extinção), sem guardar histórico ---
+    // A integração termina quando I cai abaixo de 1 pessoa (evento terminal)
+    public static DetectorEventos resolverCenarioComEventos(ParametrosCenario parametros, double capacidadeHospitalar) {
+        ModeloSIR modelo = new ModeloSIR(parametros.populacaoTotal, parametros.taxaTransmissao, parametros.taxaRecuperacao);
+        DetectorEventos detector = new DetectorEventos(modelo,
+            Evento.pico(modelo.indiceInfectados()),
+            Evento.limiar("capacidade", modelo.indiceInfectados(), capacidadeHospitalar, Evento.Direcao.SUBIDA),
+            Evento.extincao(modelo.indiceInfectados(), 1.0));
+        Integrador.integrar(parametros.configuracao, modelo, modelo.estadoInicial(parametros.infectadosIniciais, parametros.recuperadosIniciais),
+                            parametros.tempoMaximo, parametros.numeroPassos, detector);
+        return detector;
+    }
+
+    // --- 2. Callable para a Tarefa de Cenário ---
     static class TarefaCenario implements Callable<Double> {
         private final ParametrosCenario parametros;
 
@@ -118,18 +129,18 @@ public class CenariosParaleloSIR {
         @Override
         public Double call() throws Exception {
             // Cada thread executa o solver sequencial completo e simplificado
-            return resolverRungeKutka4(parametros);
+            return resolverCenario(parametros);
         }
     }
 
-    // --- 5. Método público para executar simulação ---
+    // --- 3. Método público para executar simulação ---
     public double executarSimulacao() {
         // Geração dos Cenários (Variando taxaTransmissao)
         ArrayList<ParametrosCenario> cenarios = new ArrayList<>();
         for (int indiceCenario = 0; indiceCenario < numeroCenarios; indiceCenario++) {
             double taxaTransmissao = 0.1 + (0.4 * indiceCenario) / (numeroCenarios - 1);
             cenarios.add(new ParametrosCenario(populacaoBase, taxaTransmissao, taxaRecuperacao,
-                                               infectadosIniciais, recuperadosIniciais, tempoMaximo, numeroPassos));
+                                               infectadosIniciais, recuperadosIniciais, tempoMaximo, numeroPassos, configuracao));
         }
 
         System.out.println("--- SIMULAÇÃO PARALELA DE MÚLTIPLOS CENÁRIOS ---");
@@ -162,7 +173,320 @@ public class CenariosParaleloSIR {
         return tempoDecorridoMs;
     }
 
-    // --- 6. Main para Execução ---
+    // --- 3b. Modo resumo: pico, tempo até o pico e tamanho final em forma fechada, sem integrar ---
+    // Cada thread resume uma faixa contígua dos vetores de cenários (MotorAnaliticoSIR.resumirLote).
+    // Cenários cujo pico cai depois de tempoMaximo usam I(tempoMaximo), como o laço numérico faria
+    public double executarResumoAnalitico() {
+        double[] populacaoTotal = new double[numeroCenarios];
+        double[] taxasTransmissao = new double[numeroCenarios];
+        double[] taxasRecuperacao = new double[numeroCenarios];
+        double[] suscetiveisIniciais = new double[numeroCenarios];
+        double[] infectadosIniciaisCenario = new double[numeroCenarios];
+        for (int indiceCenario = 0; indiceCenario < numeroCenarios; indiceCenario++) {
+            populacaoTotal[indiceCenario] = populacaoBase;
+            taxasTransmissao[indiceCenario] = 0.1 + (0.4 * indiceCenario) / (numeroCenarios - 1);
+            taxasRecuperacao[indiceCenario] = taxaRecuperacao;
+            suscetiveisIniciais[indiceCenario] = populacaoBase - infectadosIniciais - recuperadosIniciais;
+            infectadosIniciaisCenario[indiceCenario] = infectadosIniciais;
+        }
+        double[] picos = new double[numeroCenarios];
+        double[] temposPico = new double[numeroCenarios];
+        double[] tamanhosFinais = new double[numeroCenarios];
+
+        System.out.println("--- RESUMO ANALÍTICO DE MÚLTIPLOS CENÁRIOS ---");
+        System.out.println("Total de cenários: " + numeroCenarios);
+        System.out.println("Threads Utilizadas: " + numeroThreads);
+
+        long tempoInicio = System.nanoTime();
+
+        ExecutorService executor = Executors.newFixedThreadPool(numeroThreads);
+        ArrayList<Future<?>> futuros = new ArrayList<>();
+        int tamanhoFaixa = (numeroCenarios + numeroThreads - 1) / numeroThreads;
+        for (int inicio = 0; inicio < numeroCenarios; inicio += tamanhoFaixa) {
+            int inicioFaixa = inicio;
+            int fimFaixa = Math.min(numeroCenarios, inicio + tamanhoFaixa);
+            futuros.add(executor.submit(() -> {
+                MotorAnaliticoSIR.resumirLote(populacaoTotal, taxasTransmissao, taxasRecuperacao,
+                                              suscetiveisIniciais, infectadosIniciaisCenario,
+                                              picos, temposPico, tamanhosFinais, inicioFaixa, fimFaixa);
+                for (int i = inicioFaixa; i < fimFaixa; i++) {
+                    if (temposPico[i] > tempoMaximo) {
+                        picos[i] = MotorAnaliticoSIR.infectadosEm(tempoMaximo, populacaoTotal[i], taxasTransmissao[i],
+                                                                  taxasRecuperacao[i], suscetiveisIniciais[i],
+                                                                  infectadosIniciaisCenario[i]);
+                    }
+                }
+            }));
+        }
+
+        try {
+            for (Future<?> futuro : futuros) {
+                futuro.get();
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            System.err.println("Erro na execução paralela: " + e.getMessage());
+        } finally {
+            executor.shutdown();
+        }
+
+        long tempoFim = System.nanoTime();
+        double tempoDecorridoMs = (tempoFim - tempoInicio) / 1_000_000.0;
+
+        double totalMaxInfectados = 0, totalInfeccoes = 0;
+        for (int i = 0; i < numeroCenarios; i++) {
+            totalMaxInfectados += picos[i];
+            totalInfeccoes += tamanhosFinais[i];
+        }
+        System.out.printf("Soma dos picos: %.2f | Soma dos tamanhos finais: %.2f\n", totalMaxInfectados, totalInfeccoes);
+        System.out.printf("Tempo de execução do resumo analítico: %.4f milissegundos\n", tempoDecorridoMs);
+        return tempoDecorridoMs;
+    }
+
+    // --- 3c. Mesma varredura com eventos: quantos cenários excedem a capacidade e quando ---
+    public double executarSimulacaoComEventos(double capacidadeHospitalar) {
+        System.out.println("--- SIMULAÇÃO PARALELA DE MÚLTIPLOS CENÁRIOS COM EVENTOS ---");
+        System.out.println("Total de simulações: " + numeroCenarios);
+        System.out.println("Capacidade hospitalar: " + capacidadeHospitalar);
+
+        long tempoInicio = System.nanoTime();
+
+        ExecutorService executor = Executors.newFixedThreadPool(numeroThreads);
+        ArrayList<Future<DetectorEventos>> futuros = new ArrayList<>();
+        for (int indiceCenario = 0; indiceCenario < numeroCenarios; indiceCenario++) {
+            double taxaTransmissao = 0.1 + (0.4 * indiceCenario) / (numeroCenarios - 1);
+            ParametrosCenario parametros = new ParametrosCenario(populacaoBase, taxaTransmissao, taxaRecuperacao,
+                                                                 infectadosIniciais, recuperadosIniciais, tempoMaximo, numeroPassos, configuracao);
+            futuros.add(executor.submit(() -> resolverCenarioComEventos(parametros, capacidadeHospitalar)));
+        }
+
+        int acimaCapacidade = 0, extintos = 0, comPico = 0;
+        double somaTempoCapacidade = 0, somaTempoPico = 0;
+        try {
+            for (Future<DetectorEventos> futuro : futuros) {
+                DetectorEventos detector = futuro.get();
+                OcorrenciaEvento capacidade = detector.primeira("capacidade");
+                OcorrenciaEvento pico = detector.primeira("pico");
+                if (capacidade != null) {
+                    acimaCapacidade++;
+                    somaTempoCapacidade += capacidade.getTempo();
+                }
+                if (pico != null) {
+                    comPico++;
+                    somaTempoPico += pico.getTempo();
+                }
+                if (detector.primeira("extincao") != null) {
+                    extintos++;
+                }
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            System.err.println("Erro na execução paralela: " + e.getMessage());
+        } finally {
+            executor.shutdown();
+        }
+
+        long tempoFim = System.nanoTime();
+        double tempoDecorridoMs = (tempoFim - tempoInicio) / 1_000_000.0;
+        System.out.printf("Cenários acima da capacidade: %d (tempo médio até exceder: %.2f)\n", acimaCapacidade,
+                          acimaCapacidade > 0 ? somaTempoCapacidade / acimaCapacidade : Double.NaN);
+        System.out.printf("Cenários com pico: %d (tempo médio até o pico: %.2f)\n", comPico,
+                          comPico > 0 ? somaTempoPico / comPico : Double.NaN);
+        System.out.printf("Cenários encerrados por extinção: %d\n", extintos);
+        System.out.printf("Tempo de execução paralelo total: %.4f milissegundos\n", tempoDecorridoMs);
+        return tempoDecorridoMs;
+    }
+
+    // --- 3d. Mesma varredura em lotes de passo travado (KernelLote) ---
+    // Parâmetros e estados em vetores (um elemento por cenário); cada thread integra uma faixa
+    // contígua, várias pistas SIMD por instrução quando a Vector API está disponível. Sempre RK4
+    // de passo fixo, com os mesmos picos (bit a bit) do caminho por TarefaCenario
+    public double executarSimulacaoEmLote() {
+        return executarSimulacaoEmLote(Precisao.DUPLA);
+    }
+
+    // Precisao.SIMPLES integra em float (o dobro de pistas por registrador) e, ao final, compara
+    // float e double em uma amostra de cenários, avisando se o erro passar da tolerância
+    public double executarSimulacaoEmLote(Precisao precisao) {
+        KernelLote kernel = KernelLote.melhorDisponivel();
+        double[] taxasTransmissao = new double[numeroCenarios];
+        for (int indiceCenario = 0; indiceCenario < numeroCenarios; indiceCenario++) {
+            taxasTransmissao[indiceCenario] = 0.1 + (0.4 * indiceCenario) / (numeroCenarios - 1);
+        }
+        double suscetiveisIniciais = populacaoBase - infectadosIniciais - recuperadosIniciais;
+        double incrementoTempo = Integrador.incrementoTempo(tempoMaximo, numeroPassos);
+
+        // Faixas múltiplas da largura do kernel: só o fim do lote cai no caminho escalar
+        int largura = kernel.largura(precisao);
+        int gruposPorThread = ((numeroCenarios + largura - 1) / largura + numeroThreads - 1) / numeroThreads;
+        int tamanhoFaixa = Math.max(1, gruposPorThread) * largura;
+
+        ArrayList<Runnable> faixas = new ArrayList<>();
+        double[] picos = new double[numeroCenarios];
+        float[] picosSimples = new float[precisao == Precisao.SIMPLES ? numeroCenarios : 0];
+        if (precisao == Precisao.SIMPLES) {
+            float[] taxas = new float[numeroCenarios];
+            float[] suscetiveis = new float[numeroCenarios];
+            float[] infectados = new float[numeroCenarios];
+            float[] recuperados = new float[numeroCenarios];
+            for (int indiceCenario = 0; indiceCenario < numeroCenarios; indiceCenario++) {
+                taxas[indiceCenario] = (float) taxasTransmissao[indiceCenario];
+                suscetiveis[indiceCenario] = (float) suscetiveisIniciais;
+                infectados[indiceCenario] = (float) infectadosIniciais;
+                recuperados[indiceCenario] = (float) recuperadosIniciais;
+            }
+            for (int inicio = 0; inicio < numeroCenarios; inicio += tamanhoFaixa) {
+                int inicioFaixa = inicio;
+                int fimFaixa = Math.min(numeroCenarios, inicio + tamanhoFaixa);
+                faixas.add(() -> kernel.integrarSIR((float) populacaoBase, (float) taxaRecuperacao, taxas,
+                    suscetiveis, infectados, recuperados, (float) incrementoTempo, numeroPassos, picosSimples,
+                    inicioFaixa, fimFaixa));
+            }
+        } else {
+            double[] suscetiveis = new double[numeroCenarios];
+            double[] infectados = new double[numeroCenarios];
+            double[] recuperados = new double[numeroCenarios];
+            Arrays.fill(suscetiveis, suscetiveisIniciais);
+            Arrays.fill(infectados, infectadosIniciais);
+            Arrays.fill(recuperados, recuperadosIniciais);
+            for (int inicio = 0; inicio < numeroCenarios; inicio += tamanhoFaixa) {
+                int inicioFaixa = inicio;
+                int fimFaixa = Math.min(numeroCenarios, inicio + tamanhoFaixa);
+                faixas.add(() -> kernel.integrarSIR(populacaoBase, taxaRecuperacao, taxasTransmissao,
+                    suscetiveis, infectados, recuperados, incrementoTempo, numeroPassos, picos,
+                    inicioFaixa, fimFaixa));
+            }
+        }
+
+        System.out.println("--- SIMULAÇÃO PARALELA DE MÚLTIPLOS CENÁRIOS EM LOTE ---");
+        System.out.println("Total de simulações: " + numeroCenarios);
+        System.out.println("Threads Utilizadas: " + numeroThreads);
+        System.out.println("Kernel: " + kernel.descricao() + ", precisão " + precisao);
+
+        long tempoInicio = System.nanoTime();
+
+        ExecutorService executor = Executors.newFixedThreadPool(numeroThreads);
+        ArrayList<Future<?>> futuros = new ArrayList<>();
+        for (Runnable faixa : faixas) {
+            futuros.add(executor.submit(faixa));
+        }
+
+        try {
+            for (Future<?> futuro : futuros) {
+                futuro.get();
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            System.err.println("Erro na execução paralela: " + e.getMessage());
+        } finally {
+            executor.shutdown();
+        }
+
+        long tempoFim = System.nanoTime();
+        double tempoDecorridoMs = (tempoFim - tempoInicio) / 1_000_000.0;
+
+        double totalMaximoInfectados = 0;
+        for (int indiceCenario = 0; indiceCenario < numeroCenarios; indiceCenario++) {
+            totalMaximoInfectados += precisao == Precisao.SIMPLES ? picosSimples[indiceCenario] : picos[indiceCenario];
+        }
+        System.out.printf("Soma dos picos: %.2f\n", totalMaximoInfectados);
+        System.out.printf("Tempo de execução paralelo total: %.4f milissegundos\n", tempoDecorridoMs);
+
+        // Guarda de precisão: float contra a referência double em uma amostra do lote (fora da medição)
+        if (precisao == Precisao.SIMPLES) {
+            ComparacaoPrecisao comparacao = ComparacaoPrecisao.sir(kernel, populacaoBase, taxaRecuperacao,
+                taxasTransmissao, infectadosIniciais, recuperadosIniciais, incrementoTempo, numeroPassos,
+                AMOSTRA_COMPARACAO_PRECISAO);
+            System.out.println("Precisão: " + comparacao);
+            if (!comparacao.dentroDe(ComparacaoPrecisao.TOLERANCIA_PADRAO)) {
+                System.err.println("Aviso: erro de precisão simples acima de " + ComparacaoPrecisao.TOLERANCIA_PADRAO
+                    + "; use Precisao.DUPLA para estes parâmetros");
+            }
+        }
+        return tempoDecorridoMs;
+    }
+
+    // --- 3e. Mesma varredura com um modelo definido em texto (ex.: SEIR, SIRV; ver DefinicaoModelo) ---
+    // 'parametroVarrido' percorre [valorMinimo, valorMaximo] como a taxa de transmissão acima. A
+    // definição já foi compilada na carga: cada cenário só troca o parâmetro e roda a classe gerada
+    // com o método da configuração, como os modelos escritos à mão
+    public double executarSimulacaoModelo(DefinicaoModelo definicao, String parametroVarrido,
+                                          double valorMinimo, double valorMaximo, double[] estadoInicial) {
+        ModeloDefinido base = definicao.modelo();
+        ArrayList<ModeloDefinido> modelos = new ArrayList<>();
+        for (int indiceCenario = 0; indiceCenario < numeroCenarios; indiceCenario++) {
+            double valor = valorMinimo + ((valorMaximo - valorMinimo) * indiceCenario) / (numeroCenarios - 1);
+            modelos.add(base.comParametro(parametroVarrido, valor));
+        }
+        double[] inicial = base.estadoInicial(estadoInicial);
+
+        System.out.println("--- SIMULAÇÃO PARALELA DE MÚLTIPLOS CENÁRIOS (" + base + ") ---");
+        System.out.println("Total de simulações: " + numeroCenarios);
+        System.out.println("Threads Utilizadas: " + numeroThreads);
+
+        long tempoInicio = System.nanoTime();
+
+        ExecutorService executor = Executors.newFixedThreadPool(numeroThreads);
+        ArrayList<Future<Double>> futuros = new ArrayList<>();
+
+        for (ModeloDefinido modelo : modelos) {
+            futuros.add(executor.submit(
+                () -> Integrador.picoInfectados(configuracao, modelo, inicial, tempoMaximo, numeroPassos)));
+        }
+
+        double totalMaxInfectados = 0;
+        try {
+            for (Future<Double> futuro : futuros) {
+                totalMaxInfectados += futuro.get();
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            System.err.println("Erro na execução paralela: " + e.getMessage());
+        } finally {
+            executor.shutdown();
+        }
+
+        long tempoFim = System.nanoTime();
+        double tempoDecorridoMs = (tempoFim - tempoInicio) / 1_000_000.0;
+        System.out.printf("Soma dos picos: %.2f\n", totalMaxInfectados);
+        System.out.printf("Tempo de execução paralelo total: %.4f milissegundos\n", tempoDecorridoMs);
+        return tempoDecorridoMs;
+    }
+
+    // --- 3f. Varredura de intervenções em árvore: prefixo comum integrado uma única vez ---
+    // Cenário k: taxa de transmissão reduzida em reducaoMaxima·k/(numeroCenarios - 1) entre
+    // dataIntervencao e dataRelaxamento, voltando depois à taxa original. Até dataIntervencao todos
+    // os cenários são iguais: esse trecho é integrado uma vez e os ramos partem do estado nele, em
+    // paralelo (ArvoreCenarios). Passo fixo da configuração (RK4 ou ABM4), mesma grade dos demais modos
+    public double executarSimulacaoComIntervencao(double taxaTransmissao, double dataIntervencao,
+                                                  double dataRelaxamento, double reducaoMaxima) {
+        ModeloSIR base = new ModeloSIR(populacaoBase, taxaTransmissao, taxaRecuperacao);
+        ArvoreCenarios arvore = new ArvoreCenarios(base.estadoInicial(infectadosIniciais, recuperadosIniciais),
+                                                   Integrador.incrementoTempo(tempoMaximo, numeroPassos),
+                                                   tempoMaximo, configuracao.getMetodo());
+        for (int indiceCenario = 0; indiceCenario < numeroCenarios; indiceCenario++) {
+            double reducao = reducaoMaxima * indiceCenario / (numeroCenarios - 1);
+            ModeloSIR intervencao = new ModeloSIR(populacaoBase, taxaTransmissao * (1.0 - reducao), taxaRecuperacao);
+            arvore.adicionarCenario(new double[] {0.0, dataIntervencao, dataRelaxamento},
+                                    new ModeloSIR[] {base, intervencao, base});
+        }
+
+        System.out.println("--- SIMULAÇÃO PARALELA DE CENÁRIOS DE INTERVENÇÃO (ÁRVORE) ---");
+        System.out.println("Total de simulações: " + numeroCenarios);
+        System.out.println("Threads Utilizadas: " + numeroThreads);
+
+        long tempoInicio = System.nanoTime();
+        ResultadoArvore resultado = arvore.executar(numeroThreads);
+        double totalMaximoInfectados = 0;
+        for (int cenario = 0; cenario < resultado.getNumeroCenarios(); cenario++) {
+            totalMaximoInfectados += resultado.getPicoInfectados(cenario);
+        }
+        long tempoFim = System.nanoTime();
+
+        double tempoDecorridoMs = (tempoFim - tempoInicio) / 1_000_000.0;
+        System.out.printf("Soma dos picos: %.2f\n", totalMaximoInfectados);
+        System.out.println(resultado);
+        System.out.printf("Tempo de execução paralelo total: %.4f milissegundos\n", tempoDecorridoMs);
+        return tempoDecorridoMs;
+    }
+
+    // --- 4. Main para Execução ---
     public static void main(String[] args) {
         CenariosParaleloSIR simulacao = new CenariosParaleloSIR(
             1000000.0, 10.0, 0.0, 1.0 / 10.0, 500.0, 50000, 1000, 
@@ -170,5 +494,46 @@ public class CenariosParaleloSIR {
         );
         double tempoExecucao = simulacao.executarSimulacao();
         System.out.printf("Tempo de execução: %.4f ms\n", tempoExecucao);
+
+        // Mesma varredura só com as grandezas-resumo em forma fechada
+        double tempoResumo = simulacao.executarResumoAnalitico();
+        System.out.printf("Tempo de execução (resumo analítico): %.4f ms\n", tempoResumo);
+
+        // Mesma varredura parando cada cenário na extinção (I < 0,5 em queda), com cauda analítica
+        CenariosParaleloSIR simulacaoComParada = new CenariosParaleloSIR(
+            1000000.0, 10.0, 0.0, 1.0 / 10.0, 500.0, 50000, 1000,
+            Runtime.getRuntime().availableProcessors(), ConfiguracaoSolver.rk4().comParadaAntecipada()
+        );
+        tempoExecucao = simulacaoComParada.executarSimulacao();
+        System.out.printf("Tempo de execução (parada antecipada): %.4f ms\n", tempoExecucao);
+
+        // Mesma varredura RK4 com vários cenários por registrador SIMD
+        tempoExecucao = simulacao.executarSimulacaoEmLote();
+        System.out.printf("Tempo de execução (lote): %.4f ms\n", tempoExecucao);
+
+        // Mesmo lote em precisão simples, com a comparação contra double em uma amostra
+        tempoExecucao = simulacao.executarSimulacaoEmLote(Precisao.SIMPLES);
+        System.out.printf("Tempo de execução (lote, float): %.4f ms\n", tempoExecucao);
+
+        // Mesma varredura detectando pico, capacidade hospitalar e extinção durante a integração
+        tempoExecucao = simulacao.executarSimulacaoComEventos(50000.0);
+        System.out.printf("Tempo de execução (com eventos): %.4f ms\n", tempoExecucao);
+
+        // Mesma varredura com um SEIR definido em texto e compilado na carga, variando beta
+        DefinicaoModelo seir = DefinicaoModelo.analisar(
+            "modelo SEIR\n"
+            + "compartimentos S E I R\n"
+            + "parametros beta=0.3 sigma=0.2 gamma=0.1\n"
+            + "S -> E : beta * S * I / N\n"
+            + "E -> I : sigma * E\n"
+            + "I -> R : gamma * I\n");
+        tempoExecucao = simulacao.executarSimulacaoModelo(seir, "beta", 0.1, 0.5,
+                                                          new double[] {1000000.0 - 10.0, 0.0, 10.0, 0.0});
+        System.out.printf("Tempo de execução (modelo definido): %.4f ms\n", tempoExecucao);
+
+        // Lockdown do dia 60 ao 180 com 1000 intensidades (0 a 80% de redução em beta = 0,3):
+        // os 60 primeiros dias são integrados uma vez e compartilhados por todos os cenários
+        tempoExecucao = simulacao.executarSimulacaoComIntervencao(0.3, 60.0, 180.0, 0.8);
+        System.out.printf("Tempo de execução (intervenções em árvore): %.4f ms\n", tempoExecucao);
     }
 }
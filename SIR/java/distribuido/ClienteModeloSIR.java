@@ -42,6 +42,31 @@ public class ClienteModeloSIR {
         return (tempoFim - tempoInicio) / 1_000_000.0;
     }
 
+    // Pede apenas os instantes de interesse (ex.: um ponto por dia) em vez da grade de numeroPassos
+    public double executarSimulacaoEmInstantes(double[] instantes) throws Exception {
+        long tempoInicio = System.nanoTime();
+
+        String url = "rmi://localhost/ServicoModeloSIR";
+        ModeloSIRRemoto servicoModelo = (ModeloSIRRemoto) Naming.lookup(url);
+
+        servicoModelo.rungeKutka4EmInstantes(
+            populacaoTotal, taxaTransmissao, taxaRecuperacao,
+            infectadosIniciais, recuperadosIniciais, instantes
+        );
+
+        long tempoFim = System.nanoTime();
+        return (tempoFim - tempoInicio) / 1_000_000.0;
+    }
+
+    // Um instante por unidade de tempo em [0, tempoMaximo]
+    private double[] instantesDiarios() {
+        double[] instantes = new double[(int) Math.floor(tempoMaximo) + 1];
+        for (int dia = 0; dia < instantes.length; dia++) {
+            instantes[dia] = dia;
+        }
+        return instantes;
+    }
+
     public static void main(String[] args) {
         try {
             ClienteModeloSIR cliente = new ClienteModeloSIR(
@@ -56,6 +81,11 @@ public class ClienteModeloSIR {
             System.out.println("[CLIENTE] Resultados recebidos com sucesso.");
             System.out.printf("[CLIENTE] Tempo total (incluindo RMI e cálculo): %.4f ms\n", tempoExecucao);
 
+            double[] instantes = cliente.instantesDiarios();
+            double tempoInstantes = cliente.executarSimulacaoEmInstantes(instantes);
+            System.out.printf("[CLIENTE] Consulta em %d instantes (saída densa): %.4f ms\n",
+                              instantes.length, tempoInstantes);
+
         } catch (Exception e) {
             System.err.println("Erro no Cliente RMI: Certifique-se de que o Servidor RMI está rodando.");
             System.err.println("Erro: " + e.getMessage());
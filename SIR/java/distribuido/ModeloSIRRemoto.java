@@ -3,6 +3,8 @@
 import java.rmi.Remote;
 import java.rmi.RemoteException;
 
+import nucleo.Trajetoria;
+
 public interface ModeloSIRRemoto extends Remote {
 
     /**
@@ -16,10 +18,23 @@ public interface ModeloSIRRemoto extends Remote {
      * @param recuperadosIniciais Recuperados iniciais.
      * @param tempoMaximo Tempo máximo de simulação.
      * @param numeroPassos Número de passos de tempo.
-     * @return Matriz 2D com a série temporal [tempo][S, I, R].
+     * @return Série temporal (instantes e uma série contígua por compartimento S, I, R).
+     * @throws RemoteException Se ocorrer um erro durante a comunicação RMI.
+     */
+    Trajetoria rungeKutka4(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao, double infectadosIniciais, double recuperadosIniciais, double tempoMaximo, int numeroPassos)
+            throws RemoteException;
+
+    /**
+     * Resolve a mesma simulação, mas devolve apenas os instantes pedidos (ex.:
+     * 365 pontos diários) em vez da grade inteira de numeroPassos. O servidor
+     * integra com passos internos grossos e avalia a saída densa (Hermite)
+     * em cada instante.
+     *
+     * @param instantes Instantes de consulta (t >= 0, em qualquer ordem).
+     * @return Série {S, I, R} com um ponto por instante pedido, na mesma ordem.
      * @throws RemoteException Se ocorrer um erro durante a comunicação RMI.
      */
-    double[][] rungeKutka4(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao, double infectadosIniciais, double recuperadosIniciais, double tempoMaximo, int numeroPassos)
+    Trajetoria rungeKutka4EmInstantes(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao, double infectadosIniciais, double recuperadosIniciais, double[] instantes)
             throws RemoteException;
 
     /**
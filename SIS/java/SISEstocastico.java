@@ -0,0 +1,121 @@
+import nucleo.ModeloSIS;
+import nucleo.ResultadoEnsemble;
+import nucleo.SimuladorGillespie;
+import nucleo.SimuladorHibrido;
+import nucleo.SimuladorTauLeaping;
+
+/**
+ * Modelo SIS estocástico: ensemble de realizações com populações inteiras,
+ * exatas pelo algoritmo de Gillespie (nucleo.SimuladorGillespie) ou aproximadas
+ * por tau-leaping (nucleo.SimuladorTauLeaping), cujo custo não cresce com a
+ * população, ou híbridas (nucleo.SimuladorHibrido), estocásticas só com poucos
+ * infectados e RK4 na onda. Cada realização tem seu próprio fluxo SplittableRandom derivado da
+ * semente, então o ensemble é reproduzível com qualquer numeroThreads.
+ */
+public class SISEstocastico {
+
+    // Pontos da grade de I(t) médio
+    private static final int PONTOS_GRADE = 101;
+
+    // Parâmetros da simulação
+    private final int populacaoTotal;
+    private final double taxaTransmissao;
+    private final double taxaRecuperacao;
+    private final int infectadosIniciais;
+    private final double tempoMaximo;
+    private final int realizacoes;
+    private final long semente;
+    private final int numeroThreads;
+
+    public SISEstocastico(int populacaoTotal, double taxaTransmissao, double taxaRecuperacao, int infectadosIniciais,
+                          double tempoMaximo, int realizacoes, long semente, int numeroThreads) {
+        this.populacaoTotal = populacaoTotal;
+        this.taxaTransmissao = taxaTransmissao;
+        this.taxaRecuperacao = taxaRecuperacao;
+        this.infectadosIniciais = infectadosIniciais;
+        this.tempoMaximo = tempoMaximo;
+        this.realizacoes = realizacoes;
+        this.semente = semente;
+        this.numeroThreads = numeroThreads;
+    }
+
+    // --- 1. Ensemble de Gillespie (exato) ---
+    public double executarSimulacao() {
+        System.out.println("Iniciando ensemble SIS estocástico com " + realizacoes + " realizações em "
+            + numeroThreads + " threads...");
+        long tempoInicio = System.nanoTime();
+
+        SimuladorGillespie simulador = SimuladorGillespie.sis(
+            new ModeloSIS(populacaoTotal, taxaTransmissao, taxaRecuperacao), tempoMaximo, PONTOS_GRADE);
+        ResultadoEnsemble resultado = simulador.executarEnsemble(infectadosIniciais, realizacoes, semente, numeroThreads);
+
+        long tempoFim = System.nanoTime();
+        double tempoDecorridoMs = (tempoFim - tempoInicio) / 1_000_000.0;
+        imprimirResumo(resultado, tempoDecorridoMs);
+        return tempoDecorridoMs;
+    }
+
+    // --- 1b. Ensemble por tau-leaping: aproximado, para populações de milhões ---
+    // Custo por realização proporcional a numeroPassos, não ao número de eventos (ver SimuladorTauLeaping)
+    public double executarSimulacaoTauLeaping(int numeroPassos) {
+        System.out.println("Iniciando ensemble SIS por tau-leaping com " + realizacoes + " realizações de "
+            + numeroPassos + " passos em " + numeroThreads + " threads...");
+        long tempoInicio = System.nanoTime();
+
+        SimuladorTauLeaping simulador = SimuladorTauLeaping.sis(
+            new ModeloSIS(populacaoTotal, taxaTransmissao, taxaRecuperacao), tempoMaximo, numeroPassos);
+        ResultadoEnsemble resultado = simulador.executarEnsemble(infectadosIniciais, realizacoes, semente, numeroThreads);
+
+        long tempoFim = System.nanoTime();
+        double tempoDecorridoMs = (tempoFim - tempoInicio) / 1_000_000.0;
+        imprimirResumo(resultado, tempoDecorridoMs);
+        return tempoDecorridoMs;
+    }
+
+    // --- 1c. Ensemble híbrido: SSA com poucos infectados, RK4 acima de limiarInfectados ---
+    // Extinção e emergência estocásticas a um custo próximo do RK4 (ver SimuladorHibrido)
+    public double executarSimulacaoHibrida(int numeroPassos, double limiarInfectados) {
+        System.out.println("Iniciando ensemble SIS híbrido (limiar de " + limiarInfectados + " infectados) com "
+            + realizacoes + " realizações de " + numeroPassos + " passos em " + numeroThreads + " threads...");
+        long tempoInicio = System.nanoTime();
+
+        SimuladorHibrido simulador = SimuladorHibrido.sis(
+            new ModeloSIS(populacaoTotal, taxaTransmissao, taxaRecuperacao), tempoMaximo, numeroPassos, limiarInfectados);
+        ResultadoEnsemble resultado = simulador.executarEnsemble(infectadosIniciais, realizacoes, semente, numeroThreads);
+
+        long tempoFim = System.nanoTime();
+        double tempoDecorridoMs = (tempoFim - tempoInicio) / 1_000_000.0;
+        imprimirResumo(resultado, tempoDecorridoMs);
+        return tempoDecorridoMs;
+    }
+
+    private void imprimirResumo(ResultadoEnsemble resultado, double tempoDecorridoMs) {
+        // No SIS as realizações que não se extinguem ficam no nível endêmico
+        System.out.printf("Extinção antes de t = %.0f: %.2f%%; pico médio %.2f (mediana %d, p95 %d); I médio final %.2f\n",
+                          tempoMaximo, 100 * resultado.probabilidadeExtincao(), resultado.mediaPico(),
+                          resultado.quantilPico(0.5), resultado.quantilPico(0.95),
+                          resultado.mediaInfectados(resultado.getPontosGrade() - 1));
+        System.out.printf("Eventos simulados: %d; %.1f realizações/s\n", resultado.getEventosTotais(),
+                          realizacoes / (tempoDecorridoMs / 1000.0));
+        System.out.printf("Tempo de execução: %.4f milissegundos\n", tempoDecorridoMs);
+    }
+
+    // --- 2. Main para Execução ---
+    public static void main(String[] args) {
+        SISEstocastico simulacao = new SISEstocastico(2000, 0.2, 1.0 / 10.0, 5, 200.0, 500, 42L,
+                                                      Runtime.getRuntime().availableProcessors());
+        double tempoExecucao = simulacao.executarSimulacao();
+        System.out.printf("Tempo de execução: %.4f ms\n", tempoExecucao);
+
+        // Milhões de indivíduos: o SSA faria milhões de eventos por realização; o tau-leaping
+        // custa o mesmo por passo qualquer que seja a população
+        SISEstocastico simulacaoGrande = new SISEstocastico(2000000, 0.2, 1.0 / 10.0, 10, 200.0, 1000, 42L,
+                                                            Runtime.getRuntime().availableProcessors());
+        tempoExecucao = simulacaoGrande.executarSimulacaoTauLeaping(2001);
+        System.out.printf("Tempo de execução (tau-leaping): %.4f ms\n", tempoExecucao);
+
+        // Híbrido: SSA só enquanto há menos de 1 000 infectados (emergência e extinção), RK4 acima
+        tempoExecucao = simulacaoGrande.executarSimulacaoHibrida(2001, 1000.0);
+        System.out.printf("Tempo de execução (híbrido): %.4f ms\n", tempoExecucao);
+    }
+}
@@ -1,155 +1,188 @@
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.*;
 
+import nucleo.ConfiguracaoSolver;
+import nucleo.Integrador;
+import nucleo.MetodoIntegracao;
+import nucleo.ModeloSIS;
+import nucleo.ResultadoParareal;
+import nucleo.SolverParareal;
+import nucleo.Trajetoria;
+
 /**
  * Implementação Paralela do Modelo SIS (RK4) com Paralelização por População.
  * Divide a população em blocos e cada thread simula um bloco independente.
+ * Blocos equivalentes por escala (a mesma fração inicial de infectados) são
+ * resolvidos uma única vez; só blocos realmente diferentes ocupam threads.
  */
 public class SISParalelo {
 
     // Parâmetros da simulação
-    private final double populacaoTotal;
     private final double taxaTransmissao;
     private final double taxaRecuperacao;
-    private final double infectadosIniciais;
     private final double tempoMaximo;
     private final int numeroPassos;
     private final int numeroThreads;
+    private final ConfiguracaoSolver configuracao;
+
+    // Diagnóstico da última execução do Parareal (vazio antes dela)
+    private List<ResultadoParareal> resultadosParareal = Collections.emptyList();
 
-    // Construtor
+    // Blocos da população (subpopulações isoladas, com as mesmas taxas)
+    private final double[] populacoesBlocos;
+    private final double[] infectadosBlocos;
+
+    // Construtor (RK4 de passo fixo)
     public SISParalelo(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao,
                        double infectadosIniciais, double tempoMaximo, int numeroPassos, int numeroThreads) {
-        this.populacaoTotal = populacaoTotal;
+        this(populacaoTotal, taxaTransmissao, taxaRecuperacao, infectadosIniciais, tempoMaximo, numeroPassos,
+             numeroThreads, ConfiguracaoSolver.rk4());
+    }
+
+    // Construtor com escolha do método de grade fixa (RK4, ABM4 ou analítico)
+    public SISParalelo(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao,
+                       double infectadosIniciais, double tempoMaximo, int numeroPassos, int numeroThreads,
+                       ConfiguracaoSolver configuracao) {
+        this(taxaTransmissao, taxaRecuperacao, dividir(populacaoTotal, numeroThreads),
+             dividir(infectadosIniciais, numeroThreads), tempoMaximo, numeroPassos, numeroThreads, configuracao);
+    }
+
+    // Construtor com blocos explícitos, ex.: subpopulações de tamanhos ou condições iniciais diferentes
+    public SISParalelo(double taxaTransmissao, double taxaRecuperacao, double[] populacoesBlocos,
+                       double[] infectadosBlocos, double tempoMaximo, int numeroPassos, int numeroThreads,
+                       ConfiguracaoSolver configuracao) {
+        if (populacoesBlocos.length != infectadosBlocos.length) {
+            throw new IllegalArgumentException("Blocos com tamanhos diferentes: " + populacoesBlocos.length
+                + " e " + infectadosBlocos.length);
+        }
+        // Os blocos são somados na grade de passos: sem métodos adaptativos
+        MetodoIntegracao metodo = configuracao.getMetodo();
+        if (metodo != MetodoIntegracao.RK4 && metodo != MetodoIntegracao.ABM4 && metodo != MetodoIntegracao.ANALITICO) {
+            throw new IllegalArgumentException("Simulação por blocos disponível para RK4, ABM4 e analítico (grade fixa): "
+                + metodo);
+        }
+        this.populacoesBlocos = populacoesBlocos.clone();
+        this.infectadosBlocos = infectadosBlocos.clone();
         this.taxaTransmissao = taxaTransmissao;
         this.taxaRecuperacao = taxaRecuperacao;
-        this.infectadosIniciais = infectadosIniciais;
         this.tempoMaximo = tempoMaximo;
         this.numeroPassos = numeroPassos;
         this.numeroThreads = numeroThreads;
+        this.configuracao = configuracao;
     }
 
-    // --- 1. Função de Derivada (Calcula as 2 EDOs do SIS) ---
-    private static double[] derivSis(double[] estadoAtual, double tempo, double populacaoTotal, 
-                                     double taxaTransmissao, double taxaRecuperacao) {
-        double suscetiveis = estadoAtual[0];
-        double infectados = estadoAtual[1];
-
-        double derivadaSuscetiveis = -taxaTransmissao * suscetiveis * infectados / populacaoTotal + taxaRecuperacao * infectados;
-        double derivadaInfectados = taxaTransmissao * suscetiveis * infectados / populacaoTotal - taxaRecuperacao * infectados;
-
-        return new double[]{derivadaSuscetiveis, derivadaInfectados};
+    private static double[] dividir(double total, int numeroBlocos) {
+        double[] blocos = new double[numeroBlocos];
+        Arrays.fill(blocos, total / numeroBlocos);
+        return blocos;
     }
 
-    // --- 2. Tarefa para simular um bloco da população ---
-    static class TarefaSimulacaoBloco implements Callable<double[][]> {
+    // --- 1. Tarefa para simular um bloco da população ---
+    static class TarefaSimulacaoBloco implements Callable<Trajetoria> {
         private final double populacaoBloco;
         private final double taxaTransmissao;
         private final double taxaRecuperacao;
         private final double infectadosIniciais;
         private final double tempoMaximo;
         private final int numeroPassos;
+        private final ConfiguracaoSolver configuracao;
 
         public TarefaSimulacaoBloco(double populacaoBloco, double taxaTransmissao, double taxaRecuperacao,
-                                    double infectadosIniciais, double tempoMaximo, int numeroPassos) {
+                                    double infectadosIniciais, double tempoMaximo, int numeroPassos,
+                                    ConfiguracaoSolver configuracao) {
             this.populacaoBloco = populacaoBloco;
             this.taxaTransmissao = taxaTransmissao;
             this.taxaRecuperacao = taxaRecuperacao;
             this.infectadosIniciais = infectadosIniciais;
             this.tempoMaximo = tempoMaximo;
             this.numeroPassos = numeroPassos;
+            this.configuracao = configuracao;
         }
 
         @Override
-        public double[][] call() {
-            return rungeKutta4Sequencial(populacaoBloco, taxaTransmissao, taxaRecuperacao,
-                                         infectadosIniciais, tempoMaximo, numeroPassos);
+        public Trajetoria call() {
+            return resolverBloco(configuracao, populacaoBloco, taxaTransmissao, taxaRecuperacao,
+                                 infectadosIniciais, tempoMaximo, numeroPassos);
         }
     }
 
-    // --- 3. Solver RK4 Sequencial (usado por cada thread) ---
-    private static double[][] rungeKutta4Sequencial(double populacaoTotal, double taxaTransmissao, 
-                                                    double taxaRecuperacao, double infectadosIniciais,
-                                                    double tempoMaximo, int numeroPassos) {
-        double suscetiveisIniciais = populacaoTotal - infectadosIniciais;
-        double[] estadoAtual = {suscetiveisIniciais, infectadosIniciais};
-        int numeroCompartimentos = 2;
-        double incrementoTempo = tempoMaximo / (numeroPassos - 1);
-        double[][] historico = new double[numeroPassos][numeroCompartimentos];
-        historico[0] = Arrays.copyOf(estadoAtual, numeroCompartimentos);
-
-        for (int passo = 0; passo < numeroPassos - 1; passo++) {
-            double tempoAtual = passo * incrementoTempo;
-            
-            // K1
-            double[] k1 = derivSis(estadoAtual, tempoAtual, populacaoTotal, taxaTransmissao, taxaRecuperacao);
-            
-            // K2
-            double[] estadoK1 = new double[numeroCompartimentos];
-            for (int i = 0; i < numeroCompartimentos; i++) {
-                estadoK1[i] = estadoAtual[i] + 0.5 * incrementoTempo * k1[i];
-            }
-            double[] k2 = derivSis(estadoK1, tempoAtual + incrementoTempo / 2, populacaoTotal, taxaTransmissao, taxaRecuperacao);
-            
-            // K3
-            double[] estadoK2 = new double[numeroCompartimentos];
-            for (int i = 0; i < numeroCompartimentos; i++) {
-                estadoK2[i] = estadoAtual[i] + 0.5 * incrementoTempo * k2[i];
-            }
-            double[] k3 = derivSis(estadoK2, tempoAtual + incrementoTempo / 2, populacaoTotal, taxaTransmissao, taxaRecuperacao);
-            
-            // K4
-            double[] estadoK3 = new double[numeroCompartimentos];
-            for (int i = 0; i < numeroCompartimentos; i++) {
-                estadoK3[i] = estadoAtual[i] + incrementoTempo * k3[i];
-            }
-            double[] k4 = derivSis(estadoK3, tempoAtual + incrementoTempo, populacaoTotal, taxaTransmissao, taxaRecuperacao);
-            
-            // Atualização RK4
-            for (int i = 0; i < numeroCompartimentos; i++) {
-                estadoAtual[i] += incrementoTempo * (k1[i] + 2*k2[i] + 2*k3[i] + k4[i]) / 6.0;
-                if (estadoAtual[i] < 0) estadoAtual[i] = 0;
+    // --- 2. Solver Sequencial do bloco (usado por cada thread) ---
+    // No modo analítico o bloco é avaliado pela forma fechada, sem passos de integração
+    private static Trajetoria resolverBloco(ConfiguracaoSolver configuracao, double populacaoTotal,
+                                            double taxaTransmissao, double taxaRecuperacao,
+                                            double infectadosIniciais, double tempoMaximo, int numeroPassos) {
+        ModeloSIS modelo = new ModeloSIS(populacaoTotal, taxaTransmissao, taxaRecuperacao);
+        return Integrador.integrar(configuracao, modelo, modelo.estadoInicial(infectadosIniciais), tempoMaximo, numeroPassos);
+    }
+
+    // --- 2b. Blocos equivalentes por escala ---
+    // O SIS é homogêneo de grau 1: com as mesmas taxas, o bloco (c·N, c·I0) tem a trajetória c·y(t).
+    // Os métodos de grade fixa (RK4, ABM4 e a forma fechada) preservam isso; o limiar de extinção da
+    // parada antecipada não, e com ela só blocos idênticos são agrupados. O representante de cada
+    // grupo é resolvido uma vez e entra na soma com peso ΣN_bloco / N_representante
+    static class GrupoBlocos {
+        final int representante;
+        double fatorEscala;
+
+        GrupoBlocos(int representante) {
+            this.representante = representante;
+        }
+    }
+
+    List<GrupoBlocos> agruparBlocos() {
+        boolean invariantePorEscala = configuracao.getCriterioParada() == null;
+        Map<List<Double>, GrupoBlocos> grupos = new LinkedHashMap<>();
+        for (int bloco = 0; bloco < populacoesBlocos.length; bloco++) {
+            List<Double> chave = invariantePorEscala
+                ? Arrays.asList(infectadosBlocos[bloco] / populacoesBlocos[bloco])
+                : Arrays.asList(infectadosBlocos[bloco], populacoesBlocos[bloco]);
+            GrupoBlocos grupo = grupos.get(chave);
+            if (grupo == null) {
+                grupo = new GrupoBlocos(bloco);
+                grupos.put(chave, grupo);
             }
-            
-            historico[passo + 1] = Arrays.copyOf(estadoAtual, numeroCompartimentos);
+            grupo.fatorEscala += populacoesBlocos[bloco] / populacoesBlocos[grupo.representante];
         }
-        
-        return historico;
+        return new ArrayList<>(grupos.values());
     }
 
-    // --- 4. Método para executar simulação com paralelização por população ---
+    // Quantos blocos precisam de fato ser integrados
+    public int numeroBlocosDistintos() {
+        return agruparBlocos().size();
+    }
+
+    // --- 3. Método para executar simulação com paralelização por população ---
     public double executarSimulacao() {
         long tempoInicio = System.nanoTime();
         
-        ExecutorService executor = Executors.newFixedThreadPool(numeroThreads);
-        List<Future<double[][]>> futuros = new ArrayList<>();
-        
-        // Divide a população em blocos
-        double populacaoPorThread = populacaoTotal / numeroThreads;
-        double infectadosPorThread = infectadosIniciais / numeroThreads;
+        // Um bloco por grupo de blocos equivalentes; threads além disso ficam livres
+        List<GrupoBlocos> grupos = agruparBlocos();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(numeroThreads, grupos.size()));
+        List<Future<Trajetoria>> futuros = new ArrayList<>();
         
-        // Submete tarefas para cada bloco de população
-        for (int i = 0; i < numeroThreads; i++) {
+        // Submete uma tarefa por bloco distinto
+        for (GrupoBlocos grupo : grupos) {
+            int bloco = grupo.representante;
             TarefaSimulacaoBloco tarefa = new TarefaSimulacaoBloco(
-                populacaoPorThread, taxaTransmissao, taxaRecuperacao,
-                infectadosPorThread, tempoMaximo, numeroPassos
+                populacoesBlocos[bloco], taxaTransmissao, taxaRecuperacao,
+                infectadosBlocos[bloco], tempoMaximo, numeroPassos, configuracao
             );
             futuros.add(executor.submit(tarefa));
         }
         
         // Agrega resultados de todos os blocos
         try {
-            double[][] resultadoAgregado = new double[numeroPassos][2];
+            // Soma série a série: cada compartimento é um vetor contíguo
+            Trajetoria resultadoAgregado = Trajetoria.comGrade(2, tempoMaximo, numeroPassos);
             
-            for (Future<double[][]> futuro : futuros) {
-                double[][] resultadoBloco = futuro.get();
-                for (int passo = 0; passo < numeroPassos; passo++) {
-                    for (int comp = 0; comp < 2; comp++) {
-                        resultadoAgregado[passo][comp] += resultadoBloco[passo][comp];
-                    }
-                }
+            for (int g = 0; g < grupos.size(); g++) {
+                resultadoAgregado.somar(futuros.get(g).get(), grupos.get(g).fatorEscala);
             }
             
         } catch (Exception e) {
@@ -162,10 +195,55 @@ public class SISParalelo {
         return (tempoFim - tempoInicio) / 1_000_000.0;
     }
 
-    // --- 5. Main para Execução ---
+    // --- 3b. Paralelismo no tempo (Parareal): uma única simulação dividida em fatias ---
+    // Ao contrário da divisão por população, que roda numeroThreads cópias independentes, aqui
+    // a mesma trajetória é repartida no tempo: cada thread integra uma fatia com RK4 fino e um
+    // propagador grosso corrige os inícios das fatias até a convergência (ver SolverParareal)
+    public double executarSimulacaoParareal() {
+        long tempoInicio = System.nanoTime();
+
+        // Cada bloco distinto é repartido no tempo entre todas as threads, e somado com seu peso
+        List<ResultadoParareal> resultados = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(numeroThreads);
+        try {
+            Trajetoria resultadoAgregado = Trajetoria.comGrade(2, tempoMaximo, numeroPassos);
+            for (GrupoBlocos grupo : agruparBlocos()) {
+                int bloco = grupo.representante;
+                ModeloSIS modelo = new ModeloSIS(populacoesBlocos[bloco], taxaTransmissao, taxaRecuperacao);
+                ResultadoParareal resultado = SolverParareal.integrar(modelo, modelo.estadoInicial(infectadosBlocos[bloco]),
+                                                                      tempoMaximo, numeroPassos, numeroThreads, executor);
+                resultadoAgregado.somar(resultado.getTrajetoria(), grupo.fatorEscala);
+                resultados.add(resultado);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        long tempoFim = System.nanoTime();
+        resultadosParareal = resultados;
+        return (tempoFim - tempoInicio) / 1_000_000.0;
+    }
+
+    // Fatias, iterações e correção de cada bloco distinto da última executarSimulacaoParareal
+    public List<ResultadoParareal> getResultadosParareal() {
+        return resultadosParareal;
+    }
+
+    // --- 4. Main para Execução ---
     public static void main(String[] args) {
         SISParalelo simulacao = new SISParalelo(1000.0, 0.3, 0.1, 1.0, 100.0, 101, 8);
         double tempoExecucao = simulacao.executarSimulacao();
+        System.out.printf("Blocos integrados: %d de 8\n", simulacao.numeroBlocosDistintos());
         System.out.printf("Tempo de execução: %.4f ms\n", tempoExecucao);
+
+        // Uma simulação longa (10^6 passos) repartida no tempo entre as 8 threads
+        SISParalelo simulacaoLonga = new SISParalelo(1000.0, 0.3, 0.1, 1.0, 100.0, 1_000_000, 8);
+        tempoExecucao = simulacaoLonga.executarSimulacaoParareal();
+        System.out.printf("Tempo de execução (Parareal): %.4f ms\n", tempoExecucao);
+        for (ResultadoParareal resultado : simulacaoLonga.getResultadosParareal()) {
+            System.out.printf("Parareal: %d fatias, %d iterações (speedup ideal %.2fx), correção final %.2e\n",
+                              resultado.getNumeroFatias(), resultado.getIteracoes(), resultado.getSpeedupIdeal(),
+                              resultado.getCorrecaoFinal());
+        }
     }
 }
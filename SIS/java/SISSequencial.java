@@ -1,11 +1,23 @@
-
-import java.util.Arrays;
+import nucleo.ConfiguracaoSolver;
+import nucleo.EstadoSimulacao;
+import nucleo.Integrador;
+import nucleo.MetodoIntegracao;
+import nucleo.ModeloSIS;
+import nucleo.MotorAnaliticoSIS;
+import nucleo.ObservadorTrajetoria;
+import nucleo.ResultadoAdaptativo;
+import nucleo.SimuladorTauLeaping;
+import nucleo.SolverAdamsBashforthMoulton;
+import nucleo.Trajetoria;
 
 /**
  * Implementação Sequencial Simplificada do Modelo SIS
  * (Suscetível-Infectado-Suscetível) resolvido com RK4. Esta é a versão em Java
  * do script Python/SciPy. * S = y[0] (Suscetíveis) I = y[1] (Infectados) * Para
  * compilar e rodar: 1. javac SISSequencial.java 2. java SISSequencial
+ * Opcionalmente usa o Dormand-Prince (RK45) de passo adaptativo, o multipasso
+ * ABM4, o Rosenbrock implícito (regimes rígidos) ou a solução analítica
+ * (logística exata), escolhidos via ConfiguracaoSolver.
  */
 public class SISSequencial {
 
@@ -16,125 +28,236 @@ public class SISSequencial {
     private final double infectadosIniciais;
     private final double tempoMaximo;
     private final int numeroPassos;
+    private final ConfiguracaoSolver configuracao;
 
-    // Construtor
+    // Construtor (RK4 de passo fixo)
     public SISSequencial(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao,
                          double infectadosIniciais, double tempoMaximo, int numeroPassos) {
+        this(populacaoTotal, taxaTransmissao, taxaRecuperacao, infectadosIniciais, tempoMaximo, numeroPassos,
+             ConfiguracaoSolver.rk4());
+    }
+
+    // Construtor com escolha do método de integração
+    public SISSequencial(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao,
+                         double infectadosIniciais, double tempoMaximo, int numeroPassos,
+                         ConfiguracaoSolver configuracao) {
         this.populacaoTotal = populacaoTotal;
         this.taxaTransmissao = taxaTransmissao;
         this.taxaRecuperacao = taxaRecuperacao;
         this.infectadosIniciais = infectadosIniciais;
         this.tempoMaximo = tempoMaximo;
         this.numeroPassos = numeroPassos;
+        this.configuracao = configuracao;
     }
 
     // --- 1. A função de derivada do Modelo SIS ---
     // Apenas duas dimensões (S, I)
     public static double[] derivSis(double[] estadoAtual, double tempo, double populacaoTotal, double taxaTransmissao, double taxaRecuperacao) {
-        double suscetiveis = estadoAtual[0];
-        double infectados = estadoAtual[1];
-
-        // Equações SIS:
+        // Equações SIS (definidas em um único lugar: nucleo.ModeloSIS):
         // dS/dt = -taxaTransmissao * S * I / N + taxaRecuperacao * I (Perde por infecção, ganha por recuperação)
         // dI/dt = taxaTransmissao * S * I / N - taxaRecuperacao * I  (Ganha por infecção, perde por recuperação)
-        double derivadaSuscetiveis = -taxaTransmissao * suscetiveis * infectados / populacaoTotal + taxaRecuperacao * infectados;
-        double derivadaInfectados = taxaTransmissao * suscetiveis * infectados / populacaoTotal - taxaRecuperacao * infectados;
-
-        return new double[]{derivadaSuscetiveis, derivadaInfectados};
+        double[] derivada = new double[2];
+        new ModeloSIS(populacaoTotal, taxaTransmissao, taxaRecuperacao).derivada(tempo, estadoAtual, derivada);
+        return derivada;
     }
 
     // --- 2. Implementação do Solver RK4 (Simplificado) ---
     // O solver RK4 é genérico, adaptamos apenas as dimensões.
-    public static double[][] rungeKutka4(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao, double infectadosIniciais, double tempoMaximo, int numeroPassos) {
-        double suscetiveisIniciais = populacaoTotal - infectadosIniciais; // Não há recuperadosIniciais no SIS
-        double[] estadoInicial = {suscetiveisIniciais, infectadosIniciais};
-        int numeroCompartimentos = estadoInicial.length; // Deve ser 2 (S, I)
-        double incrementoTempo = tempoMaximo / (numeroPassos - 1);
+    public static Trajetoria rungeKutka4(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao, double infectadosIniciais, double tempoMaximo, int numeroPassos) {
+        System.out.println("Iniciando simulação SIS (RK4) com " + numeroPassos + " passos...");
+        long tempoInicio = System.nanoTime();
 
-        double[][] historico = new double[numeroPassos][numeroCompartimentos];
-        historico[0] = Arrays.copyOf(estadoInicial, numeroCompartimentos);
-        double[] estadoAtual = Arrays.copyOf(estadoInicial, numeroCompartimentos);
+        // Motor único do nucleo (passo RK4 fundido, sem alocação por passo)
+        ModeloSIS modelo = new ModeloSIS(populacaoTotal, taxaTransmissao, taxaRecuperacao);
+        Trajetoria historico = Integrador.integrarRK4(modelo, modelo.estadoInicial(infectadosIniciais),
+                                                      tempoMaximo, numeroPassos);
 
-        System.out.println("Iniciando simulação SIS (RK4) com " + numeroPassos + " passos...");
+        long tempoFim = System.nanoTime();
+        double tempoDecorridoMs = (tempoFim - tempoInicio) / 1_000_000.0;
+        System.out.printf("Tempo de execução: %.4f milissegundos\n", tempoDecorridoMs);
+
+        return historico;
+    }
+
+    // --- 2b. RK4 em fluxo com decimação: guarda apenas 1 a cada 'fatorDecimacao' pontos ---
+    // A memória é O(numeroPassos / fatorDecimacao); com ObservadorTrajetoria próprio, O(1)
+    public static Trajetoria rungeKutka4Decimado(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao,
+                                                 double infectadosIniciais, double tempoMaximo, int numeroPassos,
+                                                 int fatorDecimacao) {
+        System.out.println("Iniciando simulação SIS (RK4 em fluxo) com " + numeroPassos + " passos, guardando 1 a cada "
+                           + fatorDecimacao + "...");
         long tempoInicio = System.nanoTime();
 
-        for (int passo = 0; passo < numeroPassos - 1; passo++) {
-            double tempoAtual = passo * incrementoTempo;
-            double[] coeficienteK1, coeficienteK2, coeficienteK3, coeficienteK4;
-
-            // --- 1. k1 = incrementoTempo * f(tempo_passo, estadoAtual_passo) ---
-            double[] derivada1 = derivSis(estadoAtual, tempoAtual, populacaoTotal, taxaTransmissao, taxaRecuperacao);
-            coeficienteK1 = new double[numeroCompartimentos];
-            for (int compartimento = 0; compartimento < numeroCompartimentos; compartimento++) {
-                coeficienteK1[compartimento] = derivada1[compartimento] * incrementoTempo;
-            }
-
-            // --- 2. k2 = incrementoTempo * f(tempo_passo + incrementoTempo/2, estadoAtual_passo + k1/2) ---
-            double[] estadoIntermediarioK1 = new double[numeroCompartimentos];
-            for (int compartimento = 0; compartimento < numeroCompartimentos; compartimento++) {
-                estadoIntermediarioK1[compartimento] = estadoAtual[compartimento] + 0.5 * coeficienteK1[compartimento];
-            }
-            double[] derivada2 = derivSis(estadoIntermediarioK1, tempoAtual + incrementoTempo / 2, populacaoTotal, taxaTransmissao, taxaRecuperacao);
-            coeficienteK2 = new double[numeroCompartimentos];
-            for (int compartimento = 0; compartimento < numeroCompartimentos; compartimento++) {
-                coeficienteK2[compartimento] = derivada2[compartimento] * incrementoTempo;
-            }
-
-            // --- 3. k3 = incrementoTempo * f(tempo_passo + incrementoTempo/2, estadoAtual_passo + k2/2) ---
-            double[] estadoIntermediarioK2 = new double[numeroCompartimentos];
-            for (int compartimento = 0; compartimento < numeroCompartimentos; compartimento++) {
-                estadoIntermediarioK2[compartimento] = estadoAtual[compartimento] + 0.5 * coeficienteK2[compartimento];
-            }
-            double[] derivada3 = derivSis(estadoIntermediarioK2, tempoAtual + incrementoTempo / 2, populacaoTotal, taxaTransmissao, taxaRecuperacao);
-            coeficienteK3 = new double[numeroCompartimentos];
-            for (int compartimento = 0; compartimento < numeroCompartimentos; compartimento++) {
-                coeficienteK3[compartimento] = derivada3[compartimento] * incrementoTempo;
-            }
-
-            // --- 4. k4 = incrementoTempo * f(tempo_passo + incrementoTempo, estadoAtual_passo + k3) ---
-            double[] estadoIntermediarioK3 = new double[numeroCompartimentos];
-            for (int compartimento = 0; compartimento < numeroCompartimentos; compartimento++) {
-                estadoIntermediarioK3[compartimento] = estadoAtual[compartimento] + coeficienteK3[compartimento];
-            }
-            double[] derivada4 = derivSis(estadoIntermediarioK3, tempoAtual + incrementoTempo, populacaoTotal, taxaTransmissao, taxaRecuperacao);
-            coeficienteK4 = new double[numeroCompartimentos];
-            for (int compartimento = 0; compartimento < numeroCompartimentos; compartimento++) {
-                coeficienteK4[compartimento] = derivada4[compartimento] * incrementoTempo;
-            }
-
-            // --- Atualização: estadoAtual_{passo+1} = estadoAtual_passo + 1/6 * (k1 + 2*k2 + 2*k3 + k4) ---
-            for (int compartimento = 0; compartimento < numeroCompartimentos; compartimento++) {
-                estadoAtual[compartimento] += (coeficienteK1[compartimento] + 2.0 * coeficienteK2[compartimento] + 2.0 * coeficienteK3[compartimento] + coeficienteK4[compartimento]) / 6.0;
-
-                // Garante que os números de indivíduos sejam não negativos
-                if (estadoAtual[compartimento] < 0) {
-                    estadoAtual[compartimento] = 0;
-                }
-            }
-
-            historico[passo + 1] = Arrays.copyOf(estadoAtual, numeroCompartimentos);
-        }
+        ModeloSIS modelo = new ModeloSIS(populacaoTotal, taxaTransmissao, taxaRecuperacao);
+        Trajetoria amostras = new Trajetoria(2, (numeroPassos - 1) / fatorDecimacao + 1);
+        Integrador.integrarRK4(modelo, modelo.estadoInicial(infectadosIniciais), tempoMaximo, numeroPassos,
+                               ObservadorTrajetoria.decimado(fatorDecimacao, ObservadorTrajetoria.coletando(amostras)));
+
+        long tempoFim = System.nanoTime();
+        double tempoDecorridoMs = (tempoFim - tempoInicio) / 1_000_000.0;
+        System.out.printf("Pontos guardados: %d\n", amostras.tamanho());
+        System.out.printf("Tempo de execução: %.4f milissegundos\n", tempoDecorridoMs);
+
+        return amostras;
+    }
+
+    // --- 2c. Continuação: retoma a partir de um estado capturado (EstadoSimulacao) ---
+    // Estender o horizonte ou refazer um cenário a partir de um dia qualquer custa só o novo intervalo;
+    // na mesma grade de passos o resultado é idêntico ao da integração contínua desde t = 0
+    public static EstadoSimulacao continuar(EstadoSimulacao estado, double tempoMaximo) {
+        System.out.printf("Continuando simulação SIS de t = %.1f até t = %.1f...\n", estado.getTempo(), tempoMaximo);
+        long tempoInicio = System.nanoTime();
+
+        EstadoSimulacao estadoFinal = estado.avancarAte(tempoMaximo);
+
+        long tempoFim = System.nanoTime();
+        double tempoDecorridoMs = (tempoFim - tempoInicio) / 1_000_000.0;
+        System.out.printf("Passos novos: %d, pico de infectados desde t = 0: %.2f\n",
+                          estadoFinal.getPasso() - estado.getPasso(), estadoFinal.getPicoInfectados());
+        System.out.printf("Tempo de execução: %.4f milissegundos\n", tempoDecorridoMs);
+
+        return estadoFinal;
+    }
+
+    // --- 2d. Tau-leaping: uma realização estocástica na mesma grade de passos do RK4 ---
+    // Populações inteiras com incrementos binomiais por passo (ver SimuladorTauLeaping); o custo
+    // independe da população, e a mesma semente reproduz a mesma realização
+    public static Trajetoria tauLeaping(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao,
+                                        double infectadosIniciais, double tempoMaximo, int numeroPassos, long semente) {
+        System.out.println("Iniciando simulação SIS estocástica (tau-leaping) com " + numeroPassos + " passos...");
+        long tempoInicio = System.nanoTime();
+
+        ModeloSIS modelo = new ModeloSIS(populacaoTotal, taxaTransmissao, taxaRecuperacao);
+        Trajetoria historico = SimuladorTauLeaping.sis(modelo, tempoMaximo, numeroPassos)
+            .realizacao(modelo.estadoInicial(infectadosIniciais), semente);
 
         long tempoFim = System.nanoTime();
         double tempoDecorridoMs = (tempoFim - tempoInicio) / 1_000_000.0;
+        System.out.printf("Pico de infectados: %.0f\n", historico.maximo(1));
         System.out.printf("Tempo de execução: %.4f milissegundos\n", tempoDecorridoMs);
 
         return historico;
     }
 
-    // --- 3. Método Público para Executar Simulação ---
+    // --- 3. Solvers de passo adaptativo: Dormand-Prince (RK45) ou Rosenbrock (regimes rígidos) ---
+    // Retorna um ponto por passo aceito (instantes não uniformes)
+    public static ResultadoAdaptativo solverAdaptativo(ConfiguracaoSolver configuracao, double populacaoTotal,
+                                                       double taxaTransmissao, double taxaRecuperacao, double infectadosIniciais,
+                                                       double tempoMaximo) {
+        System.out.println("Iniciando simulação SIS com " + configuracao + "...");
+        long tempoInicio = System.nanoTime();
+
+        ModeloSIS modelo = new ModeloSIS(populacaoTotal, taxaTransmissao, taxaRecuperacao);
+        ResultadoAdaptativo resultado = Integrador.integrarAdaptativo(configuracao, modelo, modelo.estadoInicial(infectadosIniciais), tempoMaximo);
+
+        long tempoFim = System.nanoTime();
+        double tempoDecorridoMs = (tempoFim - tempoInicio) / 1_000_000.0;
+        System.out.printf("Passos aceitos: %d, rejeitados: %d\n", resultado.getPassosAceitos(), resultado.getPassosRejeitados());
+        System.out.printf("Tempo de execução: %.4f milissegundos\n", tempoDecorridoMs);
+
+        return resultado;
+    }
+
+    // --- 4. Solver Adams-Bashforth-Moulton (ABM4) de passo fixo ---
+    // Mesma grade de tempo do RK4, com 2 avaliações de derivada por passo em vez de 4
+    public static Trajetoria adamsBashforthMoulton4(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao,
+                                                    double infectadosIniciais, double tempoMaximo, int numeroPassos) {
+        System.out.println("Iniciando simulação SIS (ABM4) com " + numeroPassos + " passos...");
+        long tempoInicio = System.nanoTime();
+
+        ModeloSIS modelo = new ModeloSIS(populacaoTotal, taxaTransmissao, taxaRecuperacao);
+        Trajetoria historico = SolverAdamsBashforthMoulton.integrar(modelo, modelo.estadoInicial(infectadosIniciais),
+                                                                    tempoMaximo, numeroPassos);
+
+        long tempoFim = System.nanoTime();
+        double tempoDecorridoMs = (tempoFim - tempoInicio) / 1_000_000.0;
+        System.out.printf("Tempo de execução: %.4f milissegundos\n", tempoDecorridoMs);
+
+        return historico;
+    }
+
+    // --- 5. Solução analítica (logística exata), na mesma grade de passos do RK4 ---
+    // O(1) por ponto: nenhum passo de integração é executado
+    public static Trajetoria solucaoAnalitica(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao,
+                                              double infectadosIniciais, double tempoMaximo, int numeroPassos) {
+        System.out.println("Iniciando simulação SIS (solução analítica) com " + numeroPassos + " pontos...");
+        long tempoInicio = System.nanoTime();
+
+        Trajetoria historico = MotorAnaliticoSIS.historico(populacaoTotal, taxaTransmissao, taxaRecuperacao,
+                                                           infectadosIniciais, tempoMaximo, numeroPassos);
+
+        long tempoFim = System.nanoTime();
+        double tempoDecorridoMs = (tempoFim - tempoInicio) / 1_000_000.0;
+        System.out.printf("Nível endêmico: %.4f\n", MotorAnaliticoSIS.nivelEndemico(populacaoTotal, taxaTransmissao, taxaRecuperacao));
+        System.out.printf("Tempo de execução: %.4f milissegundos\n", tempoDecorridoMs);
+
+        return historico;
+    }
+
+    // --- 6. Método Público para Executar Simulação ---
     public double executarSimulacao() {
         long tempoInicio = System.nanoTime();
-        rungeKutka4(populacaoTotal, taxaTransmissao, taxaRecuperacao,
-                    infectadosIniciais, tempoMaximo, numeroPassos);
+        MetodoIntegracao metodo = configuracao.getMetodo();
+        if (metodo == MetodoIntegracao.AUTOMATICO) {
+            // RK4 de passo fixo, a menos que o passo viole a estabilidade do RK4 (cenário rígido)
+            ModeloSIS modelo = new ModeloSIS(populacaoTotal, taxaTransmissao, taxaRecuperacao);
+            boolean rigido = Integrador.rigidoParaRK4(modelo, modelo.estadoInicial(infectadosIniciais), tempoMaximo, numeroPassos);
+            metodo = rigido ? MetodoIntegracao.ROSENBROCK : MetodoIntegracao.RK4;
+        }
+        switch (metodo) {
+            case DORMAND_PRINCE:
+            case ROSENBROCK:
+                solverAdaptativo(configuracao, populacaoTotal, taxaTransmissao, taxaRecuperacao, infectadosIniciais,
+                                 tempoMaximo);
+                break;
+            case ANALITICO:
+                solucaoAnalitica(populacaoTotal, taxaTransmissao, taxaRecuperacao, infectadosIniciais,
+                                 tempoMaximo, numeroPassos);
+                break;
+            case ABM4:
+                adamsBashforthMoulton4(populacaoTotal, taxaTransmissao, taxaRecuperacao, infectadosIniciais,
+                                       tempoMaximo, numeroPassos);
+                break;
+            case RK4:
+            default:
+                rungeKutka4(populacaoTotal, taxaTransmissao, taxaRecuperacao,
+                            infectadosIniciais, tempoMaximo, numeroPassos);
+        }
         long tempoFim = System.nanoTime();
         return (tempoFim - tempoInicio) / 1_000_000.0;
     }
 
-    // --- 4. Main para Execução ---
+    // --- 7. Main para Execução ---
     public static void main(String[] args) {
         SISSequencial simulacao = new SISSequencial(1000.0, 0.3, 0.1, 1.0, 100.0, 101);
         double tempoExecucao = simulacao.executarSimulacao();
         System.out.printf("Tempo de execução: %.4f ms\n", tempoExecucao);
+
+        SISSequencial simulacaoAdaptativa = new SISSequencial(1000.0, 0.3, 0.1, 1.0, 100.0, 101,
+                                                              ConfiguracaoSolver.dormandPrince());
+        tempoExecucao = simulacaoAdaptativa.executarSimulacao();
+        System.out.printf("Tempo de execução (RK45): %.4f ms\n", tempoExecucao);
+
+        SISSequencial simulacaoMultipasso = new SISSequencial(1000.0, 0.3, 0.1, 1.0, 100.0, 101,
+                                                              ConfiguracaoSolver.abm4());
+        tempoExecucao = simulacaoMultipasso.executarSimulacao();
+        System.out.printf("Tempo de execução (ABM4): %.4f ms\n", tempoExecucao);
+
+        // Uma realização estocástica (tau-leaping) na mesma grade do RK4 acima
+        tauLeaping(1000.0, 0.3, 0.1, 1.0, 100.0, 101, 42L);
+
+        SISSequencial simulacaoAnalitica = new SISSequencial(1000.0, 0.3, 0.1, 1.0, 100.0, 101,
+                                                             ConfiguracaoSolver.analitico());
+        tempoExecucao = simulacaoAnalitica.executarSimulacao();
+        System.out.printf("Tempo de execução (analítico): %.4f ms\n", tempoExecucao);
+
+        // Continuação: estende 100 -> 150 dias sem refazer do zero, e um "e se" a partir do dia 40
+        // com recuperação mais rápida (ex.: tratamento)
+        ModeloSIS modelo = new ModeloSIS(1000.0, 0.3, 0.1);
+        EstadoSimulacao dia40 = EstadoSimulacao.inicial(modelo, modelo.estadoInicial(1.0),
+                                                        Integrador.incrementoTempo(100.0, 101)).avancarAte(40.0);
+        EstadoSimulacao dia100 = continuar(dia40, 100.0);
+        continuar(dia100, 150.0);
+        continuar(dia40.comModelo(new ModeloSIS(1000.0, 0.3, 0.2)), 100.0);
     }
 }
@@ -39,6 +39,31 @@ public class ClienteModeloSIS {
         return (tempoFim - tempoInicio) / 1_000_000.0;
     }
 
+    // Pede apenas os instantes de interesse (ex.: um ponto por dia) em vez da grade de numeroPassos
+    public double executarSimulacaoEmInstantes(double[] instantes) throws Exception {
+        long tempoInicio = System.nanoTime();
+
+        String url = "rmi://localhost/ServicoModeloSIS";
+        ModeloSISRemoto servicoModelo = (ModeloSISRemoto) Naming.lookup(url);
+
+        servicoModelo.rungeKutka4EmInstantes(
+            populacaoTotal, taxaTransmissao, taxaRecuperacao,
+            infectadosIniciais, instantes
+        );
+
+        long tempoFim = System.nanoTime();
+        return (tempoFim - tempoInicio) / 1_000_000.0;
+    }
+
+    // Um instante por unidade de tempo em [0, tempoMaximo]
+    private double[] instantesDiarios() {
+        double[] instantes = new double[(int) Math.floor(tempoMaximo) + 1];
+        for (int dia = 0; dia < instantes.length; dia++) {
+            instantes[dia] = dia;
+        }
+        return instantes;
+    }
+
     public static void main(String[] args) {
         try {
             ClienteModeloSIS cliente = new ClienteModeloSIS(
@@ -53,6 +78,11 @@ public class ClienteModeloSIS {
             System.out.println("[CLIENTE] Resultados recebidos com sucesso.");
             System.out.printf("[CLIENTE] Tempo total (incluindo RMI e cálculo): %.4f ms\n", tempoExecucao);
 
+            double[] instantes = cliente.instantesDiarios();
+            double tempoInstantes = cliente.executarSimulacaoEmInstantes(instantes);
+            System.out.printf("[CLIENTE] Consulta em %d instantes (saída densa): %.4f ms\n",
+                              instantes.length, tempoInstantes);
+
         } catch (Exception e) {
             System.err.println("Erro no Cliente RMI (SIS): Certifique-se de que o Servidor RMI está rodando.");
             System.err.println("Erro: " + e.getMessage());
@@ -3,6 +3,8 @@
 import java.rmi.Remote;
 import java.rmi.RemoteException;
 
+import nucleo.Trajetoria;
+
 public interface ModeloSISRemoto extends Remote {
 
     /**
@@ -15,10 +17,41 @@ public interface ModeloSISRemoto extends Remote {
      * @param infectadosIniciais Infectados iniciais.
      * @param tempoMaximo Tempo máximo de simulação.
      * @param numeroPassos Número de passos de tempo.
-     * @return Matriz 2D com a série temporal [tempo][S, I].
+     * @return Série temporal (instantes e uma série contígua por compartimento S, I).
+     * @throws RemoteException Se ocorrer um erro durante a comunicação RMI.
+     */
+    Trajetoria rungeKutka4(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao, double infectadosIniciais, double tempoMaximo, int numeroPassos)
+            throws RemoteException;
+
+    /**
+     * Resolve a mesma simulação pela solução analítica (logística exata) do
+     * Modelo SIS, sem integração numérica: O(1) por ponto.
+     *
+     * @return Série temporal {S, I}, na mesma grade do rungeKutka4.
+     * @throws RemoteException Se ocorrer um erro durante a comunicação RMI.
+     */
+    Trajetoria solucaoAnalitica(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao, double infectadosIniciais, double tempoMaximo, int numeroPassos)
+            throws RemoteException;
+
+    /**
+     * Resolve a mesma simulação RK4, mas devolve apenas os instantes pedidos
+     * em vez da grade inteira de numeroPassos. O servidor integra com passos
+     * internos grossos e avalia a saída densa (Hermite) em cada instante.
+     *
+     * @param instantes Instantes de consulta (t >= 0, em qualquer ordem).
+     * @return Série {S, I} com um ponto por instante pedido, na mesma ordem.
+     * @throws RemoteException Se ocorrer um erro durante a comunicação RMI.
+     */
+    Trajetoria rungeKutka4EmInstantes(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao, double infectadosIniciais, double[] instantes)
+            throws RemoteException;
+
+    /**
+     * Solução analítica avaliada diretamente nos instantes pedidos.
+     *
+     * @return Série {S, I} com um ponto por instante pedido, na mesma ordem.
      * @throws RemoteException Se ocorrer um erro durante a comunicação RMI.
      */
-    double[][] rungeKutka4(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao, double infectadosIniciais, double tempoMaximo, int numeroPassos)
+    Trajetoria solucaoAnaliticaEmInstantes(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao, double infectadosIniciais, double[] instantes)
             throws RemoteException;
 
     /**
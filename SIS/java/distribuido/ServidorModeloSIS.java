@@ -4,7 +4,12 @@ import java.rmi.Naming;
 import java.rmi.RemoteException;
 import java.rmi.registry.LocateRegistry;
 import java.rmi.server.UnicastRemoteObject;
-import java.util.Arrays;
+
+import nucleo.ConfiguracaoSolver;
+import nucleo.Integrador;
+import nucleo.ModeloSIS;
+import nucleo.MotorAnaliticoSIS;
+import nucleo.Trajetoria;
 
 public class ServidorModeloSIS extends UnicastRemoteObject implements ModeloSISRemoto {
 
@@ -23,85 +28,22 @@ public class ServidorModeloSIS extends UnicastRemoteObject implements ModeloSISR
     // --- 1. A função de derivada do Modelo SIS ---
     @Override
     public double[] derivSis(double[] estadoAtual, double tempo, double populacaoTotal, double taxaTransmissao, double taxaRecuperacao) throws RemoteException {
-        double suscetiveis = estadoAtual[0];
-        double infectados = estadoAtual[1];
-
-        // Equações SIS: dS/dt = -taxaTransmissao * S * I / N + taxaRecuperacao * I
-        double derivadaSuscetiveis = -taxaTransmissao * suscetiveis * infectados / populacaoTotal + taxaRecuperacao * infectados;
-        double derivadaInfectados = taxaTransmissao * suscetiveis * infectados / populacaoTotal - taxaRecuperacao * infectados;
-
-        return new double[]{derivadaSuscetiveis, derivadaInfectados};
+        double[] derivada = new double[2];
+        new ModeloSIS(populacaoTotal, taxaTransmissao, taxaRecuperacao).derivada(tempo, estadoAtual, derivada);
+        return derivada;
     }
 
     // --- 2. Implementação do Solver RK4 (Simplificado) ---
     // Note que removemos recuperadosIniciais e ajustamos as dimensões.
     @Override
-    public double[][] rungeKutka4(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao, double infectadosIniciais, double tempoMaximo, int numeroPassos)
+    public Trajetoria rungeKutka4(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao, double infectadosIniciais, double tempoMaximo, int numeroPassos)
             throws RemoteException {
 
         long tempoInicio = System.nanoTime();
 
-        double suscetiveisIniciais = populacaoTotal - infectadosIniciais; // Não há recuperadosIniciais
-        double[] estadoAtual = {suscetiveisIniciais, infectadosIniciais};
-        int numeroCompartimentos = estadoAtual.length; // 2 Dimensões (S, I)
-        double incrementoTempo = tempoMaximo / (numeroPassos - 1);
-        double[][] historico = new double[numeroPassos][numeroCompartimentos];
-        historico[0] = Arrays.copyOf(estadoAtual, numeroCompartimentos);
-
-        for (int passo = 0; passo < numeroPassos - 1; passo++) {
-            double tempoAtual = passo * incrementoTempo;
-            double[] coeficienteK1, coeficienteK2, coeficienteK3, coeficienteK4;
-
-            // --- 1. k1 = incrementoTempo * f(tempo_passo, estadoAtual_passo) ---
-            double[] derivada1 = derivSis(estadoAtual, tempoAtual, populacaoTotal, taxaTransmissao, taxaRecuperacao);
-            coeficienteK1 = new double[numeroCompartimentos];
-            for (int compartimento = 0; compartimento < numeroCompartimentos; compartimento++) {
-                coeficienteK1[compartimento] = derivada1[compartimento] * incrementoTempo;
-            }
-
-            // --- 2. k2 = incrementoTempo * f(tempo_passo + incrementoTempo/2, estadoAtual_passo + k1/2) ---
-            double[] estadoIntermediarioK1 = new double[numeroCompartimentos];
-            for (int compartimento = 0; compartimento < numeroCompartimentos; compartimento++) {
-                estadoIntermediarioK1[compartimento] = estadoAtual[compartimento] + 0.5 * coeficienteK1[compartimento];
-            }
-            double[] derivada2 = derivSis(estadoIntermediarioK1, tempoAtual + incrementoTempo / 2, populacaoTotal, taxaTransmissao, taxaRecuperacao);
-            coeficienteK2 = new double[numeroCompartimentos];
-            for (int compartimento = 0; compartimento < numeroCompartimentos; compartimento++) {
-                coeficienteK2[compartimento] = derivada2[compartimento] * incrementoTempo;
-            }
-
-            // --- 3. k3 = incrementoTempo * f(tempo_passo + incrementoTempo/2, estadoAtual_passo + k2/2) ---
-            double[] estadoIntermediarioK2 = new double[numeroCompartimentos];
-            for (int compartimento = 0; compartimento < numeroCompartimentos; compartimento++) {
-                estadoIntermediarioK2[compartimento] = estadoAtual[compartimento] + 0.5 * coeficienteK2[compartimento];
-            }
-            double[] derivada3 = derivSis(estadoIntermediarioK2, tempoAtual + incrementoTempo / 2, populacaoTotal, taxaTransmissao, taxaRecuperacao);
-            coeficienteK3 = new double[numeroCompartimentos];
-            for (int compartimento = 0; compartimento < numeroCompartimentos; compartimento++) {
-                coeficienteK3[compartimento] = derivada3[compartimento] * incrementoTempo;
-            }
-
-            // --- 4. k4 = incrementoTempo * f(tempo_passo + incrementoTempo, estadoAtual_passo + k3) ---
-            double[] estadoIntermediarioK3 = new double[numeroCompartimentos];
-            for (int compartimento = 0; compartimento < numeroCompartimentos; compartimento++) {
-                estadoIntermediarioK3[compartimento] = estadoAtual[compartimento] + coeficienteK3[compartimento];
-            }
-            double[] derivada4 = derivSis(estadoIntermediarioK3, tempoAtual + incrementoTempo, populacaoTotal, taxaTransmissao, taxaRecuperacao);
-            coeficienteK4 = new double[numeroCompartimentos];
-            for (int compartimento = 0; compartimento < numeroCompartimentos; compartimento++) {
-                coeficienteK4[compartimento] = derivada4[compartimento] * incrementoTempo;
-            }
-
-            // --- Atualização: estadoAtual_{passo+1} = estadoAtual_passo + 1/6 * (k1 + 2*k2 + 2*k3 + k4) ---
-            for (int compartimento = 0; compartimento < numeroCompartimentos; compartimento++) {
-                estadoAtual[compartimento] += (coeficienteK1[compartimento] + 2.0 * coeficienteK2[compartimento] + 2.0 * coeficienteK3[compartimento] + coeficienteK4[compartimento]) / 6.0;
-                if (estadoAtual[compartimento] < 0) {
-                    estadoAtual[compartimento] = 0;
-                }
-            }
-
-            historico[passo + 1] = Arrays.copyOf(estadoAtual, numeroCompartimentos);
-        }
+        // Mesmo motor usado pelas versões sequencial, paralela e de cenários
+        ModeloSIS modelo = new ModeloSIS(populacaoTotal, taxaTransmissao, taxaRecuperacao);
+        Trajetoria historico = Integrador.integrarRK4(modelo, modelo.estadoInicial(infectadosIniciais), tempoMaximo, numeroPassos);
 
         long tempoFim = System.nanoTime();
         ultimoTempoProcessamento = (tempoFim - tempoInicio) / 1_000_000.0;
@@ -109,7 +51,56 @@ public class ServidorModeloSIS extends UnicastRemoteObject implements ModeloSISR
         return historico;
     }
 
-    // --- 3. Main para Iniciar o Servidor RMI ---
+    // --- 3. Solução analítica (logística exata), sem integração ---
+    @Override
+    public Trajetoria solucaoAnalitica(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao, double infectadosIniciais, double tempoMaximo, int numeroPassos)
+            throws RemoteException {
+
+        long tempoInicio = System.nanoTime();
+
+        Trajetoria historico = MotorAnaliticoSIS.historico(populacaoTotal, taxaTransmissao, taxaRecuperacao,
+                                                           infectadosIniciais, tempoMaximo, numeroPassos);
+
+        long tempoFim = System.nanoTime();
+        ultimoTempoProcessamento = (tempoFim - tempoInicio) / 1_000_000.0;
+
+        return historico;
+    }
+
+    // --- 2b. RK4 consultado em instantes: passos internos grossos + saída densa ---
+    @Override
+    public Trajetoria rungeKutka4EmInstantes(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao, double infectadosIniciais, double[] instantes)
+            throws RemoteException {
+
+        long tempoInicio = System.nanoTime();
+
+        ModeloSIS modelo = new ModeloSIS(populacaoTotal, taxaTransmissao, taxaRecuperacao);
+        Trajetoria resultado = Integrador.integrarEmInstantes(ConfiguracaoSolver.rk4(), modelo,
+                modelo.estadoInicial(infectadosIniciais), instantes);
+
+        long tempoFim = System.nanoTime();
+        ultimoTempoProcessamento = (tempoFim - tempoInicio) / 1_000_000.0;
+
+        return resultado;
+    }
+
+    // --- 3b. Solução analítica nos instantes pedidos ---
+    @Override
+    public Trajetoria solucaoAnaliticaEmInstantes(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao, double infectadosIniciais, double[] instantes)
+            throws RemoteException {
+
+        long tempoInicio = System.nanoTime();
+
+        Trajetoria resultado = MotorAnaliticoSIS.emInstantes(populacaoTotal, taxaTransmissao, taxaRecuperacao,
+                                                             infectadosIniciais, instantes);
+
+        long tempoFim = System.nanoTime();
+        ultimoTempoProcessamento = (tempoFim - tempoInicio) / 1_000_000.0;
+
+        return resultado;
+    }
+
+    // --- 4. Main para Iniciar o Servidor RMI ---
     public static void main(String[] args) {
         try {
             ServidorModeloSIS obj = new ServidorModeloSIS();
@@ -5,6 +5,12 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Locale;
 
+import nucleo.ConfiguracaoSolver;
+import nucleo.GrafoContatos;
+import nucleo.KernelLote;
+import nucleo.MatrizMobilidade;
+import nucleo.Precisao;
+
 /**
  * Classe para executar benchmarks variando tamanhos de problema.
  * Testa diferentes configurações de população, passos e cenários.
@@ -18,6 +24,23 @@ public class Benchmarks {
     private static final double[] TAMANHOS_POPULACAO = {100000.0, 500000.0, 1000000.0, 2000000.0};
     private static final int[] TAMANHOS_PASSOS = {10000, 25000, 50000};
     private static final int[] TAMANHOS_CENARIOS = {100, 500, 1000};
+    // Simulação única longa, para o Parareal (paralelismo no tempo)
+    private static final int[] TAMANHOS_PASSOS_PARAREAL = {50000, 200000, 1000000};
+    // Metapopulação em escala de país: municípios acoplados por mobilidade esparsa
+    private static final int REGIOES_METAPOPULACAO = 5570;
+    private static final int PASSOS_METAPOPULACAO = 1000;
+    // Rede de contatos: um nó por pessoa, grafo aleatório com 10 contatos por pessoa
+    private static final int NOS_REDE = 1000000;
+    private static final double GRAU_MEDIO_REDE = 10.0;
+    private static final int PASSOS_REDE = 1001;
+    private static final double TAXA_TRANSMISSAO_CONTATO = 0.05;
+    // Ensembles estocásticos (Gillespie): populações inteiras pequenas, custo proporcional aos eventos
+    private static final int POPULACAO_ESTOCASTICA_SIR = 10000;
+    private static final int POPULACAO_ESTOCASTICA_SIS = 2000;
+    private static final int REALIZACOES_ESTOCASTICAS = 1000;
+    // Tau-leaping e híbrido na maior população dos testes determinísticos, na grade de passos mais curta
+    private static final int REALIZACOES_POPULACAO_GRANDE = 100;
+    private static final double LIMIAR_HIBRIDO = 1000.0;
     
     // Parâmetros fixos do modelo
     private static final double TAXA_TRANSMISSAO_SIR = 0.2;
@@ -40,6 +63,7 @@ public class Benchmarks {
         System.out.println("  Tamanhos de população: " + arrayToString(TAMANHOS_POPULACAO));
         System.out.println("  Tamanhos de passos: " + arrayToString(TAMANHOS_PASSOS));
         System.out.println("  Tamanhos de cenários: " + arrayToString(TAMANHOS_CENARIOS));
+        System.out.println("  Tamanhos de passos (Parareal): " + arrayToString(TAMANHOS_PASSOS_PARAREAL));
         System.out.println("═".repeat(80));
         System.out.println();
         
@@ -51,6 +75,28 @@ public class Benchmarks {
             testarSIRVariandoTamanho();
             System.out.println("└────────────────────────────────────────────────────────────┘\n");
             
+            // Testes SIR - Parareal contra o sequencial em uma simulação longa
+            System.out.println("\n┌─ TESTES SIR PARAREAL - UMA SIMULAÇÃO PARALELA NO TEMPO ───┐");
+            testarSIRParareal();
+            System.out.println("└────────────────────────────────────────────────────────────┘\n");
+            
+            // Testes SIR - Metapopulação: derivada de cada estágio dividida entre as threads
+            System.out.println("\n┌─ TESTES SIR METAPOPULAÇÃO - REGIÕES ACOPLADAS (CSR) ───────┐");
+            testarSIRMetapopulacao();
+            System.out.println("└────────────────────────────────────────────────────────────┘\n");
+            
+            // Testes SIR - Rede de contatos: fronteira de infectados dividida entre as threads
+            System.out.println("\n┌─ TESTES SIR REDE - UM NÓ POR PESSOA (CSR, BITSETS) ────────┐");
+            testarSIRRede();
+            System.out.println("└────────────────────────────────────────────────────────────┘\n");
+            
+            // Testes SIR - Ensembles estocásticos (Gillespie exato, tau-leaping e híbrido) com realizações em paralelo
+            System.out.println("\n┌─ TESTES SIR ESTOCÁSTICO - SSA, TAU-LEAPING E HÍBRIDO ─────┐");
+            testarSIREstocastico();
+            testarSIRTauLeaping();
+            testarSIRHibrido();
+            System.out.println("└────────────────────────────────────────────────────────────┘\n");
+            
             // Testes SIR - Variação de Cenários
             System.out.println("\n┌─ TESTES SIR CENÁRIOS - VARIAÇÃO DE NÚMERO DE CENÁRIOS ────┐");
             testarSIRCenariosVariandoTamanho();
@@ -66,6 +112,13 @@ public class Benchmarks {
             testarSISCenariosVariandoTamanho();
             System.out.println("└────────────────────────────────────────────────────────────┘\n");
             
+            // Testes SIS - Ensembles estocásticos (Gillespie exato, tau-leaping e híbrido) com realizações em paralelo
+            System.out.println("\n┌─ TESTES SIS ESTOCÁSTICO - SSA, TAU-LEAPING E HÍBRIDO ─────┐");
+            testarSISEstocastico();
+            testarSISTauLeaping();
+            testarSISHibrido();
+            System.out.println("└────────────────────────────────────────────────────────────┘\n");
+            
             csvWriter.close();
             
             System.out.println("\n═".repeat(80));
@@ -107,6 +160,19 @@ public class Benchmarks {
                 }
                 System.out.println(" ✓");
                 
+                // SIR Sequencial com ABM4 (mesma grade de passos, 2 avaliações de derivada por passo)
+                System.out.print("    • SIR Sequencial ABM4...");
+                for (int rep = 1; rep <= REPETICOES; rep++) {
+                    SIRSequencial sirAbm = new SIRSequencial(
+                        populacao, TAXA_TRANSMISSAO_SIR, TAXA_RECUPERACAO_SIR,
+                        INFECTADOS_INICIAIS_SIR, RECUPERADOS_INICIAIS_SIR, tempoMaximo, passos,
+                        ConfiguracaoSolver.abm4()
+                    );
+                    double tempo = sirAbm.executarSimulacao();
+                    gravarResultado("SIR", "Sequencial_ABM4", populacao, passos, 0, 1, rep, tempo);
+                }
+                System.out.println(" ✓");
+                
                 // SIR Paralelo com diferentes números de threads
                 for (int numThreads : numerosThreads) {
                     System.out.printf("    • SIR Paralelo (%d threads)...", numThreads);
@@ -124,6 +190,203 @@ public class Benchmarks {
         }
     }
     
+    private static void testarSIRParareal() {
+        int[] numerosThreads = {2, 4, 8};
+        double populacao = 1000000.0;
+        
+        for (int passos : TAMANHOS_PASSOS_PARAREAL) {
+            double tempoMaximo = passos / 100.0; // Mesma proporção dos demais testes
+            
+            System.out.printf("\n  Testando: População=%.0f, Passos=%d\n", populacao, passos);
+            
+            // Referência: o mesmo RK4 em uma thread
+            System.out.print("    • SIR Sequencial...");
+            double somaSequencial = 0;
+            for (int rep = 1; rep <= REPETICOES; rep++) {
+                SIRSequencial sirSeq = new SIRSequencial(
+                    populacao, TAXA_TRANSMISSAO_SIR, TAXA_RECUPERACAO_SIR,
+                    INFECTADOS_INICIAIS_SIR, RECUPERADOS_INICIAIS_SIR, tempoMaximo, passos
+                );
+                double tempo = sirSeq.executarSimulacao();
+                gravarResultado("SIR", "Sequencial", populacao, passos, 0, 1, rep, tempo);
+                somaSequencial += tempo;
+            }
+            System.out.println(" ✓");
+            
+            for (int numThreads : numerosThreads) {
+                System.out.printf("    • SIR Parareal (%d threads)...", numThreads);
+                double somaParareal = 0;
+                for (int rep = 1; rep <= REPETICOES; rep++) {
+                    SIRParalelo sirPar = new SIRParalelo(
+                        populacao, TAXA_TRANSMISSAO_SIR, TAXA_RECUPERACAO_SIR,
+                        INFECTADOS_INICIAIS_SIR, RECUPERADOS_INICIAIS_SIR, tempoMaximo, passos, numThreads
+                    );
+                    double tempo = sirPar.executarSimulacaoParareal();
+                    gravarResultado("SIR", "Paralelo_Parareal", populacao, passos, 0, numThreads, rep, tempo);
+                    somaParareal += tempo;
+                }
+                System.out.println(" ✓");
+                System.out.printf(Locale.US, "      Speedup sobre o sequencial: %.2fx%n", somaSequencial / somaParareal);
+            }
+        }
+    }
+    
+    private static void testarSIRMetapopulacao() {
+        int[] numerosThreads = {1, 2, 4, 8};
+        double populacao = 200000000.0;
+        double tempoMaximo = 500.0;
+        double[] populacoes = SIRMetapopulacao.populacoesZipf(REGIOES_METAPOPULACAO, populacao);
+        MatrizMobilidade mobilidade = MatrizMobilidade.sintetica(REGIOES_METAPOPULACAO, 10, 0.1, 42L);
+        double[] infectadosIniciais = new double[REGIOES_METAPOPULACAO];
+        infectadosIniciais[0] = INFECTADOS_INICIAIS_SIR;
+        
+        System.out.printf("\n  Testando: Regiões=%d, População=%.0f, Passos=%d\n",
+                          REGIOES_METAPOPULACAO, populacao, PASSOS_METAPOPULACAO);
+        double somaUmaThread = 0;
+        for (int numThreads : numerosThreads) {
+            System.out.printf("    • SIR Metapopulação (%d threads)...", numThreads);
+            double soma = 0;
+            for (int rep = 1; rep <= REPETICOES; rep++) {
+                SIRMetapopulacao sirMeta = new SIRMetapopulacao(
+                    populacoes, mobilidade, TAXA_TRANSMISSAO_SIR, TAXA_RECUPERACAO_SIR,
+                    infectadosIniciais, tempoMaximo, PASSOS_METAPOPULACAO, numThreads
+                );
+                double tempo = sirMeta.executarSimulacao();
+                gravarResultado("SIR", "Metapopulacao", populacao, PASSOS_METAPOPULACAO, 0, numThreads, rep, tempo);
+                soma += tempo;
+            }
+            System.out.println(" ✓");
+            if (numThreads == 1) {
+                somaUmaThread = soma;
+            } else {
+                System.out.printf(Locale.US, "      Speedup sobre 1 thread: %.2fx%n", somaUmaThread / soma);
+            }
+        }
+    }
+    
+    private static void testarSIRRede() {
+        int[] numerosThreads = {1, 2, 4, 8};
+        double tempoMaximo = 300.0;
+        GrafoContatos grafo = GrafoContatos.aleatorio(NOS_REDE, GRAU_MEDIO_REDE, 42L);
+        
+        System.out.printf("\n  Testando: Nós=%d, Arestas=%d, Passos=%d\n",
+                          NOS_REDE, grafo.getNumeroArestas(), PASSOS_REDE);
+        double somaUmaThread = 0;
+        for (int numThreads : numerosThreads) {
+            System.out.printf("    • SIR Rede (%d threads)...", numThreads);
+            double soma = 0;
+            for (int rep = 1; rep <= REPETICOES; rep++) {
+                SIRRede sirRede = new SIRRede(
+                    grafo, TAXA_TRANSMISSAO_CONTATO, TAXA_RECUPERACAO_SIR, (int) INFECTADOS_INICIAIS_SIR,
+                    tempoMaximo, PASSOS_REDE, 42L, numThreads
+                );
+                double tempo = sirRede.executarSimulacao();
+                gravarResultado("SIR", "Rede", NOS_REDE, PASSOS_REDE, 0, numThreads, rep, tempo);
+                soma += tempo;
+            }
+            System.out.println(" ✓");
+            if (numThreads == 1) {
+                somaUmaThread = soma;
+            } else {
+                System.out.printf(Locale.US, "      Speedup sobre 1 thread: %.2fx%n", somaUmaThread / soma);
+            }
+        }
+    }
+    
+    private static void testarSIREstocastico() {
+        int[] numerosThreads = {1, 2, 4, 8};
+        double tempoMaximo = 365.0;
+        
+        System.out.printf("\n  Testando: População=%d, Realizações=%d\n",
+                          POPULACAO_ESTOCASTICA_SIR, REALIZACOES_ESTOCASTICAS);
+        double somaUmaThread = 0;
+        for (int numThreads : numerosThreads) {
+            System.out.printf("    • SIR Gillespie (%d threads)...", numThreads);
+            double soma = 0;
+            for (int rep = 1; rep <= REPETICOES; rep++) {
+                SIREstocastico sirEstocastico = new SIREstocastico(
+                    POPULACAO_ESTOCASTICA_SIR, TAXA_TRANSMISSAO_SIR, TAXA_RECUPERACAO_SIR,
+                    (int) INFECTADOS_INICIAIS_SIR, tempoMaximo, REALIZACOES_ESTOCASTICAS, 42L, numThreads
+                );
+                double tempo = sirEstocastico.executarSimulacao();
+                gravarResultado("SIR", "Estocastico_Gillespie", POPULACAO_ESTOCASTICA_SIR, 0,
+                                REALIZACOES_ESTOCASTICAS, numThreads, rep, tempo);
+                soma += tempo;
+            }
+            System.out.println(" ✓");
+            System.out.printf(Locale.US, "      Realizações/s: %.1f%n", REALIZACOES_ESTOCASTICAS * REPETICOES / (soma / 1000.0));
+            if (numThreads == 1) {
+                somaUmaThread = soma;
+            } else {
+                System.out.printf(Locale.US, "      Speedup sobre 1 thread: %.2fx%n", somaUmaThread / soma);
+            }
+        }
+    }
+    
+    private static void testarSIRTauLeaping() {
+        int[] numerosThreads = {1, 2, 4, 8};
+        double populacao = TAMANHOS_POPULACAO[TAMANHOS_POPULACAO.length - 1];
+        int passos = TAMANHOS_PASSOS[0];
+        double tempoMaximo = 500.0;
+        
+        System.out.printf("\n  Testando: População=%.0f, Passos=%d, Realizações=%d (tau-leaping)\n",
+                          populacao, passos, REALIZACOES_POPULACAO_GRANDE);
+        double somaUmaThread = 0;
+        for (int numThreads : numerosThreads) {
+            System.out.printf("    • SIR Tau-leaping (%d threads)...", numThreads);
+            double soma = 0;
+            for (int rep = 1; rep <= REPETICOES; rep++) {
+                SIREstocastico sirEstocastico = new SIREstocastico(
+                    (int) populacao, TAXA_TRANSMISSAO_SIR, TAXA_RECUPERACAO_SIR,
+                    (int) INFECTADOS_INICIAIS_SIR, tempoMaximo, REALIZACOES_POPULACAO_GRANDE, 42L, numThreads
+                );
+                double tempo = sirEstocastico.executarSimulacaoTauLeaping(passos);
+                gravarResultado("SIR", "Estocastico_TauLeaping", populacao, passos,
+                                REALIZACOES_POPULACAO_GRANDE, numThreads, rep, tempo);
+                soma += tempo;
+            }
+            System.out.println(" ✓");
+            System.out.printf(Locale.US, "      Por realização: %.3f ms%n", soma / (REPETICOES * REALIZACOES_POPULACAO_GRANDE));
+            if (numThreads == 1) {
+                somaUmaThread = soma;
+            } else {
+                System.out.printf(Locale.US, "      Speedup sobre 1 thread: %.2fx%n", somaUmaThread / soma);
+            }
+        }
+    }
+    
+    private static void testarSIRHibrido() {
+        int[] numerosThreads = {1, 2, 4, 8};
+        double populacao = TAMANHOS_POPULACAO[TAMANHOS_POPULACAO.length - 1];
+        int passos = TAMANHOS_PASSOS[0];
+        double tempoMaximo = 500.0;
+        
+        System.out.printf("\n  Testando: População=%.0f, Passos=%d, Realizações=%d (híbrido, limiar=%.0f)\n",
+                          populacao, passos, REALIZACOES_POPULACAO_GRANDE, LIMIAR_HIBRIDO);
+        double somaUmaThread = 0;
+        for (int numThreads : numerosThreads) {
+            System.out.printf("    • SIR Híbrido (%d threads)...", numThreads);
+            double soma = 0;
+            for (int rep = 1; rep <= REPETICOES; rep++) {
+                SIREstocastico sirEstocastico = new SIREstocastico(
+                    (int) populacao, TAXA_TRANSMISSAO_SIR, TAXA_RECUPERACAO_SIR,
+                    (int) INFECTADOS_INICIAIS_SIR, tempoMaximo, REALIZACOES_POPULACAO_GRANDE, 42L, numThreads
+                );
+                double tempo = sirEstocastico.executarSimulacaoHibrida(passos, LIMIAR_HIBRIDO);
+                gravarResultado("SIR", "Estocastico_Hibrido", populacao, passos,
+                                REALIZACOES_POPULACAO_GRANDE, numThreads, rep, tempo);
+                soma += tempo;
+            }
+            System.out.println(" ✓");
+            System.out.printf(Locale.US, "      Por realização: %.3f ms%n", soma / (REPETICOES * REALIZACOES_POPULACAO_GRANDE));
+            if (numThreads == 1) {
+                somaUmaThread = soma;
+            } else {
+                System.out.printf(Locale.US, "      Speedup sobre 1 thread: %.2fx%n", somaUmaThread / soma);
+            }
+        }
+    }
+    
     private static void testarSIRCenariosVariandoTamanho() {
         int numeroThreads = Runtime.getRuntime().availableProcessors();
         double populacao = 1000000.0; // População fixa para testes de cenários
@@ -145,8 +408,22 @@ public class Benchmarks {
             }
             System.out.println(" ✓");
             
+            // SIR Cenários Sequencial com ABM4
+            System.out.print("    • SIR Cenários Sequencial ABM4...");
+            for (int rep = 1; rep <= REPETICOES; rep++) {
+                cenarios.CenariosSequencialSIR sirCenAbm = new cenarios.CenariosSequencialSIR(
+                    populacao, INFECTADOS_INICIAIS_SIR, RECUPERADOS_INICIAIS_SIR,
+                    TAXA_RECUPERACAO_SIR, tempoMaximo, passos, numeroCenarios,
+                    ConfiguracaoSolver.abm4()
+                );
+                double tempo = sirCenAbm.executarSimulacao();
+                gravarResultado("SIR", "Cenarios_Sequencial_ABM4", populacao, passos, numeroCenarios, 1, rep, tempo);
+            }
+            System.out.println(" ✓");
+            
             // SIR Cenários Paralelo
             System.out.print("    • SIR Cenários Paralelo...");
+            double somaParalelo = 0;
             for (int rep = 1; rep <= REPETICOES; rep++) {
                 cenarios.CenariosParaleloSIR sirCenPar = new cenarios.CenariosParaleloSIR(
                     populacao, INFECTADOS_INICIAIS_SIR, RECUPERADOS_INICIAIS_SIR,
@@ -154,8 +431,52 @@ public class Benchmarks {
                 );
                 double tempo = sirCenPar.executarSimulacao();
                 gravarResultado("SIR", "Cenarios_Paralelo", populacao, passos, numeroCenarios, numeroThreads, rep, tempo);
+                somaParalelo += tempo;
+            }
+            System.out.println(" ✓");
+
+            // SIR Cenários Paralelo em lote (KernelLote: vários cenários por registrador SIMD)
+            System.out.print("    • SIR Cenários Paralelo Lote...");
+            double somaLote = 0;
+            for (int rep = 1; rep <= REPETICOES; rep++) {
+                cenarios.CenariosParaleloSIR sirCenLote = new cenarios.CenariosParaleloSIR(
+                    populacao, INFECTADOS_INICIAIS_SIR, RECUPERADOS_INICIAIS_SIR,
+                    TAXA_RECUPERACAO_SIR, tempoMaximo, passos, numeroCenarios, numeroThreads
+                );
+                double tempo = sirCenLote.executarSimulacaoEmLote();
+                gravarResultado("SIR", "Cenarios_Paralelo_Lote", populacao, passos, numeroCenarios, numeroThreads, rep, tempo);
+                somaLote += tempo;
+            }
+            System.out.println(" ✓");
+
+            // Mesmo lote em precisão simples (float32), com a comparação contra double em uma amostra
+            System.out.print("    • SIR Cenários Paralelo Lote Float...");
+            double somaLoteFloat = 0;
+            for (int rep = 1; rep <= REPETICOES; rep++) {
+                cenarios.CenariosParaleloSIR sirCenLoteFloat = new cenarios.CenariosParaleloSIR(
+                    populacao, INFECTADOS_INICIAIS_SIR, RECUPERADOS_INICIAIS_SIR,
+                    TAXA_RECUPERACAO_SIR, tempoMaximo, passos, numeroCenarios, numeroThreads
+                );
+                double tempo = sirCenLoteFloat.executarSimulacaoEmLote(Precisao.SIMPLES);
+                gravarResultado("SIR", "Cenarios_Paralelo_Lote_Float", populacao, passos, numeroCenarios, numeroThreads, rep, tempo);
+                somaLoteFloat += tempo;
+            }
+            System.out.println(" ✓");
+
+            // Intervenção (beta 0,3 reduzido de 0 a 80%) entre 12% e 36% do horizonte: o trecho
+            // anterior é comum a todos os cenários e integrado uma vez (ArvoreCenarios)
+            System.out.print("    • SIR Cenários Paralelo Árvore de Intervenções...");
+            for (int rep = 1; rep <= REPETICOES; rep++) {
+                cenarios.CenariosParaleloSIR sirCenArvore = new cenarios.CenariosParaleloSIR(
+                    populacao, INFECTADOS_INICIAIS_SIR, RECUPERADOS_INICIAIS_SIR,
+                    TAXA_RECUPERACAO_SIR, tempoMaximo, passos, numeroCenarios, numeroThreads
+                );
+                double tempo = sirCenArvore.executarSimulacaoComIntervencao(0.3, 0.12 * tempoMaximo, 0.36 * tempoMaximo, 0.8);
+                gravarResultado("SIR", "Cenarios_Paralelo_Arvore", populacao, passos, numeroCenarios, numeroThreads, rep, tempo);
             }
             System.out.println(" ✓");
+            imprimirCenariosPorSegundo(numeroCenarios, somaParalelo / REPETICOES, somaLote / REPETICOES,
+                                       somaLoteFloat / REPETICOES);
         }
     }
     
@@ -185,6 +506,19 @@ public class Benchmarks {
                 }
                 System.out.println(" ✓");
                 
+                // SIS Sequencial com ABM4 (mesma grade de passos, 2 avaliações de derivada por passo)
+                System.out.print("    • SIS Sequencial ABM4...");
+                for (int rep = 1; rep <= REPETICOES; rep++) {
+                    SISSequencial sisAbm = new SISSequencial(
+                        populacao, TAXA_TRANSMISSAO_SIS, TAXA_RECUPERACAO_SIS,
+                        INFECTADOS_INICIAIS_SIS, tempoMaximo, passos,
+                        ConfiguracaoSolver.abm4()
+                    );
+                    double tempo = sisAbm.executarSimulacao();
+                    gravarResultado("SIS", "Sequencial_ABM4", populacao, passos, 0, 1, rep, tempo);
+                }
+                System.out.println(" ✓");
+                
                 // SIS Paralelo com diferentes números de threads
                 for (int numThreads : numerosThreads) {
                     System.out.printf("    • SIS Paralelo (%d threads)...", numThreads);
@@ -202,6 +536,100 @@ public class Benchmarks {
         }
     }
     
+    private static void testarSISEstocastico() {
+        int[] numerosThreads = {1, 2, 4, 8};
+        double tempoMaximo = 100.0;
+        
+        System.out.printf("\n  Testando: População=%d, Realizações=%d\n",
+                          POPULACAO_ESTOCASTICA_SIS, REALIZACOES_ESTOCASTICAS);
+        double somaUmaThread = 0;
+        for (int numThreads : numerosThreads) {
+            System.out.printf("    • SIS Gillespie (%d threads)...", numThreads);
+            double soma = 0;
+            for (int rep = 1; rep <= REPETICOES; rep++) {
+                SISEstocastico sisEstocastico = new SISEstocastico(
+                    POPULACAO_ESTOCASTICA_SIS, TAXA_TRANSMISSAO_SIS, TAXA_RECUPERACAO_SIS,
+                    (int) INFECTADOS_INICIAIS_SIS, tempoMaximo, REALIZACOES_ESTOCASTICAS, 42L, numThreads
+                );
+                double tempo = sisEstocastico.executarSimulacao();
+                gravarResultado("SIS", "Estocastico_Gillespie", POPULACAO_ESTOCASTICA_SIS, 0,
+                                REALIZACOES_ESTOCASTICAS, numThreads, rep, tempo);
+                soma += tempo;
+            }
+            System.out.println(" ✓");
+            System.out.printf(Locale.US, "      Realizações/s: %.1f%n", REALIZACOES_ESTOCASTICAS * REPETICOES / (soma / 1000.0));
+            if (numThreads == 1) {
+                somaUmaThread = soma;
+            } else {
+                System.out.printf(Locale.US, "      Speedup sobre 1 thread: %.2fx%n", somaUmaThread / soma);
+            }
+        }
+    }
+    
+    private static void testarSISTauLeaping() {
+        int[] numerosThreads = {1, 2, 4, 8};
+        double populacao = TAMANHOS_POPULACAO[TAMANHOS_POPULACAO.length - 1];
+        int passos = TAMANHOS_PASSOS[0];
+        double tempoMaximo = 100.0;
+        
+        System.out.printf("\n  Testando: População=%.0f, Passos=%d, Realizações=%d (tau-leaping)\n",
+                          populacao, passos, REALIZACOES_POPULACAO_GRANDE);
+        double somaUmaThread = 0;
+        for (int numThreads : numerosThreads) {
+            System.out.printf("    • SIS Tau-leaping (%d threads)...", numThreads);
+            double soma = 0;
+            for (int rep = 1; rep <= REPETICOES; rep++) {
+                SISEstocastico sisEstocastico = new SISEstocastico(
+                    (int) populacao, TAXA_TRANSMISSAO_SIS, TAXA_RECUPERACAO_SIS,
+                    (int) INFECTADOS_INICIAIS_SIS, tempoMaximo, REALIZACOES_POPULACAO_GRANDE, 42L, numThreads
+                );
+                double tempo = sisEstocastico.executarSimulacaoTauLeaping(passos);
+                gravarResultado("SIS", "Estocastico_TauLeaping", populacao, passos,
+                                REALIZACOES_POPULACAO_GRANDE, numThreads, rep, tempo);
+                soma += tempo;
+            }
+            System.out.println(" ✓");
+            System.out.printf(Locale.US, "      Por realização: %.3f ms%n", soma / (REPETICOES * REALIZACOES_POPULACAO_GRANDE));
+            if (numThreads == 1) {
+                somaUmaThread = soma;
+            } else {
+                System.out.printf(Locale.US, "      Speedup sobre 1 thread: %.2fx%n", somaUmaThread / soma);
+            }
+        }
+    }
+    
+    private static void testarSISHibrido() {
+        int[] numerosThreads = {1, 2, 4, 8};
+        double populacao = TAMANHOS_POPULACAO[TAMANHOS_POPULACAO.length - 1];
+        int passos = TAMANHOS_PASSOS[0];
+        double tempoMaximo = 100.0;
+        
+        System.out.printf("\n  Testando: População=%.0f, Passos=%d, Realizações=%d (híbrido, limiar=%.0f)\n",
+                          populacao, passos, REALIZACOES_POPULACAO_GRANDE, LIMIAR_HIBRIDO);
+        double somaUmaThread = 0;
+        for (int numThreads : numerosThreads) {
+            System.out.printf("    • SIS Híbrido (%d threads)...", numThreads);
+            double soma = 0;
+            for (int rep = 1; rep <= REPETICOES; rep++) {
+                SISEstocastico sisEstocastico = new SISEstocastico(
+                    (int) populacao, TAXA_TRANSMISSAO_SIS, TAXA_RECUPERACAO_SIS,
+                    (int) INFECTADOS_INICIAIS_SIS, tempoMaximo, REALIZACOES_POPULACAO_GRANDE, 42L, numThreads
+                );
+                double tempo = sisEstocastico.executarSimulacaoHibrida(passos, LIMIAR_HIBRIDO);
+                gravarResultado("SIS", "Estocastico_Hibrido", populacao, passos,
+                                REALIZACOES_POPULACAO_GRANDE, numThreads, rep, tempo);
+                soma += tempo;
+            }
+            System.out.println(" ✓");
+            System.out.printf(Locale.US, "      Por realização: %.3f ms%n", soma / (REPETICOES * REALIZACOES_POPULACAO_GRANDE));
+            if (numThreads == 1) {
+                somaUmaThread = soma;
+            } else {
+                System.out.printf(Locale.US, "      Speedup sobre 1 thread: %.2fx%n", somaUmaThread / soma);
+            }
+        }
+    }
+    
     private static void testarSISCenariosVariandoTamanho() {
         int numeroThreads = Runtime.getRuntime().availableProcessors();
         double populacao = 1000000.0; // Mesma população do SIR
@@ -223,8 +651,22 @@ public class Benchmarks {
             }
             System.out.println(" ✓");
             
+            // SIS Cenários Sequencial com ABM4
+            System.out.print("    • SIS Cenários Sequencial ABM4...");
+            for (int rep = 1; rep <= REPETICOES; rep++) {
+                cenarios.CenariosSequencialSIS sisCenAbm = new cenarios.CenariosSequencialSIS(
+                    populacao, INFECTADOS_INICIAIS_SIS, TAXA_RECUPERACAO_SIS,
+                    tempoMaximo, passos, numeroCenarios,
+                    ConfiguracaoSolver.abm4()
+                );
+                double tempo = sisCenAbm.executarSimulacao();
+                gravarResultado("SIS", "Cenarios_Sequencial_ABM4", populacao, passos, numeroCenarios, 1, rep, tempo);
+            }
+            System.out.println(" ✓");
+            
             // SIS Cenários Paralelo
             System.out.print("    • SIS Cenários Paralelo...");
+            double somaParalelo = 0;
             for (int rep = 1; rep <= REPETICOES; rep++) {
                 cenarios.CenariosParaleloSIS sisCenPar = new cenarios.CenariosParaleloSIS(
                     populacao, INFECTADOS_INICIAIS_SIS, TAXA_RECUPERACAO_SIS,
@@ -232,11 +674,67 @@ public class Benchmarks {
                 );
                 double tempo = sisCenPar.executarSimulacao();
                 gravarResultado("SIS", "Cenarios_Paralelo", populacao, passos, numeroCenarios, numeroThreads, rep, tempo);
+                somaParalelo += tempo;
             }
             System.out.println(" ✓");
+
+            // SIS Cenários Paralelo em lote (KernelLote: vários cenários por registrador SIMD)
+            System.out.print("    • SIS Cenários Paralelo Lote...");
+            double somaLote = 0;
+            for (int rep = 1; rep <= REPETICOES; rep++) {
+                cenarios.CenariosParaleloSIS sisCenLote = new cenarios.CenariosParaleloSIS(
+                    populacao, INFECTADOS_INICIAIS_SIS, TAXA_RECUPERACAO_SIS,
+                    tempoMaximo, passos, numeroCenarios, numeroThreads
+                );
+                double tempo = sisCenLote.executarSimulacaoEmLote();
+                gravarResultado("SIS", "Cenarios_Paralelo_Lote", populacao, passos, numeroCenarios, numeroThreads, rep, tempo);
+                somaLote += tempo;
+            }
+            System.out.println(" ✓");
+
+            // Mesmo lote em precisão simples (float32), com a comparação contra double em uma amostra
+            System.out.print("    • SIS Cenários Paralelo Lote Float...");
+            double somaLoteFloat = 0;
+            for (int rep = 1; rep <= REPETICOES; rep++) {
+                cenarios.CenariosParaleloSIS sisCenLoteFloat = new cenarios.CenariosParaleloSIS(
+                    populacao, INFECTADOS_INICIAIS_SIS, TAXA_RECUPERACAO_SIS,
+                    tempoMaximo, passos, numeroCenarios, numeroThreads
+                );
+                double tempo = sisCenLoteFloat.executarSimulacaoEmLote(Precisao.SIMPLES);
+                gravarResultado("SIS", "Cenarios_Paralelo_Lote_Float", populacao, passos, numeroCenarios, numeroThreads, rep, tempo);
+                somaLoteFloat += tempo;
+            }
+            System.out.println(" ✓");
+
+            // Intervenção (beta 0,3 reduzido de 0 a 80%) entre 12% e 36% do horizonte: o trecho
+            // anterior é comum a todos os cenários e integrado uma vez (ArvoreCenarios)
+            System.out.print("    • SIS Cenários Paralelo Árvore de Intervenções...");
+            for (int rep = 1; rep <= REPETICOES; rep++) {
+                cenarios.CenariosParaleloSIS sisCenArvore = new cenarios.CenariosParaleloSIS(
+                    populacao, INFECTADOS_INICIAIS_SIS, TAXA_RECUPERACAO_SIS,
+                    tempoMaximo, passos, numeroCenarios, numeroThreads
+                );
+                double tempo = sisCenArvore.executarSimulacaoComIntervencao(0.3, 0.12 * tempoMaximo, 0.36 * tempoMaximo, 0.8);
+                gravarResultado("SIS", "Cenarios_Paralelo_Arvore", populacao, passos, numeroCenarios, numeroThreads, rep, tempo);
+            }
+            System.out.println(" ✓");
+            imprimirCenariosPorSegundo(numeroCenarios, somaParalelo / REPETICOES, somaLote / REPETICOES,
+                                       somaLoteFloat / REPETICOES);
         }
     }
     
+    // Vazão do caminho por TarefaCenario (um cenário por tarefa) contra o lote em passo travado (double e float)
+    private static void imprimirCenariosPorSegundo(int numeroCenarios, double tempoMedioParalelo, double tempoMedioLote,
+                                                   double tempoMedioLoteFloat) {
+        double cenariosPorSegundoParalelo = numeroCenarios / (tempoMedioParalelo / 1000.0);
+        double cenariosPorSegundoLote = numeroCenarios / (tempoMedioLote / 1000.0);
+        double cenariosPorSegundoLoteFloat = numeroCenarios / (tempoMedioLoteFloat / 1000.0);
+        System.out.printf(Locale.US, "      Cenários/s: TarefaCenario %.0f | lote (%s) %.0f | %.2fx | float %.0f | %.2fx%n",
+            cenariosPorSegundoParalelo, KernelLote.melhorDisponivel().descricao(), cenariosPorSegundoLote,
+            cenariosPorSegundoLote / cenariosPorSegundoParalelo, cenariosPorSegundoLoteFloat,
+            cenariosPorSegundoLoteFloat / cenariosPorSegundoParalelo);
+    }
+
     private static void gravarResultado(String modelo, String tipo, double populacao, 
                                        int passos, int cenarios, int threads, int repeticao, double tempo) {
         String timestamp = LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
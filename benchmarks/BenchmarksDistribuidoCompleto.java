@@ -13,6 +13,10 @@ import java.util.List;
 import java.util.Locale;
 import java.util.concurrent.*;
 
+import nucleo.Integrador;
+import nucleo.ModeloSIR;
+import nucleo.ModeloSIS;
+
 // Interfaces RMI
 interface ModeloRemotoSIR extends Remote {
     double[] simularSIR(double populacao, double infectadosIniciais, 
@@ -40,6 +44,9 @@ public class BenchmarksDistribuidoCompleto {
     private static final int[] NUMEROS_CENARIOS = {100, 500, 1000};
     private static final int PORTA_BASE = 1099;
     
+    // Incremento de tempo fixo das simulações remotas (a interface recebe apenas o número de passos)
+    private static final double INCREMENTO_TEMPO = 0.1;
+    
     // Parâmetros SIR (idênticos ao Benchmarks.java)
     private static final double POPULACAO_SIR = 1000000.0;
     private static final int PASSOS_SIR = 50000;
@@ -333,38 +340,10 @@ public class BenchmarksDistribuidoCompleto {
                                    double recuperadosIniciais, double taxaTransmissao,
                                    double taxaRecuperacao, int passos) throws RemoteException {
             
-            double suscetíveis = populacao - infectadosIniciais - recuperadosIniciais;
-            double infectados = infectadosIniciais;
-            double recuperados = recuperadosIniciais;
-            double dt = 0.1;
-            
-            for (int i = 0; i < passos; i++) {
-                double[] k1 = calcularDerivadasSIR(suscetíveis, infectados, recuperados, 
-                                                    populacao, taxaTransmissao, taxaRecuperacao);
-                double[] k2 = calcularDerivadasSIR(
-                    suscetíveis + k1[0] * dt / 2, infectados + k1[1] * dt / 2,
-                    recuperados + k1[2] * dt / 2, populacao, taxaTransmissao, taxaRecuperacao);
-                double[] k3 = calcularDerivadasSIR(
-                    suscetíveis + k2[0] * dt / 2, infectados + k2[1] * dt / 2,
-                    recuperados + k2[2] * dt / 2, populacao, taxaTransmissao, taxaRecuperacao);
-                double[] k4 = calcularDerivadasSIR(
-                    suscetíveis + k3[0] * dt, infectados + k3[1] * dt,
-                    recuperados + k3[2] * dt, populacao, taxaTransmissao, taxaRecuperacao);
-                
-                suscetíveis += (k1[0] + 2*k2[0] + 2*k3[0] + k4[0]) * dt / 6;
-                infectados += (k1[1] + 2*k2[1] + 2*k3[1] + k4[1]) * dt / 6;
-                recuperados += (k1[2] + 2*k2[2] + 2*k3[2] + k4[2]) * dt / 6;
-            }
-            
-            return new double[]{suscetíveis, infectados, recuperados};
-        }
-        
-        private double[] calcularDerivadasSIR(double s, double i, double r, double n,
-                                              double beta, double gamma) {
-            double dS = -beta * s * i / n;
-            double dI = beta * s * i / n - gamma * i;
-            double dR = gamma * i;
-            return new double[]{dS, dI, dR};
+            // Mesmo motor das versões locais: 'passos' passos de INCREMENTO_TEMPO cada
+            ModeloSIR modelo = new ModeloSIR(populacao, taxaTransmissao, taxaRecuperacao);
+            return Integrador.estadoFinalRK4(modelo, modelo.estadoInicial(infectadosIniciais, recuperadosIniciais),
+                                             passos * INCREMENTO_TEMPO, passos + 1);
         }
     }
     
@@ -374,35 +353,10 @@ public class BenchmarksDistribuidoCompleto {
                                    double taxaTransmissao, double taxaRecuperacao,
                                    int passos) throws RemoteException {
             
-            double suscetíveis = populacao - infectadosIniciais;
-            double infectados = infectadosIniciais;
-            double dt = 0.1;
-            
-            for (int i = 0; i < passos; i++) {
-                double[] k1 = calcularDerivadasSIS(suscetíveis, infectados, 
-                                                    populacao, taxaTransmissao, taxaRecuperacao);
-                double[] k2 = calcularDerivadasSIS(
-                    suscetíveis + k1[0] * dt / 2, infectados + k1[1] * dt / 2,
-                    populacao, taxaTransmissao, taxaRecuperacao);
-                double[] k3 = calcularDerivadasSIS(
-                    suscetíveis + k2[0] * dt / 2, infectados + k2[1] * dt / 2,
-                    populacao, taxaTransmissao, taxaRecuperacao);
-                double[] k4 = calcularDerivadasSIS(
-                    suscetíveis + k3[0] * dt, infectados + k3[1] * dt,
-                    populacao, taxaTransmissao, taxaRecuperacao);
-                
-                suscetíveis += (k1[0] + 2*k2[0] + 2*k3[0] + k4[0]) * dt / 6;
-                infectados += (k1[1] + 2*k2[1] + 2*k3[1] + k4[1]) * dt / 6;
-            }
-            
-            return new double[]{suscetíveis, infectados};
-        }
-        
-        private double[] calcularDerivadasSIS(double s, double i, double n,
-                                              double beta, double gamma) {
-            double dS = -beta * s * i / n + gamma * i;
-            double dI = beta * s * i / n - gamma * i;
-            return new double[]{dS, dI};
+            // Mesmo motor das versões locais: 'passos' passos de INCREMENTO_TEMPO cada
+            ModeloSIS modelo = new ModeloSIS(populacao, taxaTransmissao, taxaRecuperacao);
+            return Integrador.estadoFinalRK4(modelo, modelo.estadoInicial(infectadosIniciais),
+                                             passos * INCREMENTO_TEMPO, passos + 1);
         }
     }
 }
@@ -0,0 +1,236 @@
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+
+import nucleo.DefinicaoModelo;
+import nucleo.Integrador;
+import nucleo.MatrizContato;
+import nucleo.ModeloCompartimental;
+import nucleo.ModeloDefinido;
+import nucleo.ModeloSIR;
+import nucleo.ModeloSIS;
+import nucleo.ModeloSIREtario;
+import nucleo.SolverAdamsBashforthMoulton;
+
+/**
+ * Micro-benchmarks dos kernels numéricos do nucleo. Mede tempo por passo e
+ * bytes alocados por passo no caminho quente (laço de integração).
+ */
+public class BenchmarksKernels {
+
+    private static final int PASSOS = 50000;
+    private static final int AQUECIMENTO = 200; // Execuções para o JIT compilar o kernel
+    private static final int REPETICOES = 50;
+
+    // Parâmetros fixos do modelo (idênticos ao Benchmarks.java)
+    private static final double POPULACAO = 1000000.0;
+    private static final double TAXA_TRANSMISSAO_SIR = 0.2;
+    private static final double TAXA_RECUPERACAO_SIR = 0.1;
+    private static final double INFECTADOS_INICIAIS_SIR = 10.0;
+    private static final double TEMPO_MAXIMO_SIR = 500.0;
+
+    private static final double TAXA_TRANSMISSAO_SIS = 0.3;
+    private static final double TAXA_RECUPERACAO_SIS = 0.1;
+    private static final double INFECTADOS_INICIAIS_SIS = 1.0;
+    private static final double TEMPO_MAXIMO_SIS = 100.0;
+
+    private static final ModeloSIR MODELO_SIR = new ModeloSIR(POPULACAO, TAXA_TRANSMISSAO_SIR, TAXA_RECUPERACAO_SIR);
+    private static final double[] ESTADO_INICIAL_SIR = MODELO_SIR.estadoInicial(INFECTADOS_INICIAIS_SIR, 0.0);
+    private static final ModeloSIS MODELO_SIS = new ModeloSIS(POPULACAO, TAXA_TRANSMISSAO_SIS, TAXA_RECUPERACAO_SIS);
+    private static final double[] ESTADO_INICIAL_SIS = MODELO_SIS.estadoInicial(INFECTADOS_INICIAIS_SIS);
+
+    // O SIR do ModeloSIR em texto: N como soma dos compartimentos, ou a população como parâmetro
+    // (a mesma fórmula beta/N·S·I do kernel escrito à mão)
+    private static final String DEFINICAO_SIR = "modelo SIR\n"
+        + "compartimentos S I R\n"
+        + "parametros beta=" + TAXA_TRANSMISSAO_SIR + " gamma=" + TAXA_RECUPERACAO_SIR + "\n"
+        + "S -> I : beta * S * I / N\n"
+        + "I -> R : gamma * I\n";
+    private static final String DEFINICAO_SIR_POPULACAO = "modelo SIR_populacao\n"
+        + "compartimentos S I R\n"
+        + "parametros beta=" + TAXA_TRANSMISSAO_SIR + " gamma=" + TAXA_RECUPERACAO_SIR + " pop=" + POPULACAO + "\n"
+        + "S -> I : beta / pop * S * I\n"
+        + "I -> R : gamma * I\n";
+    private static final String DEFINICAO_SEIR = "modelo SEIR\n"
+        + "compartimentos S E I R\n"
+        + "parametros beta=0.3 sigma=0.2 gamma=0.1\n"
+        + "S -> E : beta * S * I / N\n"
+        + "E -> I : sigma * E\n"
+        + "I -> R : gamma * I\n";
+
+    // Modelos estruturados por idade: o passo custa O(G²), então menos passos e repetições
+    private static final int[] GRUPOS_ETARIOS = {16, 64, 256};
+    private static final int PASSOS_ETARIO = 2000;
+    private static final int AQUECIMENTO_ETARIO = 20;
+    private static final int REPETICOES_ETARIO = 10;
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // Evita que o JIT elimine as chamadas medidas
+    private static double sumidouro;
+
+    public static void main(String[] args) {
+        System.out.println("═".repeat(80));
+        System.out.println("          BENCHMARKS DOS KERNELS - TEMPO E ALOCAÇÃO POR PASSO");
+        System.out.println("═".repeat(80));
+        System.out.println("  Passos por execução: " + PASSOS);
+        System.out.println("  Repetições: " + REPETICOES);
+        System.out.println("═".repeat(80));
+
+        System.out.println("\n┌─ ALOCAÇÃO NO LAÇO DE INTEGRAÇÃO (SEM HISTÓRICO) ───────────┐");
+        medir("SIR pico (RK4 fundido)", () -> Integrador.picoInfectadosRK4(
+            MODELO_SIR, ESTADO_INICIAL_SIR, TEMPO_MAXIMO_SIR, PASSOS));
+        medir("SIS pico (RK4 fundido)", () -> Integrador.picoInfectadosRK4(
+            MODELO_SIS, ESTADO_INICIAL_SIS, TEMPO_MAXIMO_SIS, PASSOS));
+        medir("SIR pico (ABM4 fundido)", () -> SolverAdamsBashforthMoulton.picoInfectados(
+            MODELO_SIR, ESTADO_INICIAL_SIR, TEMPO_MAXIMO_SIR, PASSOS));
+        medir("SIS pico (ABM4 fundido)", () -> SolverAdamsBashforthMoulton.picoInfectados(
+            MODELO_SIS, ESTADO_INICIAL_SIS, TEMPO_MAXIMO_SIS, PASSOS));
+        System.out.println("└────────────────────────────────────────────────────────────┘");
+
+        System.out.println("\n┌─ ALOCAÇÃO COM HISTÓRICO (APENAS AS SÉRIES DE SAÍDA) ───────┐");
+        medir("SIR histórico (RK4 fundido)", () -> Integrador.integrarRK4(
+            MODELO_SIR, ESTADO_INICIAL_SIR, TEMPO_MAXIMO_SIR, PASSOS).infectados(PASSOS - 1));
+        medir("SIS histórico (RK4 fundido)", () -> Integrador.integrarRK4(
+            MODELO_SIS, ESTADO_INICIAL_SIS, TEMPO_MAXIMO_SIS, PASSOS).infectados(PASSOS - 1));
+        System.out.println("└────────────────────────────────────────────────────────────┘");
+
+        System.out.println("\n┌─ MODELOS DEFINIDOS EM TEXTO (COMPILADOS NA CARGA) ─────────┐");
+        long inicioCarga = System.nanoTime();
+        DefinicaoModelo definicaoSir = DefinicaoModelo.analisar(DEFINICAO_SIR);
+        System.out.printf(Locale.US, "  Carga + compilação da 1ª definição: %.1f ms (inicia o javac)%n",
+                          (System.nanoTime() - inicioCarga) / 1_000_000.0);
+        inicioCarga = System.nanoTime();
+        DefinicaoModelo definicaoSirPopulacao = DefinicaoModelo.analisar(DEFINICAO_SIR_POPULACAO);
+        DefinicaoModelo definicaoSeir = DefinicaoModelo.analisar(DEFINICAO_SEIR);
+        System.out.printf(Locale.US, "  Carga + compilação das seguintes: %.1f ms cada%n",
+                          (System.nanoTime() - inicioCarga) / 2 / 1_000_000.0);
+        ModeloDefinido sirCompilado = definicaoSir.modelo();
+        ModeloDefinido sirInterpretado = definicaoSir.modeloInterpretado();
+        ModeloDefinido sirPopulacao = definicaoSirPopulacao.modelo();
+        ModeloDefinido seir = definicaoSeir.modelo();
+        double[] estadoInicialSeir = seir.estadoInicial(POPULACAO - INFECTADOS_INICIAIS_SIR, 0.0,
+                                                        INFECTADOS_INICIAIS_SIR, 0.0);
+        medir("SIR escrito à mão (RK4)", () -> Integrador.picoInfectadosRK4(
+            MODELO_SIR, ESTADO_INICIAL_SIR, TEMPO_MAXIMO_SIR, PASSOS));
+        medir("SIR definido, N = soma", () -> Integrador.picoInfectadosRK4(
+            sirCompilado, ESTADO_INICIAL_SIR, TEMPO_MAXIMO_SIR, PASSOS));
+        medir("SIR definido, N parâmetro", () -> Integrador.picoInfectadosRK4(
+            sirPopulacao, ESTADO_INICIAL_SIR, TEMPO_MAXIMO_SIR, PASSOS));
+        medir("SIR definido, interpretado", () -> Integrador.picoInfectadosRK4(
+            sirInterpretado, ESTADO_INICIAL_SIR, TEMPO_MAXIMO_SIR, PASSOS));
+        medir("SEIR definido (RK4)", () -> Integrador.picoInfectadosRK4(
+            seir, estadoInicialSeir, TEMPO_MAXIMO_SIR, PASSOS));
+        System.out.println("└────────────────────────────────────────────────────────────┘");
+
+        System.out.println("\n┌─ MODELOS ESTRUTURADOS POR IDADE (MATRIZ DE CONTATOS) ──────┐");
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        for (int grupos : GRUPOS_ETARIOS) {
+            double[] populacoes = new double[grupos];
+            Arrays.fill(populacoes, POPULACAO / grupos);
+            double[] infectadosIniciais = new double[grupos];
+            Arrays.fill(infectadosIniciais, INFECTADOS_INICIAIS_SIR / grupos);
+            MatrizContato contatos = MatrizContato.assortativa(grupos, 12.0, grupos / 8.0);
+            ModeloSIREtario blocado = new ModeloSIREtario(populacoes, contatos, 0.02, TAXA_RECUPERACAO_SIR);
+            ModeloSIREtarioIngenuo ingenuo = new ModeloSIREtarioIngenuo(populacoes, contatos, 0.02, TAXA_RECUPERACAO_SIR);
+            double[] estadoInicial = blocado.estadoInicial(infectadosIniciais);
+
+            medir(grupos + " grupos, ingênuo", PASSOS_ETARIO, AQUECIMENTO_ETARIO, REPETICOES_ETARIO,
+                () -> Integrador.picoInfectadosRK4(ingenuo, estadoInicial, TEMPO_MAXIMO_SIR, PASSOS_ETARIO));
+            medir(grupos + " grupos, em blocos", PASSOS_ETARIO, AQUECIMENTO_ETARIO, REPETICOES_ETARIO,
+                () -> Integrador.picoInfectadosRK4(blocado, estadoInicial, TEMPO_MAXIMO_SIR, PASSOS_ETARIO));
+            if (grupos >= 128) {
+                ModeloSIREtario paralelo = blocado.comParalelismo(pool);
+                medir(grupos + " grupos, " + pool.getParallelism() + " threads", PASSOS_ETARIO, AQUECIMENTO_ETARIO,
+                    REPETICOES_ETARIO,
+                    () -> Integrador.picoInfectadosRK4(paralelo, estadoInicial, TEMPO_MAXIMO_SIR, PASSOS_ETARIO));
+            }
+        }
+        pool.shutdown();
+        System.out.println("└────────────────────────────────────────────────────────────┘");
+
+        System.out.println("\n  (sumidouro: " + sumidouro + ")");
+    }
+
+    // Executa o kernel, mede o tempo médio e os bytes alocados pela thread atual
+    private static void medir(String nome, Kernel kernel) {
+        medir(nome, PASSOS, AQUECIMENTO, REPETICOES, kernel);
+    }
+
+    private static void medir(String nome, int passos, int aquecimento, int repeticoes, Kernel kernel) {
+        for (int i = 0; i < aquecimento; i++) {
+            sumidouro += kernel.executar();
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long bytesInicio = THREAD_MX.getThreadAllocatedBytes(threadId);
+        long tempoInicio = System.nanoTime();
+        for (int i = 0; i < repeticoes; i++) {
+            sumidouro += kernel.executar();
+        }
+        long tempoFim = System.nanoTime();
+        long bytesFim = THREAD_MX.getThreadAllocatedBytes(threadId);
+
+        double passosTotais = (double) passos * repeticoes;
+        double nsPorPasso = (tempoFim - tempoInicio) / passosTotais;
+        double bytesPorPasso = (bytesFim - bytesInicio) / passosTotais;
+        System.out.printf(Locale.US, "  %-28s %8.2f ns/passo  %8.3f bytes/passo  %s%n",
+            nome, nsPorPasso, bytesPorPasso, bytesPorPasso < 1.0 ? "✓ sem alocação por passo" : "");
+    }
+
+    // Referência para o produto em blocos: a força de infecção linha a linha, com a matriz em
+    // double[][] e a divisão por N_j no laço, como a generalização direta do SIR escalar
+    private static final class ModeloSIREtarioIngenuo implements ModeloCompartimental {
+        private final double[] populacoes;
+        private final double[][] contatos;
+        private final double taxaTransmissao;
+        private final double taxaRecuperacao;
+
+        ModeloSIREtarioIngenuo(double[] populacoes, MatrizContato matriz, double taxaTransmissao,
+                               double taxaRecuperacao) {
+            int grupos = populacoes.length;
+            this.populacoes = populacoes.clone();
+            this.contatos = new double[grupos][grupos];
+            for (int i = 0; i < grupos; i++) {
+                for (int j = 0; j < grupos; j++) {
+                    contatos[i][j] = matriz.contato(i, j);
+                }
+            }
+            this.taxaTransmissao = taxaTransmissao;
+            this.taxaRecuperacao = taxaRecuperacao;
+        }
+
+        @Override
+        public int numeroCompartimentos() {
+            return 3 * populacoes.length;
+        }
+
+        @Override
+        public int indiceInfectados() {
+            return populacoes.length;
+        }
+
+        @Override
+        public void derivada(double tempo, double[] estado, double[] derivada) {
+            int grupos = populacoes.length;
+            for (int i = 0; i < grupos; i++) {
+                double forca = 0;
+                for (int j = 0; j < grupos; j++) {
+                    forca += taxaTransmissao * contatos[i][j] * estado[grupos + j] / populacoes[j];
+                }
+                double novasInfeccoes = forca * estado[i];
+                double novasRecuperacoes = taxaRecuperacao * estado[grupos + i];
+                derivada[i] = -novasInfeccoes;
+                derivada[grupos + i] = novasInfeccoes - novasRecuperacoes;
+                derivada[2 * grupos + i] = novasRecuperacoes;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Kernel {
+        double executar();
+    }
+}
@@ -1,8 +1,23 @@
 package cenarios;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.concurrent.*;
 
+import nucleo.ArvoreCenarios;
+import nucleo.ComparacaoPrecisao;
+import nucleo.ConfiguracaoSolver;
+import nucleo.DefinicaoModelo;
+import nucleo.DetectorEventos;
+import nucleo.Evento;
+import nucleo.Integrador;
+import nucleo.KernelLote;
+import nucleo.ModeloDefinido;
+import nucleo.ModeloSIS;
+import nucleo.OcorrenciaEvento;
+import nucleo.Precisao;
+import nucleo.ResultadoArvore;
+
 public class CenariosParaleloSIS {
 
     // Parâmetros da simulação
@@ -13,10 +28,23 @@ public class CenariosParaleloSIS {
     private final int numeroPassos;
     private final int numeroCenarios;
     private final int numeroThreads;
+    private final ConfiguracaoSolver configuracao;
+
+    // Cenários comparados com a referência double ao rodar o lote em precisão simples
+    private static final int AMOSTRA_COMPARACAO_PRECISAO = 32;
 
-    // Construtor
+    // Construtor (RK4 de passo fixo)
     public CenariosParaleloSIS(double populacaoBase, double infectadosIniciais, double taxaRecuperacao,
                                double tempoMaximo, int numeroPassos, int numeroCenarios, int numeroThreads) {
+        this(populacaoBase, infectadosIniciais, taxaRecuperacao, tempoMaximo, numeroPassos, numeroCenarios,
+             numeroThreads, ConfiguracaoSolver.rk4());
+    }
+
+    // Construtor com escolha do método de integração (ex.: Dormand-Prince adaptativo, ou
+    // ConfiguracaoSolver.automatico() para usar Rosenbrock apenas nos cenários rígidos)
+    public CenariosParaleloSIS(double populacaoBase, double infectadosIniciais, double taxaRecuperacao,
+                               double tempoMaximo, int numeroPassos, int numeroCenarios, int numeroThreads,
+                               ConfiguracaoSolver configuracao) {
         this.populacaoBase = populacaoBase;
         this.infectadosIniciais = infectadosIniciais;
         this.taxaRecuperacao = taxaRecuperacao;
@@ -24,102 +52,64 @@ public class CenariosParaleloSIS {
         this.numeroPassos = numeroPassos;
         this.numeroCenarios = numeroCenarios;
         this.numeroThreads = numeroThreads;
+        this.configuracao = configuracao;
     }
 
     // Estrutura para guardar parâmetros específicos de cada cenário
     static class ParametrosCenario {
         double populacaoTotal, taxaTransmissao, taxaRecuperacao, infectadosIniciais, tempoMaximo;
         int numeroPassos;
+        ConfiguracaoSolver configuracao;
 
         public ParametrosCenario(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao,
                                 double infectadosIniciais, double tempoMaximo, int numeroPassos) {
+            this(populacaoTotal, taxaTransmissao, taxaRecuperacao, infectadosIniciais, tempoMaximo,
+                 numeroPassos, ConfiguracaoSolver.rk4());
+        }
+
+        public ParametrosCenario(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao,
+                                double infectadosIniciais, double tempoMaximo, int numeroPassos,
+                                ConfiguracaoSolver configuracao) {
             this.populacaoTotal = populacaoTotal;
             this.taxaTransmissao = taxaTransmissao;
             this.taxaRecuperacao = taxaRecuperacao;
             this.infectadosIniciais = infectadosIniciais;
             this.tempoMaximo = tempoMaximo;
             this.numeroPassos = numeroPassos;
+            this.configuracao = configuracao;
         }
     }
 
-    // --- 1. A função de derivada do Modelo SIS (EDOs) ---
-    public static double[] derivSis(double[] estadoAtual, double populacaoTotal, double taxaTransmissao, double taxaRecuperacao) {
-        double suscetiveis = estadoAtual[0];
-        double infectados = estadoAtual[1];
-
-        double derivadaSuscetiveis = -taxaTransmissao * suscetiveis * infectados / populacaoTotal + taxaRecuperacao * infectados;
-        double derivadaInfectados = taxaTransmissao * suscetiveis * infectados / populacaoTotal - taxaRecuperacao * infectados;
-
-        return new double[]{derivadaSuscetiveis, derivadaInfectados};
-    }
-
-    // --- 2. Implementação do Solver RK4 Sequencial para UM Cenário ---
+    // --- 1. Implementação do Solver RK4 Sequencial para UM Cenário ---
     public static double resolverRungeKutka4(ParametrosCenario parametros) {
-        double suscetiveisIniciais = parametros.populacaoTotal - parametros.infectadosIniciais;
-        double[] estadoAtual = {suscetiveisIniciais, parametros.infectadosIniciais};
-        int numeroCompartimentos = estadoAtual.length;
-        double incrementoTempo = parametros.tempoMaximo / (parametros.numeroPassos - 1);
-        double maximoInfectados = parametros.infectadosIniciais;
-        double[] coeficienteK1, coeficienteK2, coeficienteK3, coeficienteK4;
-
-        for (int passo = 0; passo < parametros.numeroPassos - 1; passo++) {
-
-            // k1 = incrementoTempo * f(estadoAtual)
-            double[] derivada1 = derivSis(estadoAtual, parametros.populacaoTotal, parametros.taxaTransmissao, parametros.taxaRecuperacao);
-            coeficienteK1 = new double[numeroCompartimentos];
-            for (int compartimento = 0; compartimento < numeroCompartimentos; compartimento++) {
-                coeficienteK1[compartimento] = derivada1[compartimento] * incrementoTempo;
-            }
-
-            // k2
-            double[] estadoIntermediarioK1 = new double[numeroCompartimentos];
-            for (int compartimento = 0; compartimento < numeroCompartimentos; compartimento++) {
-                estadoIntermediarioK1[compartimento] = estadoAtual[compartimento] + 0.5 * coeficienteK1[compartimento];
-            }
-            double[] derivada2 = derivSis(estadoIntermediarioK1, parametros.populacaoTotal, parametros.taxaTransmissao, parametros.taxaRecuperacao);
-            coeficienteK2 = new double[numeroCompartimentos];
-            for (int compartimento = 0; compartimento < numeroCompartimentos; compartimento++) {
-                coeficienteK2[compartimento] = derivada2[compartimento] * incrementoTempo;
-            }
-
-            // k3
-            double[] estadoIntermediarioK2 = new double[numeroCompartimentos];
-            for (int compartimento = 0; compartimento < numeroCompartimentos; compartimento++) {
-                estadoIntermediarioK2[compartimento] = estadoAtual[compartimento] + 0.5 * coeficienteK2[compartimento];
-            }
-            double[] derivada3 = derivSis(estadoIntermediarioK2, parametros.populacaoTotal, parametros.taxaTransmissao, parametros.taxaRecuperacao);
-            coeficienteK3 = new double[numeroCompartimentos];
-            for (int compartimento = 0; compartimento < numeroCompartimentos; compartimento++) {
-                coeficienteK3[compartimento] = derivada3[compartimento] * incrementoTempo;
-            }
-
-            // k4
-            double[] estadoIntermediarioK3 = new double[numeroCompartimentos];
-            for (int compartimento = 0; compartimento < numeroCompartimentos; compartimento++) {
-                estadoIntermediarioK3[compartimento] = estadoAtual[compartimento] + coeficienteK3[compartimento];
-            }
-            double[] derivada4 = derivSis(estadoIntermediarioK3, parametros.populacaoTotal, parametros.taxaTransmissao, parametros.taxaRecuperacao);
-            coeficienteK4 = new double[numeroCompartimentos];
-            for (int compartimento = 0; compartimento < numeroCompartimentos; compartimento++) {
-                coeficienteK4[compartimento] = derivada4[compartimento] * incrementoTempo;
-            }
+        // Motor único do nucleo: o laço roda sem alocar vetores intermediários
+        ModeloSIS modelo = new ModeloSIS(parametros.populacaoTotal, parametros.taxaTransmissao, parametros.taxaRecuperacao);
+        return Integrador.picoInfectadosRK4(modelo, modelo.estadoInicial(parametros.infectadosIniciais),
+                                            parametros.tempoMaximo, parametros.numeroPassos);
+    }
 
-            // Atualização Y (estadoAtual_{passo+1})
-            for (int compartimento = 0; compartimento < numeroCompartimentos; compartimento++) {
-                estadoAtual[compartimento] += (coeficienteK1[compartimento] + 2.0 * coeficienteK2[compartimento] + 2.0 * coeficienteK3[compartimento] + coeficienteK4[compartimento]) / 6.0;
-                if (estadoAtual[compartimento] < 0) {
-                    estadoAtual[compartimento] = 0;
-                }
-            }
+    // --- 1b. Solver de UM Cenário com o método escolhido na configuração do cenário ---
+    public static double resolverCenario(ParametrosCenario parametros) {
+        ModeloSIS modelo = new ModeloSIS(parametros.populacaoTotal, parametros.taxaTransmissao, parametros.taxaRecuperacao);
+        return Integrador.picoInfectados(parametros.configuracao, modelo,
+                                         modelo.estadoInicial(parametros.infectadosIniciais),
+                                         parametros.tempoMaximo, parametros.numeroPassos);
+    }
 
-            if (estadoAtual[1] > maximoInfectados) {
-                maximoInfectados = estadoAtual[1];
-            }
-        }
-        return maximoInfectados;
+    // --- 1c. Cenário com detecção de eventos (pico, capacidade e extinção), sem guardar histórico ---
+    // A integração termina quando I cai abaixo de 1 pessoa (evento terminal)
+    public static DetectorEventos resolverCenarioComEventos(ParametrosCenario parametros, double capacidadeHospitalar) {
+        ModeloSIS modelo = new ModeloSIS(parametros.populacaoTotal, parametros.taxaTransmissao, parametros.taxaRecuperacao);
+        DetectorEventos detector = new DetectorEventos(modelo,
+            Evento.pico(modelo.indiceInfectados()),
+            Evento.limiar("capacidade", modelo.indiceInfectados(), capacidadeHospitalar, Evento.Direcao.SUBIDA),
+            Evento.extincao(modelo.indiceInfectados(), 1.0));
+        Integrador.integrar(parametros.configuracao, modelo, modelo.estadoInicial(parametros.infectadosIniciais),
+                            parametros.tempoMaximo, parametros.numeroPassos, detector);
+        return detector;
     }
 
-    // --- 3. Callable para a Tarefa de Cenário ---
+    // --- 2. Callable para a Tarefa de Cenário ---
     static class TarefaCenario implements Callable<Double> {
 
         private final ParametrosCenario parametros;
@@ -131,18 +121,18 @@ public class CenariosParaleloSIS {
         @Override
         public Double call() {
             // Cada thread executa uma simulação SIS completa e independente
-            return resolverRungeKutka4(parametros);
+            return resolverCenario(parametros);
         }
     }
 
-    // --- 4. Método público para executar simulação ---
+    // --- 3. Método público para executar simulação ---
     public double executarSimulacao() {
         // Geração dos Cenários (Variando taxaTransmissao)
         ArrayList<ParametrosCenario> cenarios = new ArrayList<>();
         for (int indiceCenario = 0; indiceCenario < numeroCenarios; indiceCenario++) {
             double taxaTransmissao = 0.1 + (0.4 * indiceCenario) / (numeroCenarios - 1);
             cenarios.add(new ParametrosCenario(populacaoBase, taxaTransmissao, taxaRecuperacao,
-                                               infectadosIniciais, tempoMaximo, numeroPassos));
+                                               infectadosIniciais, tempoMaximo, numeroPassos, configuracao));
         }
 
         System.out.println("--- SIMULAÇÃO PARALELA DE MÚLTIPLOS CENÁRIOS (SIS) ---");
@@ -175,7 +165,245 @@ public class CenariosParaleloSIS {
         return tempoDecorridoMs;
     }
 
-    // --- 5. Main para Execução ---
+    // --- 3c. Mesma varredura com eventos: quantos cenários excedem a capacidade e quando ---
+    public double executarSimulacaoComEventos(double capacidadeHospitalar) {
+        System.out.println("--- SIMULAÇÃO PARALELA DE MÚLTIPLOS CENÁRIOS COM EVENTOS (SIS) ---");
+        System.out.println("Total de simulações: " + numeroCenarios);
+        System.out.println("Capacidade hospitalar: " + capacidadeHospitalar);
+
+        long tempoInicio = System.nanoTime();
+
+        ExecutorService executor = Executors.newFixedThreadPool(numeroThreads);
+        ArrayList<Future<DetectorEventos>> futuros = new ArrayList<>();
+        for (int indiceCenario = 0; indiceCenario < numeroCenarios; indiceCenario++) {
+            double taxaTransmissao = 0.1 + (0.4 * indiceCenario) / (numeroCenarios - 1);
+            ParametrosCenario parametros = new ParametrosCenario(populacaoBase, taxaTransmissao, taxaRecuperacao,
+                                                                 infectadosIniciais, tempoMaximo, numeroPassos, configuracao);
+            futuros.add(executor.submit(() -> resolverCenarioComEventos(parametros, capacidadeHospitalar)));
+        }
+
+        int acimaCapacidade = 0, extintos = 0, comPico = 0;
+        double somaTempoCapacidade = 0, somaTempoPico = 0;
+        try {
+            for (Future<DetectorEventos> futuro : futuros) {
+                DetectorEventos detector = futuro.get();
+                OcorrenciaEvento capacidade = detector.primeira("capacidade");
+                OcorrenciaEvento pico = detector.primeira("pico");
+                if (capacidade != null) {
+                    acimaCapacidade++;
+                    somaTempoCapacidade += capacidade.getTempo();
+                }
+                if (pico != null) {
+                    comPico++;
+                    somaTempoPico += pico.getTempo();
+                }
+                if (detector.primeira("extincao") != null) {
+                    extintos++;
+                }
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            System.err.println("Erro na execução paralela: " + e.getMessage());
+        } finally {
+            executor.shutdown();
+        }
+
+        long tempoFim = System.nanoTime();
+        double tempoDecorridoMs = (tempoFim - tempoInicio) / 1_000_000.0;
+        System.out.printf("Cenários acima da capacidade: %d (tempo médio até exceder: %.2f)\n", acimaCapacidade,
+                          acimaCapacidade > 0 ? somaTempoCapacidade / acimaCapacidade : Double.NaN);
+        System.out.printf("Cenários com pico: %d (tempo médio até o pico: %.2f)\n", comPico,
+                          comPico > 0 ? somaTempoPico / comPico : Double.NaN);
+        System.out.printf("Cenários encerrados por extinção: %d\n", extintos);
+        System.out.printf("Tempo de execução paralelo total: %.4f milissegundos\n", tempoDecorridoMs);
+        return tempoDecorridoMs;
+    }
+
+    // --- 3d. Mesma varredura em lotes de passo travado (KernelLote) ---
+    // Parâmetros e estados em vetores (um elemento por cenário); cada thread integra uma faixa
+    // contígua, várias pistas SIMD por instrução quando a Vector API está disponível. Sempre RK4
+    // de passo fixo, com os mesmos picos (bit a bit) do caminho por TarefaCenario
+    public double executarSimulacaoEmLote() {
+        return executarSimulacaoEmLote(Precisao.DUPLA);
+    }
+
+    // Precisao.SIMPLES integra em float (o dobro de pistas por registrador) e, ao final, compara
+    // float e double em uma amostra de cenários, avisando se o erro passar da tolerância
+    public double executarSimulacaoEmLote(Precisao precisao) {
+        KernelLote kernel = KernelLote.melhorDisponivel();
+        double[] taxasTransmissao = new double[numeroCenarios];
+        for (int indiceCenario = 0; indiceCenario < numeroCenarios; indiceCenario++) {
+            taxasTransmissao[indiceCenario] = 0.1 + (0.4 * indiceCenario) / (numeroCenarios - 1);
+        }
+        double suscetiveisIniciais = populacaoBase - infectadosIniciais;
+        double incrementoTempo = Integrador.incrementoTempo(tempoMaximo, numeroPassos);
+
+        // Faixas múltiplas da largura do kernel: só o fim do lote cai no caminho escalar
+        int largura = kernel.largura(precisao);
+        int gruposPorThread = ((numeroCenarios + largura - 1) / largura + numeroThreads - 1) / numeroThreads;
+        int tamanhoFaixa = Math.max(1, gruposPorThread) * largura;
+
+        ArrayList<Runnable> faixas = new ArrayList<>();
+        double[] picos = new double[numeroCenarios];
+        float[] picosSimples = new float[precisao == Precisao.SIMPLES ? numeroCenarios : 0];
+        if (precisao == Precisao.SIMPLES) {
+            float[] taxas = new float[numeroCenarios];
+            float[] suscetiveis = new float[numeroCenarios];
+            float[] infectados = new float[numeroCenarios];
+            for (int indiceCenario = 0; indiceCenario < numeroCenarios; indiceCenario++) {
+                taxas[indiceCenario] = (float) taxasTransmissao[indiceCenario];
+                suscetiveis[indiceCenario] = (float) suscetiveisIniciais;
+                infectados[indiceCenario] = (float) infectadosIniciais;
+            }
+            for (int inicio = 0; inicio < numeroCenarios; inicio += tamanhoFaixa) {
+                int inicioFaixa = inicio;
+                int fimFaixa = Math.min(numeroCenarios, inicio + tamanhoFaixa);
+                faixas.add(() -> kernel.integrarSIS((float) populacaoBase, (float) taxaRecuperacao, taxas,
+                    suscetiveis, infectados, (float) incrementoTempo, numeroPassos, picosSimples,
+                    inicioFaixa, fimFaixa));
+            }
+        } else {
+            double[] suscetiveis = new double[numeroCenarios];
+            double[] infectados = new double[numeroCenarios];
+            Arrays.fill(suscetiveis, suscetiveisIniciais);
+            Arrays.fill(infectados, infectadosIniciais);
+            for (int inicio = 0; inicio < numeroCenarios; inicio += tamanhoFaixa) {
+                int inicioFaixa = inicio;
+                int fimFaixa = Math.min(numeroCenarios, inicio + tamanhoFaixa);
+                faixas.add(() -> kernel.integrarSIS(populacaoBase, taxaRecuperacao, taxasTransmissao,
+                    suscetiveis, infectados, incrementoTempo, numeroPassos, picos, inicioFaixa, fimFaixa));
+            }
+        }
+
+        System.out.println("--- SIMULAÇÃO PARALELA DE MÚLTIPLOS CENÁRIOS EM LOTE (SIS) ---");
+        System.out.println("Total de simulações: " + numeroCenarios);
+        System.out.println("Threads Utilizadas: " + numeroThreads);
+        System.out.println("Kernel: " + kernel.descricao() + ", precisão " + precisao);
+
+        long tempoInicio = System.nanoTime();
+
+        ExecutorService executor = Executors.newFixedThreadPool(numeroThreads);
+        ArrayList<Future<?>> futuros = new ArrayList<>();
+        for (Runnable faixa : faixas) {
+            futuros.add(executor.submit(faixa));
+        }
+
+        try {
+            for (Future<?> futuro : futuros) {
+                futuro.get();
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            System.err.println("Erro na execução paralela: " + e.getMessage());
+        } finally {
+            executor.shutdown();
+        }
+
+        long tempoFim = System.nanoTime();
+        double tempoDecorridoMs = (tempoFim - tempoInicio) / 1_000_000.0;
+
+        double totalMaximoInfectados = 0;
+        for (int indiceCenario = 0; indiceCenario < numeroCenarios; indiceCenario++) {
+            totalMaximoInfectados += precisao == Precisao.SIMPLES ? picosSimples[indiceCenario] : picos[indiceCenario];
+        }
+        System.out.printf("Soma dos picos: %.2f\n", totalMaximoInfectados);
+        System.out.printf("Tempo de execução paralelo total: %.4f milissegundos\n", tempoDecorridoMs);
+
+        // Guarda de precisão: float contra a referência double em uma amostra do lote (fora da medição)
+        if (precisao == Precisao.SIMPLES) {
+            ComparacaoPrecisao comparacao = ComparacaoPrecisao.sis(kernel, populacaoBase, taxaRecuperacao,
+                taxasTransmissao, infectadosIniciais, incrementoTempo, numeroPassos, AMOSTRA_COMPARACAO_PRECISAO);
+            System.out.println("Precisão: " + comparacao);
+            if (!comparacao.dentroDe(ComparacaoPrecisao.TOLERANCIA_PADRAO)) {
+                System.err.println("Aviso: erro de precisão simples acima de " + ComparacaoPrecisao.TOLERANCIA_PADRAO
+                    + "; use Precisao.DUPLA para estes parâmetros");
+            }
+        }
+        return tempoDecorridoMs;
+    }
+
+    // --- 3e. Mesma varredura com um modelo definido em texto (ex.: SEIR, SIRV; ver DefinicaoModelo) ---
+    // 'parametroVarrido' percorre [valorMinimo, valorMaximo] como a taxa de transmissão acima. A
+    // definição já foi compilada na carga: cada cenário só troca o parâmetro e roda a classe gerada
+    // com o método da configuração, como os modelos escritos à mão
+    public double executarSimulacaoModelo(DefinicaoModelo definicao, String parametroVarrido,
+                                          double valorMinimo, double valorMaximo, double[] estadoInicial) {
+        ModeloDefinido base = definicao.modelo();
+        ArrayList<ModeloDefinido> modelos = new ArrayList<>();
+        for (int indiceCenario = 0; indiceCenario < numeroCenarios; indiceCenario++) {
+            double valor = valorMinimo + ((valorMaximo - valorMinimo) * indiceCenario) / (numeroCenarios - 1);
+            modelos.add(base.comParametro(parametroVarrido, valor));
+        }
+        double[] inicial = base.estadoInicial(estadoInicial);
+
+        System.out.println("--- SIMULAÇÃO PARALELA DE MÚLTIPLOS CENÁRIOS (" + base + ") ---");
+        System.out.println("Total de simulações: " + numeroCenarios);
+        System.out.println("Threads Utilizadas: " + numeroThreads);
+
+        long tempoInicio = System.nanoTime();
+
+        ExecutorService executor = Executors.newFixedThreadPool(numeroThreads);
+        ArrayList<Future<Double>> futuros = new ArrayList<>();
+
+        for (ModeloDefinido modelo : modelos) {
+            futuros.add(executor.submit(
+                () -> Integrador.picoInfectados(configuracao, modelo, inicial, tempoMaximo, numeroPassos)));
+        }
+
+        double totalMaximoInfectados = 0;
+        try {
+            for (Future<Double> futuro : futuros) {
+                totalMaximoInfectados += futuro.get();
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            System.err.println("Erro na execução paralela: " + e.getMessage());
+        } finally {
+            executor.shutdown();
+        }
+
+        long tempoFim = System.nanoTime();
+        double tempoDecorridoMs = (tempoFim - tempoInicio) / 1_000_000.0;
+        System.out.printf("Soma dos picos: %.2f\n", totalMaximoInfectados);
+        System.out.printf("Tempo de execução paralelo total: %.4f milissegundos\n", tempoDecorridoMs);
+        return tempoDecorridoMs;
+    }
+
+    // --- 3f. Varredura de intervenções em árvore: prefixo comum integrado uma única vez ---
+    // Cenário k: taxa de transmissão reduzida em reducaoMaxima·k/(numeroCenarios - 1) entre
+    // dataIntervencao e dataRelaxamento, voltando depois à taxa original. Até dataIntervencao todos
+    // os cenários são iguais: esse trecho é integrado uma vez e os ramos partem do estado nele, em
+    // paralelo (ArvoreCenarios). Passo fixo da configuração (RK4 ou ABM4), mesma grade dos demais modos
+    public double executarSimulacaoComIntervencao(double taxaTransmissao, double dataIntervencao,
+                                                  double dataRelaxamento, double reducaoMaxima) {
+        ModeloSIS base = new ModeloSIS(populacaoBase, taxaTransmissao, taxaRecuperacao);
+        ArvoreCenarios arvore = new ArvoreCenarios(base.estadoInicial(infectadosIniciais),
+                                                   Integrador.incrementoTempo(tempoMaximo, numeroPassos),
+                                                   tempoMaximo, configuracao.getMetodo());
+        for (int indiceCenario = 0; indiceCenario < numeroCenarios; indiceCenario++) {
+            double reducao = reducaoMaxima * indiceCenario / (numeroCenarios - 1);
+            ModeloSIS intervencao = new ModeloSIS(populacaoBase, taxaTransmissao * (1.0 - reducao), taxaRecuperacao);
+            arvore.adicionarCenario(new double[] {0.0, dataIntervencao, dataRelaxamento},
+                                    new ModeloSIS[] {base, intervencao, base});
+        }
+
+        System.out.println("--- SIMULAÇÃO PARALELA DE CENÁRIOS DE INTERVENÇÃO (ÁRVORE) ---");
+        System.out.println("Total de simulações: " + numeroCenarios);
+        System.out.println("Threads Utilizadas: " + numeroThreads);
+
+        long tempoInicio = System.nanoTime();
+        ResultadoArvore resultado = arvore.executar(numeroThreads);
+        double totalMaximoInfectados = 0;
+        for (int cenario = 0; cenario < resultado.getNumeroCenarios(); cenario++) {
+            totalMaximoInfectados += resultado.getPicoInfectados(cenario);
+        }
+        long tempoFim = System.nanoTime();
+
+        double tempoDecorridoMs = (tempoFim - tempoInicio) / 1_000_000.0;
+        System.out.printf("Soma dos picos: %.2f\n", totalMaximoInfectados);
+        System.out.println(resultado);
+        System.out.printf("Tempo de execução paralelo total: %.4f milissegundos\n", tempoDecorridoMs);
+        return tempoDecorridoMs;
+    }
+
+    // --- 4. Main para Execução ---
     public static void main(String[] args) {
         CenariosParaleloSIS simulacao = new CenariosParaleloSIS(
             1000.0, 1.0, 0.1, 100.0, 50000, 1000,
@@ -183,5 +411,49 @@ public class CenariosParaleloSIS {
         );
         double tempoExecucao = simulacao.executarSimulacao();
         System.out.printf("Tempo de execução: %.4f ms\n", tempoExecucao);
+
+        // Mesmos cenários pela solução logística exata (sem integração numérica)
+        CenariosParaleloSIS simulacaoAnalitica = new CenariosParaleloSIS(
+            1000.0, 1.0, 0.1, 100.0, 50000, 1000,
+            Runtime.getRuntime().availableProcessors(), ConfiguracaoSolver.analitico()
+        );
+        tempoExecucao = simulacaoAnalitica.executarSimulacao();
+        System.out.printf("Tempo de execução (analítico): %.4f ms\n", tempoExecucao);
+
+        // Mesma varredura parando cada cenário no equilíbrio endêmico (cauda logística exata)
+        CenariosParaleloSIS simulacaoComParada = new CenariosParaleloSIS(
+            1000.0, 1.0, 0.1, 100.0, 50000, 1000,
+            Runtime.getRuntime().availableProcessors(), ConfiguracaoSolver.rk4().comParadaAntecipada()
+        );
+        tempoExecucao = simulacaoComParada.executarSimulacao();
+        System.out.printf("Tempo de execução (parada antecipada): %.4f ms\n", tempoExecucao);
+
+        // Mesma varredura RK4 com vários cenários por registrador SIMD
+        tempoExecucao = simulacao.executarSimulacaoEmLote();
+        System.out.printf("Tempo de execução (lote): %.4f ms\n", tempoExecucao);
+
+        // Mesmo lote em precisão simples, com a comparação contra double em uma amostra
+        tempoExecucao = simulacao.executarSimulacaoEmLote(Precisao.SIMPLES);
+        System.out.printf("Tempo de execução (lote, float): %.4f ms\n", tempoExecucao);
+
+        // Mesma varredura detectando pico, capacidade e extinção durante a integração
+        tempoExecucao = simulacao.executarSimulacaoComEventos(300.0);
+        System.out.printf("Tempo de execução (com eventos): %.4f ms\n", tempoExecucao);
+
+        // Mesma varredura com um SIRS (imunidade temporária) definido em texto e compilado na carga
+        DefinicaoModelo sirs = DefinicaoModelo.analisar(
+            "modelo SIRS\n"
+            + "compartimentos S I R\n"
+            + "parametros beta=0.3 gamma=0.1 omega=0.02\n"
+            + "S -> I : beta * S * I / N\n"
+            + "I -> R : gamma * I\n"
+            + "R -> S : omega * R\n");
+        tempoExecucao = simulacao.executarSimulacaoModelo(sirs, "beta", 0.1, 0.5, new double[] {999.0, 1.0, 0.0});
+        System.out.printf("Tempo de execução (modelo definido): %.4f ms\n", tempoExecucao);
+
+        // Intervenção do dia 20 ao 60 com 1000 intensidades (0 a 80% de redução em beta = 0,3):
+        // os 20 primeiros dias são integrados uma vez e compartilhados por todos os cenários
+        tempoExecucao = simulacao.executarSimulacaoComIntervencao(0.3, 20.0, 60.0, 0.8);
+        System.out.printf("Tempo de execução (intervenções em árvore): %.4f ms\n", tempoExecucao);
     }
 }
@@ -0,0 +1,104 @@
+package nucleo;
+
+import java.util.SplittableRandom;
+
+/**
+ * Amostragem exata de Binomial(n, p) só com aritmética de primitivos, sem
+ * alocação: inversão sequencial quando n·p é pequeno (poucas iterações) e,
+ * acima disso, rejeição transformada com compressão (BTRS, Hörmann 1993), com
+ * custo constante em n. Usado pelo {@link SimuladorTauLeaping}, em que cada
+ * passo sorteia quantos de n indivíduos mudam de compartimento.
+ */
+final class AmostradorBinomial {
+
+    // Abaixo disso (média n·min(p, 1-p)) a inversão gasta menos que o preparo do BTRS
+    private static final double LIMIAR_INVERSAO = 10.0;
+    // log(k!) tabelado; acima, série de Stirling (erro < 1e-15 para k >= 256)
+    private static final int TAMANHO_TABELA = 256;
+    private static final double[] LOG_FATORIAL = new double[TAMANHO_TABELA];
+    private static final double LOG_RAIZ_2PI = 0.5 * Math.log(2 * Math.PI);
+
+    static {
+        for (int k = 1; k < TAMANHO_TABELA; k++) {
+            LOG_FATORIAL[k] = LOG_FATORIAL[k - 1] + Math.log(k);
+        }
+    }
+
+    private AmostradorBinomial() {
+    }
+
+    static long binomial(SplittableRandom aleatorio, long n, double p) {
+        if (n <= 0 || p <= 0) {
+            return 0;
+        }
+        if (p >= 1) {
+            return n;
+        }
+        // Simetria: sorteia sempre com p <= 1/2
+        if (p > 0.5) {
+            return n - binomial(aleatorio, n, 1 - p);
+        }
+        if (n * p < LIMIAR_INVERSAO) {
+            return inversao(aleatorio, n, p);
+        }
+        return btrs(aleatorio, n, p);
+    }
+
+    // Percorre a função de distribuição a partir de 0; q^n não sofre underflow porque n·p < 10
+    private static long inversao(SplittableRandom aleatorio, long n, double p) {
+        double q = 1 - p;
+        double razao = p / q;
+        double fator = (n + 1) * razao;
+        double probabilidade = Math.exp(n * Math.log1p(-p));
+        double u = aleatorio.nextDouble();
+        long k = 0;
+        while (u > probabilidade && k < n) {
+            u -= probabilidade;
+            k++;
+            probabilidade *= fator / k - razao;
+        }
+        return k;
+    }
+
+    private static long btrs(SplittableRandom aleatorio, long n, double p) {
+        double q = 1 - p;
+        double desvio = Math.sqrt(n * p * q);
+        double b = 1.15 + 2.53 * desvio;
+        double a = -0.0873 + 0.0248 * b + 0.01 * p;
+        double c = n * p + 0.5;
+        double limiteAceitacao = 0.92 - 4.2 / b;
+        double alfa = (2.83 + 5.1 / b) * desvio;
+        double logRazao = Math.log(p / q);
+        long moda = (long) Math.floor((n + 1) * p);
+        double logNormalizacao = logFatorial(moda) + logFatorial(n - moda);
+
+        while (true) {
+            double u = aleatorio.nextDouble() - 0.5;
+            double v = aleatorio.nextDouble();
+            double us = 0.5 - Math.abs(u);
+            long k = (long) Math.floor((2 * a / us + b) * u + c);
+            if (k < 0 || k > n) {
+                continue;
+            }
+            // Compressão: aceita sem avaliar a densidade na maior parte dos sorteios
+            if (us >= 0.07 && v <= limiteAceitacao) {
+                return k;
+            }
+            v = Math.log(v * alfa / (a / (us * us) + b));
+            if (v <= logNormalizacao - logFatorial(k) - logFatorial(n - k) + (k - moda) * logRazao) {
+                return k;
+            }
+        }
+    }
+
+    static double logFatorial(long k) {
+        if (k < TAMANHO_TABELA) {
+            return LOG_FATORIAL[(int) k];
+        }
+        double x = k;
+        double inverso = 1.0 / x;
+        double inverso2 = inverso * inverso;
+        return (x + 0.5) * Math.log(x) - x + LOG_RAIZ_2PI
+            + inverso * (1.0 / 12 - inverso2 * (1.0 / 360 - inverso2 / 1260));
+    }
+}
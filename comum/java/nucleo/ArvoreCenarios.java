@@ -0,0 +1,212 @@
+package nucleo;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Varredura de cenários de intervenção organizada em árvore. Cada cenário é um
+ * cronograma constante por partes: o modelo {@code modelos[k]} (ex.: um
+ * ModeloSIR com a taxa de transmissão do lockdown) vale a partir de
+ * {@code tempos[k]}. Cenários com o mesmo início de cronograma compartilham
+ * os segmentos iniciais: cada segmento é integrado uma única vez e os ramos
+ * partem do estado no fim dele ({@link EstadoSimulacao}), em paralelo.
+ *
+ * Com 20 intensidades de lockdown no dia 60 de 500, os 60 primeiros dias são
+ * integrados uma vez em vez de 20; o trabalho total cai na proporção do
+ * horizonte compartilhado. Modelos são comparados com {@code equals} (ModeloSIR
+ * e ModeloSIS comparam os parâmetros) e os instantes de mudança são levados ao
+ * ponto mais próximo da grade t = passo·h, de modo que cada cenário dá o mesmo
+ * resultado, bit a bit, que a sua integração isolada na mesma grade.
+ */
+public final class ArvoreCenarios {
+
+    // Segmento: 'modelo' vale a partir de 'passo' até o início dos filhos (ou até tempoMaximo, para
+    // os cenários que terminam nele)
+    private static final class No {
+        final int passo;
+        final ModeloCompartimental modelo;
+        final List<No> filhos = new ArrayList<>();
+        final List<Integer> cenarios = new ArrayList<>();
+
+        No(int passo, ModeloCompartimental modelo) {
+            this.passo = passo;
+            this.modelo = modelo;
+        }
+
+        No filho(int passoFilho, ModeloCompartimental modeloFilho) {
+            for (No filho : filhos) {
+                if (filho.passo == passoFilho && filho.modelo.equals(modeloFilho)) {
+                    return filho;
+                }
+            }
+            No novo = new No(passoFilho, modeloFilho);
+            filhos.add(novo);
+            return novo;
+        }
+    }
+
+    private final double[] estadoInicial;
+    private final double incrementoTempo;
+    private final int passoFinal;
+    private final MetodoIntegracao metodo;
+    // Raiz virtual: seus filhos são os modelos em t = 0
+    private final No raiz = new No(0, null);
+    private int numeroCenarios;
+    private int numeroSegmentos;
+
+    // Construtor (RK4 de passo fixo)
+    public ArvoreCenarios(double[] estadoInicial, double incrementoTempo, double tempoMaximo) {
+        this(estadoInicial, incrementoTempo, tempoMaximo, MetodoIntegracao.RK4);
+    }
+
+    // Construtor com escolha do método (RK4 ou ABM4; ver EstadoSimulacao)
+    public ArvoreCenarios(double[] estadoInicial, double incrementoTempo, double tempoMaximo,
+                          MetodoIntegracao metodo) {
+        if (metodo != MetodoIntegracao.RK4 && metodo != MetodoIntegracao.ABM4) {
+            throw new IllegalArgumentException("Árvore de cenários disponível para RK4 e ABM4 (passo fixo): " + metodo);
+        }
+        if (!(incrementoTempo > 0)) {
+            throw new IllegalArgumentException("Incremento de tempo deve ser > 0: " + incrementoTempo);
+        }
+        this.estadoInicial = estadoInicial.clone();
+        this.incrementoTempo = incrementoTempo;
+        this.passoFinal = (int) Math.round(tempoMaximo / incrementoTempo);
+        this.metodo = metodo;
+    }
+
+    // --- 1. Declaração dos cenários ---
+
+    // Cenário sem intervenção: um único modelo de t = 0 a tempoMaximo
+    public int adicionarCenario(ModeloCompartimental modelo) {
+        return adicionarCenario(new double[] {0.0}, new ModeloCompartimental[] {modelo});
+    }
+
+    // Cronograma constante por partes: modelos[k] vale a partir de tempos[k] (tempos[0] = 0, crescentes).
+    // Retorna o índice do cenário no resultado
+    public int adicionarCenario(double[] tempos, ModeloCompartimental[] modelos) {
+        if (tempos.length == 0 || tempos.length != modelos.length) {
+            throw new IllegalArgumentException("Cronograma com " + tempos.length + " instantes e "
+                + modelos.length + " modelos");
+        }
+        if (tempos[0] != 0.0) {
+            throw new IllegalArgumentException("O cronograma deve começar em t = 0: " + tempos[0]);
+        }
+        int[] passos = new int[tempos.length];
+        for (int k = 0; k < tempos.length; k++) {
+            passos[k] = (int) Math.round(tempos[k] / incrementoTempo);
+            if (k > 0 && passos[k] <= passos[k - 1]) {
+                throw new IllegalArgumentException("Instantes do cronograma devem crescer (na grade de passo "
+                    + incrementoTempo + "): " + tempos[k - 1] + ", " + tempos[k]);
+            }
+            if (passos[k] > passoFinal) {
+                throw new IllegalArgumentException("Mudança em t = " + tempos[k] + " após o tempo máximo");
+            }
+            if (modelos[k].numeroCompartimentos() != estadoInicial.length) {
+                throw new IllegalArgumentException("Modelo com " + modelos[k].numeroCompartimentos()
+                    + " compartimentos para um estado inicial com " + estadoInicial.length);
+            }
+        }
+
+        No no = raiz;
+        for (int k = 0; k < tempos.length; k++) {
+            if (k > 0 && modelos[k].equals(modelos[k - 1])) {
+                // Mudança sem efeito (ex.: redução nula): o segmento anterior continua
+                continue;
+            }
+            int filhosAntes = no.filhos.size();
+            No pai = no;
+            no = pai.filho(passos[k], modelos[k]);
+            if (pai.filhos.size() > filhosAntes) {
+                numeroSegmentos++;
+            }
+        }
+        no.cenarios.add(numeroCenarios);
+        return numeroCenarios++;
+    }
+
+    public int getNumeroCenarios() {
+        return numeroCenarios;
+    }
+
+    // Segmentos distintos da árvore (cada um é integrado uma vez)
+    public int getNumeroSegmentos() {
+        return numeroSegmentos;
+    }
+
+    // --- 2. Execução: um segmento por tarefa, ramos bifurcados em paralelo ---
+    public ResultadoArvore executar(int numeroThreads) {
+        EstadoSimulacao[] estadosFinais = new EstadoSimulacao[numeroCenarios];
+        LongAdder passosIntegrados = new LongAdder();
+        ForkJoinPool pool = new ForkJoinPool(numeroThreads);
+        try {
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    List<TarefaSegmento> raizes = new ArrayList<>();
+                    for (No filho : raiz.filhos) {
+                        raizes.add(new TarefaSegmento(filho, EstadoSimulacao.inicial(filho.modelo, estadoInicial,
+                            incrementoTempo, metodo), estadosFinais, passosIntegrados));
+                    }
+                    invokeAll(raizes);
+                }
+            });
+        } finally {
+            pool.shutdown();
+        }
+        return new ResultadoArvore(estadosFinais, passosIntegrados.sum(), (long) numeroCenarios * passoFinal,
+                                   numeroSegmentos);
+    }
+
+    // Integra o segmento de 'no' em ordem de tempo; em cada bifurcação os filhos seguem em outras
+    // threads a partir do estado capturado, e este segmento continua até o próximo ponto
+    private final class TarefaSegmento extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final No no;
+        private final EstadoSimulacao inicio;
+        private final EstadoSimulacao[] estadosFinais;
+        private final LongAdder passosIntegrados;
+
+        TarefaSegmento(No no, EstadoSimulacao inicio, EstadoSimulacao[] estadosFinais, LongAdder passosIntegrados) {
+            this.no = no;
+            this.inicio = inicio;
+            this.estadosFinais = estadosFinais;
+            this.passosIntegrados = passosIntegrados;
+        }
+
+        @Override
+        protected void compute() {
+            List<No> filhos = new ArrayList<>(no.filhos);
+            filhos.sort(Comparator.comparingInt(filho -> filho.passo));
+
+            EstadoSimulacao atual = inicio;
+            List<TarefaSegmento> ramos = new ArrayList<>();
+            for (No filho : filhos) {
+                atual = avancar(atual, filho.passo);
+                TarefaSegmento ramo = new TarefaSegmento(filho, atual.comModelo(filho.modelo), estadosFinais,
+                                                         passosIntegrados);
+                ramo.fork();
+                ramos.add(ramo);
+            }
+            if (!no.cenarios.isEmpty()) {
+                atual = avancar(atual, passoFinal);
+                for (int cenario : no.cenarios) {
+                    estadosFinais[cenario] = atual;
+                }
+            }
+            for (TarefaSegmento ramo : ramos) {
+                ramo.join();
+            }
+        }
+
+        private EstadoSimulacao avancar(EstadoSimulacao estado, int passoDestino) {
+            int passos = passoDestino - estado.getPasso();
+            passosIntegrados.add(passos);
+            return estado.avancar(passos, null);
+        }
+    }
+}
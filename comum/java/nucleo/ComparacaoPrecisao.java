@@ -0,0 +1,142 @@
+package nucleo;
+
+import java.util.Arrays;
+
+/**
+ * Verificação de precisão do modo {@link Precisao#SIMPLES}: integra uma
+ * amostra de cenários de um lote com o mesmo {@link KernelLote} em double e
+ * em float e mede o maior erro relativo do pico de infectados e do tamanho
+ * final (N - S(tMax) no SIR, I(tMax) no SIS), tomando o double como
+ * referência. O erro relativo é |float - double| / max(|double|, 1), para que
+ * grandezas próximas de zero não inflem a medida.
+ */
+public final class ComparacaoPrecisao {
+
+    // Erro relativo aceitável para usar float nas varreduras (~3 ordens acima do epsilon do float)
+    public static final double TOLERANCIA_PADRAO = 1e-3;
+
+    private final int tamanhoAmostra;
+    private final double erroMaximoPico;
+    private final double erroMaximoTamanhoFinal;
+
+    private ComparacaoPrecisao(int tamanhoAmostra, double erroMaximoPico, double erroMaximoTamanhoFinal) {
+        this.tamanhoAmostra = tamanhoAmostra;
+        this.erroMaximoPico = erroMaximoPico;
+        this.erroMaximoTamanhoFinal = erroMaximoTamanhoFinal;
+    }
+
+    // --- 1. SIR ---
+    public static ComparacaoPrecisao sir(KernelLote kernel, double populacaoTotal, double taxaRecuperacao,
+                                         double[] taxasTransmissao, double infectadosIniciais,
+                                         double recuperadosIniciais, double incrementoTempo, int numeroPassos,
+                                         int tamanhoAmostra) {
+        double[] taxas = amostra(taxasTransmissao, tamanhoAmostra);
+        int n = taxas.length;
+        double suscetiveisIniciais = populacaoTotal - infectadosIniciais - recuperadosIniciais;
+
+        double[] s = preenchido(n, suscetiveisIniciais), i = preenchido(n, infectadosIniciais);
+        double[] r = preenchido(n, recuperadosIniciais), picos = new double[n];
+        kernel.integrarSIR(populacaoTotal, taxaRecuperacao, taxas, s, i, r, incrementoTempo, numeroPassos,
+                           picos, 0, n);
+
+        float[] sF = preenchido(n, (float) suscetiveisIniciais), iF = preenchido(n, (float) infectadosIniciais);
+        float[] rF = preenchido(n, (float) recuperadosIniciais), picosF = new float[n];
+        kernel.integrarSIR((float) populacaoTotal, (float) taxaRecuperacao, paraFloat(taxas), sF, iF, rF,
+                           (float) incrementoTempo, numeroPassos, picosF, 0, n);
+
+        double erroPico = 0, erroTamanhoFinal = 0;
+        for (int c = 0; c < n; c++) {
+            erroPico = Math.max(erroPico, erroRelativo(picosF[c], picos[c]));
+            erroTamanhoFinal = Math.max(erroTamanhoFinal,
+                erroRelativo(populacaoTotal - sF[c], populacaoTotal - s[c]));
+        }
+        return new ComparacaoPrecisao(n, erroPico, erroTamanhoFinal);
+    }
+
+    // --- 2. SIS ---
+    public static ComparacaoPrecisao sis(KernelLote kernel, double populacaoTotal, double taxaRecuperacao,
+                                         double[] taxasTransmissao, double infectadosIniciais,
+                                         double incrementoTempo, int numeroPassos, int tamanhoAmostra) {
+        double[] taxas = amostra(taxasTransmissao, tamanhoAmostra);
+        int n = taxas.length;
+        double suscetiveisIniciais = populacaoTotal - infectadosIniciais;
+
+        double[] s = preenchido(n, suscetiveisIniciais), i = preenchido(n, infectadosIniciais);
+        double[] picos = new double[n];
+        kernel.integrarSIS(populacaoTotal, taxaRecuperacao, taxas, s, i, incrementoTempo, numeroPassos,
+                           picos, 0, n);
+
+        float[] sF = preenchido(n, (float) suscetiveisIniciais), iF = preenchido(n, (float) infectadosIniciais);
+        float[] picosF = new float[n];
+        kernel.integrarSIS((float) populacaoTotal, (float) taxaRecuperacao, paraFloat(taxas), sF, iF,
+                           (float) incrementoTempo, numeroPassos, picosF, 0, n);
+
+        double erroPico = 0, erroTamanhoFinal = 0;
+        for (int c = 0; c < n; c++) {
+            erroPico = Math.max(erroPico, erroRelativo(picosF[c], picos[c]));
+            erroTamanhoFinal = Math.max(erroTamanhoFinal, erroRelativo(iF[c], i[c]));
+        }
+        return new ComparacaoPrecisao(n, erroPico, erroTamanhoFinal);
+    }
+
+    // --- 3. Auxiliares ---
+
+    // Até tamanhoAmostra taxas igualmente espaçadas no lote (primeira e última incluídas)
+    static double[] amostra(double[] taxasTransmissao, int tamanhoAmostra) {
+        int n = Math.min(taxasTransmissao.length, Math.max(1, tamanhoAmostra));
+        double[] taxas = new double[n];
+        for (int k = 0; k < n; k++) {
+            int indice = n == 1 ? 0 : (int) ((long) k * (taxasTransmissao.length - 1) / (n - 1));
+            taxas[k] = taxasTransmissao[indice];
+        }
+        return taxas;
+    }
+
+    static float[] paraFloat(double[] valores) {
+        float[] convertidos = new float[valores.length];
+        for (int k = 0; k < valores.length; k++) {
+            convertidos[k] = (float) valores[k];
+        }
+        return convertidos;
+    }
+
+    private static double[] preenchido(int n, double valor) {
+        double[] vetor = new double[n];
+        Arrays.fill(vetor, valor);
+        return vetor;
+    }
+
+    private static float[] preenchido(int n, float valor) {
+        float[] vetor = new float[n];
+        Arrays.fill(vetor, valor);
+        return vetor;
+    }
+
+    private static double erroRelativo(double aproximado, double referencia) {
+        return Math.abs(aproximado - referencia) / Math.max(Math.abs(referencia), 1.0);
+    }
+
+    // --- 4. Resultado ---
+
+    public int getTamanhoAmostra() {
+        return tamanhoAmostra;
+    }
+
+    public double getErroMaximoPico() {
+        return erroMaximoPico;
+    }
+
+    public double getErroMaximoTamanhoFinal() {
+        return erroMaximoTamanhoFinal;
+    }
+
+    public boolean dentroDe(double tolerancia) {
+        return erroMaximoPico <= tolerancia && erroMaximoTamanhoFinal <= tolerancia;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("float vs double em %d cenários: erro relativo máximo do pico %.3e, do tamanho final %.3e",
+                             tamanhoAmostra, erroMaximoPico, erroMaximoTamanhoFinal);
+    }
+}
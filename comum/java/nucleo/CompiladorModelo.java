@@ -0,0 +1,254 @@
+package nucleo;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+
+/**
+ * Compila um {@link DefinicaoModelo} em uma classe oculta do pacote nucleo,
+ * subclasse de {@link ModeloDefinido}. O código gerado é o que se escreveria à
+ * mão: parâmetros em campos finais, compartimentos em variáveis locais, uma
+ * variável por fluxo e um passo RK4 fundido sem vetores de trabalho (como o
+ * {@link KernelSIR}). O fonte é compilado em memória pelo javac
+ * ({@code javax.tools}) e carregado com
+ * {@link MethodHandles.Lookup#defineHiddenClass}, de modo que cada definição
+ * tem a sua classe, descartada junto com ela.
+ */
+final class CompiladorModelo {
+
+    private CompiladorModelo() {
+    }
+
+    // --- 1. Compilação; null quando não há compilador no ambiente ou a compilação falha ---
+    static Function<double[], ModeloDefinido> compilar(DefinicaoModelo definicao) {
+        JavaCompiler compilador = ToolProvider.getSystemJavaCompiler();
+        if (compilador == null) {
+            System.err.println("Modelo " + definicao.getNome() + ": javac indisponível (JRE sem jdk.compiler), "
+                + "usando o interpretador");
+            return null;
+        }
+        String nomeClasse = "Modelo" + definicao.getNome().replaceAll("[^A-Za-z0-9_]", "_") + "Gerado";
+        try {
+            byte[] bytecode = compilarFonte(compilador, nomeClasse, gerarFonte(definicao, nomeClasse));
+            MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(bytecode, true);
+            MethodHandle construtor = lookup.findConstructor(lookup.lookupClass(),
+                MethodType.methodType(void.class, DefinicaoModelo.class, double[].class));
+            return valores -> {
+                try {
+                    return (ModeloDefinido) construtor.invoke(definicao, valores);
+                } catch (Throwable e) {
+                    throw new IllegalStateException("Erro ao instanciar o modelo " + definicao.getNome(), e);
+                }
+            };
+        } catch (Exception e) {
+            System.err.println("Modelo " + definicao.getNome() + ": compilação falhou (" + e.getMessage()
+                + "), usando o interpretador");
+            return null;
+        }
+    }
+
+    private static byte[] compilarFonte(JavaCompiler compilador, String nomeClasse, String fonte) throws Exception {
+        DiagnosticCollector<JavaFileObject> diagnosticos = new DiagnosticCollector<>();
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        try (StandardJavaFileManager padrao = compilador.getStandardFileManager(diagnosticos, null,
+                                                                                 StandardCharsets.UTF_8)) {
+            // Só o fonte gerado é compilado; nucleo vem do classpath em que esta classe foi carregada
+            padrao.setLocation(StandardLocation.SOURCE_PATH, Collections.emptyList());
+            padrao.setLocation(StandardLocation.CLASS_PATH, classpath());
+            JavaFileManager gerenciador = new ForwardingJavaFileManager<JavaFileManager>(padrao) {
+                @Override
+                public JavaFileObject getJavaFileForOutput(Location local, String classe, JavaFileObject.Kind tipo,
+                                                           FileObject irmao) {
+                    return new SimpleJavaFileObject(URI.create("mem:///" + classe.replace('.', '/') + tipo.extension),
+                                                    tipo) {
+                        @Override
+                        public OutputStream openOutputStream() {
+                            return saida;
+                        }
+                    };
+                }
+            };
+            JavaFileObject arquivoFonte = new SimpleJavaFileObject(
+                    URI.create("string:///nucleo/" + nomeClasse + JavaFileObject.Kind.SOURCE.extension),
+                    JavaFileObject.Kind.SOURCE) {
+                @Override
+                public CharSequence getCharContent(boolean ignorarErros) {
+                    return fonte;
+                }
+            };
+            boolean sucesso = compilador.getTask(null, gerenciador, diagnosticos,
+                Arrays.asList("-proc:none", "-g:none", "-implicit:none"), null,
+                Collections.singletonList(arquivoFonte)).call();
+            if (!sucesso) {
+                throw new IllegalStateException(diagnosticos.getDiagnostics().toString());
+            }
+        }
+        return saida.toByteArray();
+    }
+
+    // Classpath da aplicação mais o diretório/jar de onde o nucleo foi carregado
+    private static List<File> classpath() throws Exception {
+        List<File> entradas = new ArrayList<>();
+        entradas.add(Paths.get(ModeloDefinido.class.getProtectionDomain().getCodeSource().getLocation().toURI())
+                          .toFile());
+        for (String entrada : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            if (!entrada.isEmpty()) {
+                entradas.add(new File(entrada));
+            }
+        }
+        return entradas;
+    }
+
+    // --- 2. Geração do fonte ---
+    static String gerarFonte(DefinicaoModelo definicao, String nomeClasse) {
+        int n = definicao.getCompartimentos().size();
+        int p = definicao.getParametros().size();
+        StringBuilder codigo = new StringBuilder();
+        codigo.append("package nucleo;\n\n");
+        codigo.append("// Gerado a partir da definição '").append(definicao.getNome()).append("' ")
+              .append(definicao.getCompartimentos()).append('\n');
+        codigo.append("final class ").append(nomeClasse).append(" extends ModeloDefinido {\n\n");
+        for (int k = 0; k < p; k++) {
+            codigo.append("    private final double p").append(k).append("; // ")
+                  .append(definicao.getParametros().get(k)).append('\n');
+        }
+        codigo.append("\n    ").append(nomeClasse).append("(DefinicaoModelo definicao, double[] parametros) {\n");
+        codigo.append("        super(definicao, parametros);\n");
+        for (int k = 0; k < p; k++) {
+            codigo.append("        this.p").append(k).append(" = parametros[").append(k).append("];\n");
+        }
+        codigo.append("    }\n\n");
+
+        // derivada: compartimentos em locais, um fluxo por transição
+        codigo.append("    @Override\n");
+        codigo.append("    public void derivada(double tempo, double[] estado, double[] derivada) {\n");
+        String[] locais = nomes("c", "", n);
+        for (int c = 0; c < n; c++) {
+            codigo.append("        final double ").append(locais[c]).append(" = estado[").append(c).append("];\n");
+        }
+        String[] derivadas = nomes("d", "", n);
+        estagio(codigo, definicao, locais, "tempo", "", "total", definicao.usaTotal(), derivadas);
+        for (int c = 0; c < n; c++) {
+            codigo.append("        derivada[").append(c).append("] = ").append(derivadas[c]).append(";\n");
+        }
+        codigo.append("    }\n\n");
+
+        // passoRK4 fundido, na mesma ordem de operações de ModeloCompartimental.passoRK4. Sem
+        // transições com o exterior, N é o mesmo nos 4 estágios e 1/N sai uma vez por passo
+        codigo.append("    @Override\n");
+        codigo.append("    public void passoRK4(double tempo, double[] estado, double h, double[][] trabalho) {\n");
+        String[] y = nomes("y", "", n);
+        for (int c = 0; c < n; c++) {
+            codigo.append("        final double ").append(y[c]).append(" = estado[").append(c).append("];\n");
+        }
+        codigo.append("        final double tempoMeio = tempo + h / 2;\n");
+        codigo.append("        final double tempoFim = tempo + h;\n");
+        String[] k1 = nomes("k", "_1", n), k2 = nomes("k", "_2", n), k3 = nomes("k", "_3", n), k4 = nomes("k", "_4", n);
+        boolean totalPorPasso = definicao.usaTotal() && definicao.isConservativo();
+        boolean totalPorEstagio = definicao.usaTotal() && !totalPorPasso;
+        if (totalPorPasso) {
+            total(codigo, y, "total");
+        }
+        estagio(codigo, definicao, y, "tempo", "_1", totalPorPasso ? "total" : "total_1", totalPorEstagio, k1);
+        String[] a2 = intermediario(codigo, y, k1, "0.5 * h", "_2");
+        estagio(codigo, definicao, a2, "tempoMeio", "_2", totalPorPasso ? "total" : "total_2", totalPorEstagio, k2);
+        String[] a3 = intermediario(codigo, y, k2, "0.5 * h", "_3");
+        estagio(codigo, definicao, a3, "tempoMeio", "_3", totalPorPasso ? "total" : "total_3", totalPorEstagio, k3);
+        String[] a4 = intermediario(codigo, y, k3, "h", "_4");
+        estagio(codigo, definicao, a4, "tempoFim", "_4", totalPorPasso ? "total" : "total_4", totalPorEstagio, k4);
+        for (int c = 0; c < n; c++) {
+            codigo.append("        final double novo").append(c).append(" = ").append(y[c]).append(" + h * (")
+                  .append(k1[c]).append(" + 2.0 * ").append(k2[c]).append(" + 2.0 * ").append(k3[c])
+                  .append(" + ").append(k4[c]).append(") / 6.0;\n");
+            codigo.append("        estado[").append(c).append("] = novo").append(c).append(" < 0 ? 0 : novo")
+                  .append(c).append(";\n");
+        }
+        codigo.append("    }\n}\n");
+        return codigo.toString();
+    }
+
+    // Uma avaliação de f: total e 1/N (se usados e ainda não calculados), fluxos e a derivada de
+    // cada compartimento em 'saidas'
+    private static void estagio(StringBuilder codigo, DefinicaoModelo definicao, String[] estado, String tempo,
+                                String sufixo, String total, boolean calcularTotal, String[] saidas) {
+        int n = estado.length;
+        if (calcularTotal) {
+            total(codigo, estado, total);
+        }
+        List<DefinicaoModelo.Transicao> transicoes = definicao.getTransicoes();
+        StringBuilder[] somas = new StringBuilder[n];
+        for (int t = 0; t < transicoes.size(); t++) {
+            DefinicaoModelo.Transicao transicao = transicoes.get(t);
+            String fluxo = "f" + t + sufixo;
+            codigo.append("        final double ").append(fluxo).append(" = ");
+            transicao.taxa.gerarJava(codigo, estado, tempo, total, total + "Inverso");
+            codigo.append(";\n");
+            acumular(somas, transicao.origem, " - ", "-", fluxo);
+            acumular(somas, transicao.destino, " + ", "", fluxo);
+        }
+        for (int c = 0; c < n; c++) {
+            codigo.append("        final double ").append(saidas[c]).append(" = ")
+                  .append(somas[c] == null ? "0.0" : somas[c]).append(";\n");
+        }
+    }
+
+    // N (na ordem da soma do interpretador) e 1/N
+    private static void total(StringBuilder codigo, String[] estado, String total) {
+        codigo.append("        final double ").append(total).append(" = ").append(String.join(" + ", estado))
+              .append(";\n");
+        codigo.append("        final double ").append(total).append("Inverso = 1.0 / ").append(total).append(";\n");
+    }
+
+    // Fluxo entrando (+) ou saindo (-) de um compartimento; -1 é o exterior
+    private static void acumular(StringBuilder[] somas, int compartimento, String operador, String sinalInicial,
+                                 String fluxo) {
+        if (compartimento < 0) {
+            return;
+        }
+        if (somas[compartimento] == null) {
+            somas[compartimento] = new StringBuilder(sinalInicial).append(fluxo);
+        } else {
+            somas[compartimento].append(operador).append(fluxo);
+        }
+    }
+
+    // Estado intermediário y + fator * k em novas variáveis locais
+    private static String[] intermediario(StringBuilder codigo, String[] y, String[] k, String fator, String sufixo) {
+        String[] nomes = nomes("a", sufixo, y.length);
+        for (int c = 0; c < y.length; c++) {
+            codigo.append("        final double ").append(nomes[c]).append(" = ").append(y[c]).append(" + ")
+                  .append(fator).append(" * ").append(k[c]).append(";\n");
+        }
+        return nomes;
+    }
+
+    private static String[] nomes(String prefixo, String sufixo, int n) {
+        String[] nomes = new String[n];
+        for (int c = 0; c < n; c++) {
+            nomes[c] = prefixo + c + sufixo;
+        }
+        return nomes;
+    }
+}
@@ -0,0 +1,117 @@
+package nucleo;
+
+/**
+ * Escolha do método de integração e de seus parâmetros de controle. Os métodos
+ * de passo fixo usam o {@code numeroPassos} da simulação; os adaptativos usam
+ * as tolerâncias relativa e absoluta.
+ */
+public final class ConfiguracaoSolver {
+
+    public static final double TOLERANCIA_RELATIVA_PADRAO = 1e-6;
+    public static final double TOLERANCIA_ABSOLUTA_PADRAO = 1e-6;
+
+    private static final ConfiguracaoSolver RK4 =
+        new ConfiguracaoSolver(MetodoIntegracao.RK4, TOLERANCIA_RELATIVA_PADRAO, TOLERANCIA_ABSOLUTA_PADRAO);
+
+    private static final ConfiguracaoSolver ABM4 =
+        new ConfiguracaoSolver(MetodoIntegracao.ABM4, TOLERANCIA_RELATIVA_PADRAO, TOLERANCIA_ABSOLUTA_PADRAO);
+
+    private static final ConfiguracaoSolver ANALITICO =
+        new ConfiguracaoSolver(MetodoIntegracao.ANALITICO, TOLERANCIA_RELATIVA_PADRAO, TOLERANCIA_ABSOLUTA_PADRAO);
+
+    private final MetodoIntegracao metodo;
+    private final double toleranciaRelativa;
+    private final double toleranciaAbsoluta;
+    // null: integra sempre até tempoMaximo
+    private final CriterioParada criterioParada;
+
+    private ConfiguracaoSolver(MetodoIntegracao metodo, double toleranciaRelativa, double toleranciaAbsoluta) {
+        this(metodo, toleranciaRelativa, toleranciaAbsoluta, null);
+    }
+
+    private ConfiguracaoSolver(MetodoIntegracao metodo, double toleranciaRelativa, double toleranciaAbsoluta,
+                               CriterioParada criterioParada) {
+        if (toleranciaRelativa <= 0 || toleranciaAbsoluta <= 0) {
+            throw new IllegalArgumentException("As tolerâncias devem ser positivas");
+        }
+        this.metodo = metodo;
+        this.toleranciaRelativa = toleranciaRelativa;
+        this.toleranciaAbsoluta = toleranciaAbsoluta;
+        this.criterioParada = criterioParada;
+    }
+
+    // RK4 de passo fixo (comportamento original do projeto)
+    public static ConfiguracaoSolver rk4() {
+        return RK4;
+    }
+
+    // Adams-Bashforth-Moulton de 4ª ordem com passo fixo (2 avaliações de derivada por passo)
+    public static ConfiguracaoSolver abm4() {
+        return ABM4;
+    }
+
+    // Dormand-Prince 5(4) com as tolerâncias padrão
+    public static ConfiguracaoSolver dormandPrince() {
+        return dormandPrince(TOLERANCIA_RELATIVA_PADRAO, TOLERANCIA_ABSOLUTA_PADRAO);
+    }
+
+    // Dormand-Prince 5(4) com tolerâncias relativa e absoluta (em indivíduos)
+    public static ConfiguracaoSolver dormandPrince(double toleranciaRelativa, double toleranciaAbsoluta) {
+        return new ConfiguracaoSolver(MetodoIntegracao.DORMAND_PRINCE, toleranciaRelativa, toleranciaAbsoluta);
+    }
+
+    // Rosenbrock de 4ª ordem de Shampine (implícito, A-estável) com as tolerâncias padrão
+    public static ConfiguracaoSolver rosenbrock() {
+        return rosenbrock(TOLERANCIA_RELATIVA_PADRAO, TOLERANCIA_ABSOLUTA_PADRAO);
+    }
+
+    // Rosenbrock de 4ª ordem com tolerâncias relativa e absoluta (em indivíduos)
+    public static ConfiguracaoSolver rosenbrock(double toleranciaRelativa, double toleranciaAbsoluta) {
+        return new ConfiguracaoSolver(MetodoIntegracao.ROSENBROCK, toleranciaRelativa, toleranciaAbsoluta);
+    }
+
+    // Escolha por cenário: RK4 de passo fixo, ou Rosenbrock se o cenário for rígido para o passo
+    public static ConfiguracaoSolver automatico() {
+        return new ConfiguracaoSolver(MetodoIntegracao.AUTOMATICO, TOLERANCIA_RELATIVA_PADRAO, TOLERANCIA_ABSOLUTA_PADRAO);
+    }
+
+    // Forma fechada (O(1) por ponto) quando o modelo a possui, com recurso ao RK4 caso contrário
+    public static ConfiguracaoSolver analitico() {
+        return ANALITICO;
+    }
+
+    // Mesma configuração, parando no estado estacionário ou na extinção (cauda analítica até tempoMaximo)
+    public ConfiguracaoSolver comParadaAntecipada() {
+        return comParadaAntecipada(CriterioParada.padrao());
+    }
+
+    public ConfiguracaoSolver comParadaAntecipada(CriterioParada criterio) {
+        return new ConfiguracaoSolver(metodo, toleranciaRelativa, toleranciaAbsoluta, criterio);
+    }
+
+    public MetodoIntegracao getMetodo() {
+        return metodo;
+    }
+
+    public double getToleranciaRelativa() {
+        return toleranciaRelativa;
+    }
+
+    public double getToleranciaAbsoluta() {
+        return toleranciaAbsoluta;
+    }
+
+    // Critério de parada antecipada, ou null se a integração vai sempre até tempoMaximo
+    public CriterioParada getCriterioParada() {
+        return criterioParada;
+    }
+
+    @Override
+    public String toString() {
+        String parada = criterioParada == null ? "" : " + " + criterioParada;
+        if (metodo == MetodoIntegracao.RK4 || metodo == MetodoIntegracao.ABM4 || metodo == MetodoIntegracao.ANALITICO) {
+            return metodo + parada;
+        }
+        return metodo + " (rtol=" + toleranciaRelativa + ", atol=" + toleranciaAbsoluta + ")" + parada;
+    }
+}
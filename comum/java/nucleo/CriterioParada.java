@@ -0,0 +1,56 @@
+package nucleo;
+
+/**
+ * Quando uma integração pode parar antes de {@code tempoMaximo}: no estado
+ * estacionário (|dy_c/dt| <= tolerancia·(|y_c| + 1) em todos os compartimentos
+ * durante {@code janela} pontos seguidos) ou na extinção (infectados abaixo de
+ * {@code limiarExtincao} e em queda). O restante da trajetória vem da cauda
+ * analítica do modelo ({@link ModeloCompartimental#caudaAnalitica}).
+ */
+public final class CriterioParada {
+
+    // Taxa relativa de variação (por unidade de tempo) abaixo da qual o estado é estacionário
+    public static final double TOLERANCIA_DERIVADA_PADRAO = 1e-6;
+    public static final int JANELA_PADRAO = 20;
+    // Menos de meio indivíduo infectado, em queda: a epidemia acabou
+    public static final double LIMIAR_EXTINCAO_PADRAO = 0.5;
+
+    private static final CriterioParada PADRAO =
+        new CriterioParada(TOLERANCIA_DERIVADA_PADRAO, JANELA_PADRAO, LIMIAR_EXTINCAO_PADRAO);
+
+    private final double toleranciaDerivada;
+    private final int janela;
+    private final double limiarExtincao;
+
+    public CriterioParada(double toleranciaDerivada, int janela, double limiarExtincao) {
+        if (toleranciaDerivada < 0 || janela < 1 || limiarExtincao < 0) {
+            throw new IllegalArgumentException("Critério de parada inválido: tolerância " + toleranciaDerivada
+                + ", janela " + janela + ", limiar " + limiarExtincao);
+        }
+        this.toleranciaDerivada = toleranciaDerivada;
+        this.janela = janela;
+        this.limiarExtincao = limiarExtincao;
+    }
+
+    public static CriterioParada padrao() {
+        return PADRAO;
+    }
+
+    public double getToleranciaDerivada() {
+        return toleranciaDerivada;
+    }
+
+    public int getJanela() {
+        return janela;
+    }
+
+    public double getLimiarExtincao() {
+        return limiarExtincao;
+    }
+
+    @Override
+    public String toString() {
+        return "parada antecipada (tol=" + toleranciaDerivada + ", janela=" + janela
+            + ", extinção < " + limiarExtincao + ")";
+    }
+}
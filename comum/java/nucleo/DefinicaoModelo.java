@@ -0,0 +1,318 @@
+package nucleo;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Modelo compartimental definido em texto e compilado em tempo de carga.
+ * Formato (uma declaração por linha, '#' inicia comentário):
+ *
+ * <pre>
+ * modelo SEIR
+ * compartimentos S E I R
+ * infectados I
+ * parametros beta=0.3 sigma=0.2 gamma=0.1
+ * S -&gt; E : beta * S * I / N
+ * E -&gt; I : sigma * E
+ * I -&gt; R : gamma * I
+ * </pre>
+ *
+ * Cada transição {@code origem -> destino : taxa} é um fluxo que sai de um
+ * compartimento e entra em outro; {@code *} no lugar de um deles representa o
+ * exterior (nascimentos, mortes). Nas taxas, {@code N} é a soma dos
+ * compartimentos e {@code t} o tempo (ver {@link Expressao}). Na carga a
+ * definição vira uma classe oculta com a derivada fundida
+ * ({@link CompiladorModelo}); os modelos criados por {@link #modelo} rodam em
+ * todos os solvers e motores de cenários com a velocidade de um modelo escrito
+ * à mão.
+ */
+public final class DefinicaoModelo {
+
+    // Uma transição: índices de origem e destino (-1 = exterior) e a taxa do fluxo
+    static final class Transicao {
+        final int origem;
+        final int destino;
+        final Expressao taxa;
+
+        Transicao(int origem, int destino, Expressao taxa) {
+            this.origem = origem;
+            this.destino = destino;
+            this.taxa = taxa;
+        }
+    }
+
+    private static final String EXTERIOR = "*";
+
+    private final String nome;
+    private final List<String> compartimentos;
+    private final List<String> parametros;
+    private final double[] valoresPadrao;
+    private final int indiceInfectados;
+    private final List<Transicao> transicoes;
+    private final boolean usaTotal;
+    private final Function<double[], ModeloDefinido> fabrica;
+
+    private DefinicaoModelo(String nome, List<String> compartimentos, List<String> parametros, double[] valoresPadrao,
+                            int indiceInfectados, List<Transicao> transicoes) {
+        this.nome = nome;
+        this.compartimentos = Collections.unmodifiableList(compartimentos);
+        this.parametros = Collections.unmodifiableList(parametros);
+        this.valoresPadrao = valoresPadrao;
+        this.indiceInfectados = indiceInfectados;
+        this.transicoes = Collections.unmodifiableList(transicoes);
+        boolean total = false;
+        for (Transicao transicao : transicoes) {
+            total |= transicao.taxa.usaTotal();
+        }
+        this.usaTotal = total;
+
+        // Compilação única por definição; sem javac no ambiente, cai no interpretador
+        Function<double[], ModeloDefinido> compilada = CompiladorModelo.compilar(this);
+        this.fabrica = compilada != null ? compilada : valores -> new ModeloInterpretado(this, valores);
+    }
+
+    // --- 1. Carga ---
+
+    public static DefinicaoModelo carregar(Path arquivo) throws IOException {
+        return analisar(new String(Files.readAllBytes(arquivo), StandardCharsets.UTF_8));
+    }
+
+    public static DefinicaoModelo analisar(String texto) {
+        String nome = "Modelo";
+        List<String> compartimentos = new ArrayList<>();
+        List<String> parametros = new ArrayList<>();
+        List<Double> valores = new ArrayList<>();
+        String infectados = null;
+        List<String> linhasTransicao = new ArrayList<>();
+        List<Integer> numerosTransicao = new ArrayList<>();
+
+        // Primeira passada: declarações; as transições são analisadas depois, com todos os nomes conhecidos
+        String[] linhas = texto.split("\r?\n");
+        for (int numero = 1; numero <= linhas.length; numero++) {
+            String linha = linhas[numero - 1];
+            int comentario = linha.indexOf('#');
+            if (comentario >= 0) {
+                linha = linha.substring(0, comentario);
+            }
+            linha = linha.trim();
+            if (linha.isEmpty()) {
+                continue;
+            }
+            if (linha.contains("->")) {
+                linhasTransicao.add(linha);
+                numerosTransicao.add(numero);
+                continue;
+            }
+            String[] partes = linha.split("[\\s,]+");
+            switch (partes[0]) {
+                case "modelo":
+                    exigirArgumentos(partes, 1, numero);
+                    nome = partes[1];
+                    break;
+                case "compartimentos":
+                    for (int k = 1; k < partes.length; k++) {
+                        declarar(partes[k], compartimentos, parametros, numero);
+                        compartimentos.add(partes[k]);
+                    }
+                    break;
+                case "infectados":
+                    exigirArgumentos(partes, 1, numero);
+                    infectados = partes[1];
+                    break;
+                case "parametros":
+                    for (int k = 1; k < partes.length; k++) {
+                        int igual = partes[k].indexOf('=');
+                        if (igual <= 0) {
+                            throw erro(numero, "parâmetro sem valor padrão '" + partes[k] + "' (use nome=valor)");
+                        }
+                        String parametro = partes[k].substring(0, igual);
+                        declarar(parametro, compartimentos, parametros, numero);
+                        parametros.add(parametro);
+                        try {
+                            valores.add(Double.parseDouble(partes[k].substring(igual + 1)));
+                        } catch (NumberFormatException e) {
+                            throw erro(numero, "valor inválido para '" + parametro + "'");
+                        }
+                    }
+                    break;
+                default:
+                    throw erro(numero, "declaração desconhecida '" + partes[0] + "'");
+            }
+        }
+        if (compartimentos.isEmpty()) {
+            throw new IllegalArgumentException("Definição sem compartimentos");
+        }
+        if (linhasTransicao.isEmpty()) {
+            throw new IllegalArgumentException("Definição sem transições");
+        }
+
+        // Sem 'infectados', vale o compartimento chamado I
+        if (infectados == null) {
+            infectados = "I";
+        }
+        int indiceInfectados = compartimentos.indexOf(infectados);
+        if (indiceInfectados < 0) {
+            throw new IllegalArgumentException("Compartimento de infectados '" + infectados
+                + "' não declarado em " + compartimentos);
+        }
+
+        // Segunda passada: transições 'origem -> destino : taxa'
+        List<Transicao> transicoes = new ArrayList<>();
+        for (int k = 0; k < linhasTransicao.size(); k++) {
+            String linha = linhasTransicao.get(k);
+            int numero = numerosTransicao.get(k);
+            int seta = linha.indexOf("->");
+            int doisPontos = linha.indexOf(':', seta);
+            if (doisPontos < 0) {
+                throw erro(numero, "transição sem taxa (use origem -> destino : taxa)");
+            }
+            int origem = extremo(linha.substring(0, seta).trim(), compartimentos, numero);
+            int destino = extremo(linha.substring(seta + 2, doisPontos).trim(), compartimentos, numero);
+            if (origem == destino) {
+                throw erro(numero, "transição sem efeito: origem e destino iguais");
+            }
+            try {
+                transicoes.add(new Transicao(origem, destino,
+                    Expressao.analisar(linha.substring(doisPontos + 1).trim(), compartimentos, parametros)));
+            } catch (IllegalArgumentException e) {
+                throw erro(numero, e.getMessage());
+            }
+        }
+
+        double[] valoresPadrao = new double[valores.size()];
+        for (int k = 0; k < valoresPadrao.length; k++) {
+            valoresPadrao[k] = valores.get(k);
+        }
+        return new DefinicaoModelo(nome, compartimentos, parametros, valoresPadrao, indiceInfectados, transicoes);
+    }
+
+    private static void declarar(String nome, List<String> compartimentos, List<String> parametros, int numero) {
+        if (!nome.matches("[A-Za-z_][A-Za-z0-9_]*")) {
+            throw erro(numero, "nome inválido '" + nome + "'");
+        }
+        if (nome.equals(Expressao.TEMPO) || nome.equals(Expressao.TOTAL)) {
+            throw erro(numero, "'" + nome + "' é reservado (t = tempo, N = soma dos compartimentos)");
+        }
+        if (compartimentos.contains(nome) || parametros.contains(nome)) {
+            throw erro(numero, "nome repetido '" + nome + "'");
+        }
+    }
+
+    private static int extremo(String nome, List<String> compartimentos, int numero) {
+        if (nome.equals(EXTERIOR)) {
+            return -1;
+        }
+        int indice = compartimentos.indexOf(nome);
+        if (indice < 0) {
+            throw erro(numero, "compartimento desconhecido '" + nome + "'");
+        }
+        return indice;
+    }
+
+    private static void exigirArgumentos(String[] partes, int quantidade, int numero) {
+        if (partes.length != quantidade + 1) {
+            throw erro(numero, "'" + partes[0] + "' espera " + quantidade + " argumento(s)");
+        }
+    }
+
+    private static IllegalArgumentException erro(int numero, String mensagem) {
+        return new IllegalArgumentException("Linha " + numero + ": " + mensagem);
+    }
+
+    // --- 2. Instâncias ---
+
+    // Modelo com os valores padrão dos parâmetros
+    public ModeloDefinido modelo() {
+        return instanciar(valoresPadrao.clone());
+    }
+
+    // Modelo com os parâmetros na ordem da declaração
+    public ModeloDefinido modelo(double... valores) {
+        return instanciar(validar(valores));
+    }
+
+    // O mesmo modelo avaliado pelo interpretador, para conferir o código gerado e medir o ganho
+    public ModeloDefinido modeloInterpretado(double... valores) {
+        return new ModeloInterpretado(this, valores.length == 0 ? valoresPadrao.clone() : validar(valores));
+    }
+
+    ModeloDefinido instanciar(double[] valores) {
+        return fabrica.apply(valores);
+    }
+
+    private double[] validar(double[] valores) {
+        if (valores.length != parametros.size()) {
+            throw new IllegalArgumentException("Modelo " + nome + " tem " + parametros.size() + " parâmetros "
+                + parametros + ", recebeu " + valores.length);
+        }
+        return valores.clone();
+    }
+
+    // --- 3. Consulta ---
+
+    public String getNome() {
+        return nome;
+    }
+
+    public List<String> getCompartimentos() {
+        return compartimentos;
+    }
+
+    public List<String> getParametros() {
+        return parametros;
+    }
+
+    public int getIndiceInfectados() {
+        return indiceInfectados;
+    }
+
+    public double valorPadrao(String parametro) {
+        return valoresPadrao[indiceParametro(parametro)];
+    }
+
+    public int indiceCompartimento(String compartimento) {
+        int indice = compartimentos.indexOf(compartimento);
+        if (indice < 0) {
+            throw new IllegalArgumentException("Compartimento desconhecido em " + nome + ": " + compartimento);
+        }
+        return indice;
+    }
+
+    public int indiceParametro(String parametro) {
+        int indice = parametros.indexOf(parametro);
+        if (indice < 0) {
+            throw new IllegalArgumentException("Parâmetro desconhecido em " + nome + ": " + parametro);
+        }
+        return indice;
+    }
+
+    // Sem nascimentos nem mortes ('*'), a soma dos compartimentos é conservada
+    public boolean isConservativo() {
+        for (Transicao transicao : transicoes) {
+            if (transicao.origem < 0 || transicao.destino < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // true quando a carga gerou uma classe; false se o ambiente não tem compilador
+    public boolean isCompilado() {
+        return instanciar(valoresPadrao.clone()).isCompilado();
+    }
+
+    List<Transicao> getTransicoes() {
+        return transicoes;
+    }
+
+    boolean usaTotal() {
+        return usaTotal;
+    }
+
+}
@@ -0,0 +1,221 @@
+package nucleo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Observador que detecta {@link Evento}s durante a integração, sem guardar
+ * histórico. A cada ponto recebido avalia g de cada evento; quando há troca de
+ * sinal entre dois pontos consecutivos, localiza o instante pelo método de
+ * Brent sobre o interpolante de Hermite cúbico do passo (estados e derivadas
+ * nas duas pontas, como no refinamento de pico do Dormand-Prince). Custa uma
+ * avaliação de derivada por ponto, mais algumas por evento encontrado.
+ *
+ * Funciona com qualquer laço que aceite {@link ObservadorTrajetoria} (RK4,
+ * ABM4, Dormand-Prince, Rosenbrock). Ao ocorrer um evento terminal, o laço
+ * para no fim do passo corrente ({@link #interromper()}); o estado exato do
+ * evento fica na {@link OcorrenciaEvento}.
+ */
+public final class DetectorEventos implements ObservadorTrajetoria {
+
+    // Tolerância na fração do passo e limite de iterações do método de Brent
+    private static final double TOLERANCIA_FRACAO = 1e-12;
+    private static final int MAXIMO_ITERACOES_BRENT = 100;
+
+    private final ModeloCompartimental modelo;
+    private final Evento[] eventos;
+    private final List<OcorrenciaEvento> ocorrencias = new ArrayList<>();
+
+    // Ponto anterior (estado, derivada e g de cada evento) e ponto atual
+    private final double[] estadoAnterior, derivadaAnterior, valoresAnteriores;
+    private final double[] estadoAtual, derivadaAtual, valoresAtuais;
+    private final double[] interpolado, derivadaInterpolada;
+    private double tempoAnterior, tempoAtual;
+    private boolean possuiAnterior;
+    private boolean interrompido;
+
+    public DetectorEventos(ModeloCompartimental modelo, Evento... eventos) {
+        this.modelo = modelo;
+        this.eventos = eventos.clone();
+        int n = modelo.numeroCompartimentos();
+        this.estadoAnterior = new double[n];
+        this.derivadaAnterior = new double[n];
+        this.estadoAtual = new double[n];
+        this.derivadaAtual = new double[n];
+        this.interpolado = new double[n];
+        this.derivadaInterpolada = new double[n];
+        this.valoresAnteriores = new double[eventos.length];
+        this.valoresAtuais = new double[eventos.length];
+    }
+
+    // --- 1. Recebe um ponto da integração ---
+    @Override
+    public void observar(int passo, double tempo, double[] estado) {
+        if (interrompido) {
+            return;
+        }
+        int n = estadoAtual.length;
+        System.arraycopy(estado, 0, estadoAtual, 0, n);
+        tempoAtual = tempo;
+        modelo.derivada(tempo, estadoAtual, derivadaAtual);
+        for (int k = 0; k < eventos.length; k++) {
+            valoresAtuais[k] = eventos[k].valor(tempo, estadoAtual, derivadaAtual);
+        }
+
+        if (possuiAnterior) {
+            localizarEventosNoPasso();
+        }
+
+        System.arraycopy(estadoAtual, 0, estadoAnterior, 0, n);
+        System.arraycopy(derivadaAtual, 0, derivadaAnterior, 0, n);
+        System.arraycopy(valoresAtuais, 0, valoresAnteriores, 0, eventos.length);
+        tempoAnterior = tempoAtual;
+        possuiAnterior = true;
+    }
+
+    @Override
+    public boolean interromper() {
+        return interrompido;
+    }
+
+    // --- 2. Eventos do passo [tempoAnterior, tempoAtual], em ordem de tempo ---
+    // Se houver um evento terminal, os posteriores a ele no mesmo passo são descartados
+    private void localizarEventosNoPasso() {
+        List<OcorrenciaEvento> doPasso = null;
+        List<Boolean> terminais = null;
+        for (int k = 0; k < eventos.length; k++) {
+            if (!eventos[k].disparou(valoresAnteriores[k], valoresAtuais[k])) {
+                continue;
+            }
+            double fracao = raizBrent(k, valoresAnteriores[k], valoresAtuais[k]);
+            interpolar(fracao);
+            OcorrenciaEvento ocorrencia = new OcorrenciaEvento(eventos[k].getNome(),
+                tempoAnterior + fracao * (tempoAtual - tempoAnterior), interpolado);
+            if (doPasso == null) {
+                doPasso = new ArrayList<>();
+                terminais = new ArrayList<>();
+            }
+            // Inserção ordenada (poucos eventos por passo)
+            int posicao = 0;
+            while (posicao < doPasso.size() && doPasso.get(posicao).getTempo() <= ocorrencia.getTempo()) {
+                posicao++;
+            }
+            doPasso.add(posicao, ocorrencia);
+            terminais.add(posicao, eventos[k].isTerminal());
+        }
+        if (doPasso == null) {
+            return;
+        }
+        for (int i = 0; i < doPasso.size(); i++) {
+            ocorrencias.add(doPasso.get(i));
+            if (terminais.get(i)) {
+                interrompido = true;
+                return;
+            }
+        }
+    }
+
+    // Interpolante de Hermite cúbico do passo na fração θ ∈ [0, 1] (estado em 'interpolado')
+    private void interpolar(double fracao) {
+        double h = tempoAtual - tempoAnterior;
+        for (int c = 0; c < interpolado.length; c++) {
+            interpolado[c] = SaidaDensa.hermite(fracao, h, estadoAnterior[c], derivadaAnterior[c],
+                                                estadoAtual[c], derivadaAtual[c]);
+        }
+    }
+
+    // g do evento k no ponto interpolado da fração θ
+    private double avaliar(int k, double fracao) {
+        interpolar(fracao);
+        double tempo = tempoAnterior + fracao * (tempoAtual - tempoAnterior);
+        modelo.derivada(tempo, interpolado, derivadaInterpolada);
+        return eventos[k].valor(tempo, interpolado, derivadaInterpolada);
+    }
+
+    // Método de Brent em θ ∈ [0, 1]: interpolação inversa quadrática com salvaguarda de bisseção
+    private double raizBrent(int k, double valorInicio, double valorFim) {
+        double a = 0.0, b = 1.0, fa = valorInicio, fb = valorFim;
+        double c = b, fc = fb, d = b - a, e = d;
+        for (int iteracao = 0; iteracao < MAXIMO_ITERACOES_BRENT; iteracao++) {
+            if ((fb > 0 && fc > 0) || (fb < 0 && fc < 0)) {
+                c = a;
+                fc = fa;
+                d = b - a;
+                e = d;
+            }
+            if (Math.abs(fc) < Math.abs(fb)) {
+                a = b;
+                b = c;
+                c = a;
+                fa = fb;
+                fb = fc;
+                fc = fa;
+            }
+            double tolerancia = 2.0 * Math.ulp(1.0) * Math.abs(b) + 0.5 * TOLERANCIA_FRACAO;
+            double meio = 0.5 * (c - b);
+            if (Math.abs(meio) <= tolerancia || fb == 0.0) {
+                return b;
+            }
+            if (Math.abs(e) >= tolerancia && Math.abs(fa) > Math.abs(fb)) {
+                double s = fb / fa, p, q;
+                if (a == c) {
+                    // Secante
+                    p = 2.0 * meio * s;
+                    q = 1.0 - s;
+                } else {
+                    // Interpolação inversa quadrática
+                    double r = fb / fc;
+                    q = fa / fc;
+                    p = s * (2.0 * meio * q * (q - r) - (b - a) * (r - 1.0));
+                    q = (q - 1.0) * (r - 1.0) * (s - 1.0);
+                }
+                if (p > 0) {
+                    q = -q;
+                }
+                p = Math.abs(p);
+                if (2.0 * p < Math.min(3.0 * meio * q - Math.abs(tolerancia * q), Math.abs(e * q))) {
+                    e = d;
+                    d = p / q;
+                } else {
+                    d = meio;
+                    e = d;
+                }
+            } else {
+                d = meio;
+                e = d;
+            }
+            a = b;
+            fa = fb;
+            b += Math.abs(d) > tolerancia ? d : Math.copySign(tolerancia, meio);
+            fb = avaliar(k, b);
+        }
+        return b;
+    }
+
+    // --- 3. Resultados ---
+
+    public List<OcorrenciaEvento> getOcorrencias() {
+        return Collections.unmodifiableList(ocorrencias);
+    }
+
+    // Primeira ocorrência do evento com o nome dado, ou null
+    public OcorrenciaEvento primeira(String nomeEvento) {
+        for (OcorrenciaEvento ocorrencia : ocorrencias) {
+            if (ocorrencia.getNomeEvento().equals(nomeEvento)) {
+                return ocorrencia;
+            }
+        }
+        return null;
+    }
+
+    // Último instante integrado (o do passo em que a integração foi interrompida, se for o caso)
+    public double getTempoFinal() {
+        return tempoAtual;
+    }
+
+    // Estado no último instante integrado
+    public double[] getEstadoFinal() {
+        return estadoAtual.clone();
+    }
+}
@@ -0,0 +1,82 @@
+package nucleo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Execução paralela de um ensemble de realizações estocásticas, comum a
+ * {@link SimuladorGillespie} e {@link SimuladorTauLeaping}. A realização k usa
+ * o k-ésimo fluxo obtido de {@code new SplittableRandom(semente)} por split()
+ * em ordem de índice, feito antes de distribuir o trabalho; as threads apenas
+ * pegam o próximo índice livre (realizações extintas cedo custam quase nada,
+ * então a divisão é dinâmica). Assim o resultado depende só da semente, não do
+ * número de threads nem da ordem de execução.
+ */
+final class EnsembleParalelo {
+
+    // Uma realização: grava suas grandezas em destino[indice] e soma I(t) em somaInfectados
+    @FunctionalInterface
+    interface Realizacao {
+        void executar(SplittableRandom aleatorio, int indice, long[] somaInfectados, ResultadoEnsemble destino);
+    }
+
+    private EnsembleParalelo() {
+    }
+
+    static ResultadoEnsemble executar(int realizacoes, int pontosGrade, double tempoMaximo, long semente,
+                                      int numeroThreads, Realizacao realizacao) {
+        if (realizacoes < 1) {
+            throw new IllegalArgumentException("Número de realizações deve ser positivo: " + realizacoes);
+        }
+        // Um fluxo por realização, derivados em ordem de índice na thread chamadora
+        SplittableRandom mestre = new SplittableRandom(semente);
+        SplittableRandom[] fluxos = new SplittableRandom[realizacoes];
+        for (int k = 0; k < realizacoes; k++) {
+            fluxos[k] = mestre.split();
+        }
+
+        ResultadoEnsemble resultado = new ResultadoEnsemble(realizacoes, pontosGrade, tempoMaximo);
+        AtomicInteger proxima = new AtomicInteger();
+        int trabalhadores = Math.max(1, Math.min(numeroThreads, realizacoes));
+        if (trabalhadores == 1) {
+            executarRealizacoes(fluxos, proxima, pontosGrade, realizacao, resultado);
+            return resultado;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(trabalhadores);
+        try {
+            List<Future<?>> futuros = new ArrayList<>();
+            for (int t = 0; t < trabalhadores; t++) {
+                futuros.add(executor.submit(() -> executarRealizacoes(fluxos, proxima, pontosGrade, realizacao, resultado)));
+            }
+            for (Future<?> futuro : futuros) {
+                futuro.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ensemble interrompido", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Erro em uma realização do ensemble", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+        return resultado;
+    }
+
+    // Laço de um trabalhador: pega índices até acabarem; I(t) somado localmente e entregue no fim
+    private static void executarRealizacoes(SplittableRandom[] fluxos, AtomicInteger proxima, int pontosGrade,
+                                            Realizacao realizacao, ResultadoEnsemble resultado) {
+        long[] somaInfectados = new long[pontosGrade];
+        int k;
+        while ((k = proxima.getAndIncrement()) < fluxos.length) {
+            realizacao.executar(fluxos[k], k, somaInfectados, resultado);
+        }
+        resultado.somarInfectados(somaInfectados);
+    }
+}
@@ -0,0 +1,305 @@
+package nucleo;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * SIR/SIS individual em um {@link GrafoContatos}, em tempo discreto na grade de
+ * passos do projeto (numeroPassos pontos, h = tMax/(n-1)). A cada passo, cada
+ * nó infectado transmite a cada vizinho suscetível com probabilidade
+ * 1 - exp(-τ·h) (τ = taxa de transmissão por contato) e se recupera com
+ * probabilidade 1 - exp(-γ·h); no SIR vai para R, no SIS volta a S. As
+ * atualizações são síncronas: quem é infectado no passo só transmite no
+ * seguinte.
+ *
+ * Os estados ficam em bitsets de long (um bit por nó em "infectado" e, no
+ * SIR, em "removido"): 10 milhões de nós são 2,5 MB de estado. Só a fronteira,
+ * a lista dos infectados, é percorrida a cada passo, e os vizinhos de cada um
+ * são sorteados por saltos geométricos (O(grau·p + 1) sorteios, não O(grau)).
+ * Com um pool ({@link #comParalelismo}) e fronteira grande, ela é dividida em
+ * faixas entre as threads; um nó é infectado por um OR atômico na sua palavra
+ * do bitset, e só a thread que mudou o bit o põe na nova fronteira.
+ *
+ * Os sorteios de cada nó infectado vêm de um gerador próprio, derivado de
+ * (semente, passo, nó): o resultado não depende do número de threads nem da
+ * ordem em que a fronteira é percorrida.
+ */
+public final class EpidemiaRede {
+
+    // Abaixo disso a fronteira é percorrida na thread chamadora
+    static final int LIMIAR_PARALELO = 4096;
+    // Faixas por thread: folga para o roubo de tarefas equilibrar nós de graus desiguais
+    private static final int FAIXAS_POR_THREAD = 4;
+    // Graus com a probabilidade de nenhuma transmissão tabelada
+    private static final int GRAUS_TABELADOS = 256;
+    // Incremento do gerador SplitMix64 (o mesmo do SplittableRandom)
+    private static final long GAMA = 0x9E3779B97F4A7C15L;
+    private static final VarHandle PALAVRAS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final GrafoContatos grafo;
+    private final double taxaTransmissao;
+    private final double taxaRecuperacao;
+    // SIS: o recuperado volta a suscetível; SIR: vai para removido
+    private final boolean reinfeccao;
+    private final ForkJoinPool pool;
+
+    private EpidemiaRede(GrafoContatos grafo, double taxaTransmissao, double taxaRecuperacao, boolean reinfeccao,
+                         ForkJoinPool pool) {
+        if (!(taxaTransmissao >= 0) || !(taxaRecuperacao >= 0)) {
+            throw new IllegalArgumentException("Taxas devem ser >= 0: " + taxaTransmissao + ", " + taxaRecuperacao);
+        }
+        this.grafo = grafo;
+        this.taxaTransmissao = taxaTransmissao;
+        this.taxaRecuperacao = taxaRecuperacao;
+        this.reinfeccao = reinfeccao;
+        this.pool = pool;
+    }
+
+    // taxaTransmissao é por contato (aresta) e por dia, não o β da mistura homogênea
+    public static EpidemiaRede sir(GrafoContatos grafo, double taxaTransmissao, double taxaRecuperacao) {
+        return new EpidemiaRede(grafo, taxaTransmissao, taxaRecuperacao, false, null);
+    }
+
+    public static EpidemiaRede sis(GrafoContatos grafo, double taxaTransmissao, double taxaRecuperacao) {
+        return new EpidemiaRede(grafo, taxaTransmissao, taxaRecuperacao, true, null);
+    }
+
+    // Mesma epidemia com a fronteira dividida entre as threads do pool quando passa de LIMIAR_PARALELO
+    public EpidemiaRede comParalelismo(ForkJoinPool pool) {
+        return new EpidemiaRede(grafo, taxaTransmissao, taxaRecuperacao, reinfeccao, pool);
+    }
+
+    public GrafoContatos getGrafo() {
+        return grafo;
+    }
+
+    // --- 1. Simulação ---
+    // O observador recebe as contagens {S, I, R} (SIR) ou {S, I} (SIS) a cada ponto da grade;
+    // retorna as contagens finais
+    public double[] simular(int[] infectadosIniciais, long semente, double tempoMaximo, int numeroPassos,
+                            ObservadorTrajetoria observador) {
+        int nos = grafo.getNumeroNos();
+        double incrementoTempo = Integrador.incrementoTempo(tempoMaximo, numeroPassos);
+        double probabilidadeTransmissao = -Math.expm1(-taxaTransmissao * incrementoTempo);
+        double probabilidadeRecuperacao = -Math.expm1(-taxaRecuperacao * incrementoTempo);
+
+        long[] infectado = new long[(nos + 63) >>> 6];
+        long[] removido = reinfeccao ? null : new long[infectado.length];
+        int[] fronteira = new int[infectadosIniciais.length];
+        int tamanhoFronteira = 0;
+        for (int no : infectadosIniciais) {
+            if (no < 0 || no >= nos) {
+                throw new IllegalArgumentException("Nó " + no + " fora do grafo de " + nos + " nós");
+            }
+            if ((infectado[no >>> 6] & (1L << no)) == 0) {
+                infectado[no >>> 6] |= 1L << no;
+                fronteira[tamanhoFronteira++] = no;
+            }
+        }
+        fronteira = Arrays.copyOf(fronteira, tamanhoFronteira);
+
+        Passo passo = new Passo(infectado, removido, probabilidadeTransmissao, probabilidadeRecuperacao, semente);
+        double[] estado = new double[reinfeccao ? 2 : 3];
+        long recuperados = 0;
+        estado[0] = nos - fronteira.length;
+        estado[1] = fronteira.length;
+        observador.observar(0, 0.0, estado);
+        for (int k = 0; k < numeroPassos - 1 && !observador.interromper(); k++) {
+            if (fronteira.length > 0) {
+                passo.numero = k;
+                Lote lote = pool != null && fronteira.length >= LIMIAR_PARALELO
+                    ? pool.invoke(new TarefaFronteira(passo, fronteira, 0, fronteira.length,
+                                                      Math.max(LIMIAR_PARALELO / 4, fronteira.length
+                                                               / (pool.getParallelism() * FAIXAS_POR_THREAD))))
+                    : passo.percorrer(fronteira, 0, fronteira.length);
+                // Recuperações aplicadas depois do passo inteiro: ninguém lê bits mudando
+                for (int r = 0; r < lote.recuperados.tamanho; r++) {
+                    int no = lote.recuperados.valores[r];
+                    infectado[no >>> 6] &= ~(1L << no);
+                    if (!reinfeccao) {
+                        removido[no >>> 6] |= 1L << no;
+                    }
+                }
+                recuperados += lote.recuperados.tamanho;
+                fronteira = lote.novaFronteira();
+                estado[1] = fronteira.length;
+                if (reinfeccao) {
+                    estado[0] = nos - fronteira.length;
+                } else {
+                    estado[2] = recuperados;
+                    estado[0] = nos - fronteira.length - recuperados;
+                }
+            }
+            observador.observar(k + 1, (k + 1) * incrementoTempo, estado);
+        }
+        return estado;
+    }
+
+    // --- 2. Um passo sobre uma faixa da fronteira ---
+    private final class Passo {
+        private final long[] infectado;
+        private final long[] removido;
+        private final double probabilidadeTransmissao;
+        private final double probabilidadeRecuperacao;
+        // log(1 - p) dos saltos geométricos (-∞ com p = 1: nenhum vizinho é pulado)
+        private final double logNaoTransmissao;
+        // (1 - p)^grau: probabilidade de nenhuma transmissão no passo, por grau
+        private final double[] semTransmissao;
+        private final long semente;
+        private int numero;
+
+        Passo(long[] infectado, long[] removido, double probabilidadeTransmissao, double probabilidadeRecuperacao,
+              long semente) {
+            this.infectado = infectado;
+            this.removido = removido;
+            this.probabilidadeTransmissao = probabilidadeTransmissao;
+            this.probabilidadeRecuperacao = probabilidadeRecuperacao;
+            this.logNaoTransmissao = Math.log1p(-probabilidadeTransmissao);
+            this.semTransmissao = new double[GRAUS_TABELADOS];
+            for (int grau = 0; grau < GRAUS_TABELADOS; grau++) {
+                semTransmissao[grau] = Math.exp(grau * logNaoTransmissao);
+            }
+            this.semente = semente;
+        }
+
+        Lote percorrer(int[] fronteira, int inicio, int fim) {
+            int[] inicioLinha = grafo.inicio();
+            int[] vizinhos = grafo.vizinhos();
+            Lote lote = new Lote();
+            for (int f = inicio; f < fim; f++) {
+                int no = fronteira[f];
+                // Gerador SplitMix64 do nó neste passo
+                long gerador = misturar(semente + GAMA * (((long) numero << 32) | no));
+                if (probabilidadeTransmissao > 0) {
+                    int fimLinha = inicioLinha[no + 1];
+                    int aresta = inicioLinha[no] - 1;
+                    int grau = fimLinha - inicioLinha[no];
+                    gerador += GAMA;
+                    // 1 - U ∈ (0, 1]: evita log(0)
+                    double complemento = 1.0 - uniforme(gerador);
+                    // Caso comum, nenhuma transmissão no passo: o primeiro salto passa do fim da linha
+                    // exatamente quando 1 - U <= (1 - p)^grau, decidido sem logaritmo
+                    boolean nenhuma = grau < GRAUS_TABELADOS && complemento <= semTransmissao[grau];
+                    while (!nenhuma) {
+                        double salto = Math.floor(Math.log(complemento) / logNaoTransmissao);
+                        if (salto >= fimLinha - aresta - 1) {
+                            break;
+                        }
+                        aresta += 1 + (int) salto;
+                        int vizinho = vizinhos[aresta];
+                        if (infectar(vizinho)) {
+                            lote.novos.adicionar(vizinho);
+                        }
+                        gerador += GAMA;
+                        complemento = 1.0 - uniforme(gerador);
+                    }
+                }
+                gerador += GAMA;
+                if (uniforme(gerador) < probabilidadeRecuperacao) {
+                    lote.recuperados.adicionar(no);
+                } else {
+                    lote.sobreviventes.adicionar(no);
+                }
+            }
+            return lote;
+        }
+
+        // true se o vizinho era suscetível e esta chamada o infectou
+        private boolean infectar(int no) {
+            int palavra = no >>> 6;
+            long bit = 1L << no;
+            if (((infectado[palavra] | (removido == null ? 0 : removido[palavra])) & bit) != 0) {
+                return false;
+            }
+            long anterior = (long) PALAVRAS.getAndBitwiseOr(infectado, palavra, bit);
+            return (anterior & bit) == 0;
+        }
+    }
+
+    // Finalizador do SplitMix64
+    private static long misturar(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // Uniforme em [0, 1) com os 53 bits altos
+    private static double uniforme(long estado) {
+        return (misturar(estado) >>> 11) * 0x1.0p-53;
+    }
+
+    // Divide a fronteira ao meio até faixas de no máximo 'tamanhoFaixa' nós
+    private final class TarefaFronteira extends RecursiveTask<Lote> {
+        private static final long serialVersionUID = 1L;
+
+        private final Passo passo;
+        private final int[] fronteira;
+        private final int inicio;
+        private final int fim;
+        private final int tamanhoFaixa;
+
+        TarefaFronteira(Passo passo, int[] fronteira, int inicio, int fim, int tamanhoFaixa) {
+            this.passo = passo;
+            this.fronteira = fronteira;
+            this.inicio = inicio;
+            this.fim = fim;
+            this.tamanhoFaixa = tamanhoFaixa;
+        }
+
+        @Override
+        protected Lote compute() {
+            if (fim - inicio <= tamanhoFaixa) {
+                return passo.percorrer(fronteira, inicio, fim);
+            }
+            int meio = (inicio + fim) >>> 1;
+            TarefaFronteira esquerda = new TarefaFronteira(passo, fronteira, inicio, meio, tamanhoFaixa);
+            esquerda.fork();
+            Lote direita = new TarefaFronteira(passo, fronteira, meio, fim, tamanhoFaixa).compute();
+            return esquerda.join().juntar(direita);
+        }
+    }
+
+    // Saída de uma faixa: infectados que seguem, recém-infectados e recuperados
+    private static final class Lote {
+        private final ListaNos sobreviventes = new ListaNos();
+        private final ListaNos novos = new ListaNos();
+        private final ListaNos recuperados = new ListaNos();
+
+        Lote juntar(Lote outro) {
+            sobreviventes.adicionarTodos(outro.sobreviventes);
+            novos.adicionarTodos(outro.novos);
+            recuperados.adicionarTodos(outro.recuperados);
+            return this;
+        }
+
+        int[] novaFronteira() {
+            int[] fronteira = Arrays.copyOf(sobreviventes.valores, sobreviventes.tamanho + novos.tamanho);
+            System.arraycopy(novos.valores, 0, fronteira, sobreviventes.tamanho, novos.tamanho);
+            return fronteira;
+        }
+    }
+
+    // Lista de int que cresce por duplicação, sem caixas
+    private static final class ListaNos {
+        private int[] valores = new int[16];
+        private int tamanho;
+
+        void adicionar(int no) {
+            if (tamanho == valores.length) {
+                valores = Arrays.copyOf(valores, 2 * tamanho);
+            }
+            valores[tamanho++] = no;
+        }
+
+        void adicionarTodos(ListaNos outra) {
+            if (tamanho + outra.tamanho > valores.length) {
+                valores = Arrays.copyOf(valores, Math.max(2 * valores.length, tamanho + outra.tamanho));
+            }
+            System.arraycopy(outra.valores, 0, valores, tamanho, outra.tamanho);
+            tamanho += outra.tamanho;
+        }
+    }
+}
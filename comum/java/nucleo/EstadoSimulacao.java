@@ -0,0 +1,258 @@
+package nucleo;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+/**
+ * Estado capturado de uma simulação de passo fixo (RK4 ou ABM4), do qual a
+ * integração pode ser retomada: modelo (com seus parâmetros), instante como
+ * passo da grade t = passo·h, vetor de estado, pico de infectados até aqui e,
+ * no ABM4, as derivadas dos últimos passos. Estender o horizonte de 500 para
+ * 700 dias ou refazer um cenário a partir do dia 200 custa só o novo
+ * intervalo, em vez de recomeçar de t = 0.
+ *
+ * É imutável: {@link #avancar} e {@link #avancarAte} devolvem um novo estado,
+ * e o mesmo estado pode ser retomado várias vezes (ex.: uma ramificação por
+ * intervenção). Na mesma grade, a retomada repete bit a bit os passos da
+ * integração contínua ({@link Integrador#integrarRK4}, ou o laço ABM4
+ * genérico). A serialização guarda O(compartimentos) valores, nada da
+ * trajetória; exige um modelo {@link Serializable} (ModeloSIR, ModeloSIS).
+ */
+public final class EstadoSimulacao implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ModeloCompartimental modelo;
+    private final MetodoIntegracao metodo;
+    private final double incrementoTempo;
+    private final int passo;
+    private final double[] estado;
+    private final double picoInfectados;
+    // ABM4: f_n, f_{n-1}, ... (no máximo 4; menos durante a partida com RK4); null no RK4
+    private final double[][] derivadas;
+
+    private EstadoSimulacao(ModeloCompartimental modelo, MetodoIntegracao metodo, double incrementoTempo, int passo,
+                            double[] estado, double picoInfectados, double[][] derivadas) {
+        this.modelo = modelo;
+        this.metodo = metodo;
+        this.incrementoTempo = incrementoTempo;
+        this.passo = passo;
+        this.estado = estado;
+        this.picoInfectados = picoInfectados;
+        this.derivadas = derivadas;
+    }
+
+    // --- 1. Estado inicial (t = 0) ---
+
+    // RK4 com incremento de tempo fixo (ex.: Integrador.incrementoTempo(tempoMaximo, numeroPassos))
+    public static EstadoSimulacao inicial(ModeloCompartimental modelo, double[] estadoInicial, double incrementoTempo) {
+        return inicial(modelo, estadoInicial, incrementoTempo, MetodoIntegracao.RK4);
+    }
+
+    public static EstadoSimulacao inicial(ModeloCompartimental modelo, double[] estadoInicial, double incrementoTempo,
+                                          MetodoIntegracao metodo) {
+        if (metodo != MetodoIntegracao.RK4 && metodo != MetodoIntegracao.ABM4) {
+            throw new IllegalArgumentException("Continuação disponível para RK4 e ABM4 (passo fixo): " + metodo);
+        }
+        if (!(incrementoTempo > 0)) {
+            throw new IllegalArgumentException("Incremento de tempo deve ser > 0: " + incrementoTempo);
+        }
+        if (estadoInicial.length != modelo.numeroCompartimentos()) {
+            throw new IllegalArgumentException("Estado com " + estadoInicial.length + " valores para "
+                + modelo.numeroCompartimentos() + " compartimentos");
+        }
+        return new EstadoSimulacao(modelo, metodo, incrementoTempo, 0, estadoInicial.clone(),
+                                   modelo.infectados(estadoInicial),
+                                   derivadasIniciais(modelo, metodo, 0.0, estadoInicial));
+    }
+
+    private static double[][] derivadasIniciais(ModeloCompartimental modelo, MetodoIntegracao metodo, double tempo,
+                                                double[] estado) {
+        if (metodo != MetodoIntegracao.ABM4) {
+            return null;
+        }
+        double[][] derivadas = new double[1][modelo.numeroCompartimentos()];
+        modelo.derivada(tempo, estado, derivadas[0]);
+        return derivadas;
+    }
+
+    // --- 2. Retomada ---
+
+    // Avança até o ponto da grade mais próximo de tempoFinal, sem observar os pontos
+    public EstadoSimulacao avancarAte(double tempoFinal) {
+        return avancarAte(tempoFinal, null);
+    }
+
+    // Avança até o ponto da grade mais próximo de tempoFinal; o observador recebe só os pontos novos
+    public EstadoSimulacao avancarAte(double tempoFinal, ObservadorTrajetoria observador) {
+        long passoFinal = Math.round(tempoFinal / incrementoTempo);
+        if (passoFinal < passo) {
+            throw new IllegalArgumentException("Tempo final " + tempoFinal + " anterior ao estado (t = " + getTempo() + ")");
+        }
+        return avancar((int) (passoFinal - passo), observador);
+    }
+
+    // Avança 'passos' passos (os pontos passo + 1 .. passo + passos vão para o observador, se houver)
+    public EstadoSimulacao avancar(int passos, ObservadorTrajetoria observador) {
+        if (passos < 0) {
+            throw new IllegalArgumentException("Número de passos deve ser >= 0: " + passos);
+        }
+        return metodo == MetodoIntegracao.ABM4 ? avancarABM4(passos, observador) : avancarRK4(passos, observador);
+    }
+
+    // Mesmo instante e estado com outro modelo (ex.: taxa de transmissão reduzida a partir deste dia).
+    // No ABM4 o histórico de derivadas é do modelo antigo e é descartado: a retomada refaz a partida com RK4
+    public EstadoSimulacao comModelo(ModeloCompartimental novoModelo) {
+        if (novoModelo.numeroCompartimentos() != modelo.numeroCompartimentos()) {
+            throw new IllegalArgumentException("Modelo com " + novoModelo.numeroCompartimentos()
+                + " compartimentos para um estado com " + modelo.numeroCompartimentos());
+        }
+        return new EstadoSimulacao(novoModelo, metodo, incrementoTempo, passo, estado, picoInfectados,
+                                   derivadasIniciais(novoModelo, metodo, getTempo(), estado));
+    }
+
+    // O mesmo laço de Integrador.integrarRK4, a partir do passo atual
+    private EstadoSimulacao avancarRK4(int passos, ObservadorTrajetoria observador) {
+        double[] atual = estado.clone();
+        double[][] trabalho = Integrador.novaAreaTrabalhoRK4(modelo);
+        double pico = picoInfectados;
+        int passoAtual = passo;
+
+        for (int k = 0; k < passos; k++) {
+            modelo.passoRK4(passoAtual * incrementoTempo, atual, incrementoTempo, trabalho);
+            passoAtual++;
+            pico = Math.max(pico, modelo.infectados(atual));
+            if (observador != null) {
+                observador.observar(passoAtual, passoAtual * incrementoTempo, atual);
+                if (observador.interromper()) {
+                    break;
+                }
+            }
+        }
+        return new EstadoSimulacao(modelo, metodo, incrementoTempo, passoAtual, atual, pico, null);
+    }
+
+    // O mesmo PECE de SolverAdamsBashforthMoulton.integrarGenerico, com a partida RK4 enquanto
+    // houver menos de 4 derivadas no histórico
+    private EstadoSimulacao avancarABM4(int passos, ObservadorTrajetoria observador) {
+        int n = modelo.numeroCompartimentos();
+        double h = incrementoTempo;
+        double[] atual = estado.clone();
+        double[][] trabalho = Integrador.novaAreaTrabalhoRK4(modelo);
+        double[] predito = new double[n], derivadaPredita = new double[n];
+        double pico = picoInfectados;
+        int passoAtual = passo;
+
+        // f[0] = f_n, f[1] = f_{n-1}, ...; as referências giram a cada passo
+        double[][] f = new double[4][n];
+        int disponiveis = derivadas.length;
+        for (int k = 0; k < disponiveis; k++) {
+            System.arraycopy(derivadas[k], 0, f[k], 0, n);
+        }
+
+        for (int k = 0; k < passos; k++) {
+            double tempoNovo = (passoAtual + 1) * h;
+            if (disponiveis < 4) {
+                // Partida com RK4
+                modelo.passoRK4(passoAtual * h, atual, h, trabalho);
+            } else {
+                // P: Adams-Bashforth de 4 passos
+                for (int c = 0; c < n; c++) {
+                    predito[c] = atual[c] + h * (55.0 * f[0][c] - 59.0 * f[1][c] + 37.0 * f[2][c] - 9.0 * f[3][c]) / 24.0;
+                }
+                // E
+                modelo.derivada(tempoNovo, predito, derivadaPredita);
+                // C: Adams-Moulton de 3 passos, sem valores negativos
+                for (int c = 0; c < n; c++) {
+                    double novo = atual[c] + h * (9.0 * derivadaPredita[c] + 19.0 * f[0][c] - 5.0 * f[1][c] + f[2][c]) / 24.0;
+                    atual[c] = novo < 0 ? 0 : novo;
+                }
+            }
+
+            // E: a derivada mais antiga é descartada e seu vetor passa a guardar f_{n+1}
+            double[] descartada = f[3];
+            f[3] = f[2];
+            f[2] = f[1];
+            f[1] = f[0];
+            f[0] = descartada;
+            modelo.derivada(tempoNovo, atual, f[0]);
+            disponiveis = Math.min(disponiveis + 1, 4);
+
+            passoAtual++;
+            pico = Math.max(pico, modelo.infectados(atual));
+            if (observador != null) {
+                observador.observar(passoAtual, tempoNovo, atual);
+                if (observador.interromper()) {
+                    break;
+                }
+            }
+        }
+
+        double[][] historico = new double[disponiveis][];
+        for (int k = 0; k < disponiveis; k++) {
+            historico[k] = f[k].clone();
+        }
+        return new EstadoSimulacao(modelo, metodo, incrementoTempo, passoAtual, atual, pico, historico);
+    }
+
+    // --- 3. Serialização compacta ---
+
+    public byte[] paraBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream saida = new ObjectOutputStream(bytes)) {
+            saida.writeObject(this);
+        } catch (IOException e) {
+            throw new IllegalStateException("Estado não serializável (o modelo "
+                + modelo.getClass().getSimpleName() + " precisa ser Serializable)", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static EstadoSimulacao deBytes(byte[] bytes) {
+        try (ObjectInputStream entrada = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return (EstadoSimulacao) entrada.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalArgumentException("Bytes não contêm um EstadoSimulacao", e);
+        }
+    }
+
+    // --- 4. Consulta ---
+
+    public ModeloCompartimental getModelo() {
+        return modelo;
+    }
+
+    public MetodoIntegracao getMetodo() {
+        return metodo;
+    }
+
+    public double getIncrementoTempo() {
+        return incrementoTempo;
+    }
+
+    public int getPasso() {
+        return passo;
+    }
+
+    public double getTempo() {
+        return passo * incrementoTempo;
+    }
+
+    public double[] getEstado() {
+        return estado.clone();
+    }
+
+    // Maior valor de infectados desde t = 0 (inclusive antes de trocas de modelo)
+    public double getPicoInfectados() {
+        return picoInfectados;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s em t = %.4f (passo %d, h = %.3e)", metodo, getTempo(), passo, incrementoTempo);
+    }
+}
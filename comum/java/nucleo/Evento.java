@@ -0,0 +1,96 @@
+package nucleo;
+
+/**
+ * Evento detectado durante a integração: ocorre quando a função g(t, y, f(y))
+ * troca de sinal na direção pedida. O {@link DetectorEventos} localiza o
+ * instante exato entre dois pontos da grade e pode interromper a integração
+ * nos eventos terminais.
+ */
+public final class Evento {
+
+    // Direção da troca de sinal de g que dispara o evento
+    public enum Direcao {
+        SUBIDA,   // g passa de negativo para >= 0
+        DESCIDA,  // g passa de positivo para <= 0
+        AMBAS
+    }
+
+    @FunctionalInterface
+    public interface Funcao {
+        double valor(double tempo, double[] estado, double[] derivada);
+    }
+
+    private final String nome;
+    private final Funcao funcao;
+    private final Direcao direcao;
+    private final boolean terminal;
+
+    public Evento(String nome, Funcao funcao, Direcao direcao) {
+        this(nome, funcao, direcao, false);
+    }
+
+    public Evento(String nome, Funcao funcao, Direcao direcao, boolean terminal) {
+        this.nome = nome;
+        this.funcao = funcao;
+        this.direcao = direcao;
+        this.terminal = terminal;
+    }
+
+    // --- Eventos comuns ---
+
+    // Máximo local do compartimento: a derivada passa de positiva para <= 0
+    public static Evento pico(int indiceCompartimento) {
+        return new Evento("pico", (tempo, estado, derivada) -> derivada[indiceCompartimento], Direcao.DESCIDA);
+    }
+
+    // Compartimento cruza 'nivel' (ex.: capacidade hospitalar) na direção informada
+    public static Evento limiar(String nome, int indiceCompartimento, double nivel, Direcao direcao) {
+        return new Evento(nome, (tempo, estado, derivada) -> estado[indiceCompartimento] - nivel, direcao);
+    }
+
+    // Compartimento cai abaixo de 'nivel' (ex.: menos de 1 infectado); terminal
+    public static Evento extincao(int indiceCompartimento, double nivel) {
+        return new Evento("extincao", (tempo, estado, derivada) -> estado[indiceCompartimento] - nivel,
+                          Direcao.DESCIDA, true);
+    }
+
+    // Cópia deste evento que interrompe a integração ao ocorrer
+    public Evento terminal() {
+        return new Evento(nome, funcao, direcao, true);
+    }
+
+    // O par de valores consecutivos de g dispara o evento?
+    boolean disparou(double valorAnterior, double valorAtual) {
+        boolean subida = valorAnterior < 0 && valorAtual >= 0;
+        boolean descida = valorAnterior > 0 && valorAtual <= 0;
+        switch (direcao) {
+            case SUBIDA:
+                return subida;
+            case DESCIDA:
+                return descida;
+            default:
+                return subida || descida;
+        }
+    }
+
+    double valor(double tempo, double[] estado, double[] derivada) {
+        return funcao.valor(tempo, estado, derivada);
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public Direcao getDirecao() {
+        return direcao;
+    }
+
+    public boolean isTerminal() {
+        return terminal;
+    }
+
+    @Override
+    public String toString() {
+        return nome + (terminal ? " (terminal)" : "");
+    }
+}
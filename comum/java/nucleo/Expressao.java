@@ -0,0 +1,475 @@
+package nucleo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Expressão de taxa de um {@link DefinicaoModelo}: números, compartimentos,
+ * parâmetros, {@code t} (tempo), {@code N} (soma dos compartimentos), os
+ * operadores + - * / ^ e as funções exp, log, sqrt, abs, sin, cos, min, max
+ * e pow.
+ *
+ * A mesma árvore é avaliada pelo {@link ModeloInterpretado} e traduzida para
+ * Java pelo {@link CompiladorModelo}, na mesma ordem de operações, de modo que
+ * a derivada dos dois caminhos é igual bit a bit.
+ */
+abstract class Expressao {
+
+    static final String TEMPO = "t";
+    static final String TOTAL = "N";
+
+    abstract double avaliar(double tempo, double[] estado, double total, double[] parametros);
+
+    // Código Java equivalente; 'compartimentos' dá o nome da variável local de cada compartimento e
+    // 'inversoTotal' o de 1/N, que troca as divisões por N (caras e na cadeia de dependência) por produtos
+    abstract void gerarJava(StringBuilder codigo, String[] compartimentos, String tempo, String total,
+                            String inversoTotal);
+
+    abstract boolean usaTotal();
+
+    // --- 1. Análise sintática (descendente recursiva) ---
+    // expressao := termo (('+' | '-') termo)*
+    // termo     := potencia (('*' | '/') potencia)*
+    // potencia  := unario ('^' potencia)?
+    // unario    := '-' unario | primario
+    // primario  := numero | nome | nome '(' expressao (',' expressao)* ')' | '(' expressao ')'
+    static Expressao analisar(String texto, List<String> compartimentos, List<String> parametros) {
+        Analisador analisador = new Analisador(texto, compartimentos, parametros);
+        Expressao expressao = analisador.expressao();
+        analisador.pularEspacos();
+        if (analisador.posicao < texto.length()) {
+            throw analisador.erro("símbolo inesperado '" + texto.charAt(analisador.posicao) + "'");
+        }
+        return expressao;
+    }
+
+    private static final class Analisador {
+        private final String texto;
+        private final List<String> compartimentos;
+        private final List<String> parametros;
+        private int posicao;
+
+        Analisador(String texto, List<String> compartimentos, List<String> parametros) {
+            this.texto = texto;
+            this.compartimentos = compartimentos;
+            this.parametros = parametros;
+        }
+
+        Expressao expressao() {
+            Expressao resultado = termo();
+            while (true) {
+                if (consumir('+')) {
+                    resultado = new Binaria('+', resultado, termo());
+                } else if (consumir('-')) {
+                    resultado = new Binaria('-', resultado, termo());
+                } else {
+                    return resultado;
+                }
+            }
+        }
+
+        Expressao termo() {
+            Expressao resultado = potencia();
+            while (true) {
+                if (consumir('*')) {
+                    resultado = new Binaria('*', resultado, potencia());
+                } else if (consumir('/')) {
+                    resultado = new Binaria('/', resultado, potencia());
+                } else {
+                    return resultado;
+                }
+            }
+        }
+
+        Expressao potencia() {
+            Expressao base = unario();
+            if (consumir('^')) {
+                return new Funcao("pow", base, potencia());
+            }
+            return base;
+        }
+
+        Expressao unario() {
+            if (consumir('-')) {
+                return new Negacao(unario());
+            }
+            return primario();
+        }
+
+        Expressao primario() {
+            pularEspacos();
+            if (consumir('(')) {
+                Expressao interna = expressao();
+                exigir(')');
+                return interna;
+            }
+            if (posicao < texto.length() && (Character.isDigit(texto.charAt(posicao)) || texto.charAt(posicao) == '.')) {
+                return numero();
+            }
+            String nome = nome();
+            if (consumir('(')) {
+                List<Expressao> argumentos = new ArrayList<>();
+                argumentos.add(expressao());
+                while (consumir(',')) {
+                    argumentos.add(expressao());
+                }
+                exigir(')');
+                return Funcao.criar(nome, argumentos, this);
+            }
+            int indice = compartimentos.indexOf(nome);
+            if (indice >= 0) {
+                return new Compartimento(indice);
+            }
+            indice = parametros.indexOf(nome);
+            if (indice >= 0) {
+                return new Parametro(indice);
+            }
+            if (nome.equals(TEMPO)) {
+                return new Tempo();
+            }
+            if (nome.equals(TOTAL)) {
+                return new Total();
+            }
+            throw erro("nome desconhecido '" + nome + "'");
+        }
+
+        Expressao numero() {
+            int inicio = posicao;
+            while (posicao < texto.length() && (Character.isDigit(texto.charAt(posicao)) || texto.charAt(posicao) == '.')) {
+                posicao++;
+            }
+            if (posicao < texto.length() && (texto.charAt(posicao) == 'e' || texto.charAt(posicao) == 'E')) {
+                posicao++;
+                if (posicao < texto.length() && (texto.charAt(posicao) == '+' || texto.charAt(posicao) == '-')) {
+                    posicao++;
+                }
+                while (posicao < texto.length() && Character.isDigit(texto.charAt(posicao))) {
+                    posicao++;
+                }
+            }
+            try {
+                return new Constante(Double.parseDouble(texto.substring(inicio, posicao)));
+            } catch (NumberFormatException e) {
+                throw erro("número inválido '" + texto.substring(inicio, posicao) + "'");
+            }
+        }
+
+        String nome() {
+            pularEspacos();
+            int inicio = posicao;
+            while (posicao < texto.length()
+                    && (Character.isLetterOrDigit(texto.charAt(posicao)) || texto.charAt(posicao) == '_')) {
+                posicao++;
+            }
+            if (posicao == inicio) {
+                throw erro(posicao < texto.length() ? "símbolo inesperado '" + texto.charAt(posicao) + "'"
+                                                    : "expressão incompleta");
+            }
+            return texto.substring(inicio, posicao);
+        }
+
+        boolean consumir(char simbolo) {
+            pularEspacos();
+            if (posicao < texto.length() && texto.charAt(posicao) == simbolo) {
+                posicao++;
+                return true;
+            }
+            return false;
+        }
+
+        void exigir(char simbolo) {
+            if (!consumir(simbolo)) {
+                throw erro("esperado '" + simbolo + "'");
+            }
+        }
+
+        void pularEspacos() {
+            while (posicao < texto.length() && Character.isWhitespace(texto.charAt(posicao))) {
+                posicao++;
+            }
+        }
+
+        IllegalArgumentException erro(String mensagem) {
+            return new IllegalArgumentException("Expressão '" + texto + "', posição " + (posicao + 1) + ": " + mensagem);
+        }
+    }
+
+    // --- 2. Nós da árvore ---
+
+    private static final class Constante extends Expressao {
+        private final double valor;
+
+        Constante(double valor) {
+            this.valor = valor;
+        }
+
+        @Override
+        double avaliar(double tempo, double[] estado, double total, double[] parametros) {
+            return valor;
+        }
+
+        @Override
+        void gerarJava(StringBuilder codigo, String[] compartimentos, String tempo, String total,
+                       String inversoTotal) {
+            // Representação exata do double (ex.: 0.1 vira 0.1, não 0.1000000000000000055...)
+            codigo.append('(').append(Double.toString(valor)).append(')');
+        }
+
+        @Override
+        boolean usaTotal() {
+            return false;
+        }
+    }
+
+    private static final class Compartimento extends Expressao {
+        private final int indice;
+
+        Compartimento(int indice) {
+            this.indice = indice;
+        }
+
+        @Override
+        double avaliar(double tempo, double[] estado, double total, double[] parametros) {
+            return estado[indice];
+        }
+
+        @Override
+        void gerarJava(StringBuilder codigo, String[] compartimentos, String tempo, String total,
+                       String inversoTotal) {
+            codigo.append(compartimentos[indice]);
+        }
+
+        @Override
+        boolean usaTotal() {
+            return false;
+        }
+    }
+
+    private static final class Parametro extends Expressao {
+        private final int indice;
+
+        Parametro(int indice) {
+            this.indice = indice;
+        }
+
+        @Override
+        double avaliar(double tempo, double[] estado, double total, double[] parametros) {
+            return parametros[indice];
+        }
+
+        @Override
+        void gerarJava(StringBuilder codigo, String[] compartimentos, String tempo, String total,
+                       String inversoTotal) {
+            codigo.append("p").append(indice);
+        }
+
+        @Override
+        boolean usaTotal() {
+            return false;
+        }
+    }
+
+    private static final class Tempo extends Expressao {
+        @Override
+        double avaliar(double tempo, double[] estado, double total, double[] parametros) {
+            return tempo;
+        }
+
+        @Override
+        void gerarJava(StringBuilder codigo, String[] compartimentos, String tempo, String total,
+                       String inversoTotal) {
+            codigo.append(tempo);
+        }
+
+        @Override
+        boolean usaTotal() {
+            return false;
+        }
+    }
+
+    private static final class Total extends Expressao {
+        @Override
+        double avaliar(double tempo, double[] estado, double total, double[] parametros) {
+            return total;
+        }
+
+        @Override
+        void gerarJava(StringBuilder codigo, String[] compartimentos, String tempo, String total,
+                       String inversoTotal) {
+            codigo.append(total);
+        }
+
+        @Override
+        boolean usaTotal() {
+            return true;
+        }
+    }
+
+    private static final class Negacao extends Expressao {
+        private final Expressao operando;
+
+        Negacao(Expressao operando) {
+            this.operando = operando;
+        }
+
+        @Override
+        double avaliar(double tempo, double[] estado, double total, double[] parametros) {
+            return -operando.avaliar(tempo, estado, total, parametros);
+        }
+
+        @Override
+        void gerarJava(StringBuilder codigo, String[] compartimentos, String tempo, String total,
+                       String inversoTotal) {
+            codigo.append("(-");
+            operando.gerarJava(codigo, compartimentos, tempo, total, inversoTotal);
+            codigo.append(')');
+        }
+
+        @Override
+        boolean usaTotal() {
+            return operando.usaTotal();
+        }
+    }
+
+    private static final class Binaria extends Expressao {
+        private final char operador;
+        private final Expressao esquerda, direita;
+
+        Binaria(char operador, Expressao esquerda, Expressao direita) {
+            this.operador = operador;
+            this.esquerda = esquerda;
+            this.direita = direita;
+        }
+
+        @Override
+        double avaliar(double tempo, double[] estado, double total, double[] parametros) {
+            double a = esquerda.avaliar(tempo, estado, total, parametros);
+            if (divisaoPorTotal()) {
+                return a * (1.0 / total);
+            }
+            double b = direita.avaliar(tempo, estado, total, parametros);
+            switch (operador) {
+                case '+':
+                    return a + b;
+                case '-':
+                    return a - b;
+                case '*':
+                    return a * b;
+                default:
+                    return a / b;
+            }
+        }
+
+        @Override
+        void gerarJava(StringBuilder codigo, String[] compartimentos, String tempo, String total,
+                       String inversoTotal) {
+            codigo.append('(');
+            esquerda.gerarJava(codigo, compartimentos, tempo, total, inversoTotal);
+            if (divisaoPorTotal()) {
+                codigo.append(" * ").append(inversoTotal).append(')');
+                return;
+            }
+            codigo.append(' ').append(operador).append(' ');
+            direita.gerarJava(codigo, compartimentos, tempo, total, inversoTotal);
+            codigo.append(')');
+        }
+
+        // x / N vira x * (1/N), nos dois caminhos
+        private boolean divisaoPorTotal() {
+            return operador == '/' && direita instanceof Total;
+        }
+
+        @Override
+        boolean usaTotal() {
+            return esquerda.usaTotal() || direita.usaTotal();
+        }
+    }
+
+    private static final class Funcao extends Expressao {
+        private final String nome;
+        private final Expressao[] argumentos;
+
+        Funcao(String nome, Expressao... argumentos) {
+            this.nome = nome;
+            this.argumentos = argumentos;
+        }
+
+        static Funcao criar(String nome, List<Expressao> argumentos, Analisador analisador) {
+            int aridade;
+            switch (nome) {
+                case "exp":
+                case "log":
+                case "sqrt":
+                case "abs":
+                case "sin":
+                case "cos":
+                    aridade = 1;
+                    break;
+                case "min":
+                case "max":
+                case "pow":
+                    aridade = 2;
+                    break;
+                default:
+                    throw analisador.erro("função desconhecida '" + nome + "'");
+            }
+            if (argumentos.size() != aridade) {
+                throw analisador.erro("'" + nome + "' recebe " + aridade + " argumento(s), não " + argumentos.size());
+            }
+            return new Funcao(nome, argumentos.toArray(new Expressao[0]));
+        }
+
+        @Override
+        double avaliar(double tempo, double[] estado, double total, double[] parametros) {
+            double a = argumentos[0].avaliar(tempo, estado, total, parametros);
+            switch (nome) {
+                case "exp":
+                    return Math.exp(a);
+                case "log":
+                    return Math.log(a);
+                case "sqrt":
+                    return Math.sqrt(a);
+                case "abs":
+                    return Math.abs(a);
+                case "sin":
+                    return Math.sin(a);
+                case "cos":
+                    return Math.cos(a);
+                default:
+                    break;
+            }
+            double b = argumentos[1].avaliar(tempo, estado, total, parametros);
+            switch (nome) {
+                case "min":
+                    return Math.min(a, b);
+                case "max":
+                    return Math.max(a, b);
+                default:
+                    return Math.pow(a, b);
+            }
+        }
+
+        @Override
+        void gerarJava(StringBuilder codigo, String[] compartimentos, String tempo, String total,
+                       String inversoTotal) {
+            codigo.append("Math.").append(nome).append('(');
+            for (int i = 0; i < argumentos.length; i++) {
+                if (i > 0) {
+                    codigo.append(", ");
+                }
+                argumentos[i].gerarJava(codigo, compartimentos, tempo, total, inversoTotal);
+            }
+            codigo.append(')');
+        }
+
+        @Override
+        boolean usaTotal() {
+            for (Expressao argumento : argumentos) {
+                if (argumento.usaTotal()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
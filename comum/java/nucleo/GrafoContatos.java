@@ -0,0 +1,278 @@
+package nucleo;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Grafo de contatos não direcionado em formato CSR (linhas comprimidas), para
+ * simulação individual em rede ({@link EpidemiaRede}). Os vizinhos do nó i
+ * estão em {@code vizinhos[inicio[i] .. inicio[i + 1])}; cada aresta aparece
+ * nas duas linhas. Com grau médio k, n nós ocupam 4·(n + k·n) bytes: 10 milhões
+ * de nós com grau 10 são cerca de 440 MB.
+ *
+ * A construção percorre a fonte de arestas duas vezes (contagem dos graus e
+ * preenchimento), sem guardar a lista de arestas: o gerador sintético é
+ * refeito com a mesma semente, e o arquivo é relido do mapeamento em memória.
+ * Laços (origem = destino) são ignorados; arestas repetidas contam como
+ * contatos múltiplos.
+ */
+public final class GrafoContatos implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    // Janela de mapeamento do arquivo (um MappedByteBuffer é limitado a 2 GB)
+    private static final long JANELA_MAPEAMENTO = 1L << 30;
+    // Maior vetor de vizinhos alocável
+    private static final long MAXIMO_ENTRADAS = Integer.MAX_VALUE - 8;
+
+    private final int nos;
+    private final int[] inicio;
+    private final int[] vizinhos;
+
+    private GrafoContatos(int nos, int[] inicio, int[] vizinhos) {
+        this.nos = nos;
+        this.inicio = inicio;
+        this.vizinhos = vizinhos;
+    }
+
+    // Recebe cada aresta da fonte
+    @FunctionalInterface
+    private interface ConsumidorAresta {
+        void aceitar(int origem, int destino);
+    }
+
+    // Entrega todas as arestas ao consumidor, na mesma ordem a cada chamada
+    @FunctionalInterface
+    private interface FonteArestas {
+        void percorrer(ConsumidorAresta consumidor);
+    }
+
+    // --- 1. Construção ---
+
+    // Arestas origem[k] -- destino[k] entre nós 0..nos-1
+    public static GrafoContatos deArestas(int nos, int[] origens, int[] destinos) {
+        if (origens.length != destinos.length) {
+            throw new IllegalArgumentException("Arestas com tamanhos diferentes: " + origens.length + " e " + destinos.length);
+        }
+        return construir(nos, true, consumidor -> {
+            for (int k = 0; k < origens.length; k++) {
+                consumidor.aceitar(origens[k], destinos[k]);
+            }
+        });
+    }
+
+    // Grafo aleatório (Erdős–Rényi com número fixo de arestas) com grau médio grauMedio
+    public static GrafoContatos aleatorio(int nos, double grauMedio, long semente) {
+        if (nos < 2) {
+            throw new IllegalArgumentException("O grafo aleatório precisa de pelo menos 2 nós: " + nos);
+        }
+        if (!(grauMedio >= 0)) {
+            throw new IllegalArgumentException("Grau médio deve ser >= 0: " + grauMedio);
+        }
+        long arestas = Math.round(nos * grauMedio / 2);
+        return construir(nos, true, consumidor -> {
+            SplittableRandom aleatorio = new SplittableRandom(semente);
+            for (long k = 0; k < arestas; k++) {
+                int origem = aleatorio.nextInt(nos);
+                int destino = aleatorio.nextInt(nos - 1);
+                // Sorteia entre os outros nós: sem laços
+                consumidor.aceitar(origem, destino >= origem ? destino + 1 : destino);
+            }
+        });
+    }
+
+    // Lista de arestas em texto, "origem destino" por linha (separados por espaço, tab, ',' ou ';';
+    // colunas extras, como pesos, são ignoradas; linhas vazias ou iniciadas por '#' ou '%' também).
+    // Nós numerados a partir de 0; o número de nós é o maior índice + 1. O arquivo é mapeado em
+    // memória em janelas de 1 GB e lido duas vezes, sem cópia para o heap
+    public static GrafoContatos carregar(Path arquivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            return construir(0, false, consumidor -> {
+                try {
+                    lerArestas(canal, consumidor);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Contagem dos graus, somas de prefixo e preenchimento. Com nosFixos, índices >= nos são erro;
+    // sem, o número de nós cresce até o maior índice visto
+    private static GrafoContatos construir(int nos, boolean nosFixos, FonteArestas fonte) {
+        if (nosFixos && nos <= 0) {
+            throw new IllegalArgumentException("Número de nós deve ser > 0: " + nos);
+        }
+        int[][] graus = {new int[nosFixos ? nos : 1024]};
+        int[] maiorNo = {nosFixos ? nos - 1 : -1};
+        fonte.percorrer((origem, destino) -> {
+            if (origem < 0 || destino < 0 || (nosFixos && (origem >= nos || destino >= nos))) {
+                throw new IllegalArgumentException("Aresta " + origem + " -- " + destino + " fora dos nós do grafo");
+            }
+            if (origem == destino) {
+                return;
+            }
+            int maior = Math.max(origem, destino);
+            if (maior >= graus[0].length) {
+                long capacidade = Math.max(2L * graus[0].length, maior + 1L);
+                graus[0] = Arrays.copyOf(graus[0], (int) Math.min(MAXIMO_ENTRADAS, capacidade));
+            }
+            graus[0][origem]++;
+            graus[0][destino]++;
+            maiorNo[0] = Math.max(maiorNo[0], maior);
+        });
+        int total = maiorNo[0] + 1;
+        if (total == 0) {
+            throw new IllegalArgumentException("Grafo sem arestas");
+        }
+
+        int[] inicio = new int[total + 1];
+        long entradas = 0;
+        for (int i = 0; i < total; i++) {
+            entradas += graus[0][i];
+            if (entradas > MAXIMO_ENTRADAS) {
+                throw new IllegalArgumentException("Grafo com mais de " + MAXIMO_ENTRADAS / 2 + " arestas");
+            }
+            inicio[i + 1] = (int) entradas;
+        }
+        graus[0] = null;
+
+        int[] vizinhos = new int[(int) entradas];
+        int[] cursor = Arrays.copyOf(inicio, total);
+        fonte.percorrer((origem, destino) -> {
+            if (origem != destino) {
+                vizinhos[cursor[origem]++] = destino;
+                vizinhos[cursor[destino]++] = origem;
+            }
+        });
+        return new GrafoContatos(total, inicio, vizinhos);
+    }
+
+    // Percorre o arquivo em janelas mapeadas, cada uma terminando no fim de uma linha
+    private static void lerArestas(FileChannel canal, ConsumidorAresta consumidor) throws IOException {
+        long tamanho = canal.size();
+        long posicao = 0;
+        long numeroLinha = 1;
+        while (posicao < tamanho) {
+            long comprimento = Math.min(JANELA_MAPEAMENTO, tamanho - posicao);
+            MappedByteBuffer janela = canal.map(FileChannel.MapMode.READ_ONLY, posicao, comprimento);
+            int fim = (int) comprimento;
+            if (posicao + comprimento < tamanho) {
+                while (fim > 0 && janela.get(fim - 1) != '\n') {
+                    fim--;
+                }
+                if (fim == 0) {
+                    throw new IOException("Linha maior que a janela de mapeamento perto do byte " + posicao);
+                }
+            }
+            numeroLinha = lerJanela(janela, fim, numeroLinha, consumidor);
+            posicao += fim;
+        }
+    }
+
+    // Interpreta as linhas de janela[0, fim) direto dos bytes; retorna o número da próxima linha
+    private static long lerJanela(MappedByteBuffer janela, int fim, long numeroLinha, ConsumidorAresta consumidor) {
+        int p = 0;
+        while (p < fim) {
+            int inicioLinha = p;
+            while (p < fim && separador(janela.get(p))) {
+                p++;
+            }
+            byte primeiro = p < fim ? janela.get(p) : (byte) '\n';
+            if (primeiro != '\n' && primeiro != '\r' && primeiro != '#' && primeiro != '%') {
+                int origem = 0;
+                for (int campo = 0; campo < 2; campo++) {
+                    while (p < fim && separador(janela.get(p))) {
+                        p++;
+                    }
+                    long valor = 0;
+                    int digitos = 0;
+                    while (p < fim && janela.get(p) >= '0' && janela.get(p) <= '9') {
+                        valor = valor * 10 + (janela.get(p) - '0');
+                        if (valor > Integer.MAX_VALUE - 1) {
+                            throw new IllegalArgumentException("Linha " + numeroLinha + ": índice de nó grande demais");
+                        }
+                        digitos++;
+                        p++;
+                    }
+                    if (digitos == 0 || (p < fim && !separador(janela.get(p)) && janela.get(p) != '\n'
+                                         && janela.get(p) != '\r')) {
+                        throw new IllegalArgumentException("Linha " + numeroLinha + " (byte " + inicioLinha
+                            + " da janela): esperado 'origem destino'");
+                    }
+                    if (campo == 0) {
+                        origem = (int) valor;
+                    } else {
+                        consumidor.aceitar(origem, (int) valor);
+                    }
+                }
+            }
+            // Resto da linha (colunas extras, comentário ou '\r')
+            while (p < fim && janela.get(p) != '\n') {
+                p++;
+            }
+            p++;
+            numeroLinha++;
+        }
+        return numeroLinha;
+    }
+
+    private static boolean separador(byte caractere) {
+        return caractere == ' ' || caractere == '\t' || caractere == ',' || caractere == ';';
+    }
+
+    // --- 2. Consulta ---
+
+    public int getNumeroNos() {
+        return nos;
+    }
+
+    // Arestas não direcionadas (cada uma ocupa duas entradas do CSR)
+    public long getNumeroArestas() {
+        return inicio[nos] / 2;
+    }
+
+    public double grauMedio() {
+        return (double) inicio[nos] / nos;
+    }
+
+    public int grau(int no) {
+        return inicio[no + 1] - inicio[no];
+    }
+
+    // 'quantidade' nós distintos sorteados uniformemente (ex.: infectados iniciais)
+    public int[] sortearNos(int quantidade, long semente) {
+        if (quantidade < 0 || quantidade > nos) {
+            throw new IllegalArgumentException("Não há " + quantidade + " nós distintos em " + nos);
+        }
+        SplittableRandom aleatorio = new SplittableRandom(semente);
+        long[] escolhidos = new long[(nos + 63) >>> 6];
+        int[] sorteados = new int[quantidade];
+        for (int k = 0; k < quantidade; ) {
+            int no = aleatorio.nextInt(nos);
+            if ((escolhidos[no >>> 6] & (1L << no)) == 0) {
+                escolhidos[no >>> 6] |= 1L << no;
+                sorteados[k++] = no;
+            }
+        }
+        return sorteados;
+    }
+
+    // Somente leitura para o EpidemiaRede (sem cópia)
+    int[] inicio() {
+        return inicio;
+    }
+
+    int[] vizinhos() {
+        return vizinhos;
+    }
+}
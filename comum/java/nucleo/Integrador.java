@@ -0,0 +1,409 @@
+package nucleo;
+
+/**
+ * Motor de integração único do projeto. Toda simulação (sequencial, paralela,
+ * de cenários ou RMI) delega a um destes métodos, de modo que uma otimização
+ * feita aqui vale para todos os modos de execução medidos nos benchmarks.
+ *
+ * Convenção de passos: {@code numeroPassos} é o número de pontos da série
+ * temporal, incluindo t = 0, logo o incremento é tempoMaximo / (numeroPassos - 1).
+ */
+public final class Integrador {
+
+    // Limite de estabilidade do RK4 no eixo real (|λ·h| <= 2,78), com margem
+    private static final double LIMITE_ESTABILIDADE_RK4 = 2.5;
+
+    // |λ·h| da grade interna da saída densa (erro relativo ~1e-6 com RK4 + Hermite)
+    private static final double PASSO_DENSO_RELATIVO = 0.1;
+
+    private Integrador() {
+    }
+
+    // Incremento de tempo da convenção de passos do projeto
+    public static double incrementoTempo(double tempoMaximo, int numeroPassos) {
+        return tempoMaximo / (numeroPassos - 1);
+    }
+
+    // Área de rascunho do passo RK4 genérico (k1..k4 e estado intermediário)
+    static double[][] novaAreaTrabalhoRK4(ModeloCompartimental modelo) {
+        return new double[5][modelo.numeroCompartimentos()];
+    }
+
+    // --- 1. RK4 com histórico completo (uma série contígua por compartimento) ---
+    public static Trajetoria integrarRK4(ModeloCompartimental modelo, double[] estadoInicial,
+                                         double tempoMaximo, int numeroPassos) {
+        double incrementoTempo = incrementoTempo(tempoMaximo, numeroPassos);
+        double[] estado = estadoInicial.clone();
+        double[][] trabalho = novaAreaTrabalhoRK4(modelo);
+
+        // As séries são alocadas de uma vez, fora do laço de integração
+        Trajetoria historico = Trajetoria.comGrade(modelo.numeroCompartimentos(), tempoMaximo, numeroPassos);
+        historico.definir(0, estado);
+
+        for (int passo = 0; passo < numeroPassos - 1; passo++) {
+            modelo.passoRK4(passo * incrementoTempo, estado, incrementoTempo, trabalho);
+            historico.definir(passo + 1, estado);
+        }
+        return historico;
+    }
+
+    // --- 1b. RK4 em fluxo: cada ponto vai para o observador; retorna o estado final ---
+    // Memória constante: nada é guardado além do que o observador decidir guardar
+    public static double[] integrarRK4(ModeloCompartimental modelo, double[] estadoInicial, double tempoMaximo,
+                                       int numeroPassos, ObservadorTrajetoria observador) {
+        double incrementoTempo = incrementoTempo(tempoMaximo, numeroPassos);
+        double[] estado = estadoInicial.clone();
+        double[][] trabalho = novaAreaTrabalhoRK4(modelo);
+
+        observador.observar(0, 0.0, estado);
+        for (int passo = 0; passo < numeroPassos - 1; passo++) {
+            modelo.passoRK4(passo * incrementoTempo, estado, incrementoTempo, trabalho);
+            observador.observar(passo + 1, (passo + 1) * incrementoTempo, estado);
+            if (observador.interromper()) {
+                break;
+            }
+        }
+        return estado;
+    }
+
+    // --- 2. RK4 sem histórico: retorna o estado final ---
+    public static double[] estadoFinalRK4(ModeloCompartimental modelo, double[] estadoInicial,
+                                          double tempoMaximo, int numeroPassos) {
+        double incrementoTempo = incrementoTempo(tempoMaximo, numeroPassos);
+        double[] estado = estadoInicial.clone();
+        double[][] trabalho = novaAreaTrabalhoRK4(modelo);
+
+        for (int passo = 0; passo < numeroPassos - 1; passo++) {
+            modelo.passoRK4(passo * incrementoTempo, estado, incrementoTempo, trabalho);
+        }
+        return estado;
+    }
+
+    // --- 3. RK4 sem histórico: retorna o pico do compartimento de infectados ---
+    public static double picoInfectadosRK4(ModeloCompartimental modelo, double[] estadoInicial,
+                                           double tempoMaximo, int numeroPassos) {
+        double incrementoTempo = incrementoTempo(tempoMaximo, numeroPassos);
+        double[] estado = estadoInicial.clone();
+        double[][] trabalho = novaAreaTrabalhoRK4(modelo);
+        double maximoInfectados = modelo.infectados(estado);
+
+        for (int passo = 0; passo < numeroPassos - 1; passo++) {
+            modelo.passoRK4(passo * incrementoTempo, estado, incrementoTempo, trabalho);
+            maximoInfectados = Math.max(maximoInfectados, modelo.infectados(estado));
+        }
+        return maximoInfectados;
+    }
+
+    // --- 4. Seleção do método: pico de infectados ---
+    // Métodos adaptativos ignoram numeroPassos e usam as tolerâncias da configuração
+    public static double picoInfectados(ConfiguracaoSolver configuracao, ModeloCompartimental modelo,
+                                        double[] estadoInicial, double tempoMaximo, int numeroPassos) {
+        if (pararAntecipadamente(configuracao)) {
+            return picoInfectadosComParada(configuracao, modelo, estadoInicial, tempoMaximo, numeroPassos);
+        }
+        switch (configuracao.getMetodo()) {
+            case DORMAND_PRINCE:
+                return SolverDormandPrince.picoInfectados(modelo, estadoInicial, tempoMaximo,
+                        configuracao.getToleranciaRelativa(), configuracao.getToleranciaAbsoluta());
+            case ROSENBROCK:
+                return SolverRosenbrock.picoInfectados(modelo, estadoInicial, tempoMaximo,
+                        configuracao.getToleranciaRelativa(), configuracao.getToleranciaAbsoluta());
+            case AUTOMATICO:
+                if (rigidoParaRK4(modelo, estadoInicial, tempoMaximo, numeroPassos)) {
+                    return SolverRosenbrock.picoInfectados(modelo, estadoInicial, tempoMaximo,
+                            configuracao.getToleranciaRelativa(), configuracao.getToleranciaAbsoluta());
+                }
+                return picoInfectadosRK4(modelo, estadoInicial, tempoMaximo, numeroPassos);
+            case ANALITICO:
+                if (modelo instanceof PicoAnalitico) {
+                    return ((PicoAnalitico) modelo).picoInfectados(estadoInicial, tempoMaximo);
+                }
+                return picoInfectadosRK4(modelo, estadoInicial, tempoMaximo, numeroPassos);
+            case ABM4:
+                return SolverAdamsBashforthMoulton.picoInfectados(modelo, estadoInicial, tempoMaximo, numeroPassos);
+            case RK4:
+            default:
+                return picoInfectadosRK4(modelo, estadoInicial, tempoMaximo, numeroPassos);
+        }
+    }
+
+    // --- 5. Seleção do método: estado final ---
+    public static double[] estadoFinal(ConfiguracaoSolver configuracao, ModeloCompartimental modelo,
+                                       double[] estadoInicial, double tempoMaximo, int numeroPassos) {
+        if (pararAntecipadamente(configuracao)) {
+            return estadoFinalComParada(configuracao, modelo, estadoInicial, tempoMaximo, numeroPassos);
+        }
+        switch (configuracao.getMetodo()) {
+            case DORMAND_PRINCE:
+                return SolverDormandPrince.estadoFinal(modelo, estadoInicial, tempoMaximo,
+                        configuracao.getToleranciaRelativa(), configuracao.getToleranciaAbsoluta());
+            case ROSENBROCK:
+                return SolverRosenbrock.estadoFinal(modelo, estadoInicial, tempoMaximo,
+                        configuracao.getToleranciaRelativa(), configuracao.getToleranciaAbsoluta());
+            case AUTOMATICO:
+                if (rigidoParaRK4(modelo, estadoInicial, tempoMaximo, numeroPassos)) {
+                    return SolverRosenbrock.estadoFinal(modelo, estadoInicial, tempoMaximo,
+                            configuracao.getToleranciaRelativa(), configuracao.getToleranciaAbsoluta());
+                }
+                return estadoFinalRK4(modelo, estadoInicial, tempoMaximo, numeroPassos);
+            case ANALITICO:
+                if (modelo instanceof SolucaoAnalitica) {
+                    double[] estado = new double[modelo.numeroCompartimentos()];
+                    ((SolucaoAnalitica) modelo).estadoEm(tempoMaximo, estadoInicial, estado);
+                    return estado;
+                }
+                return estadoFinalRK4(modelo, estadoInicial, tempoMaximo, numeroPassos);
+            case ABM4:
+                return SolverAdamsBashforthMoulton.estadoFinal(modelo, estadoInicial, tempoMaximo, numeroPassos);
+            case RK4:
+            default:
+                return estadoFinalRK4(modelo, estadoInicial, tempoMaximo, numeroPassos);
+        }
+    }
+
+    // --- 6. Seleção do método: histórico na grade de passos ---
+    // Apenas métodos de grade fixa; os adaptativos usam integrarAdaptativo
+    public static Trajetoria integrar(ConfiguracaoSolver configuracao, ModeloCompartimental modelo,
+                                      double[] estadoInicial, double tempoMaximo, int numeroPassos) {
+        if (pararAntecipadamente(configuracao)) {
+            return integrarComParada(configuracao, modelo, estadoInicial, tempoMaximo, numeroPassos);
+        }
+        switch (configuracao.getMetodo()) {
+            case RK4:
+                return integrarRK4(modelo, estadoInicial, tempoMaximo, numeroPassos);
+            case ABM4:
+                return SolverAdamsBashforthMoulton.integrar(modelo, estadoInicial, tempoMaximo, numeroPassos);
+            case ANALITICO:
+                if (modelo instanceof SolucaoAnalitica) {
+                    return historicoAnalitico((SolucaoAnalitica) modelo, modelo.numeroCompartimentos(), estadoInicial,
+                                              tempoMaximo, numeroPassos);
+                }
+                return integrarRK4(modelo, estadoInicial, tempoMaximo, numeroPassos);
+            default:
+                throw new IllegalArgumentException("Método sem grade fixa de passos: " + configuracao);
+        }
+    }
+
+    // Avalia a forma fechada em cada ponto da grade (O(1) por ponto)
+    private static Trajetoria historicoAnalitico(SolucaoAnalitica solucao, int numeroCompartimentos,
+                                                 double[] estadoInicial, double tempoMaximo, int numeroPassos) {
+        Trajetoria historico = Trajetoria.comGrade(numeroCompartimentos, tempoMaximo, numeroPassos);
+        double[] estado = new double[numeroCompartimentos];
+        for (int passo = 0; passo < numeroPassos; passo++) {
+            solucao.estadoEm(historico.tempo(passo), estadoInicial, estado);
+            historico.definir(passo, estado);
+        }
+        return historico;
+    }
+
+    // --- 6b. Seleção do método em fluxo: retorna o estado final ---
+    // Os adaptativos entregam um ponto por passo aceito e ignoram numeroPassos
+    public static double[] integrar(ConfiguracaoSolver configuracao, ModeloCompartimental modelo,
+                                    double[] estadoInicial, double tempoMaximo, int numeroPassos,
+                                    ObservadorTrajetoria observador) {
+        switch (configuracao.getMetodo()) {
+            case DORMAND_PRINCE:
+            case ROSENBROCK:
+                return integrarAdaptativo(configuracao, modelo, estadoInicial, tempoMaximo, observador);
+            case AUTOMATICO:
+                if (rigidoParaRK4(modelo, estadoInicial, tempoMaximo, numeroPassos)) {
+                    return integrarAdaptativo(configuracao, modelo, estadoInicial, tempoMaximo, observador);
+                }
+                return integrarRK4(modelo, estadoInicial, tempoMaximo, numeroPassos, observador);
+            case ABM4:
+                return SolverAdamsBashforthMoulton.integrar(modelo, estadoInicial, tempoMaximo, numeroPassos, observador);
+            case ANALITICO:
+                if (modelo instanceof SolucaoAnalitica) {
+                    double incrementoTempo = incrementoTempo(tempoMaximo, numeroPassos);
+                    double[] estado = new double[modelo.numeroCompartimentos()];
+                    for (int passo = 0; passo < numeroPassos; passo++) {
+                        ((SolucaoAnalitica) modelo).estadoEm(passo * incrementoTempo, estadoInicial, estado);
+                        observador.observar(passo, passo * incrementoTempo, estado);
+                        if (observador.interromper()) {
+                            break;
+                        }
+                    }
+                    return estado;
+                }
+                return integrarRK4(modelo, estadoInicial, tempoMaximo, numeroPassos, observador);
+            case RK4:
+            default:
+                return integrarRK4(modelo, estadoInicial, tempoMaximo, numeroPassos, observador);
+        }
+    }
+
+    // --- 7. Seleção do método adaptativo com histórico dos passos aceitos ---
+    // AUTOMATICO só chega aqui para cenários rígidos, e então usa Rosenbrock
+    public static ResultadoAdaptativo integrarAdaptativo(ConfiguracaoSolver configuracao, ModeloCompartimental modelo,
+                                                         double[] estadoInicial, double tempoMaximo) {
+        switch (configuracao.getMetodo()) {
+            case DORMAND_PRINCE:
+                return SolverDormandPrince.integrar(modelo, estadoInicial, tempoMaximo,
+                        configuracao.getToleranciaRelativa(), configuracao.getToleranciaAbsoluta());
+            case ROSENBROCK:
+            case AUTOMATICO:
+                return SolverRosenbrock.integrar(modelo, estadoInicial, tempoMaximo,
+                        configuracao.getToleranciaRelativa(), configuracao.getToleranciaAbsoluta());
+            default:
+                throw new IllegalArgumentException("Método de passo fixo não é adaptativo: " + configuracao);
+        }
+    }
+
+    // --- 7b. Seleção do método adaptativo em fluxo: retorna o estado final ---
+    public static double[] integrarAdaptativo(ConfiguracaoSolver configuracao, ModeloCompartimental modelo,
+                                              double[] estadoInicial, double tempoMaximo,
+                                              ObservadorTrajetoria observador) {
+        switch (configuracao.getMetodo()) {
+            case DORMAND_PRINCE:
+                return SolverDormandPrince.integrar(modelo, estadoInicial, tempoMaximo,
+                        configuracao.getToleranciaRelativa(), configuracao.getToleranciaAbsoluta(), observador);
+            case ROSENBROCK:
+            case AUTOMATICO:
+                return SolverRosenbrock.integrar(modelo, estadoInicial, tempoMaximo,
+                        configuracao.getToleranciaRelativa(), configuracao.getToleranciaAbsoluta(), observador);
+            default:
+                throw new IllegalArgumentException("Método de passo fixo não é adaptativo: " + configuracao);
+        }
+    }
+
+    // --- 8. Detecção de rigidez: o passo fixo excede a região de estabilidade do RK4? ---
+    public static boolean rigidoParaRK4(ModeloCompartimental modelo, double[] estadoInicial,
+                                        double tempoMaximo, int numeroPassos) {
+        return raioEspectral(modelo, estadoInicial) * incrementoTempo(tempoMaximo, numeroPassos)
+               > LIMITE_ESTABILIDADE_RK4;
+    }
+
+    // Estima o raio espectral do jacobiano no estado inicial pelo disco de Gershgorin
+    static double raioEspectral(ModeloCompartimental modelo, double[] estadoInicial) {
+        int n = modelo.numeroCompartimentos();
+        double[][] jacobiano = new double[n][n];
+        modelo.jacobiano(0.0, estadoInicial, jacobiano);
+        double raioEspectral = 0.0;
+        for (int i = 0; i < n; i++) {
+            double somaLinha = 0.0;
+            for (int j = 0; j < n; j++) {
+                somaLinha += Math.abs(jacobiano[i][j]);
+            }
+            raioEspectral = Math.max(raioEspectral, somaLinha);
+        }
+        return raioEspectral;
+    }
+
+    // --- 9. Saída densa: passos internos grossos, consulta em instantes quaisquer ---
+
+    // RK4 na grade de numeroPassos pontos, guardando o interpolante de cada passo
+    public static SaidaDensa integrarDenso(ModeloCompartimental modelo, double[] estadoInicial,
+                                           double tempoMaximo, int numeroPassos) {
+        SaidaDensa saida = new SaidaDensa(modelo, numeroPassos);
+        integrarRK4(modelo, estadoInicial, tempoMaximo, numeroPassos, saida);
+        return saida;
+    }
+
+    // Qualquer método da configuração (os adaptativos guardam um ponto por passo aceito)
+    public static SaidaDensa integrarDenso(ConfiguracaoSolver configuracao, ModeloCompartimental modelo,
+                                           double[] estadoInicial, double tempoMaximo, int numeroPassos) {
+        SaidaDensa saida = new SaidaDensa(modelo);
+        integrar(configuracao, modelo, estadoInicial, tempoMaximo, numeroPassos, saida);
+        return saida;
+    }
+
+    // Número de pontos da grade interna para |λ·h| <= PASSO_DENSO_RELATIVO (mínimo de 2)
+    public static int passosInternos(ModeloCompartimental modelo, double[] estadoInicial, double tempoMaximo) {
+        double passosNecessarios = Math.ceil(raioEspectral(modelo, estadoInicial) * tempoMaximo / PASSO_DENSO_RELATIVO);
+        return (int) Math.min(Integer.MAX_VALUE - 1, Math.max(1, passosNecessarios)) + 1;
+    }
+
+    // Solução nos instantes pedidos (t >= 0, em qualquer ordem), sem numeroPassos:
+    // a grade interna vem de passosInternos e o ANALITICO avalia a forma fechada direto
+    public static Trajetoria integrarEmInstantes(ConfiguracaoSolver configuracao, ModeloCompartimental modelo,
+                                                 double[] estadoInicial, double[] instantes) {
+        double tempoMaximo = 0.0;
+        for (double instante : instantes) {
+            if (!(instante >= 0)) {
+                throw new IllegalArgumentException("Instante de consulta inválido: " + instante);
+            }
+            tempoMaximo = Math.max(tempoMaximo, instante);
+        }
+        int n = modelo.numeroCompartimentos();
+        if (configuracao.getMetodo() == MetodoIntegracao.ANALITICO && modelo instanceof SolucaoAnalitica) {
+            Trajetoria resultado = Trajetoria.comInstantes(n, instantes);
+            double[] estado = new double[n];
+            for (int ponto = 0; ponto < instantes.length; ponto++) {
+                ((SolucaoAnalitica) modelo).estadoEm(instantes[ponto], estadoInicial, estado);
+                resultado.definir(ponto, estado);
+            }
+            return resultado;
+        }
+        if (tempoMaximo == 0.0) {
+            // Todos os instantes em t = 0
+            Trajetoria resultado = Trajetoria.comInstantes(n, instantes);
+            for (int ponto = 0; ponto < instantes.length; ponto++) {
+                resultado.definir(ponto, estadoInicial);
+            }
+            return resultado;
+        }
+        int numeroPassos = passosInternos(modelo, estadoInicial, tempoMaximo);
+        return integrarDenso(configuracao, modelo, estadoInicial, tempoMaximo, numeroPassos).emInstantes(instantes);
+    }
+
+    // --- 10. Parada antecipada: integra até o estado estacionário ou a extinção ---
+    // O restante até tempoMaximo vem da cauda analítica do modelo, sem passos de integração.
+    // O ANALITICO com forma fechada já não integra e ignora o critério.
+
+    static boolean pararAntecipadamente(ConfiguracaoSolver configuracao) {
+        return configuracao.getCriterioParada() != null && configuracao.getMetodo() != MetodoIntegracao.ANALITICO;
+    }
+
+    public static double picoInfectadosComParada(ConfiguracaoSolver configuracao, ModeloCompartimental modelo,
+                                                 double[] estadoInicial, double tempoMaximo, int numeroPassos) {
+        double[] maximoInfectados = {modelo.infectados(estadoInicial)};
+        ParadaAntecipada parada = new ParadaAntecipada(modelo, configuracao.getCriterioParada(),
+            (passo, tempo, estado) -> {
+                maximoInfectados[0] = Math.max(maximoInfectados[0], modelo.infectados(estado));
+            });
+        integrar(configuracao, modelo, estadoInicial, tempoMaximo, numeroPassos, parada);
+        if (parada.parou()) {
+            // As caudas são monótonas: o maior valor restante está em tempoMaximo
+            double[] estadoFinal = new double[modelo.numeroCompartimentos()];
+            parada.estadoEm(tempoMaximo, estadoFinal);
+            maximoInfectados[0] = Math.max(maximoInfectados[0], modelo.infectados(estadoFinal));
+        }
+        return maximoInfectados[0];
+    }
+
+    public static double[] estadoFinalComParada(ConfiguracaoSolver configuracao, ModeloCompartimental modelo,
+                                                double[] estadoInicial, double tempoMaximo, int numeroPassos) {
+        ParadaAntecipada parada = new ParadaAntecipada(modelo, configuracao.getCriterioParada());
+        double[] estado = integrar(configuracao, modelo, estadoInicial, tempoMaximo, numeroPassos, parada);
+        if (parada.parou()) {
+            parada.estadoEm(tempoMaximo, estado);
+        }
+        return estado;
+    }
+
+    // Histórico na grade de passos: os pontos após a parada são preenchidos pela cauda analítica
+    public static Trajetoria integrarComParada(ConfiguracaoSolver configuracao, ModeloCompartimental modelo,
+                                               double[] estadoInicial, double tempoMaximo, int numeroPassos) {
+        Trajetoria historico = Trajetoria.comGrade(modelo.numeroCompartimentos(), tempoMaximo, numeroPassos);
+        ParadaAntecipada parada = new ParadaAntecipada(modelo, configuracao.getCriterioParada(),
+            (passo, tempo, estado) -> historico.definir(passo, estado));
+        switch (configuracao.getMetodo()) {
+            case RK4:
+                integrarRK4(modelo, estadoInicial, tempoMaximo, numeroPassos, parada);
+                break;
+            case ABM4:
+                SolverAdamsBashforthMoulton.integrar(modelo, estadoInicial, tempoMaximo, numeroPassos, parada);
+                break;
+            default:
+                throw new IllegalArgumentException("Método sem grade fixa de passos: " + configuracao);
+        }
+        if (parada.parou()) {
+            double[] estado = new double[modelo.numeroCompartimentos()];
+            for (int passo = parada.getPassoParada() + 1; passo < numeroPassos; passo++) {
+                parada.estadoEm(historico.tempo(passo), estado);
+                historico.definir(passo, estado);
+            }
+        }
+        return historico;
+    }
+}
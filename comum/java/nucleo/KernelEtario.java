@@ -0,0 +1,109 @@
+package nucleo;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Força de infecção dos modelos estruturados por idade ({@link ModeloSIREtario},
+ * {@link ModeloSISEtario}): λ = M·I, com M[i][j] = β·C[i][j]/N_j guardada por
+ * colunas. É o custo dominante do passo (G² multiplicações por estágio do RK4,
+ * contra O(G) do resto da derivada).
+ *
+ * O produto é feito em blocos de linhas: o trecho de λ do bloco fica na L1
+ * enquanto as colunas passam, e quatro colunas por vez entram em um único
+ * laço do tipo axpy (λ[i] += M[i][j]·I_j + ... + M[i][j+3]·I_{j+3}), com
+ * acesso contíguo que o C2 vetoriza e um quarto das leituras e escritas de λ
+ * de uma coluna por vez. Com um pool e G >= {@link #LIMIAR_PARALELO}, as
+ * linhas são divididas entre as threads.
+ */
+final class KernelEtario {
+
+    // 256 doubles de λ (2 KB) por bloco: ficam na L1 junto com as 4 colunas em uso
+    static final int BLOCO_LINHAS = 256;
+    // Abaixo disso o produto custa poucos microssegundos, menos que distribuir tarefas no pool
+    static final int LIMIAR_PARALELO = 128;
+    // Linhas mínimas por tarefa; as divisões caem em múltiplos de 8 doubles (linha de cache de
+    // 64 bytes), sem falso compartilhamento entre threads que escrevem em λ
+    private static final int LINHAS_MINIMAS_TAREFA = 32;
+
+    private KernelEtario() {
+    }
+
+    // destino[0..grupos) = M·estado[deslocamentoInfectados..deslocamentoInfectados + grupos)
+    static void forcaInfeccao(double[] colunas, int grupos, double[] estado, int deslocamentoInfectados,
+                              double[] destino, ForkJoinPool pool) {
+        if (pool == null || grupos < LIMIAR_PARALELO) {
+            produto(colunas, grupos, estado, deslocamentoInfectados, destino, 0, grupos);
+            return;
+        }
+        int tarefas = Math.max(1, Math.min(pool.getParallelism(), grupos / LINHAS_MINIMAS_TAREFA));
+        int linhasPorTarefa = Math.max(LINHAS_MINIMAS_TAREFA, (grupos + tarefas - 1) / tarefas);
+        pool.invoke(new TarefaProduto(colunas, grupos, estado, deslocamentoInfectados, destino,
+                                      0, grupos, linhasPorTarefa));
+    }
+
+    // Linhas [inicio, fim) do produto, em blocos de BLOCO_LINHAS
+    static void produto(double[] colunas, int grupos, double[] x, int deslocamentoX, double[] y,
+                        int inicio, int fim) {
+        for (int bloco = inicio; bloco < fim; bloco += BLOCO_LINHAS) {
+            int fimBloco = Math.min(bloco + BLOCO_LINHAS, fim);
+            Arrays.fill(y, bloco, fimBloco, 0.0);
+
+            int j = 0;
+            for (; j + 3 < grupos; j += 4) {
+                double x0 = x[deslocamentoX + j], x1 = x[deslocamentoX + j + 1];
+                double x2 = x[deslocamentoX + j + 2], x3 = x[deslocamentoX + j + 3];
+                int c0 = j * grupos, c1 = c0 + grupos, c2 = c1 + grupos, c3 = c2 + grupos;
+                for (int i = bloco; i < fimBloco; i++) {
+                    y[i] += colunas[c0 + i] * x0 + colunas[c1 + i] * x1 + colunas[c2 + i] * x2 + colunas[c3 + i] * x3;
+                }
+            }
+            // Colunas restantes (G não múltiplo de 4)
+            for (; j < grupos; j++) {
+                double xj = x[deslocamentoX + j];
+                int c = j * grupos;
+                for (int i = bloco; i < fimBloco; i++) {
+                    y[i] += colunas[c + i] * xj;
+                }
+            }
+        }
+    }
+
+    // Divide as linhas ao meio (em múltiplos de 8) até 'linhasPorTarefa'
+    private static final class TarefaProduto extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] colunas;
+        private final int grupos;
+        private final double[] x;
+        private final int deslocamentoX;
+        private final double[] y;
+        private final int inicio;
+        private final int fim;
+        private final int linhasPorTarefa;
+
+        TarefaProduto(double[] colunas, int grupos, double[] x, int deslocamentoX, double[] y,
+                      int inicio, int fim, int linhasPorTarefa) {
+            this.colunas = colunas;
+            this.grupos = grupos;
+            this.x = x;
+            this.deslocamentoX = deslocamentoX;
+            this.y = y;
+            this.inicio = inicio;
+            this.fim = fim;
+            this.linhasPorTarefa = linhasPorTarefa;
+        }
+
+        @Override
+        protected void compute() {
+            if (fim - inicio <= linhasPorTarefa) {
+                produto(colunas, grupos, x, deslocamentoX, y, inicio, fim);
+                return;
+            }
+            int meio = inicio + (((fim - inicio) / 2 + 7) & ~7);
+            invokeAll(new TarefaProduto(colunas, grupos, x, deslocamentoX, y, inicio, meio, linhasPorTarefa),
+                      new TarefaProduto(colunas, grupos, x, deslocamentoX, y, meio, fim, linhasPorTarefa));
+        }
+    }
+}
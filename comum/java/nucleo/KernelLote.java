@@ -0,0 +1,61 @@
+package nucleo;
+
+/**
+ * Kernel que integra um lote de cenários em passo travado (lockstep): todos
+ * compartilham população, taxa de recuperação, incremento e número de passos,
+ * e diferem apenas na taxa de transmissão, como nas varreduras de
+ * CenariosParaleloSIR/SIS. Parâmetros e estados vêm em estrutura de vetores
+ * (um {@code double[]} por grandeza, um elemento por cenário), de modo que a
+ * implementação vetorial avança várias pistas SIMD por instrução.
+ *
+ * Os estados dos cenários [inicio, fim) são atualizados no próprio lugar até
+ * o último ponto da grade, e o pico de infectados de cada cenário vai para
+ * {@code picos}. O resultado é idêntico, bit a bit, ao de
+ * {@link Integrador#picoInfectadosRK4} cenário a cenário.
+ *
+ * As sobrecargas com {@code float[]} fazem o mesmo em precisão simples
+ * ({@link Precisao#SIMPLES}): metade da memória e o dobro de pistas por
+ * registrador. A atualização do estado usa soma compensada, para que
+ * incrementos menores que o ulp de S ~ N não se percam; o erro restante em
+ * relação ao double é medido por {@link ComparacaoPrecisao}.
+ */
+public interface KernelLote {
+
+    // Propriedade de sistema que desliga a implementação vetorial (-Dnucleo.vetorial=false)
+    String PROPRIEDADE_VETORIAL = "nucleo.vetorial";
+    String CLASSE_VETORIAL = "nucleo.vetorial.KernelLoteVetorial";
+
+    void integrarSIR(double populacaoTotal, double taxaRecuperacao, double[] taxasTransmissao,
+                     double[] suscetiveis, double[] infectados, double[] recuperados,
+                     double incrementoTempo, int numeroPassos, double[] picos, int inicio, int fim);
+
+    void integrarSIS(double populacaoTotal, double taxaRecuperacao, double[] taxasTransmissao,
+                     double[] suscetiveis, double[] infectados,
+                     double incrementoTempo, int numeroPassos, double[] picos, int inicio, int fim);
+
+    void integrarSIR(float populacaoTotal, float taxaRecuperacao, float[] taxasTransmissao,
+                     float[] suscetiveis, float[] infectados, float[] recuperados,
+                     float incrementoTempo, int numeroPassos, float[] picos, int inicio, int fim);
+
+    void integrarSIS(float populacaoTotal, float taxaRecuperacao, float[] taxasTransmissao,
+                     float[] suscetiveis, float[] infectados,
+                     float incrementoTempo, int numeroPassos, float[] picos, int inicio, int fim);
+
+    // Cenários por grupo de pistas (1 no escalar); divisões do lote entre threads devem ser múltiplas dele
+    int largura(Precisao precisao);
+
+    String descricao();
+
+    // Implementação vetorial (jdk.incubator.vector) quando o módulo está presente, senão a escalar
+    static KernelLote melhorDisponivel() {
+        if (!Boolean.parseBoolean(System.getProperty(PROPRIEDADE_VETORIAL, "true"))) {
+            return KernelLoteEscalar.INSTANCIA;
+        }
+        try {
+            return (KernelLote) Class.forName(CLASSE_VETORIAL).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // Módulo jdk.incubator.vector ausente (falta --add-modules) ou classe não compilada
+            return KernelLoteEscalar.INSTANCIA;
+        }
+    }
+}
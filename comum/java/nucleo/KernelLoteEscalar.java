@@ -0,0 +1,270 @@
+package nucleo;
+
+/**
+ * Implementação escalar do {@link KernelLote}, recurso quando a Vector API não
+ * está disponível e também usada nas pistas que sobram no fim de um lote
+ * vetorial. Avança blocos de {@link #CENARIOS_POR_BLOCO} cenários em passo
+ * travado: a cada passo, o RK4 fundido (mesma ordem de operações de
+ * {@link KernelSIR#passoRK4}/{@link KernelSIS#passoRK4}) é aplicado a todos os
+ * cenários do bloco. Os cenários são independentes, então o processador
+ * sobrepõe as cadeias de dependência de vários deles, em vez de esperar a
+ * latência de cada estágio como no laço de um cenário só.
+ */
+public final class KernelLoteEscalar implements KernelLote {
+
+    // Estados de um bloco cabem folgados no cache L1
+    static final int CENARIOS_POR_BLOCO = 16;
+
+    static final KernelLoteEscalar INSTANCIA = new KernelLoteEscalar();
+
+    private KernelLoteEscalar() {
+    }
+
+    public static KernelLoteEscalar instancia() {
+        return INSTANCIA;
+    }
+
+    @Override
+    public void integrarSIR(double populacaoTotal, double taxaRecuperacao, double[] taxasTransmissao,
+                            double[] suscetiveis, double[] infectados, double[] recuperados,
+                            double incrementoTempo, int numeroPassos, double[] picos, int inicio, int fim) {
+        double[] taxasPorContato = taxasPorContato(taxasTransmissao, populacaoTotal, inicio, fim);
+        for (int bloco = inicio; bloco < fim; bloco += CENARIOS_POR_BLOCO) {
+            int fimBloco = Math.min(fim, bloco + CENARIOS_POR_BLOCO);
+            System.arraycopy(infectados, bloco, picos, bloco, fimBloco - bloco);
+
+            for (int passo = 0; passo < numeroPassos - 1; passo++) {
+                for (int c = bloco; c < fimBloco; c++) {
+                    double taxaPorContato = taxasPorContato[c - inicio];
+                    double s = suscetiveis[c], i = infectados[c];
+
+                    // k1 = h * f(y)
+                    double novasInfeccoes = taxaPorContato * s * i;
+                    double novasRecuperacoes = taxaRecuperacao * i;
+                    double k1S = -novasInfeccoes * incrementoTempo;
+                    double k1I = (novasInfeccoes - novasRecuperacoes) * incrementoTempo;
+                    double k1R = novasRecuperacoes * incrementoTempo;
+
+                    // k2 = h * f(y + k1/2)
+                    double sK = s + 0.5 * k1S, iK = i + 0.5 * k1I;
+                    novasInfeccoes = taxaPorContato * sK * iK;
+                    novasRecuperacoes = taxaRecuperacao * iK;
+                    double k2S = -novasInfeccoes * incrementoTempo;
+                    double k2I = (novasInfeccoes - novasRecuperacoes) * incrementoTempo;
+                    double k2R = novasRecuperacoes * incrementoTempo;
+
+                    // k3 = h * f(y + k2/2)
+                    sK = s + 0.5 * k2S;
+                    iK = i + 0.5 * k2I;
+                    novasInfeccoes = taxaPorContato * sK * iK;
+                    novasRecuperacoes = taxaRecuperacao * iK;
+                    double k3S = -novasInfeccoes * incrementoTempo;
+                    double k3I = (novasInfeccoes - novasRecuperacoes) * incrementoTempo;
+                    double k3R = novasRecuperacoes * incrementoTempo;
+
+                    // k4 = h * f(y + k3)
+                    sK = s + k3S;
+                    iK = i + k3I;
+                    novasInfeccoes = taxaPorContato * sK * iK;
+                    novasRecuperacoes = taxaRecuperacao * iK;
+                    double k4S = -novasInfeccoes * incrementoTempo;
+                    double k4I = (novasInfeccoes - novasRecuperacoes) * incrementoTempo;
+                    double k4R = novasRecuperacoes * incrementoTempo;
+
+                    double novoS = s + (k1S + 2.0 * k2S + 2.0 * k3S + k4S) / 6.0;
+                    double novoI = i + (k1I + 2.0 * k2I + 2.0 * k3I + k4I) / 6.0;
+                    double novoR = recuperados[c] + (k1R + 2.0 * k2R + 2.0 * k3R + k4R) / 6.0;
+                    suscetiveis[c] = novoS < 0 ? 0 : novoS;
+                    infectados[c] = novoI < 0 ? 0 : novoI;
+                    recuperados[c] = novoR < 0 ? 0 : novoR;
+                    if (infectados[c] > picos[c]) {
+                        picos[c] = infectados[c];
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void integrarSIS(double populacaoTotal, double taxaRecuperacao, double[] taxasTransmissao,
+                            double[] suscetiveis, double[] infectados,
+                            double incrementoTempo, int numeroPassos, double[] picos, int inicio, int fim) {
+        double[] taxasPorContato = taxasPorContato(taxasTransmissao, populacaoTotal, inicio, fim);
+        for (int bloco = inicio; bloco < fim; bloco += CENARIOS_POR_BLOCO) {
+            int fimBloco = Math.min(fim, bloco + CENARIOS_POR_BLOCO);
+            System.arraycopy(infectados, bloco, picos, bloco, fimBloco - bloco);
+
+            for (int passo = 0; passo < numeroPassos - 1; passo++) {
+                for (int c = bloco; c < fimBloco; c++) {
+                    double taxaPorContato = taxasPorContato[c - inicio];
+                    double s = suscetiveis[c], i = infectados[c];
+
+                    // Fluxo líquido S -> I de cada estágio (dS/dt = -dI/dt)
+                    double k1 = (taxaPorContato * s * i - taxaRecuperacao * i) * incrementoTempo;
+                    double sK = s - 0.5 * k1, iK = i + 0.5 * k1;
+                    double k2 = (taxaPorContato * sK * iK - taxaRecuperacao * iK) * incrementoTempo;
+                    sK = s - 0.5 * k2;
+                    iK = i + 0.5 * k2;
+                    double k3 = (taxaPorContato * sK * iK - taxaRecuperacao * iK) * incrementoTempo;
+                    sK = s - k3;
+                    iK = i + k3;
+                    double k4 = (taxaPorContato * sK * iK - taxaRecuperacao * iK) * incrementoTempo;
+
+                    double fluxo = (k1 + 2.0 * k2 + 2.0 * k3 + k4) / 6.0;
+                    double novoS = s - fluxo, novoI = i + fluxo;
+                    suscetiveis[c] = novoS < 0 ? 0 : novoS;
+                    infectados[c] = novoI < 0 ? 0 : novoI;
+                    if (infectados[c] > picos[c]) {
+                        picos[c] = infectados[c];
+                    }
+                }
+            }
+        }
+    }
+
+    // beta/N de cada cenário da faixa, calculado uma vez (como no início do passo RK4 fundido)
+    static double[] taxasPorContato(double[] taxasTransmissao, double populacaoTotal, int inicio, int fim) {
+        double[] taxasPorContato = new double[Math.max(0, fim - inicio)];
+        for (int c = inicio; c < fim; c++) {
+            taxasPorContato[c - inicio] = taxasTransmissao[c] / populacaoTotal;
+        }
+        return taxasPorContato;
+    }
+
+    // --- Precisão simples (float32): mesmo laço, com soma compensada (Kahan) na atualização ---
+    // Com S perto de N ~ 1e6 o ulp do float é 0,06 e incrementos menores que isso se perderiam a
+    // cada passo; a compensação guarda o que o arredondamento descartou e devolve no passo seguinte
+
+    @Override
+    public void integrarSIR(float populacaoTotal, float taxaRecuperacao, float[] taxasTransmissao,
+                            float[] suscetiveis, float[] infectados, float[] recuperados,
+                            float incrementoTempo, int numeroPassos, float[] picos, int inicio, int fim) {
+        float[] taxasPorContato = taxasPorContato(taxasTransmissao, populacaoTotal, inicio, fim);
+        float[] compensacaoS = new float[Math.max(0, fim - inicio)];
+        float[] compensacaoI = new float[compensacaoS.length];
+        float[] compensacaoR = new float[compensacaoS.length];
+        for (int bloco = inicio; bloco < fim; bloco += CENARIOS_POR_BLOCO) {
+            int fimBloco = Math.min(fim, bloco + CENARIOS_POR_BLOCO);
+            System.arraycopy(infectados, bloco, picos, bloco, fimBloco - bloco);
+
+            for (int passo = 0; passo < numeroPassos - 1; passo++) {
+                for (int c = bloco; c < fimBloco; c++) {
+                    float taxaPorContato = taxasPorContato[c - inicio];
+                    float s = suscetiveis[c], i = infectados[c], r = recuperados[c];
+
+                    // k1 = h * f(y)
+                    float novasInfeccoes = taxaPorContato * s * i;
+                    float novasRecuperacoes = taxaRecuperacao * i;
+                    float k1S = -novasInfeccoes * incrementoTempo;
+                    float k1I = (novasInfeccoes - novasRecuperacoes) * incrementoTempo;
+                    float k1R = novasRecuperacoes * incrementoTempo;
+
+                    // k2 = h * f(y + k1/2)
+                    float sK = s + 0.5f * k1S, iK = i + 0.5f * k1I;
+                    novasInfeccoes = taxaPorContato * sK * iK;
+                    novasRecuperacoes = taxaRecuperacao * iK;
+                    float k2S = -novasInfeccoes * incrementoTempo;
+                    float k2I = (novasInfeccoes - novasRecuperacoes) * incrementoTempo;
+                    float k2R = novasRecuperacoes * incrementoTempo;
+
+                    // k3 = h * f(y + k2/2)
+                    sK = s + 0.5f * k2S;
+                    iK = i + 0.5f * k2I;
+                    novasInfeccoes = taxaPorContato * sK * iK;
+                    novasRecuperacoes = taxaRecuperacao * iK;
+                    float k3S = -novasInfeccoes * incrementoTempo;
+                    float k3I = (novasInfeccoes - novasRecuperacoes) * incrementoTempo;
+                    float k3R = novasRecuperacoes * incrementoTempo;
+
+                    // k4 = h * f(y + k3)
+                    sK = s + k3S;
+                    iK = i + k3I;
+                    novasInfeccoes = taxaPorContato * sK * iK;
+                    novasRecuperacoes = taxaRecuperacao * iK;
+                    float k4S = -novasInfeccoes * incrementoTempo;
+                    float k4I = (novasInfeccoes - novasRecuperacoes) * incrementoTempo;
+                    float k4R = novasRecuperacoes * incrementoTempo;
+
+                    // y_{i+1} = y_i + incremento, somando de volta o que o arredondamento anterior perdeu
+                    float incrementoS = (k1S + 2.0f * k2S + 2.0f * k3S + k4S) / 6.0f - compensacaoS[c - inicio];
+                    float incrementoI = (k1I + 2.0f * k2I + 2.0f * k3I + k4I) / 6.0f - compensacaoI[c - inicio];
+                    float incrementoR = (k1R + 2.0f * k2R + 2.0f * k3R + k4R) / 6.0f - compensacaoR[c - inicio];
+                    float novoS = s + incrementoS;
+                    float novoI = i + incrementoI;
+                    float novoR = r + incrementoR;
+                    compensacaoS[c - inicio] = (novoS - s) - incrementoS;
+                    compensacaoI[c - inicio] = (novoI - i) - incrementoI;
+                    compensacaoR[c - inicio] = (novoR - r) - incrementoR;
+                    suscetiveis[c] = novoS < 0 ? 0f : novoS;
+                    infectados[c] = novoI < 0 ? 0f : novoI;
+                    recuperados[c] = novoR < 0 ? 0f : novoR;
+                    if (infectados[c] > picos[c]) {
+                        picos[c] = infectados[c];
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void integrarSIS(float populacaoTotal, float taxaRecuperacao, float[] taxasTransmissao,
+                            float[] suscetiveis, float[] infectados,
+                            float incrementoTempo, int numeroPassos, float[] picos, int inicio, int fim) {
+        float[] taxasPorContato = taxasPorContato(taxasTransmissao, populacaoTotal, inicio, fim);
+        float[] compensacaoS = new float[Math.max(0, fim - inicio)];
+        float[] compensacaoI = new float[compensacaoS.length];
+        for (int bloco = inicio; bloco < fim; bloco += CENARIOS_POR_BLOCO) {
+            int fimBloco = Math.min(fim, bloco + CENARIOS_POR_BLOCO);
+            System.arraycopy(infectados, bloco, picos, bloco, fimBloco - bloco);
+
+            for (int passo = 0; passo < numeroPassos - 1; passo++) {
+                for (int c = bloco; c < fimBloco; c++) {
+                    float taxaPorContato = taxasPorContato[c - inicio];
+                    float s = suscetiveis[c], i = infectados[c];
+
+                    // Fluxo líquido S -> I de cada estágio (dS/dt = -dI/dt)
+                    float k1 = (taxaPorContato * s * i - taxaRecuperacao * i) * incrementoTempo;
+                    float sK = s - 0.5f * k1, iK = i + 0.5f * k1;
+                    float k2 = (taxaPorContato * sK * iK - taxaRecuperacao * iK) * incrementoTempo;
+                    sK = s - 0.5f * k2;
+                    iK = i + 0.5f * k2;
+                    float k3 = (taxaPorContato * sK * iK - taxaRecuperacao * iK) * incrementoTempo;
+                    sK = s - k3;
+                    iK = i + k3;
+                    float k4 = (taxaPorContato * sK * iK - taxaRecuperacao * iK) * incrementoTempo;
+
+                    float fluxo = (k1 + 2.0f * k2 + 2.0f * k3 + k4) / 6.0f;
+                    float incrementoS = -fluxo - compensacaoS[c - inicio];
+                    float incrementoI = fluxo - compensacaoI[c - inicio];
+                    float novoS = s + incrementoS, novoI = i + incrementoI;
+                    compensacaoS[c - inicio] = (novoS - s) - incrementoS;
+                    compensacaoI[c - inicio] = (novoI - i) - incrementoI;
+                    suscetiveis[c] = novoS < 0 ? 0f : novoS;
+                    infectados[c] = novoI < 0 ? 0f : novoI;
+                    if (infectados[c] > picos[c]) {
+                        picos[c] = infectados[c];
+                    }
+                }
+            }
+        }
+    }
+
+    // beta/N de cada cenário da faixa, em precisão simples
+    static float[] taxasPorContato(float[] taxasTransmissao, float populacaoTotal, int inicio, int fim) {
+        float[] taxasPorContato = new float[Math.max(0, fim - inicio)];
+        for (int c = inicio; c < fim; c++) {
+            taxasPorContato[c - inicio] = taxasTransmissao[c] / populacaoTotal;
+        }
+        return taxasPorContato;
+    }
+
+    @Override
+    public int largura(Precisao precisao) {
+        return 1;
+    }
+
+    @Override
+    public String descricao() {
+        return "escalar (blocos de " + CENARIOS_POR_BLOCO + " cenários)";
+    }
+}
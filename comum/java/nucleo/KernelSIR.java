@@ -0,0 +1,143 @@
+package nucleo;
+
+/**
+ * Kernel RK4 fundido do Modelo SIR. Os quatro estágios do RK4 são calculados
+ * apenas com variáveis locais (sem vetores de derivada, coeficientes ou estados
+ * intermediários), de modo que o laço de integração não aloca memória. Usado
+ * por {@link ModeloSIR#passoRK4} no laço do {@link Integrador}. Contém também o
+ * laço ABM4 fundido usado por {@link ModeloSIR#integrarABM4}.
+ */
+public final class KernelSIR {
+
+    private KernelSIR() {
+    }
+
+    // Passo RK4 fundido (atualiza o vetor estado = {S, I, R} no próprio lugar)
+    public static void passoRK4(double[] estado, double populacaoTotal, double taxaTransmissao,
+                                double taxaRecuperacao, double incrementoTempo) {
+        double taxaPorContato = taxaTransmissao / populacaoTotal;
+        double suscetiveis = estado[0];
+        double infectados = estado[1];
+
+        // k1 = h * f(y)
+        double novasInfeccoes = taxaPorContato * suscetiveis * infectados;
+        double novasRecuperacoes = taxaRecuperacao * infectados;
+        double k1S = -novasInfeccoes * incrementoTempo;
+        double k1I = (novasInfeccoes - novasRecuperacoes) * incrementoTempo;
+        double k1R = novasRecuperacoes * incrementoTempo;
+
+        // k2 = h * f(y + k1/2)
+        double suscetiveisK = suscetiveis + 0.5 * k1S;
+        double infectadosK = infectados + 0.5 * k1I;
+        novasInfeccoes = taxaPorContato * suscetiveisK * infectadosK;
+        novasRecuperacoes = taxaRecuperacao * infectadosK;
+        double k2S = -novasInfeccoes * incrementoTempo;
+        double k2I = (novasInfeccoes - novasRecuperacoes) * incrementoTempo;
+        double k2R = novasRecuperacoes * incrementoTempo;
+
+        // k3 = h * f(y + k2/2)
+        suscetiveisK = suscetiveis + 0.5 * k2S;
+        infectadosK = infectados + 0.5 * k2I;
+        novasInfeccoes = taxaPorContato * suscetiveisK * infectadosK;
+        novasRecuperacoes = taxaRecuperacao * infectadosK;
+        double k3S = -novasInfeccoes * incrementoTempo;
+        double k3I = (novasInfeccoes - novasRecuperacoes) * incrementoTempo;
+        double k3R = novasRecuperacoes * incrementoTempo;
+
+        // k4 = h * f(y + k3)
+        suscetiveisK = suscetiveis + k3S;
+        infectadosK = infectados + k3I;
+        novasInfeccoes = taxaPorContato * suscetiveisK * infectadosK;
+        novasRecuperacoes = taxaRecuperacao * infectadosK;
+        double k4S = -novasInfeccoes * incrementoTempo;
+        double k4I = (novasInfeccoes - novasRecuperacoes) * incrementoTempo;
+        double k4R = novasRecuperacoes * incrementoTempo;
+
+        // y_{i+1} = y_i + 1/6 * (k1 + 2*k2 + 2*k3 + k4), sem valores negativos
+        double novoS = suscetiveis + (k1S + 2.0 * k2S + 2.0 * k3S + k4S) / 6.0;
+        double novoI = infectados + (k1I + 2.0 * k2I + 2.0 * k3I + k4I) / 6.0;
+        double novoR = estado[2] + (k1R + 2.0 * k2R + 2.0 * k3R + k4R) / 6.0;
+        estado[0] = novoS < 0 ? 0 : novoS;
+        estado[1] = novoI < 0 ? 0 : novoI;
+        estado[2] = novoR < 0 ? 0 : novoR;
+    }
+
+    // Laço ABM4 (PECE) fundido: avança 'estado' numeroPassos - 1 passos e retorna o pico de I.
+    // Guarda apenas os fluxos S -> I (a) e I -> R (b) dos 4 últimos pontos, em variáveis locais.
+    public static double integrarABM4(double[] estado, double populacaoTotal, double taxaTransmissao,
+                                      double taxaRecuperacao, double incrementoTempo, int numeroPassos,
+                                      Trajetoria historico) {
+        double taxaPorContato = taxaTransmissao / populacaoTotal;
+        double h24 = incrementoTempo / 24.0;
+        double pico = estado[1];
+        if (historico != null) {
+            historico.definir(0, estado);
+        }
+
+        // Partida com RK4: fluxos em t_0..t_3 (índice 0 = ponto mais recente). Se houver
+        // menos de 4 pontos, o laço ABM4 abaixo não chega a executar
+        double a3 = taxaPorContato * estado[0] * estado[1], b3 = taxaRecuperacao * estado[1];
+        double a2 = 0, b2 = 0, a1 = 0, b1 = 0, a0 = 0, b0 = 0;
+        int partida = Math.min(3, numeroPassos - 1);
+        for (int passo = 0; passo < partida; passo++) {
+            passoRK4(estado, populacaoTotal, taxaTransmissao, taxaRecuperacao, incrementoTempo);
+            if (estado[1] > pico) {
+                pico = estado[1];
+            }
+            if (historico != null) {
+                historico.definir(passo + 1, estado);
+            }
+            a2 = a1; b2 = b1;
+            a1 = a0; b1 = b0;
+            a0 = taxaPorContato * estado[0] * estado[1];
+            b0 = taxaRecuperacao * estado[1];
+        }
+
+        double suscetiveis = estado[0], infectados = estado[1], recuperados = estado[2];
+        // Séries contíguas da trajetória (gravação direta, sem cópia por ponto)
+        double[] serieS = historico != null ? historico.serieInterna(0) : null;
+        double[] serieI = historico != null ? historico.serieInterna(1) : null;
+        double[] serieR = historico != null ? historico.serieInterna(2) : null;
+        for (int passo = partida; passo < numeroPassos - 1; passo++) {
+            // P: Adams-Bashforth de 4 passos
+            double somaA = 55.0 * a0 - 59.0 * a1 + 37.0 * a2 - 9.0 * a3;
+            double somaB = 55.0 * b0 - 59.0 * b1 + 37.0 * b2 - 9.0 * b3;
+            double suscetiveisP = suscetiveis - h24 * somaA;
+            double infectadosP = infectados + h24 * (somaA - somaB);
+
+            // E: fluxos no ponto predito
+            double aP = taxaPorContato * suscetiveisP * infectadosP;
+            double bP = taxaRecuperacao * infectadosP;
+
+            // C: Adams-Moulton de 3 passos, sem valores negativos
+            double fluxoA = h24 * (9.0 * aP + 19.0 * a0 - 5.0 * a1 + a2);
+            double fluxoB = h24 * (9.0 * bP + 19.0 * b0 - 5.0 * b1 + b2);
+            suscetiveis -= fluxoA;
+            infectados += fluxoA - fluxoB;
+            recuperados += fluxoB;
+            if (suscetiveis < 0) suscetiveis = 0;
+            if (infectados < 0) infectados = 0;
+            if (recuperados < 0) recuperados = 0;
+
+            // E: fluxos no ponto corrigido
+            a3 = a2; b3 = b2;
+            a2 = a1; b2 = b1;
+            a1 = a0; b1 = b0;
+            a0 = taxaPorContato * suscetiveis * infectados;
+            b0 = taxaRecuperacao * infectados;
+
+            if (infectados > pico) {
+                pico = infectados;
+            }
+            if (historico != null) {
+                serieS[passo + 1] = suscetiveis;
+                serieI[passo + 1] = infectados;
+                serieR[passo + 1] = recuperados;
+            }
+        }
+        estado[0] = suscetiveis;
+        estado[1] = infectados;
+        estado[2] = recuperados;
+        return pico;
+    }
+}
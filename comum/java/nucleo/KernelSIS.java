@@ -0,0 +1,117 @@
+package nucleo;
+
+/**
+ * Kernel RK4 fundido do Modelo SIS. Os quatro estágios do RK4 são calculados
+ * apenas com variáveis locais (sem vetores de derivada, coeficientes ou estados
+ * intermediários), de modo que o laço de integração não aloca memória. Usado
+ * por {@link ModeloSIS#passoRK4} no laço do {@link Integrador}. Contém também o
+ * laço ABM4 fundido usado por {@link ModeloSIS#integrarABM4}.
+ */
+public final class KernelSIS {
+
+    private KernelSIS() {
+    }
+
+    // Passo RK4 fundido (atualiza o vetor estado = {S, I} no próprio lugar)
+    public static void passoRK4(double[] estado, double populacaoTotal, double taxaTransmissao,
+                                double taxaRecuperacao, double incrementoTempo) {
+        double taxaPorContato = taxaTransmissao / populacaoTotal;
+        double suscetiveis = estado[0];
+        double infectados = estado[1];
+
+        // No SIS, dS/dt = -dI/dt: basta calcular o fluxo líquido S -> I de cada estágio
+        // k1 = h * f(y)
+        double k1 = (taxaPorContato * suscetiveis * infectados - taxaRecuperacao * infectados) * incrementoTempo;
+
+        // k2 = h * f(y + k1/2)
+        double suscetiveisK = suscetiveis - 0.5 * k1;
+        double infectadosK = infectados + 0.5 * k1;
+        double k2 = (taxaPorContato * suscetiveisK * infectadosK - taxaRecuperacao * infectadosK) * incrementoTempo;
+
+        // k3 = h * f(y + k2/2)
+        suscetiveisK = suscetiveis - 0.5 * k2;
+        infectadosK = infectados + 0.5 * k2;
+        double k3 = (taxaPorContato * suscetiveisK * infectadosK - taxaRecuperacao * infectadosK) * incrementoTempo;
+
+        // k4 = h * f(y + k3)
+        suscetiveisK = suscetiveis - k3;
+        infectadosK = infectados + k3;
+        double k4 = (taxaPorContato * suscetiveisK * infectadosK - taxaRecuperacao * infectadosK) * incrementoTempo;
+
+        // y_{i+1} = y_i + 1/6 * (k1 + 2*k2 + 2*k3 + k4), sem valores negativos
+        double fluxo = (k1 + 2.0 * k2 + 2.0 * k3 + k4) / 6.0;
+        double novoS = suscetiveis - fluxo;
+        double novoI = infectados + fluxo;
+        estado[0] = novoS < 0 ? 0 : novoS;
+        estado[1] = novoI < 0 ? 0 : novoI;
+    }
+
+    // Laço ABM4 (PECE) fundido: avança 'estado' numeroPassos - 1 passos e retorna o pico de I.
+    // Guarda apenas o fluxo líquido S -> I dos 4 últimos pontos, em variáveis locais.
+    public static double integrarABM4(double[] estado, double populacaoTotal, double taxaTransmissao,
+                                      double taxaRecuperacao, double incrementoTempo, int numeroPassos,
+                                      Trajetoria historico) {
+        double taxaPorContato = taxaTransmissao / populacaoTotal;
+        double h24 = incrementoTempo / 24.0;
+        double pico = estado[1];
+        if (historico != null) {
+            historico.definir(0, estado);
+        }
+
+        // Partida com RK4: fluxos em t_0..t_3 (índice 0 = ponto mais recente). Se houver
+        // menos de 4 pontos, o laço ABM4 abaixo não chega a executar
+        double g3 = (taxaPorContato * estado[0] - taxaRecuperacao) * estado[1];
+        double g2 = 0, g1 = 0, g0 = 0;
+        int partida = Math.min(3, numeroPassos - 1);
+        for (int passo = 0; passo < partida; passo++) {
+            passoRK4(estado, populacaoTotal, taxaTransmissao, taxaRecuperacao, incrementoTempo);
+            if (estado[1] > pico) {
+                pico = estado[1];
+            }
+            if (historico != null) {
+                historico.definir(passo + 1, estado);
+            }
+            g2 = g1;
+            g1 = g0;
+            g0 = (taxaPorContato * estado[0] - taxaRecuperacao) * estado[1];
+        }
+
+        double suscetiveis = estado[0], infectados = estado[1];
+        // Séries contíguas da trajetória (gravação direta, sem cópia por ponto)
+        double[] serieS = historico != null ? historico.serieInterna(0) : null;
+        double[] serieI = historico != null ? historico.serieInterna(1) : null;
+        for (int passo = partida; passo < numeroPassos - 1; passo++) {
+            // P: Adams-Bashforth de 4 passos
+            double fluxoP = h24 * (55.0 * g0 - 59.0 * g1 + 37.0 * g2 - 9.0 * g3);
+            double suscetiveisP = suscetiveis - fluxoP;
+            double infectadosP = infectados + fluxoP;
+
+            // E: fluxo no ponto predito
+            double gP = (taxaPorContato * suscetiveisP - taxaRecuperacao) * infectadosP;
+
+            // C: Adams-Moulton de 3 passos, sem valores negativos
+            double fluxo = h24 * (9.0 * gP + 19.0 * g0 - 5.0 * g1 + g2);
+            suscetiveis -= fluxo;
+            infectados += fluxo;
+            if (suscetiveis < 0) suscetiveis = 0;
+            if (infectados < 0) infectados = 0;
+
+            // E: fluxo no ponto corrigido
+            g3 = g2;
+            g2 = g1;
+            g1 = g0;
+            g0 = (taxaPorContato * suscetiveis - taxaRecuperacao) * infectados;
+
+            if (infectados > pico) {
+                pico = infectados;
+            }
+            if (historico != null) {
+                serieS[passo + 1] = suscetiveis;
+                serieI[passo + 1] = infectados;
+            }
+        }
+        estado[0] = suscetiveis;
+        estado[1] = infectados;
+        return pico;
+    }
+}
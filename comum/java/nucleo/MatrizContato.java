@@ -0,0 +1,125 @@
+package nucleo;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Matriz de contatos entre grupos etários: C[i][j] é o número médio de
+ * contatos por dia de uma pessoa do grupo i com pessoas do grupo j. Guardada
+ * por colunas em um único {@code double[]} (coluna j contígua), o layout que
+ * o produto matriz-vetor de {@link KernelEtario} percorre.
+ */
+public final class MatrizContato implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int grupos;
+    // C[i][j] em colunas[j * grupos + i]
+    private final double[] colunas;
+
+    // Matriz por linhas, como nas tabelas publicadas (linha = grupo de quem faz o contato)
+    public MatrizContato(double[][] contatos) {
+        this.grupos = contatos.length;
+        if (grupos == 0) {
+            throw new IllegalArgumentException("Matriz de contatos vazia");
+        }
+        this.colunas = new double[grupos * grupos];
+        for (int i = 0; i < grupos; i++) {
+            if (contatos[i].length != grupos) {
+                throw new IllegalArgumentException("Matriz de contatos não é quadrada: linha " + i + " com "
+                    + contatos[i].length + " valores para " + grupos + " grupos");
+            }
+            for (int j = 0; j < grupos; j++) {
+                if (!(contatos[i][j] >= 0)) {
+                    throw new IllegalArgumentException("Contato negativo ou inválido em (" + i + ", " + j + "): "
+                        + contatos[i][j]);
+                }
+                colunas[j * grupos + i] = contatos[i][j];
+            }
+        }
+    }
+
+    // Mistura homogênea: todos os pares de grupos com o mesmo número de contatos
+    public static MatrizContato homogenea(int grupos, double contatosPorDia) {
+        double[][] contatos = new double[grupos][grupos];
+        for (double[] linha : contatos) {
+            Arrays.fill(linha, contatosPorDia / grupos);
+        }
+        return new MatrizContato(contatos);
+    }
+
+    // Mistura assortativa (contatos concentrados em idades próximas): C[i][j] ∝ 1 + 4·e^{-|i-j|/largura},
+    // normalizada para 'contatosPorDia' contatos por pessoa em cada grupo
+    public static MatrizContato assortativa(int grupos, double contatosPorDia, double largura) {
+        double[][] contatos = new double[grupos][grupos];
+        for (int i = 0; i < grupos; i++) {
+            double soma = 0;
+            for (int j = 0; j < grupos; j++) {
+                contatos[i][j] = 1.0 + 4.0 * Math.exp(-Math.abs(i - j) / largura);
+                soma += contatos[i][j];
+            }
+            for (int j = 0; j < grupos; j++) {
+                contatos[i][j] *= contatosPorDia / soma;
+            }
+        }
+        return new MatrizContato(contatos);
+    }
+
+    // Uma linha de texto por grupo, valores separados por espaços, vírgulas ou ponto e vírgula;
+    // linhas vazias e iniciadas por '#' são ignoradas
+    public static MatrizContato carregar(Path arquivo) throws IOException {
+        List<double[]> linhas = new ArrayList<>();
+        int numeroLinha = 0;
+        for (String linha : Files.readAllLines(arquivo, StandardCharsets.UTF_8)) {
+            numeroLinha++;
+            String conteudo = linha.trim();
+            if (conteudo.isEmpty() || conteudo.startsWith("#")) {
+                continue;
+            }
+            String[] campos = conteudo.split("[\\s,;]+");
+            double[] valores = new double[campos.length];
+            for (int j = 0; j < campos.length; j++) {
+                try {
+                    valores[j] = Double.parseDouble(campos[j]);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Linha " + numeroLinha + ": valor inválido '" + campos[j] + "'");
+                }
+            }
+            linhas.add(valores);
+        }
+        return new MatrizContato(linhas.toArray(new double[0][]));
+    }
+
+    public int getNumeroGrupos() {
+        return grupos;
+    }
+
+    public double contato(int grupo, int grupoContato) {
+        return colunas[grupoContato * grupos + grupo];
+    }
+
+    // Colunas de β·C[i][j]/N_j: com elas a força de infecção λ_i = β·Σ_j C[i][j]·I_j/N_j é o
+    // produto direto pela fatia de infectados do estado, sem dividir por N_j a cada estágio
+    double[] colunasEscaladas(double taxaTransmissao, double[] populacoes) {
+        if (populacoes.length != grupos) {
+            throw new IllegalArgumentException(populacoes.length + " populações para " + grupos + " grupos");
+        }
+        double[] escaladas = new double[colunas.length];
+        for (int j = 0; j < grupos; j++) {
+            if (!(populacoes[j] > 0)) {
+                throw new IllegalArgumentException("População do grupo " + j + " deve ser > 0: " + populacoes[j]);
+            }
+            double fator = taxaTransmissao / populacoes[j];
+            for (int i = 0; i < grupos; i++) {
+                escaladas[j * grupos + i] = colunas[j * grupos + i] * fator;
+            }
+        }
+        return escaladas;
+    }
+}
@@ -0,0 +1,237 @@
+package nucleo;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Matriz de mobilidade entre regiões em formato CSR (linhas comprimidas):
+ * M[i][j] é a fração do tempo de contato dos residentes da região i passada na
+ * região j, e a diagonal guarda quem fica, M[i][i] = 1 - Σ_{j≠i} M[i][j]. Com
+ * alguns destinos por região, N regiões ocupam O(N) memória em vez de O(N²):
+ * 5 000 municípios com 10 destinos cada são 55 000 valores.
+ *
+ * Os destinos da linha i estão em {@code colunas[inicioLinha[i] .. inicioLinha[i + 1])},
+ * em ordem crescente e com a diagonal incluída.
+ */
+public final class MatrizMobilidade implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int regioes;
+    private final int[] inicioLinha;
+    private final int[] colunas;
+    private final double[] valores;
+
+    private MatrizMobilidade(int regioes, int[] inicioLinha, int[] colunas, double[] valores) {
+        this.regioes = regioes;
+        this.inicioLinha = inicioLinha;
+        this.colunas = colunas;
+        this.valores = valores;
+    }
+
+    // Arestas origem -> destino com a fração de quem se desloca; arestas repetidas são somadas,
+    // laços (origem = destino) são ignorados e a diagonal é completada até 1
+    public static MatrizMobilidade deArestas(int regioes, int[] origens, int[] destinos, double[] fracoes) {
+        if (origens.length != destinos.length || origens.length != fracoes.length) {
+            throw new IllegalArgumentException("Arestas com tamanhos diferentes: " + origens.length + ", "
+                + destinos.length + " e " + fracoes.length);
+        }
+        if (regioes <= 0) {
+            throw new IllegalArgumentException("Número de regiões deve ser > 0: " + regioes);
+        }
+
+        // Contagem por linha (ordenação por contagem), com uma posição a mais para a diagonal
+        int[] contagem = new int[regioes + 1];
+        for (int k = 0; k < origens.length; k++) {
+            validarAresta(regioes, origens[k], destinos[k], fracoes[k]);
+            contagem[origens[k] + 1]++;
+        }
+        for (int i = 0; i < regioes; i++) {
+            contagem[i + 1] += contagem[i] + 1;
+        }
+        int[] posicao = new int[regioes];
+        int[] colunasBrutas = new int[contagem[regioes]];
+        double[] valoresBrutos = new double[contagem[regioes]];
+        for (int i = 0; i < regioes; i++) {
+            colunasBrutas[contagem[i]] = i;
+            posicao[i] = contagem[i] + 1;
+        }
+        for (int k = 0; k < origens.length; k++) {
+            int p = posicao[origens[k]]++;
+            colunasBrutas[p] = destinos[k];
+            valoresBrutos[p] = fracoes[k];
+        }
+
+        // Cada linha em ordem de coluna, somando repetidas; a diagonal recebe o restante
+        int[] inicioLinha = new int[regioes + 1];
+        int[] colunas = new int[colunasBrutas.length];
+        double[] valores = new double[colunasBrutas.length];
+        int total = 0;
+        for (int i = 0; i < regioes; i++) {
+            int inicio = contagem[i], fim = contagem[i + 1];
+            ordenarPorColuna(colunasBrutas, valoresBrutos, inicio, fim);
+            inicioLinha[i] = total;
+            double viajantes = 0;
+            for (int p = inicio; p < fim; p++) {
+                if (colunasBrutas[p] != i) {
+                    viajantes += valoresBrutos[p];
+                }
+                if (total > inicioLinha[i] && colunas[total - 1] == colunasBrutas[p]) {
+                    valores[total - 1] += valoresBrutos[p];
+                } else {
+                    colunas[total] = colunasBrutas[p];
+                    valores[total] = valoresBrutos[p];
+                    total++;
+                }
+            }
+            if (viajantes > 1.0 + 1e-12) {
+                throw new IllegalArgumentException("Frações de saída da região " + i + " somam " + viajantes + " > 1");
+            }
+            for (int p = inicioLinha[i]; p < total; p++) {
+                if (colunas[p] == i) {
+                    valores[p] = Math.max(0.0, 1.0 - viajantes);
+                }
+            }
+        }
+        inicioLinha[regioes] = total;
+        return new MatrizMobilidade(regioes, inicioLinha, Arrays.copyOf(colunas, total),
+                                    Arrays.copyOf(valores, total));
+    }
+
+    private static void validarAresta(int regioes, int origem, int destino, double fracao) {
+        if (origem < 0 || origem >= regioes || destino < 0 || destino >= regioes) {
+            throw new IllegalArgumentException("Aresta " + origem + " -> " + destino + " fora de [0, " + regioes + ")");
+        }
+        if (!(fracao >= 0)) {
+            throw new IllegalArgumentException("Fração negativa ou inválida na aresta " + origem + " -> " + destino
+                + ": " + fracao);
+        }
+    }
+
+    // Inserção: as linhas têm poucos destinos
+    private static void ordenarPorColuna(int[] colunas, double[] valores, int inicio, int fim) {
+        for (int p = inicio + 1; p < fim; p++) {
+            int coluna = colunas[p];
+            double valor = valores[p];
+            int q = p - 1;
+            while (q >= inicio && colunas[q] > coluna) {
+                colunas[q + 1] = colunas[q];
+                valores[q + 1] = valores[q];
+                q--;
+            }
+            colunas[q + 1] = coluna;
+            valores[q + 1] = valor;
+        }
+    }
+
+    // Rede sintética de 'regioes' municípios: cada um envia 'fracaoViajantes' dos contatos,
+    // em partes iguais, a 'destinos' regiões, metade vizinhas em um anel (deslocamento diário
+    // entre cidades próximas) e metade sorteadas (viagens longas)
+    public static MatrizMobilidade sintetica(int regioes, int destinos, double fracaoViajantes, long semente) {
+        SplittableRandom aleatorio = new SplittableRandom(semente);
+        int[] origens = new int[regioes * destinos];
+        int[] destinosArestas = new int[regioes * destinos];
+        double[] fracoes = new double[regioes * destinos];
+        int k = 0;
+        for (int i = 0; i < regioes; i++) {
+            for (int d = 0; d < destinos; d++) {
+                int destino;
+                if (d < destinos / 2) {
+                    int deslocamento = d / 2 + 1;
+                    destino = Math.floorMod(d % 2 == 0 ? i + deslocamento : i - deslocamento, regioes);
+                } else {
+                    destino = aleatorio.nextInt(regioes);
+                }
+                origens[k] = i;
+                destinosArestas[k] = destino;
+                fracoes[k] = fracaoViajantes / destinos;
+                k++;
+            }
+        }
+        return deArestas(regioes, origens, destinosArestas, fracoes);
+    }
+
+    // Lista de arestas em texto, uma por linha: "origem destino fração" (separados por espaços,
+    // vírgulas ou ponto e vírgula; linhas vazias e iniciadas por '#' são ignoradas)
+    public static MatrizMobilidade carregar(Path arquivo, int regioes) throws IOException {
+        List<int[]> pares = new ArrayList<>();
+        List<Double> fracoes = new ArrayList<>();
+        int numeroLinha = 0;
+        for (String linha : Files.readAllLines(arquivo, StandardCharsets.UTF_8)) {
+            numeroLinha++;
+            String conteudo = linha.trim();
+            if (conteudo.isEmpty() || conteudo.startsWith("#")) {
+                continue;
+            }
+            String[] campos = conteudo.split("[\\s,;]+");
+            if (campos.length != 3) {
+                throw new IllegalArgumentException("Linha " + numeroLinha + ": esperado 'origem destino fração'");
+            }
+            try {
+                pares.add(new int[] {Integer.parseInt(campos[0]), Integer.parseInt(campos[1])});
+                fracoes.add(Double.parseDouble(campos[2]));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Linha " + numeroLinha + ": valor inválido em '" + conteudo + "'");
+            }
+        }
+        int[] origens = new int[pares.size()], destinos = new int[pares.size()];
+        double[] valores = new double[pares.size()];
+        for (int k = 0; k < pares.size(); k++) {
+            origens[k] = pares.get(k)[0];
+            destinos[k] = pares.get(k)[1];
+            valores[k] = fracoes.get(k);
+        }
+        return deArestas(regioes, origens, destinos, valores);
+    }
+
+    public int getNumeroRegioes() {
+        return regioes;
+    }
+
+    // Valores não nulos guardados (destinos somados sobre todas as regiões, com as diagonais)
+    public int getNumeroNaoNulos() {
+        return inicioLinha[regioes];
+    }
+
+    public double fracao(int origem, int destino) {
+        for (int p = inicioLinha[origem]; p < inicioLinha[origem + 1]; p++) {
+            if (colunas[p] == destino) {
+                return valores[p];
+            }
+        }
+        return 0.0;
+    }
+
+    int[] inicioLinha() {
+        return inicioLinha;
+    }
+
+    int[] colunas() {
+        return colunas;
+    }
+
+    // Valores β·M[i][j]/N_j, alinhados com colunas(): com eles a força de infecção
+    // λ_i = β·Σ_j M[i][j]·I_j/N_j é o produto direto pela fatia de infectados do estado
+    double[] valoresEscalados(double taxaTransmissao, double[] populacoes) {
+        if (populacoes.length != regioes) {
+            throw new IllegalArgumentException(populacoes.length + " populações para " + regioes + " regiões");
+        }
+        for (int j = 0; j < regioes; j++) {
+            if (!(populacoes[j] > 0)) {
+                throw new IllegalArgumentException("População da região " + j + " deve ser > 0: " + populacoes[j]);
+            }
+        }
+        double[] escalados = new double[valores.length];
+        for (int p = 0; p < valores.length; p++) {
+            escalados[p] = taxaTransmissao * valores[p] / populacoes[colunas[p]];
+        }
+        return escalados;
+    }
+}
@@ -0,0 +1,19 @@
+package nucleo;
+
+/**
+ * Métodos de integração disponíveis no {@link Integrador}.
+ */
+public enum MetodoIntegracao {
+    // Runge-Kutta clássico de 4ª ordem com passo fixo (numeroPassos pontos)
+    RK4,
+    // Adams-Bashforth-Moulton de 4ª ordem (PECE), passo fixo, partida com RK4
+    ABM4,
+    // Dormand-Prince 5(4) com passo adaptativo controlado por tolerâncias
+    DORMAND_PRINCE,
+    // Rosenbrock de 4ª ordem linearmente implícito (Shampine, A-estável), passo adaptativo, para regimes rígidos
+    ROSENBROCK,
+    // RK4 nos cenários não rígidos; Rosenbrock quando o passo fixo violaria a estabilidade do RK4
+    AUTOMATICO,
+    // Forma fechada quando o modelo a possui (SolucaoAnalitica, ou PicoAnalitico só para o pico); senão, RK4
+    ANALITICO
+}
@@ -0,0 +1,118 @@
+package nucleo;
+
+/**
+ * Modelo epidemiológico compartimental (SIR, SIS, ...) descrito pela sua função
+ * de derivada. Todos os caminhos de execução do projeto (sequencial, paralelo,
+ * cenários e RMI) integram modelos através desta interface, via {@link Integrador}.
+ */
+public interface ModeloCompartimental {
+
+    // Número de compartimentos do vetor de estado (ex.: 3 para S, I, R)
+    int numeroCompartimentos();
+
+    // Posição do compartimento de infectados no vetor de estado
+    int indiceInfectados();
+
+    /**
+     * Total de infectados em {@code estado}, usado por picos, parada antecipada e
+     * continuação. O padrão lê {@link #indiceInfectados()}; modelos com vários
+     * grupos ou regiões sobrescrevem com a soma dos blocos. Deve ser linear no
+     * vetor: aplicada a uma derivada, dá a derivada do total.
+     */
+    default double infectados(double[] estado) {
+        return estado[indiceInfectados()];
+    }
+
+    /**
+     * Calcula dy/dt no instante {@code tempo}, escrevendo em {@code derivada}
+     * (sem alocar memória).
+     */
+    void derivada(double tempo, double[] estado, double[] derivada);
+
+    /**
+     * Escreve a matriz jacobiana df/dy em {@code jacobiano} (n x n), usada pelos
+     * solvers implícitos. A implementação padrão usa diferenças finitas à frente
+     * e aloca dois vetores; modelos com jacobiano analítico sobrescrevem.
+     */
+    default void jacobiano(double tempo, double[] estado, double[][] jacobiano) {
+        int n = numeroCompartimentos();
+        double[] base = new double[n], perturbada = new double[n];
+        double[] estadoPerturbado = estado.clone();
+        derivada(tempo, estado, base);
+        for (int j = 0; j < n; j++) {
+            double perturbacao = Math.sqrt(Math.ulp(1.0)) * Math.max(1.0, Math.abs(estado[j]));
+            estadoPerturbado[j] = estado[j] + perturbacao;
+            derivada(tempo, estadoPerturbado, perturbada);
+            estadoPerturbado[j] = estado[j];
+            for (int i = 0; i < n; i++) {
+                jacobiano[i][j] = (perturbada[i] - base[i]) / perturbacao;
+            }
+        }
+    }
+
+    /**
+     * Avança {@code estado} um passo RK4 no próprio lugar, anulando valores
+     * negativos. A implementação padrão é genérica e usa as 5 linhas de
+     * {@code trabalho} (k1..k4 e estado intermediário) como rascunho; modelos
+     * com kernel fundido sobrescrevem este método.
+     */
+    default void passoRK4(double tempo, double[] estado, double incrementoTempo, double[][] trabalho) {
+        int n = numeroCompartimentos();
+        double[] k1 = trabalho[0], k2 = trabalho[1], k3 = trabalho[2], k4 = trabalho[3];
+        double[] intermediario = trabalho[4];
+
+        // k1 = f(t, y)
+        derivada(tempo, estado, k1);
+
+        // k2 = f(t + h/2, y + h/2 * k1)
+        for (int c = 0; c < n; c++) {
+            intermediario[c] = estado[c] + 0.5 * incrementoTempo * k1[c];
+        }
+        derivada(tempo + incrementoTempo / 2, intermediario, k2);
+
+        // k3 = f(t + h/2, y + h/2 * k2)
+        for (int c = 0; c < n; c++) {
+            intermediario[c] = estado[c] + 0.5 * incrementoTempo * k2[c];
+        }
+        derivada(tempo + incrementoTempo / 2, intermediario, k3);
+
+        // k4 = f(t + h, y + h * k3)
+        for (int c = 0; c < n; c++) {
+            intermediario[c] = estado[c] + incrementoTempo * k3[c];
+        }
+        derivada(tempo + incrementoTempo, intermediario, k4);
+
+        // y_{i+1} = y_i + h/6 * (k1 + 2*k2 + 2*k3 + k4)
+        for (int c = 0; c < n; c++) {
+            double novo = estado[c] + incrementoTempo * (k1[c] + 2.0 * k2[c] + 2.0 * k3[c] + k4[c]) / 6.0;
+            estado[c] = novo < 0 ? 0 : novo;
+        }
+    }
+
+    /**
+     * Integra {@code estado} no próprio lugar com ABM4 (PECE) a partir de t = 0,
+     * gravando cada ponto em {@code historico} quando não nulo, e retorna o pico
+     * de infectados. A implementação padrão é a genérica do
+     * {@link SolverAdamsBashforthMoulton}; modelos com kernel fundido sobrescrevem.
+     */
+    default double integrarABM4(double[] estado, double incrementoTempo, int numeroPassos, Trajetoria historico) {
+        ObservadorTrajetoria gravador = historico == null ? null
+            : (passo, tempo, estadoPasso) -> historico.definir(passo, estadoPasso);
+        return SolverAdamsBashforthMoulton.integrarGenerico(this, estado, incrementoTempo, numeroPassos, gravador);
+    }
+
+    /**
+     * Escreve em {@code destino} o estado {@code tempoDecorrido} depois de uma
+     * parada antecipada em {@code estadoParada} (estado estacionário ou
+     * extinção; ver {@link ParadaAntecipada}). A implementação padrão usa a
+     * forma fechada quando o modelo a possui (o sistema é autônomo) e, caso
+     * contrário, mantém o estado da parada; modelos com cauda conhecida sobrescrevem.
+     */
+    default void caudaAnalitica(double tempoDecorrido, double[] estadoParada, double[] destino) {
+        if (this instanceof SolucaoAnalitica) {
+            ((SolucaoAnalitica) this).estadoEm(tempoDecorrido, estadoParada, destino);
+            return;
+        }
+        System.arraycopy(estadoParada, 0, destino, 0, numeroCompartimentos());
+    }
+}
@@ -0,0 +1,67 @@
+package nucleo;
+
+import java.util.List;
+
+/**
+ * Modelo compartimental criado a partir de um {@link DefinicaoModelo}. As
+ * subclasses são geradas em tempo de carga pelo {@link CompiladorModelo}
+ * (derivada e passo RK4 fundidos, com os parâmetros em campos finais, como um
+ * modelo escrito à mão) ou, sem compilador disponível, são o
+ * {@link ModeloInterpretado}. Roda em qualquer solver via {@link Integrador}.
+ */
+public abstract class ModeloDefinido implements ModeloCompartimental {
+
+    private final DefinicaoModelo definicao;
+    private final double[] parametros;
+
+    ModeloDefinido(DefinicaoModelo definicao, double[] parametros) {
+        this.definicao = definicao;
+        this.parametros = parametros;
+    }
+
+    public DefinicaoModelo getDefinicao() {
+        return definicao;
+    }
+
+    // Valor de um parâmetro pelo nome usado na definição
+    public double parametro(String nome) {
+        return parametros[definicao.indiceParametro(nome)];
+    }
+
+    // Cópia do modelo com um parâmetro alterado (a classe gerada é reaproveitada)
+    public ModeloDefinido comParametro(String nome, double valor) {
+        double[] novos = parametros.clone();
+        novos[definicao.indiceParametro(nome)] = valor;
+        return definicao.instanciar(novos);
+    }
+
+    // Estado inicial com os valores dados por compartimento, na ordem da definição
+    public double[] estadoInicial(double... valores) {
+        List<String> compartimentos = definicao.getCompartimentos();
+        if (valores.length != compartimentos.size()) {
+            throw new IllegalArgumentException("Estado inicial com " + valores.length + " valores para "
+                + compartimentos.size() + " compartimentos " + compartimentos);
+        }
+        return valores.clone();
+    }
+
+    // true quando a derivada é uma classe gerada; false no interpretador
+    public boolean isCompilado() {
+        return !(this instanceof ModeloInterpretado);
+    }
+
+    @Override
+    public int numeroCompartimentos() {
+        return definicao.getCompartimentos().size();
+    }
+
+    @Override
+    public int indiceInfectados() {
+        return definicao.getIndiceInfectados();
+    }
+
+    @Override
+    public String toString() {
+        return definicao.getNome() + (isCompilado() ? " [compilado]" : " [interpretado]");
+    }
+}
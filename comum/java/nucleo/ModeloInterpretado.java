@@ -0,0 +1,50 @@
+package nucleo;
+
+import java.util.List;
+
+/**
+ * Avaliação direta das expressões de um {@link DefinicaoModelo}, usada quando
+ * o {@link CompiladorModelo} não está disponível (ex.: JRE sem javac). Segue a
+ * mesma ordem de operações do código gerado, com o mesmo resultado, mas
+ * percorre a árvore de expressões a cada chamada.
+ */
+final class ModeloInterpretado extends ModeloDefinido {
+
+    private final double[] parametros;
+    private final DefinicaoModelo.Transicao[] transicoes;
+    private final int numeroCompartimentos;
+    private final boolean usaTotal;
+
+    ModeloInterpretado(DefinicaoModelo definicao, double[] parametros) {
+        super(definicao, parametros);
+        this.parametros = parametros;
+        List<DefinicaoModelo.Transicao> lista = definicao.getTransicoes();
+        this.transicoes = lista.toArray(new DefinicaoModelo.Transicao[0]);
+        this.numeroCompartimentos = definicao.getCompartimentos().size();
+        this.usaTotal = definicao.usaTotal();
+    }
+
+    @Override
+    public void derivada(double tempo, double[] estado, double[] derivada) {
+        double total = 0;
+        if (usaTotal) {
+            total = estado[0];
+            for (int c = 1; c < numeroCompartimentos; c++) {
+                total += estado[c];
+            }
+        }
+        for (int c = 0; c < numeroCompartimentos; c++) {
+            derivada[c] = 0.0;
+        }
+        // Fluxo de cada transição: sai da origem e entra no destino (-1 = fora do modelo)
+        for (DefinicaoModelo.Transicao transicao : transicoes) {
+            double fluxo = transicao.taxa.avaliar(tempo, estado, total, parametros);
+            if (transicao.origem >= 0) {
+                derivada[transicao.origem] -= fluxo;
+            }
+            if (transicao.destino >= 0) {
+                derivada[transicao.destino] += fluxo;
+            }
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package nucleo;
+
+import java.io.Serializable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Metapopulação: regiões (municípios) com populações N_i acopladas por uma
+ * {@link MatrizMobilidade} esparsa. Estado = um bloco contíguo por
+ * compartimento ({S_0..S_{R-1}, I_0..I_{R-1}, ...}), e a força de infecção da
+ * região i é λ_i = β·Σ_j M[i][j]·I_j/N_j: os residentes de i se infectam nas
+ * regiões onde passam o tempo de contato. Subclasses: {@link ModeloSIRMetapopulacao},
+ * {@link ModeloSISMetapopulacao}.
+ *
+ * A derivada de cada estágio percorre a matriz CSR uma vez (O(não nulos)). Com
+ * um pool ({@link #comParalelismo}) e regiões suficientes, ela é dividida em
+ * faixas de regiões com o mesmo número de não nulos, uma tarefa por faixa;
+ * cada tarefa lê todo o bloco de infectados e escreve só as derivadas das
+ * suas regiões, sem sincronização além do join.
+ */
+public abstract class ModeloMetapopulacao implements ModeloCompartimental, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    // Abaixo disso uma derivada custa poucos microssegundos, menos que distribuir tarefas no pool
+    static final int LIMIAR_PARALELO = 512;
+    // Faixas por thread: folga para o roubo de tarefas equilibrar linhas de custo desigual
+    private static final int FAIXAS_POR_THREAD = 4;
+
+    final double[] populacoes;
+    final MatrizMobilidade mobilidade;
+    final double taxaTransmissao;
+    final double taxaRecuperacao;
+    // β·M[i][j]/N_j alinhados com mobilidade.colunas() (ver MatrizMobilidade.valoresEscalados)
+    final double[] valoresForca;
+    // Pool e limites das faixas de regiões (faixas.length - 1 faixas); não são serializados
+    final transient ForkJoinPool pool;
+    final transient int[] faixas;
+
+    ModeloMetapopulacao(double[] populacoes, MatrizMobilidade mobilidade, double taxaTransmissao,
+                        double taxaRecuperacao, double[] valoresForca, ForkJoinPool pool) {
+        this.populacoes = populacoes;
+        this.mobilidade = mobilidade;
+        this.taxaTransmissao = taxaTransmissao;
+        this.taxaRecuperacao = taxaRecuperacao;
+        this.valoresForca = valoresForca;
+        this.pool = populacoes.length >= LIMIAR_PARALELO ? pool : null;
+        this.faixas = this.pool == null ? null
+            : dividirPorNaoNulos(mobilidade.inicioLinha(), populacoes.length, this.pool.getParallelism() * FAIXAS_POR_THREAD);
+    }
+
+    // Limites de 'partes' faixas de linhas com quantidades próximas de não nulos (busca binária no CSR)
+    private static int[] dividirPorNaoNulos(int[] inicioLinha, int linhas, int partes) {
+        partes = Math.max(1, Math.min(partes, linhas));
+        int[] limites = new int[partes + 1];
+        long naoNulos = inicioLinha[linhas];
+        for (int k = 1; k < partes; k++) {
+            long alvo = naoNulos * k / partes;
+            int baixo = limites[k - 1], alto = linhas;
+            while (baixo < alto) {
+                int meio = (baixo + alto) >>> 1;
+                if (inicioLinha[meio] < alvo) {
+                    baixo = meio + 1;
+                } else {
+                    alto = meio;
+                }
+            }
+            limites[k] = baixo;
+        }
+        limites[partes] = linhas;
+        return limites;
+    }
+
+    // Mesmo modelo com a derivada dividida entre as threads do pool quando há regiões suficientes
+    // (LIMIAR_PARALELO); com menos, o pool é ignorado
+    public abstract ModeloMetapopulacao comParalelismo(ForkJoinPool pool);
+
+    // Compartimentos por região (3 no SIR, 2 no SIS)
+    abstract int compartimentosPorRegiao();
+
+    // Derivadas das regiões [inicio, fim); derivada[i] chega com λ_i (bloco de dS)
+    abstract void derivadaRegioes(double[] estado, double[] derivada, int inicio, int fim);
+
+    public int getNumeroRegioes() {
+        return populacoes.length;
+    }
+
+    public double[] getPopulacoes() {
+        return populacoes.clone();
+    }
+
+    public MatrizMobilidade getMobilidade() {
+        return mobilidade;
+    }
+
+    public double getTaxaTransmissao() {
+        return taxaTransmissao;
+    }
+
+    public double getTaxaRecuperacao() {
+        return taxaRecuperacao;
+    }
+
+    // Estado inicial com I0 por região e S0 = N_i - I0_i (demais compartimentos zerados)
+    public double[] estadoInicial(double[] infectadosIniciais) {
+        int regioes = populacoes.length;
+        if (infectadosIniciais.length != regioes) {
+            throw new IllegalArgumentException(infectadosIniciais.length + " valores de infectados para " + regioes + " regiões");
+        }
+        double[] estado = new double[compartimentosPorRegiao() * regioes];
+        for (int i = 0; i < regioes; i++) {
+            estado[i] = populacoes[i] - infectadosIniciais[i];
+            estado[regioes + i] = infectadosIniciais[i];
+        }
+        return estado;
+    }
+
+    // Soma dos infectados de todas as regiões
+    public double infectadosTotais(double[] estado) {
+        int regioes = populacoes.length;
+        double total = 0;
+        for (int i = regioes; i < 2 * regioes; i++) {
+            total += estado[i];
+        }
+        return total;
+    }
+
+    @Override
+    public int numeroCompartimentos() {
+        return compartimentosPorRegiao() * populacoes.length;
+    }
+
+    // I da primeira região (início do bloco de infectados); picos e paradas usam o total, em infectados
+    @Override
+    public int indiceInfectados() {
+        return populacoes.length;
+    }
+
+    @Override
+    public double infectados(double[] estado) {
+        return infectadosTotais(estado);
+    }
+
+    @Override
+    public void derivada(double tempo, double[] estado, double[] derivada) {
+        if (pool == null) {
+            derivadaFaixa(estado, derivada, 0, populacoes.length);
+            return;
+        }
+        pool.invoke(new TarefaFaixas(estado, derivada, 0, faixas.length - 1));
+    }
+
+    // λ das regiões [inicio, fim) no bloco de dS (consumido região a região pela subclasse)
+    final void derivadaFaixa(double[] estado, double[] derivada, int inicio, int fim) {
+        int[] inicioLinha = mobilidade.inicioLinha();
+        int[] colunas = mobilidade.colunas();
+        int deslocamentoInfectados = populacoes.length;
+        for (int i = inicio; i < fim; i++) {
+            double forca = 0;
+            for (int p = inicioLinha[i]; p < inicioLinha[i + 1]; p++) {
+                forca += valoresForca[p] * estado[deslocamentoInfectados + colunas[p]];
+            }
+            derivada[i] = forca;
+        }
+        derivadaRegioes(estado, derivada, inicio, fim);
+    }
+
+    // Divide as faixas [primeira, ultima) ao meio até uma faixa por tarefa
+    private final class TarefaFaixas extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] estado;
+        private final double[] derivada;
+        private final int primeira;
+        private final int ultima;
+
+        TarefaFaixas(double[] estado, double[] derivada, int primeira, int ultima) {
+            this.estado = estado;
+            this.derivada = derivada;
+            this.primeira = primeira;
+            this.ultima = ultima;
+        }
+
+        @Override
+        protected void compute() {
+            if (ultima - primeira == 1) {
+                derivadaFaixa(estado, derivada, faixas[primeira], faixas[ultima]);
+                return;
+            }
+            int meio = (primeira + ultima) >>> 1;
+            invokeAll(new TarefaFaixas(estado, derivada, primeira, meio),
+                      new TarefaFaixas(estado, derivada, meio, ultima));
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package nucleo;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Modelo SIR (Suscetível-Infectado-Recuperado). Estado = {S, I, R}.
+ */
+public final class ModeloSIR implements ModeloCompartimental, PicoAnalitico, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final double populacaoTotal;
+    private final double taxaTransmissao;
+    private final double taxaRecuperacao;
+
+    public ModeloSIR(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao) {
+        this.populacaoTotal = populacaoTotal;
+        this.taxaTransmissao = taxaTransmissao;
+        this.taxaRecuperacao = taxaRecuperacao;
+    }
+
+    public double getPopulacaoTotal() {
+        return populacaoTotal;
+    }
+
+    public double getTaxaTransmissao() {
+        return taxaTransmissao;
+    }
+
+    public double getTaxaRecuperacao() {
+        return taxaRecuperacao;
+    }
+
+    // Estado inicial {S0, I0, R0} com S0 = N - I0 - R0
+    public double[] estadoInicial(double infectadosIniciais, double recuperadosIniciais) {
+        return new double[]{populacaoTotal - infectadosIniciais - recuperadosIniciais, infectadosIniciais, recuperadosIniciais};
+    }
+
+    @Override
+    public int numeroCompartimentos() {
+        return 3;
+    }
+
+    @Override
+    public int indiceInfectados() {
+        return 1;
+    }
+
+    // dS/dt = -beta*S*I/N ; dI/dt = beta*S*I/N - gamma*I ; dR/dt = gamma*I
+    @Override
+    public void derivada(double tempo, double[] estado, double[] derivada) {
+        double novasInfeccoes = taxaTransmissao * estado[0] * estado[1] / populacaoTotal;
+        double novasRecuperacoes = taxaRecuperacao * estado[1];
+        derivada[0] = -novasInfeccoes;
+        derivada[1] = novasInfeccoes - novasRecuperacoes;
+        derivada[2] = novasRecuperacoes;
+    }
+
+    // Jacobiano analítico: linhas dS, dI, dR; colunas S, I, R
+    @Override
+    public void jacobiano(double tempo, double[] estado, double[][] jacobiano) {
+        double taxaPorContato = taxaTransmissao / populacaoTotal;
+        double derivadaEmS = taxaPorContato * estado[1];
+        double derivadaEmI = taxaPorContato * estado[0];
+        jacobiano[0][0] = -derivadaEmS;
+        jacobiano[0][1] = -derivadaEmI;
+        jacobiano[0][2] = 0.0;
+        jacobiano[1][0] = derivadaEmS;
+        jacobiano[1][1] = derivadaEmI - taxaRecuperacao;
+        jacobiano[1][2] = 0.0;
+        jacobiano[2][0] = 0.0;
+        jacobiano[2][1] = taxaRecuperacao;
+        jacobiano[2][2] = 0.0;
+    }
+
+    @Override
+    public void passoRK4(double tempo, double[] estado, double incrementoTempo, double[][] trabalho) {
+        KernelSIR.passoRK4(estado, populacaoTotal, taxaTransmissao, taxaRecuperacao, incrementoTempo);
+    }
+
+    @Override
+    public double integrarABM4(double[] estado, double incrementoTempo, int numeroPassos, Trajetoria historico) {
+        return KernelSIR.integrarABM4(estado, populacaoTotal, taxaTransmissao, taxaRecuperacao, incrementoTempo,
+                                  numeroPassos, historico);
+    }
+
+    // Cauda com I ≈ 0: a taxa de I congela em r = beta*S/N - gamma, logo I(τ) = I·e^{rτ},
+    // S(τ) = S·exp(-beta/N · ∫I) e R fecha a população (erro relativo O(I/N))
+    @Override
+    public void caudaAnalitica(double tempoDecorrido, double[] estadoParada, double[] destino) {
+        double suscetiveis = estadoParada[0], infectados = estadoParada[1];
+        double taxa = taxaTransmissao * suscetiveis / populacaoTotal - taxaRecuperacao;
+        double crescimento = Math.expm1(taxa * tempoDecorrido);
+        double infectadosAcumulados = taxa != 0.0 ? infectados * crescimento / taxa : infectados * tempoDecorrido;
+        destino[0] = suscetiveis * Math.exp(-taxaTransmissao / populacaoTotal * infectadosAcumulados);
+        destino[1] = infectados * (1.0 + crescimento);
+        destino[2] = suscetiveis + infectados + estadoParada[2] - destino[0] - destino[1];
+    }
+
+    // Pico pela quantidade conservada; se o pico cair após tempoMaximo, I(tempoMaximo) (ver MotorAnaliticoSIR)
+    @Override
+    public double picoInfectados(double[] estadoInicial, double tempoMaximo) {
+        double tempoPico = MotorAnaliticoSIR.tempoAtePico(populacaoTotal, taxaTransmissao, taxaRecuperacao,
+                                                          estadoInicial[0], estadoInicial[1]);
+        if (tempoPico <= tempoMaximo) {
+            return MotorAnaliticoSIR.picoInfectados(populacaoTotal, taxaTransmissao, taxaRecuperacao,
+                                                    estadoInicial[0], estadoInicial[1]);
+        }
+        return MotorAnaliticoSIR.infectadosEm(tempoMaximo, populacaoTotal, taxaTransmissao, taxaRecuperacao,
+                                              estadoInicial[0], estadoInicial[1]);
+    }
+
+    // Igualdade pelos parâmetros: cenários com o mesmo modelo compartilham segmentos (ArvoreCenarios)
+    @Override
+    public boolean equals(Object outro) {
+        if (this == outro) {
+            return true;
+        }
+        if (!(outro instanceof ModeloSIR)) {
+            return false;
+        }
+        ModeloSIR modelo = (ModeloSIR) outro;
+        return Double.compare(populacaoTotal, modelo.populacaoTotal) == 0
+            && Double.compare(taxaTransmissao, modelo.taxaTransmissao) == 0
+            && Double.compare(taxaRecuperacao, modelo.taxaRecuperacao) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(populacaoTotal, taxaTransmissao, taxaRecuperacao);
+    }
+}
@@ -0,0 +1,123 @@
+package nucleo;
+
+import java.io.Serializable;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Modelo SIR estruturado por idade: G grupos com populações N_i, misturados
+ * por uma {@link MatrizContato}. Estado = {S_0..S_{G-1}, I_0..I_{G-1},
+ * R_0..R_{G-1}}, um bloco contíguo por compartimento.
+ *
+ * dS_i/dt = -λ_i·S_i ; dI_i/dt = λ_i·S_i - γ·I_i ; dR_i/dt = γ·I_i, com a
+ * força de infecção λ_i = β·Σ_j C[i][j]·I_j/N_j calculada por
+ * {@link KernelEtario} (produto matriz-vetor em blocos). Com G = 1 e C = [1]
+ * é o {@link ModeloSIR}.
+ */
+public final class ModeloSIREtario implements ModeloCompartimental, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final double[] populacoes;
+    private final MatrizContato contatos;
+    private final double taxaTransmissao;
+    private final double taxaRecuperacao;
+    // β·C[i][j]/N_j por colunas (ver MatrizContato.colunasEscaladas)
+    private final double[] colunasForca;
+    // Pool para dividir o produto entre threads (G grande); não é serializado
+    private final transient ForkJoinPool pool;
+
+    public ModeloSIREtario(double[] populacoes, MatrizContato contatos, double taxaTransmissao, double taxaRecuperacao) {
+        this(populacoes.clone(), contatos, taxaTransmissao, taxaRecuperacao,
+             contatos.colunasEscaladas(taxaTransmissao, populacoes), null);
+    }
+
+    private ModeloSIREtario(double[] populacoes, MatrizContato contatos, double taxaTransmissao,
+                            double taxaRecuperacao, double[] colunasForca, ForkJoinPool pool) {
+        this.populacoes = populacoes;
+        this.contatos = contatos;
+        this.taxaTransmissao = taxaTransmissao;
+        this.taxaRecuperacao = taxaRecuperacao;
+        this.colunasForca = colunasForca;
+        this.pool = pool;
+    }
+
+    // Mesmo modelo com o produto da força de infecção dividido entre as threads do pool quando
+    // há grupos suficientes (KernelEtario.LIMIAR_PARALELO); com menos, o pool é ignorado
+    public ModeloSIREtario comParalelismo(ForkJoinPool pool) {
+        return new ModeloSIREtario(populacoes, contatos, taxaTransmissao, taxaRecuperacao, colunasForca, pool);
+    }
+
+    public int getNumeroGrupos() {
+        return populacoes.length;
+    }
+
+    public double[] getPopulacoes() {
+        return populacoes.clone();
+    }
+
+    public MatrizContato getContatos() {
+        return contatos;
+    }
+
+    public double getTaxaTransmissao() {
+        return taxaTransmissao;
+    }
+
+    public double getTaxaRecuperacao() {
+        return taxaRecuperacao;
+    }
+
+    // Estado inicial com I0 por grupo, S0 = N_i - I0_i e R0 = 0
+    public double[] estadoInicial(double[] infectadosIniciais) {
+        int grupos = populacoes.length;
+        if (infectadosIniciais.length != grupos) {
+            throw new IllegalArgumentException(infectadosIniciais.length + " valores de infectados para " + grupos + " grupos");
+        }
+        double[] estado = new double[3 * grupos];
+        for (int i = 0; i < grupos; i++) {
+            estado[i] = populacoes[i] - infectadosIniciais[i];
+            estado[grupos + i] = infectadosIniciais[i];
+        }
+        return estado;
+    }
+
+    // Soma dos infectados de todos os grupos
+    public double infectadosTotais(double[] estado) {
+        int grupos = populacoes.length;
+        double total = 0;
+        for (int i = grupos; i < 2 * grupos; i++) {
+            total += estado[i];
+        }
+        return total;
+    }
+
+    @Override
+    public int numeroCompartimentos() {
+        return 3 * populacoes.length;
+    }
+
+    // I do primeiro grupo (início do bloco de infectados); picos e paradas usam o total, em infectados
+    @Override
+    public int indiceInfectados() {
+        return populacoes.length;
+    }
+
+    @Override
+    public double infectados(double[] estado) {
+        return infectadosTotais(estado);
+    }
+
+    @Override
+    public void derivada(double tempo, double[] estado, double[] derivada) {
+        int grupos = populacoes.length;
+        // λ vai para o bloco de dS e é consumido grupo a grupo antes de ser sobrescrito
+        KernelEtario.forcaInfeccao(colunasForca, grupos, estado, grupos, derivada, pool);
+        for (int i = 0; i < grupos; i++) {
+            double novasInfeccoes = derivada[i] * estado[i];
+            double novasRecuperacoes = taxaRecuperacao * estado[grupos + i];
+            derivada[i] = -novasInfeccoes;
+            derivada[grupos + i] = novasInfeccoes - novasRecuperacoes;
+            derivada[2 * grupos + i] = novasRecuperacoes;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package nucleo;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Modelo SIS (Suscetível-Infectado-Suscetível). Estado = {S, I}.
+ */
+public final class ModeloSIS implements ModeloCompartimental, SolucaoAnalitica, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final double populacaoTotal;
+    private final double taxaTransmissao;
+    private final double taxaRecuperacao;
+
+    public ModeloSIS(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao) {
+        this.populacaoTotal = populacaoTotal;
+        this.taxaTransmissao = taxaTransmissao;
+        this.taxaRecuperacao = taxaRecuperacao;
+    }
+
+    public double getPopulacaoTotal() {
+        return populacaoTotal;
+    }
+
+    public double getTaxaTransmissao() {
+        return taxaTransmissao;
+    }
+
+    public double getTaxaRecuperacao() {
+        return taxaRecuperacao;
+    }
+
+    // Estado inicial {S0, I0} com S0 = N - I0 (não há recuperados no SIS)
+    public double[] estadoInicial(double infectadosIniciais) {
+        return new double[]{populacaoTotal - infectadosIniciais, infectadosIniciais};
+    }
+
+    @Override
+    public int numeroCompartimentos() {
+        return 2;
+    }
+
+    @Override
+    public int indiceInfectados() {
+        return 1;
+    }
+
+    // dS/dt = -beta*S*I/N + gamma*I ; dI/dt = beta*S*I/N - gamma*I
+    @Override
+    public void derivada(double tempo, double[] estado, double[] derivada) {
+        double fluxo = taxaTransmissao * estado[0] * estado[1] / populacaoTotal - taxaRecuperacao * estado[1];
+        derivada[0] = -fluxo;
+        derivada[1] = fluxo;
+    }
+
+    // Jacobiano analítico: linhas dS, dI; colunas S, I
+    @Override
+    public void jacobiano(double tempo, double[] estado, double[][] jacobiano) {
+        double taxaPorContato = taxaTransmissao / populacaoTotal;
+        double derivadaEmS = taxaPorContato * estado[1];
+        double derivadaEmI = taxaPorContato * estado[0] - taxaRecuperacao;
+        jacobiano[0][0] = -derivadaEmS;
+        jacobiano[0][1] = -derivadaEmI;
+        jacobiano[1][0] = derivadaEmS;
+        jacobiano[1][1] = derivadaEmI;
+    }
+
+    @Override
+    public void passoRK4(double tempo, double[] estado, double incrementoTempo, double[][] trabalho) {
+        KernelSIS.passoRK4(estado, populacaoTotal, taxaTransmissao, taxaRecuperacao, incrementoTempo);
+    }
+
+    @Override
+    public double integrarABM4(double[] estado, double incrementoTempo, int numeroPassos, Trajetoria historico) {
+        return KernelSIS.integrarABM4(estado, populacaoTotal, taxaTransmissao, taxaRecuperacao, incrementoTempo,
+                                  numeroPassos, historico);
+    }
+
+    // Solução logística exata (ver MotorAnaliticoSIS)
+    @Override
+    public void estadoEm(double tempo, double[] estadoInicial, double[] destino) {
+        double infectados = MotorAnaliticoSIS.infectados(populacaoTotal, taxaTransmissao, taxaRecuperacao,
+                                                         estadoInicial[0], estadoInicial[1], tempo);
+        destino[0] = estadoInicial[0] + estadoInicial[1] - infectados;
+        destino[1] = infectados;
+    }
+
+    // I(t) é monótona, então o pico está em t = 0 ou em t = tempoMaximo
+    @Override
+    public double picoInfectados(double[] estadoInicial, double tempoMaximo) {
+        double infectadosFinais = MotorAnaliticoSIS.infectados(populacaoTotal, taxaTransmissao, taxaRecuperacao,
+                                                               estadoInicial[0], estadoInicial[1], tempoMaximo);
+        return Math.max(estadoInicial[1], infectadosFinais);
+    }
+
+    // Igualdade pelos parâmetros: cenários com o mesmo modelo compartilham segmentos (ArvoreCenarios)
+    @Override
+    public boolean equals(Object outro) {
+        if (this == outro) {
+            return true;
+        }
+        if (!(outro instanceof ModeloSIS)) {
+            return false;
+        }
+        ModeloSIS modelo = (ModeloSIS) outro;
+        return Double.compare(populacaoTotal, modelo.populacaoTotal) == 0
+            && Double.compare(taxaTransmissao, modelo.taxaTransmissao) == 0
+            && Double.compare(taxaRecuperacao, modelo.taxaRecuperacao) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(populacaoTotal, taxaTransmissao, taxaRecuperacao);
+    }
+}
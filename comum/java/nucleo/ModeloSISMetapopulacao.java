@@ -0,0 +1,46 @@
+package nucleo;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * SIS em metapopulação (ver {@link ModeloMetapopulacao}). Estado =
+ * {S_0..S_{R-1}, I_0..I_{R-1}}; por região,
+ * dS_i/dt = -λ_i·S_i + γ·I_i ; dI_i/dt = λ_i·S_i - γ·I_i.
+ * Com uma região (matriz 1×1 com M = [1]) é o {@link ModeloSIS}.
+ */
+public final class ModeloSISMetapopulacao extends ModeloMetapopulacao {
+
+    private static final long serialVersionUID = 1L;
+
+    public ModeloSISMetapopulacao(double[] populacoes, MatrizMobilidade mobilidade, double taxaTransmissao,
+                                  double taxaRecuperacao) {
+        this(populacoes.clone(), mobilidade, taxaTransmissao, taxaRecuperacao,
+             mobilidade.valoresEscalados(taxaTransmissao, populacoes), null);
+    }
+
+    private ModeloSISMetapopulacao(double[] populacoes, MatrizMobilidade mobilidade, double taxaTransmissao,
+                                   double taxaRecuperacao, double[] valoresForca, ForkJoinPool pool) {
+        super(populacoes, mobilidade, taxaTransmissao, taxaRecuperacao, valoresForca, pool);
+    }
+
+    @Override
+    public ModeloSISMetapopulacao comParalelismo(ForkJoinPool pool) {
+        return new ModeloSISMetapopulacao(populacoes, mobilidade, taxaTransmissao, taxaRecuperacao, valoresForca, pool);
+    }
+
+    @Override
+    int compartimentosPorRegiao() {
+        return 2;
+    }
+
+    @Override
+    void derivadaRegioes(double[] estado, double[] derivada, int inicio, int fim) {
+        int regioes = populacoes.length;
+        for (int i = inicio; i < fim; i++) {
+            double novasInfeccoes = derivada[i] * estado[i];
+            double novasRecuperacoes = taxaRecuperacao * estado[regioes + i];
+            derivada[i] = novasRecuperacoes - novasInfeccoes;
+            derivada[regioes + i] = novasInfeccoes - novasRecuperacoes;
+        }
+    }
+}
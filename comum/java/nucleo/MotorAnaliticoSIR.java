@@ -0,0 +1,269 @@
+package nucleo;
+
+/**
+ * Grandezas-resumo do Modelo SIR sem integrar a trajetória. Com ρ = γ·N/β, a
+ * quantidade S + I - ρ·ln S é conservada, o que dá:
+ *
+ *   pico:          S = ρ  =>  I_max = S0 + I0 - ρ + ρ·ln(ρ/S0)   (se S0 > ρ)
+ *   tamanho final: S∞ = S0·exp((S∞ - S0 - I0)/ρ)  =>  S∞ = -ρ·W0(-(S0/ρ)·e^{-(S0+I0)/ρ})
+ *   tempo:         t(v) = ∫_0^v dv' / (a·I(v')),  com S = S0·e^{-v}, a = β/N
+ *
+ * onde W0 é o ramo principal da função W de Lambert. O tempo é uma quadratura
+ * curta de Gauss-Legendre feita em variáveis logarítmicas: ln(I0 + (S0 - ρ)·v)
+ * na subida e ln(v∞ - v) na descida, que tornam o integrando quase constante
+ * nas fases em que I é muito pequeno. Os métodos "Lote" processam
+ * vetores de cenários em laços sem desvios, em passo travado, para que o JIT
+ * possa vetorizá-los.
+ */
+public final class MotorAnaliticoSIR {
+
+    // Gauss-Legendre de 8 pontos em [-1, 1]
+    private static final double[] NOS = {
+        -0.9602898564975363, -0.7966664774136267, -0.5255324099163290, -0.1834346424956498,
+         0.1834346424956498,  0.5255324099163290,  0.7966664774136267,  0.9602898564975363
+    };
+    private static final double[] PESOS = {
+        0.1012285362903763, 0.2223810344533745, 0.3137066458778873, 0.3626837833783620,
+        0.3626837833783620, 0.3137066458778873, 0.2223810344533745, 0.1012285362903763
+    };
+
+    // Largura máxima de cada painel de Gauss nas variáveis logarítmicas da quadratura; a descida
+    // usa painéis mais estreitos porque, com S∞ muito pequeno, o integrando muda rápido perto do pico
+    private static final double LARGURA_PAINEL_SUBIDA = 4.0;
+    private static final double LARGURA_PAINEL_DESCIDA = 1.0;
+    // Iterações de Halley para W0 (fixas, para o laço em passo travado) e limite das de Newton em t(v)
+    private static final int ITERACOES_LAMBERT = 5;
+    private static final int ITERACOES_TEMPO = 60;
+    private static final double TOLERANCIA_TEMPO = 1e-12;
+
+    private MotorAnaliticoSIR() {
+    }
+
+    // --- 1. Pico de infectados (horizonte infinito) ---
+    public static double picoInfectados(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao,
+                                        double suscetiveisIniciais, double infectadosIniciais) {
+        double rho = taxaRecuperacao * populacaoTotal / taxaTransmissao;
+        if (suscetiveisIniciais <= rho || infectadosIniciais <= 0) {
+            return infectadosIniciais;
+        }
+        return suscetiveisIniciais + infectadosIniciais - rho + rho * Math.log(rho / suscetiveisIniciais);
+    }
+
+    // --- 2. Suscetíveis finais S∞ (t -> ∞) via Lambert W ---
+    public static double suscetiveisFinais(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao,
+                                           double suscetiveisIniciais, double infectadosIniciais) {
+        double rho = taxaRecuperacao * populacaoTotal / taxaTransmissao;
+        double argumento = -(suscetiveisIniciais / rho) * Math.exp(-(suscetiveisIniciais + infectadosIniciais) / rho);
+        return -rho * lambertW0(argumento);
+    }
+
+    // --- 3. Tempo até o pico (quadratura de t(v) até S = ρ) ---
+    public static double tempoAtePico(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao,
+                                      double suscetiveisIniciais, double infectadosIniciais) {
+        double rho = taxaRecuperacao * populacaoTotal / taxaTransmissao;
+        if (suscetiveisIniciais <= rho || infectadosIniciais <= 0) {
+            return 0.0;
+        }
+        double inclinacao = suscetiveisIniciais - rho;
+        double xPico = Math.log(infectadosIniciais + inclinacao * Math.log(suscetiveisIniciais / rho));
+        return tempoSubida(xPico, rho, suscetiveisIniciais, infectadosIniciais)
+            * populacaoTotal / taxaTransmissao;
+    }
+
+    // --- 4. Infectados no instante t, invertendo t(v) por Newton com salvaguarda de bisseção ---
+    public static double infectadosEm(double tempo, double populacaoTotal, double taxaTransmissao,
+                                      double taxaRecuperacao, double suscetiveisIniciais, double infectadosIniciais) {
+        if (tempo <= 0 || infectadosIniciais <= 0) {
+            return infectadosIniciais;
+        }
+        double rho = taxaRecuperacao * populacaoTotal / taxaTransmissao;
+        double taxaPorContato = taxaTransmissao / populacaoTotal;
+        double suscetiveisFinais = suscetiveisFinais(populacaoTotal, taxaTransmissao, taxaRecuperacao,
+                                                     suscetiveisIniciais, infectadosIniciais);
+        double vFinal = Math.log(suscetiveisIniciais / suscetiveisFinais);
+        double vPico = 0.0;
+        double tempoPico = 0.0;
+
+        if (suscetiveisIniciais > rho) {
+            // Subida: x = ln(I0 + (S0 - ρ)·v) em [ln I0, xPico]
+            double inclinacao = suscetiveisIniciais - rho;
+            vPico = Math.log(suscetiveisIniciais / rho);
+            double xMinimo = Math.log(infectadosIniciais);
+            double xMaximo = Math.log(infectadosIniciais + inclinacao * vPico);
+            tempoPico = tempoSubida(xMaximo, rho, suscetiveisIniciais, infectadosIniciais) / taxaPorContato;
+            if (tempo <= tempoPico) {
+                double x = xMinimo + (xMaximo - xMinimo) * tempo / tempoPico;
+                for (int iteracao = 0; iteracao < ITERACOES_TEMPO; iteracao++) {
+                    double residuo = tempoSubida(x, rho, suscetiveisIniciais, infectadosIniciais) / taxaPorContato - tempo;
+                    if (residuo > 0) {
+                        xMaximo = x;
+                    } else {
+                        xMinimo = x;
+                    }
+                    if (Math.abs(residuo) <= TOLERANCIA_TEMPO * tempo) {
+                        break;
+                    }
+                    double proximo = x - residuo * taxaPorContato
+                        / integrandoSubida(x, inclinacao, rho, suscetiveisIniciais, infectadosIniciais);
+                    x = (proximo > xMinimo && proximo < xMaximo) ? proximo : 0.5 * (xMinimo + xMaximo);
+                }
+                return infectados(Math.expm1(x - Math.log(infectadosIniciais)) * infectadosIniciais / inclinacao,
+                                  rho, suscetiveisIniciais, infectadosIniciais);
+            }
+        }
+
+        // Descida: y = ln(v∞ - v) em [yMinimo, yPico]. Como I <= ρ·(v∞ - v), t cresce pelo menos
+        // 1/(a·ρ) por unidade de y, o que limita o intervalo de busca
+        double restante = tempo - tempoPico;
+        double yPico = Math.log(Math.max(vFinal - vPico, Double.MIN_NORMAL));
+        double yMinimo = yPico - restante * taxaPorContato * rho;
+        double yMaximo = yPico;
+        double y = yPico - restante * taxaPorContato * (rho - suscetiveisFinais);
+        y = Math.max(y, yMinimo);
+        for (int iteracao = 0; iteracao < ITERACOES_TEMPO; iteracao++) {
+            double residuo = tempoDescida(y, yPico, rho, suscetiveisFinais) / taxaPorContato - restante;
+            // t decresce com y
+            if (residuo > 0) {
+                yMinimo = y;
+            } else {
+                yMaximo = y;
+            }
+            if (Math.abs(residuo) <= TOLERANCIA_TEMPO * tempo) {
+                break;
+            }
+            double proximo = y + residuo * taxaPorContato / integrandoDescida(y, rho, suscetiveisFinais);
+            y = (proximo > yMinimo && proximo < yMaximo) ? proximo : 0.5 * (yMinimo + yMaximo);
+        }
+        return infectadosDescida(Math.exp(y), rho, suscetiveisFinais);
+    }
+
+    // --- 5. Resumo de um lote de cenários (pico, tempo até o pico, tamanho final) ---
+    // Vetores de entrada e de saída com o mesmo comprimento; tamanhoFinal = S0 - S∞ (novas infecções)
+    public static void resumirLote(double[] populacaoTotal, double[] taxaTransmissao, double[] taxaRecuperacao,
+                                   double[] suscetiveisIniciais, double[] infectadosIniciais,
+                                   double[] pico, double[] tempoPico, double[] tamanhoFinal) {
+        resumirLote(populacaoTotal, taxaTransmissao, taxaRecuperacao, suscetiveisIniciais, infectadosIniciais,
+                    pico, tempoPico, tamanhoFinal, 0, pico.length);
+    }
+
+    // Mesma operação restrita a [inicio, fim), para dividir o lote entre threads
+    public static void resumirLote(double[] populacaoTotal, double[] taxaTransmissao, double[] taxaRecuperacao,
+                                   double[] suscetiveisIniciais, double[] infectadosIniciais,
+                                   double[] pico, double[] tempoPico, double[] tamanhoFinal, int inicio, int fim) {
+        // Pico e argumento do Lambert W (o argumento fica guardado em tamanhoFinal)
+        for (int i = inicio; i < fim; i++) {
+            double rho = taxaRecuperacao[i] * populacaoTotal[i] / taxaTransmissao[i];
+            double s0 = suscetiveisIniciais[i], i0 = infectadosIniciais[i];
+            double picoInterior = s0 + i0 - rho + rho * Math.log(rho / s0);
+            pico[i] = (s0 > rho && i0 > 0) ? picoInterior : i0;
+            tamanhoFinal[i] = -(s0 / rho) * Math.exp(-(s0 + i0) / rho);
+        }
+
+        // W0 em passo travado: mesmo número de iterações para todos os cenários
+        lambertW0Lote(tamanhoFinal, inicio, fim);
+        for (int i = inicio; i < fim; i++) {
+            double rho = taxaRecuperacao[i] * populacaoTotal[i] / taxaTransmissao[i];
+            tamanhoFinal[i] = suscetiveisIniciais[i] + rho * tamanhoFinal[i];
+        }
+
+        // Tempo até o pico (quadratura por cenário)
+        for (int i = inicio; i < fim; i++) {
+            tempoPico[i] = tempoAtePico(populacaoTotal[i], taxaTransmissao[i], taxaRecuperacao[i],
+                                        suscetiveisIniciais[i], infectadosIniciais[i]);
+        }
+    }
+
+    // --- 6. Ramo principal da função W de Lambert, para z em [-1/e, 0] ---
+    public static double lambertW0(double z) {
+        double w = chuteLambert(z);
+        for (int iteracao = 0; iteracao < ITERACOES_LAMBERT; iteracao++) {
+            w = passoHalley(w, z);
+        }
+        return w;
+    }
+
+    // W0 no próprio vetor (z -> W0(z)), com as iterações em passo travado sobre todo o intervalo
+    static void lambertW0Lote(double[] valores, int inicio, int fim) {
+        double[] z = java.util.Arrays.copyOfRange(valores, inicio, fim);
+        for (int i = inicio; i < fim; i++) {
+            valores[i] = chuteLambert(z[i - inicio]);
+        }
+        for (int iteracao = 0; iteracao < ITERACOES_LAMBERT; iteracao++) {
+            for (int i = inicio; i < fim; i++) {
+                valores[i] = passoHalley(valores[i], z[i - inicio]);
+            }
+        }
+    }
+
+    // Chute inicial: série no ponto de ramificação z = -1/e, ou log1p perto de zero
+    private static double chuteLambert(double z) {
+        double p = Math.sqrt(Math.max(0.0, 2.0 * (Math.E * z + 1.0)));
+        double pertoRamificacao = -1.0 + p - p * p / 3.0 + 11.0 / 72.0 * p * p * p;
+        double pertoZero = Math.log1p(z);
+        return z < -0.25 ? pertoRamificacao : pertoZero;
+    }
+
+    // Passo de Halley para w·e^w = z (convergência cúbica)
+    private static double passoHalley(double w, double z) {
+        double ew = Math.exp(w);
+        double f = w * ew - z;
+        double wMais1 = Math.max(w + 1.0, 1e-300);
+        double denominador = ew * wMais1 - (w + 2.0) * f / (2.0 * wMais1);
+        return denominador == 0.0 ? w : w - f / denominador;
+    }
+
+    // I em função de v = ln(S0/S): I = S0 + I0 - S + ρ·ln(S/S0)
+    private static double infectados(double v, double rho, double suscetiveisIniciais, double infectadosIniciais) {
+        return Math.max(0.0, infectadosIniciais - suscetiveisIniciais * Math.expm1(-v) - rho * v);
+    }
+
+    // I em função de w = v∞ - v: I = ρ·w - S∞·(e^w - 1), sem cancelamento perto de I = 0
+    private static double infectadosDescida(double w, double rho, double suscetiveisFinais) {
+        return Math.max(0.0, rho * w - suscetiveisFinais * Math.expm1(w));
+    }
+
+    // Integrandos de a·t nas variáveis logarítmicas; ambos tendem a constantes nos extremos
+    // (1/(S0 - ρ) no início e 1/(ρ - S∞) no fim), então poucos nós de Gauss bastam
+    private static double integrandoSubida(double x, double inclinacao, double rho,
+                                           double suscetiveisIniciais, double infectadosIniciais) {
+        double ex = Math.exp(x);
+        return ex / (inclinacao * infectados((ex - infectadosIniciais) / inclinacao, rho,
+                                             suscetiveisIniciais, infectadosIniciais));
+    }
+
+    private static double integrandoDescida(double y, double rho, double suscetiveisFinais) {
+        double w = Math.exp(y);
+        return w / infectadosDescida(w, rho, suscetiveisFinais);
+    }
+
+    // a·t na subida: ∫ dv / I(v) com x = ln(I0 + (S0 - ρ)·v), de ln I0 até x
+    private static double tempoSubida(double x, double rho, double suscetiveisIniciais, double infectadosIniciais) {
+        double inclinacao = suscetiveisIniciais - rho;
+        double inicio = Math.log(infectadosIniciais);
+        int paineis = 1 + (int) ((x - inicio) / LARGURA_PAINEL_SUBIDA);
+        double largura = (x - inicio) / paineis;
+        double soma = 0.0;
+        for (int painel = 0; painel < paineis; painel++) {
+            double centro = inicio + (painel + 0.5) * largura;
+            for (int k = 0; k < NOS.length; k++) {
+                soma += PESOS[k] * integrandoSubida(centro + 0.5 * largura * NOS[k], inclinacao, rho,
+                                                    suscetiveisIniciais, infectadosIniciais);
+            }
+        }
+        return soma * 0.5 * largura;
+    }
+
+    // a·t na descida: ∫ dv / I(v) com y = ln(v∞ - v), de y até yPico
+    private static double tempoDescida(double y, double yPico, double rho, double suscetiveisFinais) {
+        int paineis = 1 + (int) ((yPico - y) / LARGURA_PAINEL_DESCIDA);
+        double largura = (yPico - y) / paineis;
+        double soma = 0.0;
+        for (int painel = 0; painel < paineis; painel++) {
+            double centro = y + (painel + 0.5) * largura;
+            for (int k = 0; k < NOS.length; k++) {
+                soma += PESOS[k] * integrandoDescida(centro + 0.5 * largura * NOS[k], rho, suscetiveisFinais);
+            }
+        }
+        return soma * 0.5 * largura;
+    }
+}
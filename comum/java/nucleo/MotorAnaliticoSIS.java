@@ -0,0 +1,70 @@
+package nucleo;
+
+/**
+ * Solução exata do Modelo SIS. Como S + I = M é constante, dI/dt é logística:
+ *
+ *   dI/dt = r·I - a·I²,  com a = β/N e r = a·M - γ,
+ *
+ * cuja solução é I(t) = I0 / (e^{-r·t} + a·I0·(1 - e^{-r·t})/r). A forma com
+ * expm1 abaixo é estável também para r ≈ 0 (limite I0 / (1 + a·I0·t)) e para
+ * r < 0 (extinção). Cada ponto custa O(1), sem integração.
+ */
+public final class MotorAnaliticoSIS {
+
+    private MotorAnaliticoSIS() {
+    }
+
+    // --- 1. Infectados no instante t ---
+    public static double infectados(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao,
+                                    double suscetiveisIniciais, double infectadosIniciais, double tempo) {
+        double taxaPorContato = taxaTransmissao / populacaoTotal;
+        double taxaCrescimento = taxaPorContato * (suscetiveisIniciais + infectadosIniciais) - taxaRecuperacao;
+        double expoente = -taxaCrescimento * tempo;
+        // (1 - e^{-r·t}) / r, com limite t quando r -> 0
+        double fatorTempo = taxaCrescimento == 0.0 ? tempo : -Math.expm1(expoente) / taxaCrescimento;
+        return infectadosIniciais / (Math.exp(expoente) + taxaPorContato * infectadosIniciais * fatorTempo);
+    }
+
+    // --- 2. Histórico na grade de passos do projeto ---
+    public static Trajetoria historico(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao,
+                                       double infectadosIniciais, double tempoMaximo, int numeroPassos) {
+        Trajetoria historico = Trajetoria.comGrade(2, tempoMaximo, numeroPassos);
+        preencher(historico, populacaoTotal, taxaTransmissao, taxaRecuperacao, infectadosIniciais);
+        return historico;
+    }
+
+    // --- 3. Estados {S, I} em instantes quaisquer (não precisam estar ordenados) ---
+    public static Trajetoria emInstantes(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao,
+                                         double infectadosIniciais, double[] tempos) {
+        Trajetoria estados = Trajetoria.comInstantes(2, tempos);
+        preencher(estados, populacaoTotal, taxaTransmissao, taxaRecuperacao, infectadosIniciais);
+        return estados;
+    }
+
+    // Avalia a forma fechada em cada instante já presente na trajetória
+    private static void preencher(Trajetoria trajetoria, double populacaoTotal, double taxaTransmissao,
+                                  double taxaRecuperacao, double infectadosIniciais) {
+        double suscetiveisIniciais = populacaoTotal - infectadosIniciais;
+        double[] serieS = trajetoria.serieInterna(0), serieI = trajetoria.serieInterna(1);
+        for (int i = 0; i < trajetoria.tamanho(); i++) {
+            double infectados = infectados(populacaoTotal, taxaTransmissao, taxaRecuperacao,
+                                           suscetiveisIniciais, infectadosIniciais, trajetoria.tempo(i));
+            serieS[i] = populacaoTotal - infectados;
+            serieI[i] = infectados;
+        }
+    }
+
+    // --- 4. Pico de infectados em [0, tempoMaximo] ---
+    // I(t) é monótona (logística), então o máximo está em um dos extremos
+    public static double picoInfectados(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao,
+                                        double infectadosIniciais, double tempoMaximo) {
+        double infectadosFinais = infectados(populacaoTotal, taxaTransmissao, taxaRecuperacao,
+                                             populacaoTotal - infectadosIniciais, infectadosIniciais, tempoMaximo);
+        return Math.max(infectadosIniciais, infectadosFinais);
+    }
+
+    // --- 5. Nível endêmico I* = N·(1 - γ/β) (zero quando R0 = β/γ <= 1) ---
+    public static double nivelEndemico(double populacaoTotal, double taxaTransmissao, double taxaRecuperacao) {
+        return taxaTransmissao > taxaRecuperacao ? populacaoTotal * (1.0 - taxaRecuperacao / taxaTransmissao) : 0.0;
+    }
+}
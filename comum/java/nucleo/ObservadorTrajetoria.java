@@ -0,0 +1,72 @@
+package nucleo;
+
+/**
+ * Consumidor dos estados produzidos pelo laço de integração, chamado uma vez
+ * por ponto da grade (inclusive t = 0), na ordem. Permite processar a
+ * trajetória em fluxo, guardar apenas parte dela ou nada, com memória
+ * constante em vez de O(numeroPassos).
+ *
+ * O vetor {@code estado} é reutilizado pelo solver: quem precisar guardá-lo
+ * deve copiá-lo (como faz {@link #coletando}).
+ */
+@FunctionalInterface
+public interface ObservadorTrajetoria {
+
+    void observar(int passo, double tempo, double[] estado);
+
+    // Consultado pelo laço após cada ponto: true encerra a integração (ex.: evento terminal)
+    default boolean interromper() {
+        return false;
+    }
+
+    // Repassa apenas os passos múltiplos de 'fator' (0, fator, 2·fator, ...)
+    static ObservadorTrajetoria decimado(int fator, ObservadorTrajetoria destino) {
+        if (fator < 1) {
+            throw new IllegalArgumentException("Fator de decimação deve ser >= 1: " + fator);
+        }
+        return new ObservadorTrajetoria() {
+            @Override
+            public void observar(int passo, double tempo, double[] estado) {
+                if (passo % fator == 0) {
+                    destino.observar(passo, tempo, estado);
+                }
+            }
+
+            @Override
+            public boolean interromper() {
+                return destino.interromper();
+            }
+        };
+    }
+
+    // Repassa o primeiro ponto em ou após cada instante 0, intervalo, 2·intervalo, ...
+    // (independe do incremento de tempo do solver; vale também para passos adaptativos)
+    static ObservadorTrajetoria amostradoACada(double intervalo, ObservadorTrajetoria destino) {
+        if (!(intervalo > 0)) {
+            throw new IllegalArgumentException("Intervalo de amostragem deve ser > 0: " + intervalo);
+        }
+        // Folga para o arredondamento de passo * incrementoTempo
+        double folga = 1e-9 * intervalo;
+        return new ObservadorTrajetoria() {
+            private long proximaAmostra = 0;
+
+            @Override
+            public void observar(int passo, double tempo, double[] estado) {
+                if (tempo + folga >= proximaAmostra * intervalo) {
+                    destino.observar(passo, tempo, estado);
+                    proximaAmostra = (long) Math.floor((tempo + folga) / intervalo) + 1;
+                }
+            }
+
+            @Override
+            public boolean interromper() {
+                return destino.interromper();
+            }
+        };
+    }
+
+    // Acrescenta uma cópia de cada ponto recebido à trajetória (que cresce conforme necessário)
+    static ObservadorTrajetoria coletando(Trajetoria destino) {
+        return (passo, tempo, estado) -> destino.adicionar(tempo, estado);
+    }
+}
@@ -0,0 +1,43 @@
+package nucleo;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Instante e estado (interpolados) em que um {@link Evento} ocorreu.
+ */
+public final class OcorrenciaEvento implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String nomeEvento;
+    private final double tempo;
+    private final double[] estado;
+
+    OcorrenciaEvento(String nomeEvento, double tempo, double[] estado) {
+        this.nomeEvento = nomeEvento;
+        this.tempo = tempo;
+        this.estado = estado.clone();
+    }
+
+    public String getNomeEvento() {
+        return nomeEvento;
+    }
+
+    public double getTempo() {
+        return tempo;
+    }
+
+    public double valor(int compartimento) {
+        return estado[compartimento];
+    }
+
+    public double[] getEstado() {
+        return estado.clone();
+    }
+
+    @Override
+    public String toString() {
+        return nomeEvento + " em t = " + tempo + " " + Arrays.toString(estado);
+    }
+}
@@ -0,0 +1,129 @@
+package nucleo;
+
+/**
+ * Observador que interrompe a integração quando o {@link CriterioParada} é
+ * atingido (estado estacionário ou extinção), repassando antes cada ponto ao
+ * destino, se houver. A derivada é estimada pela diferença entre pontos
+ * consecutivos, sem avaliações extras do modelo.
+ *
+ * Depois da parada, {@link #estadoEm} estende a trajetória até qualquer
+ * instante posterior pela cauda analítica do modelo.
+ */
+public final class ParadaAntecipada implements ObservadorTrajetoria {
+
+    public enum Motivo {
+        ESTACIONARIO,
+        EXTINCAO
+    }
+
+    private final ModeloCompartimental modelo;
+    private final CriterioParada criterio;
+    private final ObservadorTrajetoria destino;
+    private double infectadosAnteriores;
+
+    private final double[] estadoAnterior;
+    private double tempoAnterior;
+    private boolean possuiAnterior;
+    private int pontosEstacionarios;
+
+    private Motivo motivo;
+    private int passoParada;
+    private double tempoParada;
+    private double[] estadoParada;
+
+    public ParadaAntecipada(ModeloCompartimental modelo, CriterioParada criterio) {
+        this(modelo, criterio, null);
+    }
+
+    public ParadaAntecipada(ModeloCompartimental modelo, CriterioParada criterio, ObservadorTrajetoria destino) {
+        this.modelo = modelo;
+        this.criterio = criterio;
+        this.destino = destino;
+        this.estadoAnterior = new double[modelo.numeroCompartimentos()];
+    }
+
+    // --- 1. Recebe um ponto da integração ---
+    @Override
+    public void observar(int passo, double tempo, double[] estado) {
+        if (motivo != null) {
+            return;
+        }
+        if (destino != null) {
+            destino.observar(passo, tempo, estado);
+        }
+        double infectados = modelo.infectados(estado);
+        if (possuiAnterior && tempo > tempoAnterior) {
+            if (infectados < criterio.getLimiarExtincao() && infectados <= infectadosAnteriores) {
+                parar(Motivo.EXTINCAO, passo, tempo, estado);
+                return;
+            }
+            if (estacionario(tempo - tempoAnterior, estado)) {
+                pontosEstacionarios++;
+                if (pontosEstacionarios >= criterio.getJanela()) {
+                    parar(Motivo.ESTACIONARIO, passo, tempo, estado);
+                    return;
+                }
+            } else {
+                pontosEstacionarios = 0;
+            }
+        }
+        System.arraycopy(estado, 0, estadoAnterior, 0, estadoAnterior.length);
+        infectadosAnteriores = infectados;
+        tempoAnterior = tempo;
+        possuiAnterior = true;
+    }
+
+    @Override
+    public boolean interromper() {
+        return motivo != null || (destino != null && destino.interromper());
+    }
+
+    // |Δy_c| <= tolerancia·Δt·(|y_c| + 1) em todos os compartimentos
+    private boolean estacionario(double incrementoTempo, double[] estado) {
+        double limite = criterio.getToleranciaDerivada() * incrementoTempo;
+        for (int c = 0; c < estado.length; c++) {
+            if (Math.abs(estado[c] - estadoAnterior[c]) > limite * (Math.abs(estado[c]) + 1.0)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void parar(Motivo motivo, int passo, double tempo, double[] estado) {
+        this.motivo = motivo;
+        this.passoParada = passo;
+        this.tempoParada = tempo;
+        this.estadoParada = estado.clone();
+    }
+
+    // --- 2. Resultado ---
+
+    public boolean parou() {
+        return motivo != null;
+    }
+
+    // Motivo da parada, ou null se a integração foi até o fim
+    public Motivo getMotivo() {
+        return motivo;
+    }
+
+    public int getPassoParada() {
+        return passoParada;
+    }
+
+    public double getTempoParada() {
+        return tempoParada;
+    }
+
+    public double[] getEstadoParada() {
+        return estadoParada.clone();
+    }
+
+    // Estado em um instante >= tempoParada pela cauda analítica do modelo
+    public void estadoEm(double tempo, double[] destino) {
+        if (motivo == null) {
+            throw new IllegalStateException("A integração não parou antecipadamente");
+        }
+        modelo.caudaAnalitica(tempo - tempoParada, estadoParada, destino);
+    }
+}
@@ -0,0 +1,12 @@
+package nucleo;
+
+/**
+ * Modelo cujo pico de infectados pode ser calculado sem integrar a trajetória
+ * (ex.: pela quantidade conservada do SIR). Usado pelo {@link Integrador} no
+ * modo {@link MetodoIntegracao#ANALITICO}.
+ */
+public interface PicoAnalitico {
+
+    // Pico de infectados no intervalo [0, tempoMaximo]
+    double picoInfectados(double[] estadoInicial, double tempoMaximo);
+}
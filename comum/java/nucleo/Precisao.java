@@ -0,0 +1,9 @@
+package nucleo;
+
+/**
+ * Precisão de ponto flutuante do estado nos kernels em lote ({@link KernelLote}).
+ */
+public enum Precisao {
+    DUPLA,   // double (64 bits): padrão do projeto
+    SIMPLES  // float (32 bits): varreduras exploratórias, metade da memória e o dobro de pistas SIMD
+}
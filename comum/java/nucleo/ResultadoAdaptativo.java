@@ -0,0 +1,55 @@
+package nucleo;
+
+/**
+ * Série temporal produzida por um solver de passo adaptativo: um ponto por
+ * passo aceito (os instantes não são igualmente espaçados), guardado em uma
+ * {@link Trajetoria}, mais as estatísticas de passos aceitos/rejeitados.
+ */
+public final class ResultadoAdaptativo {
+
+    private final Trajetoria trajetoria;
+    int passosRejeitados;
+    int avaliacoesDerivada;
+
+    ResultadoAdaptativo(int numeroCompartimentos) {
+        this.trajetoria = new Trajetoria(numeroCompartimentos);
+    }
+
+    // Acrescenta uma cópia do estado no instante informado
+    void adicionar(double tempo, double[] estado) {
+        trajetoria.adicionar(tempo, estado);
+    }
+
+    public Trajetoria getTrajetoria() {
+        return trajetoria;
+    }
+
+    // Número de pontos da série (passos aceitos + estado inicial)
+    public int tamanho() {
+        return trajetoria.tamanho();
+    }
+
+    public double tempo(int indice) {
+        return trajetoria.tempo(indice);
+    }
+
+    public double[] estado(int indice) {
+        return trajetoria.estado(indice);
+    }
+
+    public double[] estadoFinal() {
+        return trajetoria.estadoFinal();
+    }
+
+    public int getPassosAceitos() {
+        return trajetoria.tamanho() - 1;
+    }
+
+    public int getPassosRejeitados() {
+        return passosRejeitados;
+    }
+
+    public int getAvaliacoesDerivada() {
+        return avaliacoesDerivada;
+    }
+}
@@ -0,0 +1,60 @@
+package nucleo;
+
+/**
+ * Resultado de uma {@link ArvoreCenarios}: estado final e pico de infectados
+ * de cada cenário, e o trabalho feito (passos integrados) comparado com o de
+ * integrar cada cenário desde t = 0.
+ */
+public final class ResultadoArvore {
+
+    private final EstadoSimulacao[] estadosFinais;
+    private final long passosIntegrados;
+    private final long passosSemCompartilhamento;
+    private final int numeroSegmentos;
+
+    ResultadoArvore(EstadoSimulacao[] estadosFinais, long passosIntegrados, long passosSemCompartilhamento,
+                    int numeroSegmentos) {
+        this.estadosFinais = estadosFinais;
+        this.passosIntegrados = passosIntegrados;
+        this.passosSemCompartilhamento = passosSemCompartilhamento;
+        this.numeroSegmentos = numeroSegmentos;
+    }
+
+    public int getNumeroCenarios() {
+        return estadosFinais.length;
+    }
+
+    // Estado em tempoMaximo; pode ser retomado (ex.: estender o horizonte de um só cenário)
+    public EstadoSimulacao getEstadoFinal(int cenario) {
+        return estadosFinais[cenario];
+    }
+
+    public double getPicoInfectados(int cenario) {
+        return estadosFinais[cenario].getPicoInfectados();
+    }
+
+    public int getNumeroSegmentos() {
+        return numeroSegmentos;
+    }
+
+    public long getPassosIntegrados() {
+        return passosIntegrados;
+    }
+
+    // Passos que a varredura custaria com cada cenário integrado de t = 0 a tempoMaximo
+    public long getPassosSemCompartilhamento() {
+        return passosSemCompartilhamento;
+    }
+
+    // Fração do trabalho evitada pelo compartilhamento de prefixos
+    public double getEconomia() {
+        return passosSemCompartilhamento == 0 ? 0.0 : 1.0 - (double) passosIntegrados / passosSemCompartilhamento;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d cenários em %d segmentos: %d passos integrados de %d (economia de %.1f%%)",
+                             getNumeroCenarios(), numeroSegmentos, passosIntegrados, passosSemCompartilhamento,
+                             100.0 * getEconomia());
+    }
+}
@@ -0,0 +1,141 @@
+package nucleo;
+
+import java.util.Arrays;
+
+/**
+ * Resultado de um ensemble de realizações estocásticas ({@link SimuladorGillespie}):
+ * grandezas de cada realização em vetores (um elemento por realização) e a
+ * média de infectados em uma grade de tempo. Cada realização usa o seu próprio
+ * fluxo aleatório, derivado da semente pelo índice, então o resultado é o
+ * mesmo qualquer que seja o número de threads.
+ */
+public final class ResultadoEnsemble {
+
+    private final double tempoMaximo;
+    private final int[] picosInfectados;
+    private final double[] temposPico;
+    private final long[] infeccoesTotais;
+    // Instante em que I chegou a 0, ou NaN se a epidemia seguia em tempoMaximo
+    private final double[] temposExtincao;
+    private final long[] eventos;
+    // Soma de I(t) sobre as realizações em cada ponto da grade (inteiros: soma exata em qualquer ordem)
+    private final long[] somaInfectados;
+
+    ResultadoEnsemble(int realizacoes, int pontosGrade, double tempoMaximo) {
+        this.tempoMaximo = tempoMaximo;
+        this.picosInfectados = new int[realizacoes];
+        this.temposPico = new double[realizacoes];
+        this.infeccoesTotais = new long[realizacoes];
+        this.temposExtincao = new double[realizacoes];
+        this.eventos = new long[realizacoes];
+        this.somaInfectados = new long[pontosGrade];
+    }
+
+    void registrar(int realizacao, int pico, double tempoPico, long infeccoes, double tempoExtincao, long numeroEventos) {
+        picosInfectados[realizacao] = pico;
+        temposPico[realizacao] = tempoPico;
+        infeccoesTotais[realizacao] = infeccoes;
+        temposExtincao[realizacao] = tempoExtincao;
+        eventos[realizacao] = numeroEventos;
+    }
+
+    // Acumula a soma parcial de uma thread
+    synchronized void somarInfectados(long[] parcial) {
+        for (int p = 0; p < somaInfectados.length; p++) {
+            somaInfectados[p] += parcial[p];
+        }
+    }
+
+    public int getNumeroRealizacoes() {
+        return picosInfectados.length;
+    }
+
+    public int getPicoInfectados(int realizacao) {
+        return picosInfectados[realizacao];
+    }
+
+    public double getTempoPico(int realizacao) {
+        return temposPico[realizacao];
+    }
+
+    // Infectados iniciais mais eventos de infecção (no SIR, o tamanho final da epidemia)
+    public long getInfeccoesTotais(int realizacao) {
+        return infeccoesTotais[realizacao];
+    }
+
+    public boolean isExtinta(int realizacao) {
+        return !Double.isNaN(temposExtincao[realizacao]);
+    }
+
+    public double getTempoExtincao(int realizacao) {
+        return temposExtincao[realizacao];
+    }
+
+    public long getEventos(int realizacao) {
+        return eventos[realizacao];
+    }
+
+    public long getEventosTotais() {
+        long total = 0;
+        for (long numero : eventos) {
+            total += numero;
+        }
+        return total;
+    }
+
+    // --- Resumos do ensemble ---
+
+    // Fração das realizações em que a infecção se extinguiu antes de tempoMaximo
+    public double probabilidadeExtincao() {
+        int extintas = 0;
+        for (int k = 0; k < temposExtincao.length; k++) {
+            if (isExtinta(k)) {
+                extintas++;
+            }
+        }
+        return (double) extintas / temposExtincao.length;
+    }
+
+    // Fração das realizações com menos de limiarInfeccoes infecções no total (surtos menores:
+    // no SIR toda realização acaba extinta, e é o tamanho final que separa os dois regimes)
+    public double fracaoSurtosMenores(long limiarInfeccoes) {
+        int menores = 0;
+        for (long infeccoes : infeccoesTotais) {
+            if (infeccoes < limiarInfeccoes) {
+                menores++;
+            }
+        }
+        return (double) menores / infeccoesTotais.length;
+    }
+
+    public double mediaPico() {
+        double soma = 0;
+        for (int pico : picosInfectados) {
+            soma += pico;
+        }
+        return soma / picosInfectados.length;
+    }
+
+    // Quantil q ∈ [0, 1] dos picos (vizinho mais próximo)
+    public int quantilPico(double q) {
+        if (!(q >= 0 && q <= 1)) {
+            throw new IllegalArgumentException("Quantil deve estar em [0, 1]: " + q);
+        }
+        int[] ordenados = picosInfectados.clone();
+        Arrays.sort(ordenados);
+        return ordenados[(int) Math.round(q * (ordenados.length - 1))];
+    }
+
+    public int getPontosGrade() {
+        return somaInfectados.length;
+    }
+
+    public double tempoGrade(int ponto) {
+        return somaInfectados.length == 1 ? 0.0 : ponto * tempoMaximo / (somaInfectados.length - 1);
+    }
+
+    // Média de I no ponto da grade sobre todas as realizações (extintas contam como 0)
+    public double mediaInfectados(int ponto) {
+        return (double) somaInfectados[ponto] / picosInfectados.length;
+    }
+}
@@ -0,0 +1,46 @@
+package nucleo;
+
+/**
+ * Trajetória produzida pelo {@link SolverParareal} na grade fina de passos,
+ * mais as estatísticas da iteração: número de fatias, iterações feitas e a
+ * última correção relativa (0 quando todas as fatias ficaram exatas).
+ */
+public final class ResultadoParareal {
+
+    private final Trajetoria trajetoria;
+    private final int numeroFatias;
+    private final int iteracoes;
+    private final double correcaoFinal;
+
+    ResultadoParareal(Trajetoria trajetoria, int numeroFatias, int iteracoes, double correcaoFinal) {
+        this.trajetoria = trajetoria;
+        this.numeroFatias = numeroFatias;
+        this.iteracoes = iteracoes;
+        this.correcaoFinal = correcaoFinal;
+    }
+
+    public Trajetoria getTrajetoria() {
+        return trajetoria;
+    }
+
+    public double[] estadoFinal() {
+        return trajetoria.estadoFinal();
+    }
+
+    public int getNumeroFatias() {
+        return numeroFatias;
+    }
+
+    public int getIteracoes() {
+        return iteracoes;
+    }
+
+    public double getCorrecaoFinal() {
+        return correcaoFinal;
+    }
+
+    // Limite do speedup com uma thread por fatia: cada iteração custa uma fatia fina
+    public double getSpeedupIdeal() {
+        return (double) numeroFatias / iteracoes;
+    }
+}
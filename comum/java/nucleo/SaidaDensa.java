@@ -0,0 +1,131 @@
+package nucleo;
+
+/**
+ * Saída densa de uma integração: guarda os pontos dos passos internos (estado
+ * e derivada) e avalia a solução em qualquer instante do intervalo pelo
+ * interpolante de Hermite cúbico do passo que o contém. O erro do
+ * interpolante é O(h^4), a mesma ordem do RK4, de modo que a integração pode
+ * usar passos grossos e ainda assim responder numa grade fina ou irregular
+ * (ex.: 365 pontos diários) sem guardar a grade fina.
+ *
+ * É um {@link ObservadorTrajetoria}: qualquer laço em fluxo (RK4, ABM4,
+ * Dormand-Prince, Rosenbrock) pode preenchê-la. Custa uma avaliação de
+ * derivada por ponto recebido.
+ */
+public final class SaidaDensa implements ObservadorTrajetoria {
+
+    private final ModeloCompartimental modelo;
+    private final Trajetoria estados;
+    private final Trajetoria derivadas;
+    private final double[] derivada;
+
+    public SaidaDensa(ModeloCompartimental modelo) {
+        this.modelo = modelo;
+        int n = modelo.numeroCompartimentos();
+        this.estados = new Trajetoria(n);
+        this.derivadas = new Trajetoria(n);
+        this.derivada = new double[n];
+    }
+
+    // Reserva espaço para 'capacidade' pontos (grades fixas conhecidas de antemão)
+    public SaidaDensa(ModeloCompartimental modelo, int capacidade) {
+        this.modelo = modelo;
+        int n = modelo.numeroCompartimentos();
+        this.estados = new Trajetoria(n, capacidade);
+        this.derivadas = new Trajetoria(n, capacidade);
+        this.derivada = new double[n];
+    }
+
+    // --- 1. Recebe um ponto da integração ---
+    @Override
+    public void observar(int passo, double tempo, double[] estado) {
+        modelo.derivada(tempo, estado, derivada);
+        estados.adicionar(tempo, estado);
+        derivadas.adicionar(tempo, derivada);
+    }
+
+    // --- 2. Avaliação em um instante qualquer de [tempoInicial, tempoFinal] ---
+    public void avaliar(double tempo, double[] destino) {
+        int ponto = intervalo(tempo);
+        int n = estados.numeroCompartimentos();
+        double tempoInicio = estados.tempo(ponto);
+        double h = estados.tempo(ponto + 1) - tempoInicio;
+        double fracao = h > 0 ? (tempo - tempoInicio) / h : 0.0;
+        for (int c = 0; c < n; c++) {
+            double[] y = estados.serieInterna(c), f = derivadas.serieInterna(c);
+            double valor = hermite(fracao, h, y[ponto], f[ponto], y[ponto + 1], f[ponto + 1]);
+            destino[c] = valor < 0 ? 0 : valor;
+        }
+    }
+
+    public double[] avaliar(double tempo) {
+        double[] estado = new double[estados.numeroCompartimentos()];
+        avaliar(tempo, estado);
+        return estado;
+    }
+
+    // --- 3. Avaliação em uma lista de instantes (em qualquer ordem) ---
+    public Trajetoria emInstantes(double[] instantes) {
+        int n = estados.numeroCompartimentos();
+        Trajetoria resultado = Trajetoria.comInstantes(n, instantes);
+        double[] estado = new double[n];
+        for (int ponto = 0; ponto < instantes.length; ponto++) {
+            avaliar(instantes[ponto], estado);
+            resultado.definir(ponto, estado);
+        }
+        return resultado;
+    }
+
+    // Índice do passo [t_i, t_{i+1}] que contém 'tempo' (busca binária)
+    private int intervalo(double tempo) {
+        int tamanho = estados.tamanho();
+        if (tamanho < 2) {
+            throw new IllegalStateException("Saída densa precisa de ao menos dois pontos: " + tamanho);
+        }
+        double inicio = estados.tempo(0), fim = estados.tempo(tamanho - 1);
+        // Folga para o arredondamento do último instante da grade
+        double folga = 1e-9 * Math.max(1.0, Math.abs(fim - inicio));
+        if (!(tempo >= inicio - folga && tempo <= fim + folga)) {
+            throw new IllegalArgumentException("Instante " + tempo + " fora do intervalo integrado ["
+                + inicio + ", " + fim + "]");
+        }
+        int baixo = 0, alto = tamanho - 2;
+        while (baixo < alto) {
+            int meio = (baixo + alto + 1) >>> 1;
+            if (estados.tempo(meio) <= tempo) {
+                baixo = meio;
+            } else {
+                alto = meio - 1;
+            }
+        }
+        return baixo;
+    }
+
+    // Interpolante de Hermite cúbico na fração θ ∈ [0, 1] de um passo de tamanho h
+    static double hermite(double fracao, double h, double valorInicio, double derivadaInicio,
+                          double valorFim, double derivadaFim) {
+        double t2 = fracao * fracao, t3 = t2 * fracao;
+        double h00 = 2 * t3 - 3 * t2 + 1, h10 = t3 - 2 * t2 + fracao;
+        double h01 = -2 * t3 + 3 * t2, h11 = t3 - t2;
+        return h00 * valorInicio + h10 * h * derivadaInicio + h01 * valorFim + h11 * h * derivadaFim;
+    }
+
+    // --- 4. Pontos internos ---
+
+    public int numeroPontos() {
+        return estados.tamanho();
+    }
+
+    public double getTempoInicial() {
+        return estados.tempo(0);
+    }
+
+    public double getTempoFinal() {
+        return estados.tempo(estados.tamanho() - 1);
+    }
+
+    // Estados nos passos internos (sem interpolação)
+    public Trajetoria getPontosInternos() {
+        return estados;
+    }
+}
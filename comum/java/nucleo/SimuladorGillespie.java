@@ -0,0 +1,131 @@
+package nucleo;
+
+import java.util.SplittableRandom;
+
+/**
+ * SIR/SIS estocástico exato: algoritmo de Gillespie (método direto, SSA) com
+ * populações inteiras. Há duas reações, infecção (taxa β·S·I/N, S→I) e
+ * recuperação (taxa γ·I, I→R no SIR e I→S no SIS); a cada evento sorteia-se o
+ * tempo até o próximo, exponencial com a taxa total, e qual reação ocorre,
+ * proporcional às taxas. As taxas são as mesmas de {@link ModeloSIR} e
+ * {@link ModeloSIS}, dos quais os parâmetros são tirados.
+ *
+ * O custo é de um evento por infecção ou recuperação, o que limita o método a
+ * populações de milhares a poucas centenas de milhares; acima disso, ver
+ * {@link SimuladorTauLeaping}. O ensemble roda as realizações em paralelo,
+ * cada uma com seu fluxo aleatório ({@link EnsembleParalelo}), e o resultado
+ * depende só da semente, não do número de threads.
+ */
+public final class SimuladorGillespie {
+
+    private final int populacao;
+    private final double taxaTransmissao;
+    private final double taxaRecuperacao;
+    // SIS: o recuperado volta a suscetível; SIR: sai da dinâmica
+    private final boolean reinfeccao;
+    private final double tempoMaximo;
+    private final int pontosGrade;
+
+    private SimuladorGillespie(double populacao, double taxaTransmissao, double taxaRecuperacao, boolean reinfeccao,
+                               double tempoMaximo, int pontosGrade) {
+        if (!(populacao >= 1 && populacao <= Integer.MAX_VALUE)) {
+            throw new IllegalArgumentException("População fora do intervalo de indivíduos inteiros: " + populacao);
+        }
+        if (!(tempoMaximo > 0)) {
+            throw new IllegalArgumentException("Tempo máximo deve ser positivo: " + tempoMaximo);
+        }
+        if (pontosGrade < 2) {
+            throw new IllegalArgumentException("A grade precisa de pelo menos 2 pontos: " + pontosGrade);
+        }
+        this.populacao = (int) Math.round(populacao);
+        this.taxaTransmissao = taxaTransmissao;
+        this.taxaRecuperacao = taxaRecuperacao;
+        this.reinfeccao = reinfeccao;
+        this.tempoMaximo = tempoMaximo;
+        this.pontosGrade = pontosGrade;
+    }
+
+    // SIR estocástico com os parâmetros do modelo (N arredondado para inteiro); I(t) médio em
+    // pontosGrade pontos de 0 a tempoMaximo
+    public static SimuladorGillespie sir(ModeloSIR modelo, double tempoMaximo, int pontosGrade) {
+        return new SimuladorGillespie(modelo.getPopulacaoTotal(), modelo.getTaxaTransmissao(),
+                                      modelo.getTaxaRecuperacao(), false, tempoMaximo, pontosGrade);
+    }
+
+    public static SimuladorGillespie sis(ModeloSIS modelo, double tempoMaximo, int pontosGrade) {
+        return new SimuladorGillespie(modelo.getPopulacaoTotal(), modelo.getTaxaTransmissao(),
+                                      modelo.getTaxaRecuperacao(), true, tempoMaximo, pontosGrade);
+    }
+
+    public int getPopulacao() {
+        return populacao;
+    }
+
+    // --- 1. Ensemble paralelo ---
+    public ResultadoEnsemble executarEnsemble(int infectadosIniciais, int realizacoes, long semente, int numeroThreads) {
+        if (infectadosIniciais < 1 || infectadosIniciais > populacao) {
+            throw new IllegalArgumentException("Infectados iniciais fora de [1, N]: " + infectadosIniciais);
+        }
+        return EnsembleParalelo.executar(realizacoes, pontosGrade, tempoMaximo, semente, numeroThreads,
+            (aleatorio, indice, somaInfectados, destino) ->
+                realizacao(infectadosIniciais, aleatorio, indice, somaInfectados, destino));
+    }
+
+    // --- 2. Uma realização (método direto) ---
+    private void realizacao(int infectadosIniciais, SplittableRandom aleatorio, int indice, long[] somaInfectados,
+                            ResultadoEnsemble resultado) {
+        double taxaPorContato = taxaTransmissao / populacao;
+        double espacamento = tempoMaximo / (pontosGrade - 1);
+        int suscetiveis = populacao - infectadosIniciais;
+        int infectados = infectadosIniciais;
+        int infeccoes = infectadosIniciais;
+        int pico = infectados;
+        double tempoPico = 0.0;
+        double tempoExtincao = Double.NaN;
+        long eventos = 0;
+        double tempo = 0.0;
+        int ponto = 0;
+
+        while (true) {
+            double taxaInfeccao = taxaPorContato * suscetiveis * infectados;
+            double taxaTotal = taxaInfeccao + taxaRecuperacao * infectados;
+            // Sem infectados (ou sem reações possíveis) o estado não muda mais
+            if (taxaTotal <= 0) {
+                if (infectados == 0) {
+                    tempoExtincao = tempo;
+                }
+                break;
+            }
+            // 1 - U ∈ (0, 1]: evita log(0)
+            double proximoTempo = tempo - Math.log(1.0 - aleatorio.nextDouble()) / taxaTotal;
+            if (proximoTempo > tempoMaximo) {
+                break;
+            }
+            // Pontos da grade antes do evento veem o estado atual
+            while (ponto < pontosGrade && ponto * espacamento < proximoTempo) {
+                somaInfectados[ponto++] += infectados;
+            }
+            tempo = proximoTempo;
+            eventos++;
+            if (aleatorio.nextDouble() * taxaTotal < taxaInfeccao) {
+                suscetiveis--;
+                infectados++;
+                infeccoes++;
+                if (infectados > pico) {
+                    pico = infectados;
+                    tempoPico = tempo;
+                }
+            } else {
+                infectados--;
+                if (reinfeccao) {
+                    suscetiveis++;
+                }
+            }
+        }
+        // Estado final vale até tempoMaximo
+        while (ponto < pontosGrade) {
+            somaInfectados[ponto++] += infectados;
+        }
+        resultado.registrar(indice, pico, tempoPico, infeccoes, tempoExtincao, eventos);
+    }
+}
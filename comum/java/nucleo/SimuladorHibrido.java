@@ -0,0 +1,230 @@
+package nucleo;
+
+import java.util.SplittableRandom;
+
+/**
+ * SIR/SIS híbrido estocástico–determinístico na grade de passo fixo do RK4.
+ * Enquanto I está abaixo de limiarInfectados, cada passo [t, t+h) é simulado
+ * exatamente pelo método direto de Gillespie (populações inteiras); quando I
+ * atinge o limiar, o estado segue pelo passo RK4 fundido do modelo. O acaso só
+ * importa com poucos infectados (emergência e extinção), e lá o SSA é barato,
+ * com poucos eventos por passo; durante a grande onda, o custo é o do RK4.
+ *
+ * A volta ao SSA acontece quando I cai abaixo de HISTERESE·limiar, para não
+ * alternar a cada passo perto do limiar. Nessa volta o estado contínuo é
+ * arredondado estocasticamente (para cima com probabilidade igual à parte
+ * fracionária), sem viés na média, e a população total é preservada. Ensembles
+ * usam os mesmos fluxos por realização do Gillespie ({@link EnsembleParalelo}).
+ */
+public final class SimuladorHibrido {
+
+    // Volta ao SSA abaixo de HISTERESE·limiar (o modo determinístico começa no limiar)
+    static final double HISTERESE = 0.5;
+
+    private final ModeloCompartimental modelo;
+    private final long populacao;
+    private final double taxaTransmissao;
+    private final double taxaRecuperacao;
+    // SIS: o recuperado volta a suscetível; SIR: sai da dinâmica
+    private final boolean reinfeccao;
+    private final double tempoMaximo;
+    private final int numeroPassos;
+    private final double limiarInfectados;
+
+    private SimuladorHibrido(ModeloCompartimental modelo, double populacao, double taxaTransmissao,
+                             double taxaRecuperacao, boolean reinfeccao, double tempoMaximo, int numeroPassos,
+                             double limiarInfectados) {
+        if (!(populacao >= 1 && populacao <= Integer.MAX_VALUE)) {
+            throw new IllegalArgumentException("População fora do intervalo de indivíduos inteiros: " + populacao);
+        }
+        if (!(tempoMaximo > 0)) {
+            throw new IllegalArgumentException("Tempo máximo deve ser positivo: " + tempoMaximo);
+        }
+        if (numeroPassos < 2) {
+            throw new IllegalArgumentException("Número de passos deve ser >= 2: " + numeroPassos);
+        }
+        if (!(limiarInfectados >= 1)) {
+            throw new IllegalArgumentException("Limiar de infectados deve ser >= 1: " + limiarInfectados);
+        }
+        this.modelo = modelo;
+        this.populacao = Math.round(populacao);
+        this.taxaTransmissao = taxaTransmissao;
+        this.taxaRecuperacao = taxaRecuperacao;
+        this.reinfeccao = reinfeccao;
+        this.tempoMaximo = tempoMaximo;
+        this.numeroPassos = numeroPassos;
+        this.limiarInfectados = limiarInfectados;
+    }
+
+    // SIR híbrido com os parâmetros do modelo (N arredondado para inteiro)
+    public static SimuladorHibrido sir(ModeloSIR modelo, double tempoMaximo, int numeroPassos, double limiarInfectados) {
+        ModeloSIR arredondado = new ModeloSIR(Math.round(modelo.getPopulacaoTotal()), modelo.getTaxaTransmissao(),
+                                              modelo.getTaxaRecuperacao());
+        return new SimuladorHibrido(arredondado, modelo.getPopulacaoTotal(), modelo.getTaxaTransmissao(),
+                                    modelo.getTaxaRecuperacao(), false, tempoMaximo, numeroPassos, limiarInfectados);
+    }
+
+    public static SimuladorHibrido sis(ModeloSIS modelo, double tempoMaximo, int numeroPassos, double limiarInfectados) {
+        ModeloSIS arredondado = new ModeloSIS(Math.round(modelo.getPopulacaoTotal()), modelo.getTaxaTransmissao(),
+                                              modelo.getTaxaRecuperacao());
+        return new SimuladorHibrido(arredondado, modelo.getPopulacaoTotal(), modelo.getTaxaTransmissao(),
+                                    modelo.getTaxaRecuperacao(), true, tempoMaximo, numeroPassos, limiarInfectados);
+    }
+
+    public double getLimiarInfectados() {
+        return limiarInfectados;
+    }
+
+    // --- 1. Uma realização, com a mesma saída do RK4 ---
+    // estadoInicial = {S, I, R} (SIR) ou {S, I} (SIS), arredondado para inteiros
+    public Trajetoria realizacao(double[] estadoInicial, long semente) {
+        Trajetoria historico = Trajetoria.comGrade(estadoInicial.length, tempoMaximo, numeroPassos);
+        integrar(estadoInicial, new SplittableRandom(semente), new double[2],
+                 (passo, tempo, estado) -> historico.definir(passo, estado));
+        return historico;
+    }
+
+    // --- 2. Ensemble paralelo (I(t) médio na grade de passos) ---
+    public ResultadoEnsemble executarEnsemble(int infectadosIniciais, int realizacoes, long semente, int numeroThreads) {
+        if (infectadosIniciais < 1 || infectadosIniciais > populacao) {
+            throw new IllegalArgumentException("Infectados iniciais fora de [1, N]: " + infectadosIniciais);
+        }
+        double[] estadoInicial = new double[reinfeccao ? 2 : 3];
+        estadoInicial[0] = populacao - infectadosIniciais;
+        estadoInicial[1] = infectadosIniciais;
+        return EnsembleParalelo.executar(realizacoes, numeroPassos, tempoMaximo, semente, numeroThreads,
+            (aleatorio, indice, somaInfectados, destino) -> {
+                Acompanhamento acompanhamento = new Acompanhamento(somaInfectados);
+                double[] contadores = new double[2];
+                integrar(estadoInicial, aleatorio, contadores, acompanhamento);
+                destino.registrar(indice, (int) Math.round(acompanhamento.pico), acompanhamento.tempoPico,
+                                  Math.round(contadores[0]), acompanhamento.tempoExtincao, (long) contadores[1]);
+            });
+    }
+
+    // Pico, extinção e soma de I(t) de uma realização do ensemble
+    private static final class Acompanhamento implements ObservadorTrajetoria {
+        private final long[] somaInfectados;
+        private double pico = -1;
+        private double tempoPico;
+        private double tempoExtincao = Double.NaN;
+
+        Acompanhamento(long[] somaInfectados) {
+            this.somaInfectados = somaInfectados;
+        }
+
+        @Override
+        public void observar(int passo, double tempo, double[] estado) {
+            double infectados = estado[1];
+            somaInfectados[passo] += Math.round(infectados);
+            if (infectados > pico) {
+                pico = infectados;
+                tempoPico = tempo;
+            }
+            if (infectados == 0 && Double.isNaN(tempoExtincao)) {
+                tempoExtincao = tempo;
+            }
+        }
+
+        // Extinta: os pontos restantes ficariam com I = 0 (nada a somar)
+        @Override
+        public boolean interromper() {
+            return !Double.isNaN(tempoExtincao);
+        }
+    }
+
+    // --- 3. Laço híbrido ---
+    // contadores[0] acumula as infecções (com as iniciais) e contadores[1] os eventos do SSA
+    private void integrar(double[] estadoInicial, SplittableRandom aleatorio, double[] contadores,
+                          ObservadorTrajetoria observador) {
+        if (estadoInicial.length != modelo.numeroCompartimentos()) {
+            throw new IllegalArgumentException("Estado inicial com " + estadoInicial.length + " compartimentos");
+        }
+        double incrementoTempo = Integrador.incrementoTempo(tempoMaximo, numeroPassos);
+        double[][] trabalho = Integrador.novaAreaTrabalhoRK4(modelo);
+        double[] estado = new double[estadoInicial.length];
+        for (int i = 0; i < estado.length; i++) {
+            estado[i] = Math.round(estadoInicial[i]);
+        }
+        boolean deterministico = estado[1] >= limiarInfectados;
+        contadores[0] = estado[1];
+
+        observador.observar(0, 0.0, estado);
+        for (int passo = 0; passo < numeroPassos - 1 && !observador.interromper(); passo++) {
+            double tempo = passo * incrementoTempo;
+            if (deterministico) {
+                double suscetiveis = estado[0];
+                double infectados = estado[1];
+                modelo.passoRK4(tempo, estado, incrementoTempo, trabalho);
+                // Infecções do passo: queda de S no SIR; no SIS, ΔI mais as recuperações (trapézio)
+                contadores[0] += reinfeccao
+                    ? estado[1] - infectados + 0.5 * taxaRecuperacao * incrementoTempo * (infectados + estado[1])
+                    : suscetiveis - estado[0];
+                if (estado[1] < HISTERESE * limiarInfectados) {
+                    arredondar(estado, aleatorio);
+                    deterministico = false;
+                }
+            } else {
+                passoGillespie(estado, tempo + incrementoTempo, tempo, aleatorio, contadores);
+                deterministico = estado[1] >= limiarInfectados;
+            }
+            observador.observar(passo + 1, (passo + 1) * incrementoTempo, estado);
+        }
+    }
+
+    // SSA exato de 'tempo' até 'fim': o evento que cairia além do passo é descartado, o que é
+    // exato pela falta de memória da exponencial (o próximo passo sorteia de novo)
+    private void passoGillespie(double[] estado, double fim, double tempo, SplittableRandom aleatorio,
+                                double[] contadores) {
+        double taxaPorContato = taxaTransmissao / populacao;
+        long suscetiveis = (long) estado[0];
+        long infectados = (long) estado[1];
+        long novasInfeccoes = 0;
+        long recuperacoes = 0;
+        while (infectados > 0) {
+            double taxaInfeccao = taxaPorContato * suscetiveis * infectados;
+            double taxaTotal = taxaInfeccao + taxaRecuperacao * infectados;
+            tempo -= Math.log(1.0 - aleatorio.nextDouble()) / taxaTotal;
+            if (tempo >= fim) {
+                break;
+            }
+            if (aleatorio.nextDouble() * taxaTotal < taxaInfeccao) {
+                suscetiveis--;
+                infectados++;
+                novasInfeccoes++;
+            } else {
+                infectados--;
+                recuperacoes++;
+                if (reinfeccao) {
+                    suscetiveis++;
+                }
+            }
+        }
+        estado[0] = suscetiveis;
+        estado[1] = infectados;
+        if (!reinfeccao) {
+            estado[2] += recuperacoes;
+        }
+        contadores[0] += novasInfeccoes;
+        contadores[1] += novasInfeccoes + recuperacoes;
+    }
+
+    // Arredondamento estocástico de I (e de S no SIR); o restante fecha a população
+    private void arredondar(double[] estado, SplittableRandom aleatorio) {
+        double infectados = arredondarEstocastico(estado[1], aleatorio);
+        estado[1] = infectados;
+        if (reinfeccao) {
+            estado[0] = populacao - infectados;
+        } else {
+            double suscetiveis = Math.min(arredondarEstocastico(estado[0], aleatorio), populacao - infectados);
+            estado[0] = suscetiveis;
+            estado[2] = populacao - suscetiveis - infectados;
+        }
+    }
+
+    // Para cima com probabilidade igual à parte fracionária: a média é o próprio valor
+    private static double arredondarEstocastico(double valor, SplittableRandom aleatorio) {
+        double inteiro = Math.floor(valor);
+        return aleatorio.nextDouble() < valor - inteiro ? inteiro + 1 : inteiro;
+    }
+}
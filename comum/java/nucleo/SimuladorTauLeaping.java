@@ -0,0 +1,162 @@
+package nucleo;
+
+import java.util.SplittableRandom;
+
+/**
+ * SIR/SIS estocástico aproximado por tau-leaping na forma cadeia-binomial, na
+ * mesma grade de passo fixo do RK4 (numeroPassos pontos, h = tMax/(n-1)). Em
+ * cada passo, com o estado do início do passo,
+ * novas infecções ~ Binomial(S, 1 - exp(-β·I/N·h)) e
+ * recuperações ~ Binomial(I, 1 - exp(-γ·h)),
+ * e os recuperados saem da dinâmica (SIR) ou voltam a S (SIS). Ao contrário
+ * dos incrementos de Poisson, os binomiais nunca tiram de um compartimento
+ * mais do que ele tem. O custo é de dois sorteios por passo
+ * ({@link AmostradorBinomial}), independente da população, então uma realização
+ * com milhões de indivíduos custa da ordem de uma integração RK4, onde o
+ * {@link SimuladorGillespie} exato faria um evento por infecção.
+ *
+ * O erro da aproximação vem de manter as taxas constantes dentro do passo:
+ * com h pequeno diante de 1/γ e 1/(β·S/N) as estatísticas coincidem com as do
+ * SSA. Ensembles usam os mesmos fluxos por realização do Gillespie
+ * ({@link EnsembleParalelo}): o resultado não depende do número de threads.
+ */
+public final class SimuladorTauLeaping {
+
+    private final long populacao;
+    private final double taxaTransmissao;
+    private final double taxaRecuperacao;
+    // SIS: o recuperado volta a suscetível; SIR: sai da dinâmica
+    private final boolean reinfeccao;
+    private final double tempoMaximo;
+    private final int numeroPassos;
+
+    private SimuladorTauLeaping(double populacao, double taxaTransmissao, double taxaRecuperacao, boolean reinfeccao,
+                                double tempoMaximo, int numeroPassos) {
+        if (!(populacao >= 1 && populacao <= Integer.MAX_VALUE)) {
+            throw new IllegalArgumentException("População fora do intervalo de indivíduos inteiros: " + populacao);
+        }
+        if (!(tempoMaximo > 0)) {
+            throw new IllegalArgumentException("Tempo máximo deve ser positivo: " + tempoMaximo);
+        }
+        if (numeroPassos < 2) {
+            throw new IllegalArgumentException("Número de passos deve ser >= 2: " + numeroPassos);
+        }
+        this.populacao = Math.round(populacao);
+        this.taxaTransmissao = taxaTransmissao;
+        this.taxaRecuperacao = taxaRecuperacao;
+        this.reinfeccao = reinfeccao;
+        this.tempoMaximo = tempoMaximo;
+        this.numeroPassos = numeroPassos;
+    }
+
+    // SIR com os parâmetros do modelo (N arredondado para inteiro), na grade de numeroPassos pontos
+    public static SimuladorTauLeaping sir(ModeloSIR modelo, double tempoMaximo, int numeroPassos) {
+        return new SimuladorTauLeaping(modelo.getPopulacaoTotal(), modelo.getTaxaTransmissao(),
+                                       modelo.getTaxaRecuperacao(), false, tempoMaximo, numeroPassos);
+    }
+
+    public static SimuladorTauLeaping sis(ModeloSIS modelo, double tempoMaximo, int numeroPassos) {
+        return new SimuladorTauLeaping(modelo.getPopulacaoTotal(), modelo.getTaxaTransmissao(),
+                                       modelo.getTaxaRecuperacao(), true, tempoMaximo, numeroPassos);
+    }
+
+    public long getPopulacao() {
+        return populacao;
+    }
+
+    // --- 1. Uma realização, com a mesma saída do RK4 ---
+    // estadoInicial = {S, I, R} (SIR) ou {S, I} (SIS), arredondado para inteiros
+    public Trajetoria realizacao(double[] estadoInicial, long semente) {
+        Trajetoria historico = Trajetoria.comGrade(estadoInicial.length, tempoMaximo, numeroPassos);
+        realizacao(estadoInicial, semente, (passo, tempo, estado) -> historico.definir(passo, estado));
+        return historico;
+    }
+
+    // Em fluxo: cada ponto da grade vai para o observador; retorna o estado final
+    public double[] realizacao(double[] estadoInicial, long semente, ObservadorTrajetoria observador) {
+        if (estadoInicial.length != (reinfeccao ? 2 : 3)) {
+            throw new IllegalArgumentException("Estado inicial com " + estadoInicial.length + " compartimentos");
+        }
+        SplittableRandom aleatorio = new SplittableRandom(semente);
+        double incrementoTempo = Integrador.incrementoTempo(tempoMaximo, numeroPassos);
+        double probabilidadeRecuperacao = -Math.expm1(-taxaRecuperacao * incrementoTempo);
+        double taxaPorContato = taxaTransmissao * incrementoTempo / populacao;
+        long suscetiveis = Math.round(estadoInicial[0]);
+        long infectados = Math.round(estadoInicial[1]);
+        double[] estado = new double[estadoInicial.length];
+        for (int i = 0; i < estado.length; i++) {
+            estado[i] = Math.round(estadoInicial[i]);
+        }
+
+        observador.observar(0, 0.0, estado);
+        for (int passo = 0; passo < numeroPassos - 1; passo++) {
+            long novasInfeccoes = AmostradorBinomial.binomial(aleatorio, suscetiveis,
+                                                              -Math.expm1(-taxaPorContato * infectados));
+            long recuperacoes = AmostradorBinomial.binomial(aleatorio, infectados, probabilidadeRecuperacao);
+            suscetiveis -= novasInfeccoes;
+            infectados += novasInfeccoes - recuperacoes;
+            if (reinfeccao) {
+                suscetiveis += recuperacoes;
+            } else {
+                estado[2] += recuperacoes;
+            }
+            estado[0] = suscetiveis;
+            estado[1] = infectados;
+            observador.observar(passo + 1, (passo + 1) * incrementoTempo, estado);
+            if (observador.interromper()) {
+                break;
+            }
+        }
+        return estado;
+    }
+
+    // --- 2. Ensemble paralelo (I(t) médio na grade de passos) ---
+    public ResultadoEnsemble executarEnsemble(int infectadosIniciais, int realizacoes, long semente, int numeroThreads) {
+        if (infectadosIniciais < 1 || infectadosIniciais > populacao) {
+            throw new IllegalArgumentException("Infectados iniciais fora de [1, N]: " + infectadosIniciais);
+        }
+        return EnsembleParalelo.executar(realizacoes, numeroPassos, tempoMaximo, semente, numeroThreads,
+            (aleatorio, indice, somaInfectados, destino) ->
+                realizacaoEnsemble(infectadosIniciais, aleatorio, indice, somaInfectados, destino));
+    }
+
+    // Laço enxuto da realização de ensemble: só contadores primitivos, para assim que I = 0
+    private void realizacaoEnsemble(int infectadosIniciais, SplittableRandom aleatorio, int indice,
+                                    long[] somaInfectados, ResultadoEnsemble resultado) {
+        double incrementoTempo = Integrador.incrementoTempo(tempoMaximo, numeroPassos);
+        double probabilidadeRecuperacao = -Math.expm1(-taxaRecuperacao * incrementoTempo);
+        double taxaPorContato = taxaTransmissao * incrementoTempo / populacao;
+        long suscetiveis = populacao - infectadosIniciais;
+        long infectados = infectadosIniciais;
+        long infeccoes = infectadosIniciais;
+        long pico = infectados;
+        double tempoPico = 0.0;
+        double tempoExtincao = Double.NaN;
+        long eventos = 0;
+
+        somaInfectados[0] += infectados;
+        for (int passo = 1; passo < numeroPassos; passo++) {
+            long novasInfeccoes = AmostradorBinomial.binomial(aleatorio, suscetiveis,
+                                                              -Math.expm1(-taxaPorContato * infectados));
+            long recuperacoes = AmostradorBinomial.binomial(aleatorio, infectados, probabilidadeRecuperacao);
+            suscetiveis -= novasInfeccoes;
+            infectados += novasInfeccoes - recuperacoes;
+            if (reinfeccao) {
+                suscetiveis += recuperacoes;
+            }
+            infeccoes += novasInfeccoes;
+            eventos += novasInfeccoes + recuperacoes;
+            somaInfectados[passo] += infectados;
+            if (infectados > pico) {
+                pico = infectados;
+                tempoPico = passo * incrementoTempo;
+            }
+            if (infectados == 0) {
+                tempoExtincao = passo * incrementoTempo;
+                break;
+            }
+        }
+        // Extinta: os pontos restantes ficam com I = 0 (nada a somar)
+        resultado.registrar(indice, (int) pico, tempoPico, infeccoes, tempoExtincao, eventos);
+    }
+}
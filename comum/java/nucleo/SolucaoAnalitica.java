@@ -0,0 +1,12 @@
+package nucleo;
+
+/**
+ * Modelo cuja trajetória tem forma fechada. O {@link Integrador} usa estes
+ * métodos no modo {@link MetodoIntegracao#ANALITICO}; modelos que não a
+ * implementam caem automaticamente na integração numérica (RK4).
+ */
+public interface SolucaoAnalitica extends PicoAnalitico {
+
+    // Escreve em 'destino' o estado exato no instante 'tempo', partindo de 'estadoInicial' em t = 0
+    void estadoEm(double tempo, double[] estadoInicial, double[] destino);
+}
@@ -0,0 +1,119 @@
+package nucleo;
+
+/**
+ * Preditor-corretor de Adams-Bashforth-Moulton de 4ª ordem (ABM4) com passo
+ * fixo, no modo PECE: prediz com Adams-Bashforth de 4 passos, avalia, corrige
+ * com Adams-Moulton de 3 passos e avalia de novo. As derivadas dos passos
+ * anteriores são reaproveitadas, então cada passo custa 2 avaliações de
+ * derivada contra 4 do RK4. Os três primeiros passos são dados com RK4. SIR e
+ * SIS usam o laço fundido dos kernels ({@link ModeloCompartimental#integrarABM4}).
+ *
+ * Segue a mesma convenção de passos do {@link Integrador}.
+ */
+public final class SolverAdamsBashforthMoulton {
+
+    // Passos dados com RK4 antes de haver histórico suficiente para o AB4
+    private static final int PASSOS_PARTIDA = 3;
+
+    private SolverAdamsBashforthMoulton() {
+    }
+
+    // --- 1. ABM4 com histórico completo (uma série contígua por compartimento) ---
+    public static Trajetoria integrar(ModeloCompartimental modelo, double[] estadoInicial,
+                                      double tempoMaximo, int numeroPassos) {
+        Trajetoria historico = Trajetoria.comGrade(modelo.numeroCompartimentos(), tempoMaximo, numeroPassos);
+        modelo.integrarABM4(estadoInicial.clone(), Integrador.incrementoTempo(tempoMaximo, numeroPassos), numeroPassos,
+                            historico);
+        return historico;
+    }
+
+    // --- 2. ABM4 sem histórico: retorna o estado final ---
+    public static double[] estadoFinal(ModeloCompartimental modelo, double[] estadoInicial,
+                                       double tempoMaximo, int numeroPassos) {
+        double[] estado = estadoInicial.clone();
+        modelo.integrarABM4(estado, Integrador.incrementoTempo(tempoMaximo, numeroPassos), numeroPassos, null);
+        return estado;
+    }
+
+    // --- 3. ABM4 sem histórico: retorna o pico do compartimento de infectados ---
+    public static double picoInfectados(ModeloCompartimental modelo, double[] estadoInicial,
+                                        double tempoMaximo, int numeroPassos) {
+        return modelo.integrarABM4(estadoInicial.clone(), Integrador.incrementoTempo(tempoMaximo, numeroPassos),
+                                   numeroPassos, null);
+    }
+
+    // --- 4. ABM4 em fluxo: cada ponto vai para o observador; retorna o estado final ---
+    // Usa o laço genérico (o observador recebe o vetor de estado a cada passo)
+    public static double[] integrar(ModeloCompartimental modelo, double[] estadoInicial, double tempoMaximo,
+                                    int numeroPassos, ObservadorTrajetoria observador) {
+        double[] estado = estadoInicial.clone();
+        integrarGenerico(modelo, estado, Integrador.incrementoTempo(tempoMaximo, numeroPassos), numeroPassos, observador);
+        return estado;
+    }
+
+    // --- 5. Laço PECE genérico: avança 'estado' no próprio lugar e retorna o pico de infectados ---
+    // Usado por modelos sem kernel fundido (ver ModeloCompartimental#integrarABM4)
+    static double integrarGenerico(ModeloCompartimental modelo, double[] estado, double h,
+                                   int numeroPassos, ObservadorTrajetoria observador) {
+        int n = modelo.numeroCompartimentos();
+        double[][] trabalho = Integrador.novaAreaTrabalhoRK4(modelo);
+
+        // Derivadas f_n, f_{n-1}, f_{n-2}, f_{n-3}; as referências giram a cada passo
+        double[] f0 = new double[n], f1 = new double[n], f2 = new double[n], f3 = new double[n];
+        double[] predito = new double[n], derivadaPredita = new double[n];
+
+        double pico = modelo.infectados(estado);
+        if (observador != null) {
+            observador.observar(0, 0.0, estado);
+        }
+
+        // Partida com RK4, guardando as derivadas em t_0..t_3
+        int partida = Math.min(PASSOS_PARTIDA, numeroPassos - 1);
+        modelo.derivada(0.0, estado, f3);
+        for (int passo = 0; passo < partida; passo++) {
+            modelo.passoRK4(passo * h, estado, h, trabalho);
+            pico = Math.max(pico, modelo.infectados(estado));
+            if (observador != null) {
+                observador.observar(passo + 1, (passo + 1) * h, estado);
+                if (observador.interromper()) {
+                    return pico;
+                }
+            }
+            double[] mais = passo == 0 ? f2 : passo == 1 ? f1 : f0;
+            modelo.derivada((passo + 1) * h, estado, mais);
+        }
+
+        for (int passo = partida; passo < numeroPassos - 1; passo++) {
+            double tempoNovo = (passo + 1) * h;
+
+            // P: Adams-Bashforth de 4 passos
+            for (int c = 0; c < n; c++) {
+                predito[c] = estado[c] + h * (55.0 * f0[c] - 59.0 * f1[c] + 37.0 * f2[c] - 9.0 * f3[c]) / 24.0;
+            }
+            // E
+            modelo.derivada(tempoNovo, predito, derivadaPredita);
+            // C: Adams-Moulton de 3 passos, sem valores negativos
+            for (int c = 0; c < n; c++) {
+                double novo = estado[c] + h * (9.0 * derivadaPredita[c] + 19.0 * f0[c] - 5.0 * f1[c] + f2[c]) / 24.0;
+                estado[c] = novo < 0 ? 0 : novo;
+            }
+
+            // E: a derivada mais antiga é descartada e seu vetor passa a guardar f_{n+1}
+            double[] descartada = f3;
+            f3 = f2;
+            f2 = f1;
+            f1 = f0;
+            f0 = descartada;
+            modelo.derivada(tempoNovo, estado, f0);
+
+            pico = Math.max(pico, modelo.infectados(estado));
+            if (observador != null) {
+                observador.observar(passo + 1, tempoNovo, estado);
+                if (observador.interromper()) {
+                    break;
+                }
+            }
+        }
+        return pico;
+    }
+}
@@ -0,0 +1,260 @@
+package nucleo;
+
+/**
+ * Solver embutido de Dormand-Prince 5(4) (RK45) com passo adaptativo. O erro
+ * local é estimado pela diferença entre as soluções de 5ª e 4ª ordem e o passo
+ * é ajustado para mantê-lo dentro de toleranciaAbsoluta + toleranciaRelativa*|y|.
+ * Usa a propriedade FSAL: a última derivada de um passo aceito é a primeira do
+ * seguinte, logo cada passo custa 6 avaliações de derivada.
+ */
+public final class SolverDormandPrince {
+
+    // Tabela de Butcher de Dormand-Prince
+    private static final double C2 = 1.0 / 5, C3 = 3.0 / 10, C4 = 4.0 / 5, C5 = 8.0 / 9;
+    private static final double A21 = 1.0 / 5;
+    private static final double A31 = 3.0 / 40, A32 = 9.0 / 40;
+    private static final double A41 = 44.0 / 45, A42 = -56.0 / 15, A43 = 32.0 / 9;
+    private static final double A51 = 19372.0 / 6561, A52 = -25360.0 / 2187, A53 = 64448.0 / 6561, A54 = -212.0 / 729;
+    private static final double A61 = 9017.0 / 3168, A62 = -355.0 / 33, A63 = 46732.0 / 5247, A64 = 49.0 / 176,
+                                A65 = -5103.0 / 18656;
+    private static final double B1 = 35.0 / 384, B3 = 500.0 / 1113, B4 = 125.0 / 192, B5 = -2187.0 / 6784, B6 = 11.0 / 84;
+
+    // Coeficientes do estimador de erro (5ª ordem - 4ª ordem)
+    private static final double E1 = 71.0 / 57600, E3 = -71.0 / 16695, E4 = 71.0 / 1920, E5 = -17253.0 / 339200,
+                                E6 = 22.0 / 525, E7 = -1.0 / 40;
+
+    // Saída densa de 4ª ordem (Hairer, Nørsett & Wanner, Seção II.6): y(t + θh) = y + h·Σ_i b_i(θ)·k_i,
+    // com b_i(θ) = Di1·θ + Di2·θ² + Di3·θ³ + Di4·θ⁴ (D11 = 1; k2 não entra; y'(t + h) = k7)
+    private static final double D12 = -8048581381.0 / 2820520608.0, D13 = 8663915743.0 / 2820520608.0,
+                                D14 = -12715105075.0 / 11282082432.0;
+    private static final double D32 = 131558114200.0 / 32700410799.0, D33 = -68118460800.0 / 10900136933.0,
+                                D34 = 87487479700.0 / 32700410799.0;
+    private static final double D42 = -1754552775.0 / 470086768.0, D43 = 14199869525.0 / 1410260304.0,
+                                D44 = -10690763975.0 / 1880347072.0;
+    private static final double D52 = 127303824393.0 / 49829197408.0, D53 = -318862633887.0 / 49829197408.0,
+                                D54 = 701980252875.0 / 199316789632.0;
+    private static final double D62 = -282668133.0 / 205662961.0, D63 = 2019193451.0 / 616988883.0,
+                                D64 = -1453857185.0 / 822651844.0;
+    private static final double D72 = 40617522.0 / 29380423.0, D73 = -110615467.0 / 29380423.0, D74 = 69997945.0 / 29380423.0;
+    // Bisseções na raiz de I'(θ): 2^-60 de um passo
+    private static final int BISSECOES_PICO = 60;
+
+    // Controle do passo
+    private static final double SEGURANCA = 0.9;
+    private static final double FATOR_MINIMO = 0.2;
+    private static final double FATOR_MAXIMO = 10.0;
+    private static final int MAXIMO_PASSOS = 10_000_000;
+
+    private SolverDormandPrince() {
+    }
+
+    // --- 1. Integração com histórico dos passos aceitos ---
+    public static ResultadoAdaptativo integrar(ModeloCompartimental modelo, double[] estadoInicial, double tempoMaximo,
+                                               double toleranciaRelativa, double toleranciaAbsoluta) {
+        ResultadoAdaptativo resultado = new ResultadoAdaptativo(modelo.numeroCompartimentos());
+        resultado.adicionar(0.0, estadoInicial);
+        executarNoLugar(modelo, estadoInicial.clone(), tempoMaximo, toleranciaRelativa, toleranciaAbsoluta, resultado, null);
+        return resultado;
+    }
+
+    // --- 2. Integração sem histórico: retorna o pico de infectados (refinado dentro do passo) ---
+    public static double picoInfectados(ModeloCompartimental modelo, double[] estadoInicial, double tempoMaximo,
+                                        double toleranciaRelativa, double toleranciaAbsoluta) {
+        return executarNoLugar(modelo, estadoInicial.clone(), tempoMaximo, toleranciaRelativa, toleranciaAbsoluta, null, null);
+    }
+
+    // --- 3. Integração sem histórico: retorna o estado final ---
+    public static double[] estadoFinal(ModeloCompartimental modelo, double[] estadoInicial, double tempoMaximo,
+                                       double toleranciaRelativa, double toleranciaAbsoluta) {
+        double[] estado = estadoInicial.clone();
+        executarNoLugar(modelo, estado, tempoMaximo, toleranciaRelativa, toleranciaAbsoluta, null, null);
+        return estado;
+    }
+
+    // --- 3b. Integração em fluxo: cada passo aceito vai para o observador; retorna o estado final ---
+    public static double[] integrar(ModeloCompartimental modelo, double[] estadoInicial, double tempoMaximo,
+                                    double toleranciaRelativa, double toleranciaAbsoluta,
+                                    ObservadorTrajetoria observador) {
+        double[] estado = estadoInicial.clone();
+        observador.observar(0, 0.0, estado);
+        executarNoLugar(modelo, estado, tempoMaximo, toleranciaRelativa, toleranciaAbsoluta, null, observador);
+        return estado;
+    }
+
+    // --- 4. Laço adaptativo: avança 'estado' no próprio lugar até tempoMaximo e retorna o pico de infectados ---
+    private static double executarNoLugar(ModeloCompartimental modelo, double[] estado, double tempoMaximo,
+                                          double toleranciaRelativa, double toleranciaAbsoluta,
+                                          ResultadoAdaptativo resultado, ObservadorTrajetoria observador) {
+        int n = modelo.numeroCompartimentos();
+        double[] k1 = new double[n], k2 = new double[n], k3 = new double[n], k4 = new double[n];
+        double[] k5 = new double[n], k6 = new double[n], k7 = new double[n];
+        double[] intermediario = new double[n], novoEstado = new double[n];
+
+        double tempo = 0.0;
+        double pico = modelo.infectados(estado);
+        int avaliacoes = 1;
+        modelo.derivada(tempo, estado, k1);
+        double passo = passoInicial(modelo, estado, k1, tempoMaximo, toleranciaRelativa, toleranciaAbsoluta,
+                                    intermediario, k2);
+        avaliacoes++;
+        int rejeitados = 0;
+        int passosAceitos = 0;
+
+        for (int iteracao = 0; tempo < tempoMaximo; iteracao++) {
+            if (iteracao >= MAXIMO_PASSOS) {
+                throw new IllegalStateException("Dormand-Prince excedeu " + MAXIMO_PASSOS + " passos (t = " + tempo + ")");
+            }
+            // O último passo termina exatamente em tempoMaximo
+            boolean ultimo = tempo + passo >= tempoMaximo;
+            double h = ultimo ? tempoMaximo - tempo : passo;
+
+            for (int c = 0; c < n; c++) intermediario[c] = estado[c] + h * A21 * k1[c];
+            modelo.derivada(tempo + C2 * h, intermediario, k2);
+            for (int c = 0; c < n; c++) intermediario[c] = estado[c] + h * (A31 * k1[c] + A32 * k2[c]);
+            modelo.derivada(tempo + C3 * h, intermediario, k3);
+            for (int c = 0; c < n; c++) intermediario[c] = estado[c] + h * (A41 * k1[c] + A42 * k2[c] + A43 * k3[c]);
+            modelo.derivada(tempo + C4 * h, intermediario, k4);
+            for (int c = 0; c < n; c++) {
+                intermediario[c] = estado[c] + h * (A51 * k1[c] + A52 * k2[c] + A53 * k3[c] + A54 * k4[c]);
+            }
+            modelo.derivada(tempo + C5 * h, intermediario, k5);
+            for (int c = 0; c < n; c++) {
+                intermediario[c] = estado[c] + h * (A61 * k1[c] + A62 * k2[c] + A63 * k3[c] + A64 * k4[c] + A65 * k5[c]);
+            }
+            modelo.derivada(tempo + h, intermediario, k6);
+            for (int c = 0; c < n; c++) {
+                novoEstado[c] = estado[c] + h * (B1 * k1[c] + B3 * k3[c] + B4 * k4[c] + B5 * k5[c] + B6 * k6[c]);
+            }
+            modelo.derivada(tempo + h, novoEstado, k7);
+            avaliacoes += 6;
+
+            // Norma RMS do erro local escalado pelas tolerâncias
+            double somaErro = 0.0;
+            for (int c = 0; c < n; c++) {
+                double escala = toleranciaAbsoluta + toleranciaRelativa * Math.max(Math.abs(estado[c]), Math.abs(novoEstado[c]));
+                double erro = h * (E1 * k1[c] + E3 * k3[c] + E4 * k4[c] + E5 * k5[c] + E6 * k6[c] + E7 * k7[c]) / escala;
+                somaErro += erro * erro;
+            }
+            double erroNormalizado = Math.sqrt(somaErro / n);
+
+            double fator = erroNormalizado == 0.0 ? FATOR_MAXIMO
+                : Math.min(FATOR_MAXIMO, Math.max(FATOR_MINIMO, SEGURANCA * Math.pow(erroNormalizado, -0.2)));
+
+            if (erroNormalizado <= 1.0) {
+                // Passo aceito: k7 = f(t+h, y_{n+1}) vira o k1 do próximo passo (FSAL)
+                // Se I passou por um máximo dentro do passo, localiza-o pela saída densa do próprio método
+                double derivadaInicio = modelo.infectados(k1), derivadaFim = modelo.infectados(k7);
+                if (derivadaInicio > 0 && derivadaFim <= 0) {
+                    double picoNoPasso = maximoSaidaDensa(modelo.infectados(estado), h, derivadaInicio,
+                        modelo.infectados(k3), modelo.infectados(k4), modelo.infectados(k5), modelo.infectados(k6),
+                        derivadaFim);
+                    if (picoNoPasso > pico) {
+                        pico = picoNoPasso;
+                    }
+                }
+                tempo = ultimo ? tempoMaximo : tempo + h;
+                System.arraycopy(novoEstado, 0, estado, 0, n);
+                double[] troca = k1;
+                k1 = k7;
+                k7 = troca;
+                pico = Math.max(pico, modelo.infectados(estado));
+                if (resultado != null) {
+                    resultado.adicionar(tempo, estado);
+                }
+                if (observador != null) {
+                    observador.observar(++passosAceitos, tempo, estado);
+                    if (observador.interromper()) {
+                        break;
+                    }
+                }
+                passo = h * fator;
+            } else {
+                rejeitados++;
+                passo = h * Math.min(1.0, fator);
+            }
+        }
+
+        if (resultado != null) {
+            resultado.passosRejeitados = rejeitados;
+            resultado.avaliacoesDerivada = avaliacoes;
+            resultado.getTrajetoria().compactar();
+        }
+        return pico;
+    }
+
+    // Máximo em [0, h] da saída densa de I (quártica em θ), dadas as derivadas de I nos estágios
+    // (f1 > 0 >= f7): bissecção na raiz de dI/dθ, que troca de sinal entre θ = 0 e θ = 1
+    private static double maximoSaidaDensa(double y0, double h, double f1, double f3, double f4, double f5,
+                                           double f6, double f7) {
+        double q1 = f1;
+        double q2 = D12 * f1 + D32 * f3 + D42 * f4 + D52 * f5 + D62 * f6 + D72 * f7;
+        double q3 = D13 * f1 + D33 * f3 + D43 * f4 + D53 * f5 + D63 * f6 + D73 * f7;
+        double q4 = D14 * f1 + D34 * f3 + D44 * f4 + D54 * f5 + D64 * f6 + D74 * f7;
+        double inferior = 0.0, superior = 1.0;
+        for (int k = 0; k < BISSECOES_PICO; k++) {
+            double theta = 0.5 * (inferior + superior);
+            if (q1 + theta * (2 * q2 + theta * (3 * q3 + theta * 4 * q4)) > 0) {
+                inferior = theta;
+            } else {
+                superior = theta;
+            }
+        }
+        double theta = 0.5 * (inferior + superior);
+        return y0 + h * theta * (q1 + theta * (q2 + theta * (q3 + theta * q4)));
+    }
+
+    // Máximo do polinômio cúbico de Hermite em [0, h] (valores y0, y1 e derivadas f0 > 0 >= f1 nos extremos)
+    static double maximoHermite(double y0, double y1, double f0, double f1, double h) {
+        // p'(θ)/h = a*θ² + b*θ + c, com θ = (t - t_n) / h
+        double a = 6.0 * (y0 - y1) + 3.0 * h * (f0 + f1);
+        double b = 6.0 * (y1 - y0) - h * (4.0 * f0 + 2.0 * f1);
+        double c = h * f0;
+        double theta;
+        if (Math.abs(a) < 1e-300) {
+            theta = -c / b;
+        } else {
+            double discriminante = Math.max(0.0, b * b - 4.0 * a * c);
+            double raiz = Math.sqrt(discriminante);
+            double thetaA = (-b - raiz) / (2.0 * a);
+            double thetaB = (-b + raiz) / (2.0 * a);
+            theta = (thetaA >= 0.0 && thetaA <= 1.0) ? thetaA : thetaB;
+        }
+        if (!(theta >= 0.0 && theta <= 1.0)) {
+            return Math.max(y0, y1);
+        }
+        double theta2 = theta * theta, theta3 = theta2 * theta;
+        return (2 * theta3 - 3 * theta2 + 1) * y0 + (theta3 - 2 * theta2 + theta) * h * f0
+             + (-2 * theta3 + 3 * theta2) * y1 + (theta3 - theta2) * h * f1;
+    }
+
+    // Estimativa do passo inicial (Hairer, Nørsett & Wanner, Seção II.4)
+    private static double passoInicial(ModeloCompartimental modelo, double[] estado, double[] derivadaInicial,
+                                       double tempoMaximo, double toleranciaRelativa, double toleranciaAbsoluta,
+                                       double[] auxiliarEstado, double[] auxiliarDerivada) {
+        int n = estado.length;
+        double d0 = 0.0, d1 = 0.0;
+        for (int c = 0; c < n; c++) {
+            double escala = toleranciaAbsoluta + toleranciaRelativa * Math.abs(estado[c]);
+            d0 += (estado[c] / escala) * (estado[c] / escala);
+            d1 += (derivadaInicial[c] / escala) * (derivadaInicial[c] / escala);
+        }
+        d0 = Math.sqrt(d0 / n);
+        d1 = Math.sqrt(d1 / n);
+        double h0 = (d0 < 1e-5 || d1 < 1e-5) ? 1e-6 : 0.01 * d0 / d1;
+        h0 = Math.min(h0, tempoMaximo);
+
+        for (int c = 0; c < n; c++) auxiliarEstado[c] = estado[c] + h0 * derivadaInicial[c];
+        modelo.derivada(h0, auxiliarEstado, auxiliarDerivada);
+        double d2 = 0.0;
+        for (int c = 0; c < n; c++) {
+            double escala = toleranciaAbsoluta + toleranciaRelativa * Math.abs(estado[c]);
+            double diferenca = (auxiliarDerivada[c] - derivadaInicial[c]) / escala;
+            d2 += diferenca * diferenca;
+        }
+        d2 = Math.sqrt(d2 / n) / h0;
+
+        double maior = Math.max(d1, d2);
+        double h1 = maior <= 1e-15 ? Math.max(1e-6, h0 * 1e-3) : Math.pow(0.01 / maior, 0.2);
+        return Math.min(Math.min(100 * h0, h1), tempoMaximo);
+    }
+}
@@ -0,0 +1,146 @@
+package nucleo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Integração paralela no tempo de uma única simulação pelo algoritmo Parareal.
+ * O horizonte é dividido em fatias; um propagador grosso G (RK4 com poucos
+ * passos por fatia) percorre o horizonte em sequência, e o propagador fino F
+ * (o RK4 da grade de numeroPassos pontos, o mesmo de
+ * {@link Integrador#integrarRK4}) roda em todas as fatias ao mesmo tempo, uma
+ * tarefa por fatia. A cada iteração os inícios das fatias são corrigidos por
+ * U_{k+1} = F(U_k) + G(U_k novo) - G(U_k antigo), até a maior correção
+ * relativa ficar abaixo da tolerância.
+ *
+ * Depois da iteração j as j primeiras fatias são exatas (bit a bit iguais ao
+ * RK4 sequencial) e deixam de ser refeitas; com K iterações e uma thread por
+ * fatia, o tempo fica perto de K/P do sequencial. Compensa em horizontes
+ * longos, quando K é bem menor que o número de fatias P.
+ */
+public final class SolverParareal {
+
+    // Correção relativa máxima (|ΔU| / (|U| + 1)) para considerar a iteração convergida
+    public static final double TOLERANCIA_PADRAO = 1e-9;
+
+    // |λ·h| do propagador grosso: preciso o bastante para poucas iterações, barato frente ao fino
+    private static final double PASSO_GROSSO_RELATIVO = 0.5;
+
+    private SolverParareal() {
+    }
+
+    // --- 1. Integração com tolerância padrão ---
+    public static ResultadoParareal integrar(ModeloCompartimental modelo, double[] estadoInicial, double tempoMaximo,
+                                             int numeroPassos, int numeroFatias, ExecutorService executor) {
+        return integrar(modelo, estadoInicial, tempoMaximo, numeroPassos, numeroFatias, TOLERANCIA_PADRAO, executor);
+    }
+
+    // --- 2. Integração: uma tarefa de 'executor' por fatia em cada iteração ---
+    public static ResultadoParareal integrar(ModeloCompartimental modelo, double[] estadoInicial, double tempoMaximo,
+                                             int numeroPassos, int numeroFatias, double tolerancia,
+                                             ExecutorService executor) {
+        int n = modelo.numeroCompartimentos();
+        int totalPassos = numeroPassos - 1;
+        double incrementoTempo = Integrador.incrementoTempo(tempoMaximo, numeroPassos);
+        Trajetoria historico = Trajetoria.comGrade(n, tempoMaximo, numeroPassos);
+        historico.definir(0, estadoInicial);
+        if (totalPassos < 1) {
+            return new ResultadoParareal(historico, 1, 0, 0.0);
+        }
+
+        // Fatia k cobre os passos finos [limites[k], limites[k + 1])
+        int fatias = Math.max(1, Math.min(numeroFatias, totalPassos));
+        int[] limites = new int[fatias + 1];
+        for (int k = 0; k <= fatias; k++) {
+            limites[k] = (int) ((long) k * totalPassos / fatias);
+        }
+        int passosGrossos = (int) Math.max(1, Math.ceil(Integrador.raioEspectral(modelo, estadoInicial)
+            * tempoMaximo / fatias / PASSO_GROSSO_RELATIVO));
+
+        // inicios[k]: estado no começo da fatia k; grossos[k] = G(inicios[k])
+        double[][] inicios = new double[fatias + 1][];
+        double[][] grossos = new double[fatias][];
+        double[][] trabalho = Integrador.novaAreaTrabalhoRK4(modelo);
+        inicios[0] = estadoInicial.clone();
+        for (int k = 0; k < fatias; k++) {
+            grossos[k] = propagarGrosso(modelo, inicios[k], limites[k], limites[k + 1], incrementoTempo,
+                                        passosGrossos, trabalho);
+            inicios[k + 1] = grossos[k].clone();
+        }
+
+        int exatas = 0;
+        int iteracoes = 0;
+        double correcao = Double.POSITIVE_INFINITY;
+        double[][] finos = new double[fatias][];
+        while (exatas < fatias && correcao > tolerancia) {
+            // F em paralelo nas fatias ainda não exatas, cada uma gravando sua parte do histórico
+            List<Future<double[]>> futuros = new ArrayList<>();
+            for (int k = exatas; k < fatias; k++) {
+                double[] inicio = inicios[k];
+                int primeiroPasso = limites[k], ultimoPasso = limites[k + 1];
+                futuros.add(executor.submit(() -> propagarFino(modelo, inicio, primeiroPasso, ultimoPasso,
+                                                               incrementoTempo, historico)));
+            }
+            try {
+                for (int k = exatas; k < fatias; k++) {
+                    finos[k] = futuros.get(k - exatas).get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Parareal interrompido", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Erro em uma fatia do Parareal", e.getCause());
+            }
+
+            // Correção sequencial: U_{k+1} = F(U_k) + (G(U_k novo) - G(U_k antigo)); na primeira
+            // fatia não exata G não muda, e a soma com zero mantém o resultado fino bit a bit
+            correcao = 0;
+            for (int k = exatas; k < fatias; k++) {
+                double[] grossoNovo = k == exatas ? grossos[k]
+                    : propagarGrosso(modelo, inicios[k], limites[k], limites[k + 1], incrementoTempo,
+                                     passosGrossos, trabalho);
+                double[] novoInicio = new double[n];
+                for (int c = 0; c < n; c++) {
+                    novoInicio[c] = finos[k][c] + (grossoNovo[c] - grossos[k][c]);
+                    correcao = Math.max(correcao,
+                        Math.abs(novoInicio[c] - inicios[k + 1][c]) / (Math.abs(novoInicio[c]) + 1.0));
+                }
+                grossos[k] = grossoNovo;
+                inicios[k + 1] = novoInicio;
+            }
+            exatas++;
+            iteracoes++;
+        }
+        return new ResultadoParareal(historico, fatias, iteracoes, exatas == fatias ? 0.0 : correcao);
+    }
+
+    // --- 3. Propagadores ---
+
+    // G: RK4 com 'passosGrossos' passos sobre a fatia [primeiroPasso, ultimoPasso) da grade fina
+    private static double[] propagarGrosso(ModeloCompartimental modelo, double[] inicio, int primeiroPasso,
+                                           int ultimoPasso, double incrementoTempo, int passosGrossos,
+                                           double[][] trabalho) {
+        double[] estado = inicio.clone();
+        double tempoInicial = primeiroPasso * incrementoTempo;
+        double incrementoGrosso = (ultimoPasso - primeiroPasso) * incrementoTempo / passosGrossos;
+        for (int passo = 0; passo < passosGrossos; passo++) {
+            modelo.passoRK4(tempoInicial + passo * incrementoGrosso, estado, incrementoGrosso, trabalho);
+        }
+        return estado;
+    }
+
+    // F: os mesmos passos RK4 do integrador sequencial, gravando os pontos da fatia no histórico
+    private static double[] propagarFino(ModeloCompartimental modelo, double[] inicio, int primeiroPasso,
+                                         int ultimoPasso, double incrementoTempo, Trajetoria historico) {
+        double[] estado = inicio.clone();
+        double[][] trabalho = Integrador.novaAreaTrabalhoRK4(modelo);
+        for (int passo = primeiroPasso; passo < ultimoPasso; passo++) {
+            modelo.passoRK4(passo * incrementoTempo, estado, incrementoTempo, trabalho);
+            historico.definir(passo + 1, estado);
+        }
+        return estado;
+    }
+}
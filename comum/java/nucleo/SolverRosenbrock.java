@@ -0,0 +1,251 @@
+package nucleo;
+
+/**
+ * Solver de Rosenbrock linearmente implícito de 4ª ordem com estimador de erro
+ * de 3ª ordem e passo adaptativo (parâmetros de Shampine, 1982), para regimes
+ * rígidos (taxas de transmissão e recuperação muito grandes diante do horizonte
+ * de tempo). É A-estável: o passo é limitado pela precisão pedida, não pela
+ * estabilidade, ao contrário do RK4 e do Dormand-Prince.
+ *
+ * Cada passo resolve quatro sistemas lineares com a mesma matriz
+ * (I/(γ·h) - J), fatorada uma única vez por LU, onde J é o jacobiano do modelo
+ * ({@link ModeloCompartimental#jacobiano}; analítico no SIR e no SIS), e custa
+ * 3 avaliações de derivada. Não há anulação de valores negativos: o controle
+ * de erro já os evita.
+ */
+public final class SolverRosenbrock {
+
+    // Parâmetros de Shampine (modelos autônomos: sem os termos em df/dt)
+    private static final double GAMA = 1.0 / 2;
+    private static final double A21 = 2.0, A31 = 48.0 / 25, A32 = 6.0 / 25;
+    private static final double C21 = -8.0, C31 = 372.0 / 25, C32 = 12.0 / 5;
+    private static final double C41 = -112.0 / 125, C42 = -54.0 / 125, C43 = -2.0 / 5;
+    private static final double B1 = 19.0 / 9, B2 = 1.0 / 2, B3 = 25.0 / 108, B4 = 125.0 / 108;
+    private static final double E1 = 17.0 / 54, E2 = 7.0 / 36, E3 = 0.0, E4 = 125.0 / 108;
+    private static final double A2X = 1.0, A3X = 3.0 / 5;
+
+    // Controle do passo (erro de 3ª ordem: expoente 1/4 para crescer, 1/3 para reduzir)
+    private static final double SEGURANCA = 0.9;
+    private static final double FATOR_MINIMO = 0.2;
+    private static final double FATOR_MAXIMO = 5.0;
+    private static final int MAXIMO_PASSOS = 10_000_000;
+
+    private SolverRosenbrock() {
+    }
+
+    // --- 1. Integração com histórico dos passos aceitos ---
+    public static ResultadoAdaptativo integrar(ModeloCompartimental modelo, double[] estadoInicial, double tempoMaximo,
+                                               double toleranciaRelativa, double toleranciaAbsoluta) {
+        ResultadoAdaptativo resultado = new ResultadoAdaptativo(modelo.numeroCompartimentos());
+        resultado.adicionar(0.0, estadoInicial);
+        executarNoLugar(modelo, estadoInicial.clone(), tempoMaximo, toleranciaRelativa, toleranciaAbsoluta, resultado, null);
+        return resultado;
+    }
+
+    // --- 2. Integração sem histórico: retorna o pico de infectados (refinado dentro do passo) ---
+    public static double picoInfectados(ModeloCompartimental modelo, double[] estadoInicial, double tempoMaximo,
+                                        double toleranciaRelativa, double toleranciaAbsoluta) {
+        return executarNoLugar(modelo, estadoInicial.clone(), tempoMaximo, toleranciaRelativa, toleranciaAbsoluta, null, null);
+    }
+
+    // --- 3. Integração sem histórico: retorna o estado final ---
+    public static double[] estadoFinal(ModeloCompartimental modelo, double[] estadoInicial, double tempoMaximo,
+                                       double toleranciaRelativa, double toleranciaAbsoluta) {
+        double[] estado = estadoInicial.clone();
+        executarNoLugar(modelo, estado, tempoMaximo, toleranciaRelativa, toleranciaAbsoluta, null, null);
+        return estado;
+    }
+
+    // --- 3b. Integração em fluxo: cada passo aceito vai para o observador; retorna o estado final ---
+    public static double[] integrar(ModeloCompartimental modelo, double[] estadoInicial, double tempoMaximo,
+                                    double toleranciaRelativa, double toleranciaAbsoluta,
+                                    ObservadorTrajetoria observador) {
+        double[] estado = estadoInicial.clone();
+        observador.observar(0, 0.0, estado);
+        executarNoLugar(modelo, estado, tempoMaximo, toleranciaRelativa, toleranciaAbsoluta, null, observador);
+        return estado;
+    }
+
+    // --- 4. Laço adaptativo: avança 'estado' no próprio lugar até tempoMaximo e retorna o pico de infectados ---
+    private static double executarNoLugar(ModeloCompartimental modelo, double[] estado, double tempoMaximo,
+                                          double toleranciaRelativa, double toleranciaAbsoluta,
+                                          ResultadoAdaptativo resultado, ObservadorTrajetoria observador) {
+        int n = modelo.numeroCompartimentos();
+        double[][] jacobiano = new double[n][n];
+        double[][] matriz = new double[n][n];
+        int[] pivos = new int[n];
+        double[] derivadaAtual = new double[n], derivadaNova = new double[n];
+        double[] g1 = new double[n], g2 = new double[n], g3 = new double[n], g4 = new double[n];
+        double[] intermediario = new double[n], derivadaEstagio = new double[n], novoEstado = new double[n];
+
+        double tempo = 0.0;
+        double pico = modelo.infectados(estado);
+        modelo.derivada(tempo, estado, derivadaAtual);
+        int avaliacoes = 1;
+        int rejeitados = 0;
+        int passosAceitos = 0;
+        double passo = passoInicial(estado, derivadaAtual, tempoMaximo, toleranciaRelativa, toleranciaAbsoluta);
+
+        for (int iteracao = 0; tempo < tempoMaximo; iteracao++) {
+            if (iteracao >= MAXIMO_PASSOS) {
+                throw new IllegalStateException("Rosenbrock excedeu " + MAXIMO_PASSOS + " passos (t = " + tempo + ")");
+            }
+            // O último passo termina exatamente em tempoMaximo
+            boolean ultimo = tempo + passo >= tempoMaximo;
+            double h = ultimo ? tempoMaximo - tempo : passo;
+
+            // M = I/(γ·h) - J, fatorada uma vez para os quatro estágios
+            modelo.jacobiano(tempo, estado, jacobiano);
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    matriz[i][j] = (i == j ? 1.0 / (GAMA * h) : 0.0) - jacobiano[i][j];
+                }
+            }
+            fatorarLU(matriz, pivos);
+
+            // M·g1 = f(y)
+            System.arraycopy(derivadaAtual, 0, g1, 0, n);
+            resolverLU(matriz, pivos, g1);
+
+            // M·g2 = f(y + a21·g1) + c21·g1/h
+            for (int c = 0; c < n; c++) intermediario[c] = estado[c] + A21 * g1[c];
+            modelo.derivada(tempo + A2X * h, intermediario, g2);
+            for (int c = 0; c < n; c++) g2[c] += C21 * g1[c] / h;
+            resolverLU(matriz, pivos, g2);
+
+            // M·g3 = f(y + a31·g1 + a32·g2) + (c31·g1 + c32·g2)/h
+            for (int c = 0; c < n; c++) intermediario[c] = estado[c] + A31 * g1[c] + A32 * g2[c];
+            modelo.derivada(tempo + A3X * h, intermediario, derivadaEstagio);
+            for (int c = 0; c < n; c++) g3[c] = derivadaEstagio[c] + (C31 * g1[c] + C32 * g2[c]) / h;
+            resolverLU(matriz, pivos, g3);
+
+            // M·g4 = f(y + a31·g1 + a32·g2) + (c41·g1 + c42·g2 + c43·g3)/h (reusa a derivada do 3º estágio)
+            for (int c = 0; c < n; c++) g4[c] = derivadaEstagio[c] + (C41 * g1[c] + C42 * g2[c] + C43 * g3[c]) / h;
+            resolverLU(matriz, pivos, g4);
+            avaliacoes += 2;
+
+            // y_{n+1} = y + b1·g1 + b2·g2 + b3·g3 + b4·g4 ; erro = e1·g1 + e2·g2 + e3·g3 + e4·g4
+            double somaErro = 0.0;
+            for (int c = 0; c < n; c++) {
+                novoEstado[c] = estado[c] + B1 * g1[c] + B2 * g2[c] + B3 * g3[c] + B4 * g4[c];
+                double escala = toleranciaAbsoluta + toleranciaRelativa * Math.max(Math.abs(estado[c]), Math.abs(novoEstado[c]));
+                double erro = (E1 * g1[c] + E2 * g2[c] + E3 * g3[c] + E4 * g4[c]) / escala;
+                somaErro += erro * erro;
+            }
+            double erroNormalizado = Math.sqrt(somaErro / n);
+
+            if (erroNormalizado <= 1.0) {
+                double fator = erroNormalizado == 0.0 ? FATOR_MAXIMO
+                    : Math.min(FATOR_MAXIMO, SEGURANCA * Math.pow(erroNormalizado, -0.25));
+                modelo.derivada(tempo + h, novoEstado, derivadaNova);
+                avaliacoes++;
+                // Se I passou por um máximo dentro do passo, localiza-o pelo interpolante de Hermite
+                double derivadaInicio = modelo.infectados(derivadaAtual), derivadaFim = modelo.infectados(derivadaNova);
+                if (derivadaInicio > 0 && derivadaFim <= 0) {
+                    double picoNoPasso = SolverDormandPrince.maximoHermite(modelo.infectados(estado),
+                        modelo.infectados(novoEstado), derivadaInicio, derivadaFim, h);
+                    if (picoNoPasso > pico) {
+                        pico = picoNoPasso;
+                    }
+                }
+                tempo = ultimo ? tempoMaximo : tempo + h;
+                System.arraycopy(novoEstado, 0, estado, 0, n);
+                double[] troca = derivadaAtual;
+                derivadaAtual = derivadaNova;
+                derivadaNova = troca;
+                pico = Math.max(pico, modelo.infectados(estado));
+                if (resultado != null) {
+                    resultado.adicionar(tempo, estado);
+                }
+                if (observador != null) {
+                    observador.observar(++passosAceitos, tempo, estado);
+                    if (observador.interromper()) {
+                        break;
+                    }
+                }
+                passo = h * fator;
+            } else {
+                rejeitados++;
+                passo = h * Math.max(FATOR_MINIMO, SEGURANCA * Math.pow(erroNormalizado, -1.0 / 3));
+            }
+        }
+
+        if (resultado != null) {
+            resultado.passosRejeitados = rejeitados;
+            resultado.avaliacoesDerivada = avaliacoes;
+            resultado.getTrajetoria().compactar();
+        }
+        return pico;
+    }
+
+    // Passo inicial: 1% da escala de tempo |y| / |f(y)|, medida nas tolerâncias
+    private static double passoInicial(double[] estado, double[] derivada, double tempoMaximo,
+                                       double toleranciaRelativa, double toleranciaAbsoluta) {
+        int n = estado.length;
+        double d0 = 0.0, d1 = 0.0;
+        for (int c = 0; c < n; c++) {
+            double escala = toleranciaAbsoluta + toleranciaRelativa * Math.abs(estado[c]);
+            d0 += (estado[c] / escala) * (estado[c] / escala);
+            d1 += (derivada[c] / escala) * (derivada[c] / escala);
+        }
+        double h0 = (d0 < 1e-10 || d1 < 1e-10) ? 1e-6 : 0.01 * Math.sqrt(d0 / d1);
+        return Math.min(h0, tempoMaximo);
+    }
+
+    // Fatoração LU no próprio lugar com pivoteamento parcial (n pequeno: sem alocação)
+    private static void fatorarLU(double[][] matriz, int[] pivos) {
+        int n = matriz.length;
+        for (int k = 0; k < n; k++) {
+            int linhaPivo = k;
+            for (int i = k + 1; i < n; i++) {
+                if (Math.abs(matriz[i][k]) > Math.abs(matriz[linhaPivo][k])) {
+                    linhaPivo = i;
+                }
+            }
+            pivos[k] = linhaPivo;
+            if (linhaPivo != k) {
+                double[] troca = matriz[k];
+                matriz[k] = matriz[linhaPivo];
+                matriz[linhaPivo] = troca;
+            }
+            double diagonal = matriz[k][k];
+            if (diagonal == 0.0) {
+                throw new ArithmeticException("Matriz de Rosenbrock singular");
+            }
+            for (int i = k + 1; i < n; i++) {
+                double multiplicador = matriz[i][k] / diagonal;
+                matriz[i][k] = multiplicador;
+                for (int j = k + 1; j < n; j++) {
+                    matriz[i][j] -= multiplicador * matriz[k][j];
+                }
+            }
+        }
+    }
+
+    // Resolve L·U·x = b no próprio vetor b
+    private static void resolverLU(double[][] matriz, int[] pivos, double[] b) {
+        int n = matriz.length;
+        // As linhas inteiras (inclusive os multiplicadores de L) foram trocadas na fatoração,
+        // então todas as permutações são aplicadas a b antes da substituição
+        for (int k = 0; k < n; k++) {
+            int linhaPivo = pivos[k];
+            if (linhaPivo != k) {
+                double troca = b[k];
+                b[k] = b[linhaPivo];
+                b[linhaPivo] = troca;
+            }
+        }
+        for (int k = 0; k < n; k++) {
+            for (int i = k + 1; i < n; i++) {
+                b[i] -= matriz[i][k] * b[k];
+            }
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            double soma = b[i];
+            for (int j = i + 1; j < n; j++) {
+                soma -= matriz[i][j] * b[j];
+            }
+            b[i] = soma / matriz[i][i];
+        }
+    }
+}
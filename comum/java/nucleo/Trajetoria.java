@@ -0,0 +1,181 @@
+package nucleo;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Série temporal de um modelo compartimental em estrutura de vetores (SoA): um
+ * único {@code double[]} contíguo para os instantes e um para cada
+ * compartimento, em vez de um {@code double[]} pequeno por ponto. Com 50 000
+ * pontos isso são 4 vetores (SIR) em vez de 50 000 objetos, metade da memória,
+ * e laços como a soma dos blocos do SIRParalelo percorrem memória contígua.
+ *
+ * É a saída de todos os solvers e dos métodos RMI. Grades fixas são criadas
+ * já com os instantes preenchidos ({@link #comGrade}); os solvers adaptativos
+ * acrescentam pontos com {@link #adicionar}, e a capacidade cresce por
+ * duplicação.
+ */
+public final class Trajetoria implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+    private static final int CAPACIDADE_INICIAL = 64;
+
+    private final int numeroCompartimentos;
+    private double[] tempos;
+    // valores[compartimento][ponto]
+    private double[][] valores;
+    private int tamanho;
+
+    // Trajetória vazia, que cresce a cada ponto adicionado
+    public Trajetoria(int numeroCompartimentos) {
+        this(numeroCompartimentos, CAPACIDADE_INICIAL);
+    }
+
+    // Trajetória vazia com capacidade reservada para 'capacidade' pontos
+    public Trajetoria(int numeroCompartimentos, int capacidade) {
+        this.numeroCompartimentos = numeroCompartimentos;
+        this.tempos = new double[capacidade];
+        this.valores = new double[numeroCompartimentos][capacidade];
+    }
+
+    // Grade da convenção de passos do projeto: numeroPassos pontos t_i = i·h, estados zerados
+    public static Trajetoria comGrade(int numeroCompartimentos, double tempoMaximo, int numeroPassos) {
+        Trajetoria trajetoria = new Trajetoria(numeroCompartimentos, numeroPassos);
+        double incrementoTempo = Integrador.incrementoTempo(tempoMaximo, numeroPassos);
+        for (int ponto = 0; ponto < numeroPassos; ponto++) {
+            trajetoria.tempos[ponto] = ponto * incrementoTempo;
+        }
+        trajetoria.tamanho = numeroPassos;
+        return trajetoria;
+    }
+
+    // Instantes quaisquer (cópia de 'tempos'), estados zerados
+    public static Trajetoria comInstantes(int numeroCompartimentos, double[] tempos) {
+        Trajetoria trajetoria = new Trajetoria(numeroCompartimentos, tempos.length);
+        System.arraycopy(tempos, 0, trajetoria.tempos, 0, tempos.length);
+        trajetoria.tamanho = tempos.length;
+        return trajetoria;
+    }
+
+    // --- 1. Escrita ---
+
+    // Acrescenta um ponto (cópia do estado) ao fim da série
+    public void adicionar(double tempo, double[] estado) {
+        if (tamanho == tempos.length) {
+            int novaCapacidade = Math.max(CAPACIDADE_INICIAL, tamanho * 2);
+            tempos = Arrays.copyOf(tempos, novaCapacidade);
+            for (int c = 0; c < numeroCompartimentos; c++) {
+                valores[c] = Arrays.copyOf(valores[c], novaCapacidade);
+            }
+        }
+        tempos[tamanho] = tempo;
+        definir(tamanho, estado);
+        tamanho++;
+    }
+
+    // Grava o estado no ponto já existente 'ponto'
+    public void definir(int ponto, double[] estado) {
+        for (int c = 0; c < numeroCompartimentos; c++) {
+            valores[c][ponto] = estado[c];
+        }
+    }
+
+    // Soma, ponto a ponto, os compartimentos de outra trajetória com a mesma grade
+    public void somar(Trajetoria outra) {
+        somar(outra, 1.0);
+    }
+
+    // Soma 'fator' vezes outra trajetória (ex.: um bloco que representa vários blocos equivalentes)
+    public void somar(Trajetoria outra, double fator) {
+        if (outra.tamanho != tamanho || outra.numeroCompartimentos != numeroCompartimentos) {
+            throw new IllegalArgumentException("Trajetórias com grades diferentes: " + tamanho + "x"
+                + numeroCompartimentos + " e " + outra.tamanho + "x" + outra.numeroCompartimentos);
+        }
+        for (int c = 0; c < numeroCompartimentos; c++) {
+            double[] destino = valores[c], origem = outra.valores[c];
+            for (int ponto = 0; ponto < tamanho; ponto++) {
+                destino[ponto] += fator * origem[ponto];
+            }
+        }
+    }
+
+    // Libera a capacidade excedente (ex.: antes de serializar o resultado de um solver adaptativo)
+    public void compactar() {
+        if (tamanho < tempos.length) {
+            tempos = Arrays.copyOf(tempos, tamanho);
+            for (int c = 0; c < numeroCompartimentos; c++) {
+                valores[c] = Arrays.copyOf(valores[c], tamanho);
+            }
+        }
+    }
+
+    // Vetor interno de um compartimento, para os kernels gravarem sem cópia
+    double[] serieInterna(int compartimento) {
+        return valores[compartimento];
+    }
+
+    // --- 2. Leitura ---
+
+    public int tamanho() {
+        return tamanho;
+    }
+
+    public int numeroCompartimentos() {
+        return numeroCompartimentos;
+    }
+
+    public double tempo(int ponto) {
+        return tempos[ponto];
+    }
+
+    public double valor(int compartimento, int ponto) {
+        return valores[compartimento][ponto];
+    }
+
+    // Acessores nomeados (ordem {S, I, R} do SIR e {S, I} do SIS)
+    public double suscetiveis(int ponto) {
+        return valores[0][ponto];
+    }
+
+    public double infectados(int ponto) {
+        return valores[1][ponto];
+    }
+
+    public double recuperados(int ponto) {
+        return valores[2][ponto];
+    }
+
+    // Cópia do estado em um ponto
+    public double[] estado(int ponto) {
+        double[] estado = new double[numeroCompartimentos];
+        for (int c = 0; c < numeroCompartimentos; c++) {
+            estado[c] = valores[c][ponto];
+        }
+        return estado;
+    }
+
+    public double[] estadoFinal() {
+        return estado(tamanho - 1);
+    }
+
+    // Cópias dos vetores contíguos (apenas os 'tamanho' pontos válidos)
+    public double[] tempos() {
+        return Arrays.copyOf(tempos, tamanho);
+    }
+
+    public double[] serie(int compartimento) {
+        return Arrays.copyOf(valores[compartimento], tamanho);
+    }
+
+    // Maior valor de um compartimento na série
+    public double maximo(int compartimento) {
+        double[] serie = valores[compartimento];
+        double maximo = Double.NEGATIVE_INFINITY;
+        for (int ponto = 0; ponto < tamanho; ponto++) {
+            if (serie[ponto] > maximo) {
+                maximo = serie[ponto];
+            }
+        }
+        return maximo;
+    }
+}
@@ -0,0 +1,353 @@
+package nucleo.vetorial;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import nucleo.KernelLote;
+import nucleo.KernelLoteEscalar;
+import nucleo.Precisao;
+
+/**
+ * {@link KernelLote} com a Vector API (jdk.incubator.vector): cada pista de um
+ * {@code DoubleVector} é um cenário, e os estágios do RK4 fundido de
+ * KernelSIR/KernelSIS são aplicados a todas as pistas de uma vez, na mesma
+ * ordem de operações (sem FMA), de modo que o resultado é idêntico ao
+ * escalar. Como no {@link KernelLoteEscalar}, blocos de
+ * {@link #GRUPOS_POR_BLOCO} registradores avançam em passo travado para
+ * sobrepor as cadeias de dependência; as pistas que sobram no fim da faixa
+ * vão para o escalar. Em precisão simples, um {@code FloatVector} leva o dobro
+ * de cenários por registrador.
+ *
+ * Compilar e executar com {@code --add-modules jdk.incubator.vector}; sem o
+ * módulo, {@link KernelLote#melhorDisponivel()} usa a implementação escalar.
+ */
+public final class KernelLoteVetorial implements KernelLote {
+
+    private static final VectorSpecies<Double> ESPECIE = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Float> ESPECIE_SIMPLES = FloatVector.SPECIES_PREFERRED;
+    // Registradores independentes por passo (4 x 8 pistas = 32 cenários com AVX-512)
+    private static final int GRUPOS_POR_BLOCO = 4;
+
+    public KernelLoteVetorial() {
+    }
+
+    // --- 1. SIR: {S, I, R} de ESPECIE.length() cenários por registrador ---
+    @Override
+    public void integrarSIR(double populacaoTotal, double taxaRecuperacao, double[] taxasTransmissao,
+                            double[] suscetiveis, double[] infectados, double[] recuperados,
+                            double incrementoTempo, int numeroPassos, double[] picos, int inicio, int fim) {
+        int largura = ESPECIE.length();
+        int limiteVetorial = inicio + (fim - inicio) / largura * largura;
+        double[] taxasPorContato = taxasPorContato(taxasTransmissao, populacaoTotal, inicio, limiteVetorial);
+        DoubleVector h = DoubleVector.broadcast(ESPECIE, incrementoTempo);
+        DoubleVector gama = DoubleVector.broadcast(ESPECIE, taxaRecuperacao);
+
+        for (int bloco = inicio; bloco < limiteVetorial; bloco += GRUPOS_POR_BLOCO * largura) {
+            int fimBloco = Math.min(limiteVetorial, bloco + GRUPOS_POR_BLOCO * largura);
+            System.arraycopy(infectados, bloco, picos, bloco, fimBloco - bloco);
+
+            for (int passo = 0; passo < numeroPassos - 1; passo++) {
+                for (int c = bloco; c < fimBloco; c += largura) {
+                    DoubleVector taxaPorContato = DoubleVector.fromArray(ESPECIE, taxasPorContato, c - inicio);
+                    DoubleVector s = DoubleVector.fromArray(ESPECIE, suscetiveis, c);
+                    DoubleVector i = DoubleVector.fromArray(ESPECIE, infectados, c);
+                    DoubleVector r = DoubleVector.fromArray(ESPECIE, recuperados, c);
+
+                    // k1 = h * f(y)
+                    DoubleVector novasInfeccoes = taxaPorContato.mul(s).mul(i);
+                    DoubleVector novasRecuperacoes = gama.mul(i);
+                    DoubleVector k1S = novasInfeccoes.neg().mul(h);
+                    DoubleVector k1I = novasInfeccoes.sub(novasRecuperacoes).mul(h);
+                    DoubleVector k1R = novasRecuperacoes.mul(h);
+
+                    // k2 = h * f(y + k1/2)
+                    DoubleVector sK = s.add(k1S.mul(0.5));
+                    DoubleVector iK = i.add(k1I.mul(0.5));
+                    novasInfeccoes = taxaPorContato.mul(sK).mul(iK);
+                    novasRecuperacoes = gama.mul(iK);
+                    DoubleVector k2S = novasInfeccoes.neg().mul(h);
+                    DoubleVector k2I = novasInfeccoes.sub(novasRecuperacoes).mul(h);
+                    DoubleVector k2R = novasRecuperacoes.mul(h);
+
+                    // k3 = h * f(y + k2/2)
+                    sK = s.add(k2S.mul(0.5));
+                    iK = i.add(k2I.mul(0.5));
+                    novasInfeccoes = taxaPorContato.mul(sK).mul(iK);
+                    novasRecuperacoes = gama.mul(iK);
+                    DoubleVector k3S = novasInfeccoes.neg().mul(h);
+                    DoubleVector k3I = novasInfeccoes.sub(novasRecuperacoes).mul(h);
+                    DoubleVector k3R = novasRecuperacoes.mul(h);
+
+                    // k4 = h * f(y + k3)
+                    sK = s.add(k3S);
+                    iK = i.add(k3I);
+                    novasInfeccoes = taxaPorContato.mul(sK).mul(iK);
+                    novasRecuperacoes = gama.mul(iK);
+                    DoubleVector k4S = novasInfeccoes.neg().mul(h);
+                    DoubleVector k4I = novasInfeccoes.sub(novasRecuperacoes).mul(h);
+                    DoubleVector k4R = novasRecuperacoes.mul(h);
+
+                    // y_{i+1} = y_i + 1/6 * (k1 + 2*k2 + 2*k3 + k4), sem valores negativos
+                    s = s.add(k1S.add(k2S.mul(2.0)).add(k3S.mul(2.0)).add(k4S).div(6.0));
+                    i = i.add(k1I.add(k2I.mul(2.0)).add(k3I.mul(2.0)).add(k4I).div(6.0));
+                    r = r.add(k1R.add(k2R.mul(2.0)).add(k3R.mul(2.0)).add(k4R).div(6.0));
+                    // Equivale a 'x < 0 ? 0 : x' e 'if (I > pico) pico = I' pista a pista (blends
+                    // escritos em linha: em métodos auxiliares o C2 nem sempre elimina os objetos)
+                    s = s.blend(0.0, s.compare(VectorOperators.LT, 0.0));
+                    i = i.blend(0.0, i.compare(VectorOperators.LT, 0.0));
+                    r = r.blend(0.0, r.compare(VectorOperators.LT, 0.0));
+                    DoubleVector pico = DoubleVector.fromArray(ESPECIE, picos, c);
+                    pico = pico.blend(i, i.compare(VectorOperators.GT, pico));
+                    s.intoArray(suscetiveis, c);
+                    i.intoArray(infectados, c);
+                    r.intoArray(recuperados, c);
+                    pico.intoArray(picos, c);
+                }
+            }
+        }
+
+        KernelLoteEscalar.instancia().integrarSIR(populacaoTotal, taxaRecuperacao, taxasTransmissao,
+            suscetiveis, infectados, recuperados, incrementoTempo, numeroPassos, picos, limiteVetorial, fim);
+    }
+
+    // --- 2. SIS: {S, I}, com o fluxo líquido S -> I de cada estágio ---
+    @Override
+    public void integrarSIS(double populacaoTotal, double taxaRecuperacao, double[] taxasTransmissao,
+                            double[] suscetiveis, double[] infectados,
+                            double incrementoTempo, int numeroPassos, double[] picos, int inicio, int fim) {
+        int largura = ESPECIE.length();
+        int limiteVetorial = inicio + (fim - inicio) / largura * largura;
+        double[] taxasPorContato = taxasPorContato(taxasTransmissao, populacaoTotal, inicio, limiteVetorial);
+        DoubleVector h = DoubleVector.broadcast(ESPECIE, incrementoTempo);
+        DoubleVector gama = DoubleVector.broadcast(ESPECIE, taxaRecuperacao);
+
+        for (int bloco = inicio; bloco < limiteVetorial; bloco += GRUPOS_POR_BLOCO * largura) {
+            int fimBloco = Math.min(limiteVetorial, bloco + GRUPOS_POR_BLOCO * largura);
+            System.arraycopy(infectados, bloco, picos, bloco, fimBloco - bloco);
+
+            for (int passo = 0; passo < numeroPassos - 1; passo++) {
+                for (int c = bloco; c < fimBloco; c += largura) {
+                    DoubleVector taxaPorContato = DoubleVector.fromArray(ESPECIE, taxasPorContato, c - inicio);
+                    DoubleVector s = DoubleVector.fromArray(ESPECIE, suscetiveis, c);
+                    DoubleVector i = DoubleVector.fromArray(ESPECIE, infectados, c);
+
+                    DoubleVector k1 = taxaPorContato.mul(s).mul(i).sub(gama.mul(i)).mul(h);
+
+                    DoubleVector sK = s.sub(k1.mul(0.5));
+                    DoubleVector iK = i.add(k1.mul(0.5));
+                    DoubleVector k2 = taxaPorContato.mul(sK).mul(iK).sub(gama.mul(iK)).mul(h);
+
+                    sK = s.sub(k2.mul(0.5));
+                    iK = i.add(k2.mul(0.5));
+                    DoubleVector k3 = taxaPorContato.mul(sK).mul(iK).sub(gama.mul(iK)).mul(h);
+
+                    sK = s.sub(k3);
+                    iK = i.add(k3);
+                    DoubleVector k4 = taxaPorContato.mul(sK).mul(iK).sub(gama.mul(iK)).mul(h);
+
+                    DoubleVector fluxo = k1.add(k2.mul(2.0)).add(k3.mul(2.0)).add(k4).div(6.0);
+                    s = s.sub(fluxo);
+                    i = i.add(fluxo);
+                    // Sem valores negativos e pico pista a pista, como no escalar
+                    s = s.blend(0.0, s.compare(VectorOperators.LT, 0.0));
+                    i = i.blend(0.0, i.compare(VectorOperators.LT, 0.0));
+                    DoubleVector pico = DoubleVector.fromArray(ESPECIE, picos, c);
+                    pico = pico.blend(i, i.compare(VectorOperators.GT, pico));
+                    s.intoArray(suscetiveis, c);
+                    i.intoArray(infectados, c);
+                    pico.intoArray(picos, c);
+                }
+            }
+        }
+
+        KernelLoteEscalar.instancia().integrarSIS(populacaoTotal, taxaRecuperacao, taxasTransmissao,
+            suscetiveis, infectados, incrementoTempo, numeroPassos, picos, limiteVetorial, fim);
+    }
+
+    // beta/N de cada cenário da faixa [inicio, fim), calculado uma vez
+    private static double[] taxasPorContato(double[] taxasTransmissao, double populacaoTotal, int inicio, int fim) {
+        double[] taxasPorContato = new double[Math.max(0, fim - inicio)];
+        for (int c = inicio; c < fim; c++) {
+            taxasPorContato[c - inicio] = taxasTransmissao[c] / populacaoTotal;
+        }
+        return taxasPorContato;
+    }
+
+    // --- 3. SIR em precisão simples: o dobro de cenários por registrador ---
+    // Atualização com soma compensada (Kahan), pista a pista como no KernelLoteEscalar
+    @Override
+    public void integrarSIR(float populacaoTotal, float taxaRecuperacao, float[] taxasTransmissao,
+                            float[] suscetiveis, float[] infectados, float[] recuperados,
+                            float incrementoTempo, int numeroPassos, float[] picos, int inicio, int fim) {
+        int largura = ESPECIE_SIMPLES.length();
+        int limiteVetorial = inicio + (fim - inicio) / largura * largura;
+        float[] taxasPorContato = taxasPorContato(taxasTransmissao, populacaoTotal, inicio, limiteVetorial);
+        float[] compensacaoS = new float[taxasPorContato.length];
+        float[] compensacaoI = new float[taxasPorContato.length];
+        float[] compensacaoR = new float[taxasPorContato.length];
+        FloatVector h = FloatVector.broadcast(ESPECIE_SIMPLES, incrementoTempo);
+        FloatVector gama = FloatVector.broadcast(ESPECIE_SIMPLES, taxaRecuperacao);
+
+        for (int bloco = inicio; bloco < limiteVetorial; bloco += GRUPOS_POR_BLOCO * largura) {
+            int fimBloco = Math.min(limiteVetorial, bloco + GRUPOS_POR_BLOCO * largura);
+            System.arraycopy(infectados, bloco, picos, bloco, fimBloco - bloco);
+
+            for (int passo = 0; passo < numeroPassos - 1; passo++) {
+                for (int c = bloco; c < fimBloco; c += largura) {
+                    FloatVector taxaPorContato = FloatVector.fromArray(ESPECIE_SIMPLES, taxasPorContato, c - inicio);
+                    FloatVector s = FloatVector.fromArray(ESPECIE_SIMPLES, suscetiveis, c);
+                    FloatVector i = FloatVector.fromArray(ESPECIE_SIMPLES, infectados, c);
+                    FloatVector r = FloatVector.fromArray(ESPECIE_SIMPLES, recuperados, c);
+
+                    // k1 = h * f(y)
+                    FloatVector novasInfeccoes = taxaPorContato.mul(s).mul(i);
+                    FloatVector novasRecuperacoes = gama.mul(i);
+                    FloatVector k1S = novasInfeccoes.neg().mul(h);
+                    FloatVector k1I = novasInfeccoes.sub(novasRecuperacoes).mul(h);
+                    FloatVector k1R = novasRecuperacoes.mul(h);
+
+                    // k2 = h * f(y + k1/2)
+                    FloatVector sK = s.add(k1S.mul(0.5f));
+                    FloatVector iK = i.add(k1I.mul(0.5f));
+                    novasInfeccoes = taxaPorContato.mul(sK).mul(iK);
+                    novasRecuperacoes = gama.mul(iK);
+                    FloatVector k2S = novasInfeccoes.neg().mul(h);
+                    FloatVector k2I = novasInfeccoes.sub(novasRecuperacoes).mul(h);
+                    FloatVector k2R = novasRecuperacoes.mul(h);
+
+                    // k3 = h * f(y + k2/2)
+                    sK = s.add(k2S.mul(0.5f));
+                    iK = i.add(k2I.mul(0.5f));
+                    novasInfeccoes = taxaPorContato.mul(sK).mul(iK);
+                    novasRecuperacoes = gama.mul(iK);
+                    FloatVector k3S = novasInfeccoes.neg().mul(h);
+                    FloatVector k3I = novasInfeccoes.sub(novasRecuperacoes).mul(h);
+                    FloatVector k3R = novasRecuperacoes.mul(h);
+
+                    // k4 = h * f(y + k3)
+                    sK = s.add(k3S);
+                    iK = i.add(k3I);
+                    novasInfeccoes = taxaPorContato.mul(sK).mul(iK);
+                    novasRecuperacoes = gama.mul(iK);
+                    FloatVector k4S = novasInfeccoes.neg().mul(h);
+                    FloatVector k4I = novasInfeccoes.sub(novasRecuperacoes).mul(h);
+                    FloatVector k4R = novasRecuperacoes.mul(h);
+
+                    // y_{i+1} = y_i + 1/6 * (k1 + 2*k2 + 2*k3 + k4) - compensação do passo anterior
+                    FloatVector incrementoS = k1S.add(k2S.mul(2.0f)).add(k3S.mul(2.0f)).add(k4S).div(6.0f)
+                        .sub(FloatVector.fromArray(ESPECIE_SIMPLES, compensacaoS, c - inicio));
+                    FloatVector incrementoI = k1I.add(k2I.mul(2.0f)).add(k3I.mul(2.0f)).add(k4I).div(6.0f)
+                        .sub(FloatVector.fromArray(ESPECIE_SIMPLES, compensacaoI, c - inicio));
+                    FloatVector incrementoR = k1R.add(k2R.mul(2.0f)).add(k3R.mul(2.0f)).add(k4R).div(6.0f)
+                        .sub(FloatVector.fromArray(ESPECIE_SIMPLES, compensacaoR, c - inicio));
+                    FloatVector novoS = s.add(incrementoS);
+                    FloatVector novoI = i.add(incrementoI);
+                    FloatVector novoR = r.add(incrementoR);
+                    novoS.sub(s).sub(incrementoS).intoArray(compensacaoS, c - inicio);
+                    novoI.sub(i).sub(incrementoI).intoArray(compensacaoI, c - inicio);
+                    novoR.sub(r).sub(incrementoR).intoArray(compensacaoR, c - inicio);
+                    s = novoS;
+                    i = novoI;
+                    r = novoR;
+                    // Sem valores negativos e pico pista a pista, como no double
+                    s = s.blend(0.0f, s.compare(VectorOperators.LT, 0.0f));
+                    i = i.blend(0.0f, i.compare(VectorOperators.LT, 0.0f));
+                    r = r.blend(0.0f, r.compare(VectorOperators.LT, 0.0f));
+                    FloatVector pico = FloatVector.fromArray(ESPECIE_SIMPLES, picos, c);
+                    pico = pico.blend(i, i.compare(VectorOperators.GT, pico));
+                    s.intoArray(suscetiveis, c);
+                    i.intoArray(infectados, c);
+                    r.intoArray(recuperados, c);
+                    pico.intoArray(picos, c);
+                }
+            }
+        }
+
+        KernelLoteEscalar.instancia().integrarSIR(populacaoTotal, taxaRecuperacao, taxasTransmissao,
+            suscetiveis, infectados, recuperados, incrementoTempo, numeroPassos, picos, limiteVetorial, fim);
+    }
+
+    // --- 4. SIS em precisão simples, também com soma compensada ---
+    @Override
+    public void integrarSIS(float populacaoTotal, float taxaRecuperacao, float[] taxasTransmissao,
+                            float[] suscetiveis, float[] infectados,
+                            float incrementoTempo, int numeroPassos, float[] picos, int inicio, int fim) {
+        int largura = ESPECIE_SIMPLES.length();
+        int limiteVetorial = inicio + (fim - inicio) / largura * largura;
+        float[] taxasPorContato = taxasPorContato(taxasTransmissao, populacaoTotal, inicio, limiteVetorial);
+        float[] compensacaoS = new float[taxasPorContato.length];
+        float[] compensacaoI = new float[taxasPorContato.length];
+        FloatVector h = FloatVector.broadcast(ESPECIE_SIMPLES, incrementoTempo);
+        FloatVector gama = FloatVector.broadcast(ESPECIE_SIMPLES, taxaRecuperacao);
+
+        for (int bloco = inicio; bloco < limiteVetorial; bloco += GRUPOS_POR_BLOCO * largura) {
+            int fimBloco = Math.min(limiteVetorial, bloco + GRUPOS_POR_BLOCO * largura);
+            System.arraycopy(infectados, bloco, picos, bloco, fimBloco - bloco);
+
+            for (int passo = 0; passo < numeroPassos - 1; passo++) {
+                for (int c = bloco; c < fimBloco; c += largura) {
+                    FloatVector taxaPorContato = FloatVector.fromArray(ESPECIE_SIMPLES, taxasPorContato, c - inicio);
+                    FloatVector s = FloatVector.fromArray(ESPECIE_SIMPLES, suscetiveis, c);
+                    FloatVector i = FloatVector.fromArray(ESPECIE_SIMPLES, infectados, c);
+
+                    FloatVector k1 = taxaPorContato.mul(s).mul(i).sub(gama.mul(i)).mul(h);
+
+                    FloatVector sK = s.sub(k1.mul(0.5f));
+                    FloatVector iK = i.add(k1.mul(0.5f));
+                    FloatVector k2 = taxaPorContato.mul(sK).mul(iK).sub(gama.mul(iK)).mul(h);
+
+                    sK = s.sub(k2.mul(0.5f));
+                    iK = i.add(k2.mul(0.5f));
+                    FloatVector k3 = taxaPorContato.mul(sK).mul(iK).sub(gama.mul(iK)).mul(h);
+
+                    sK = s.sub(k3);
+                    iK = i.add(k3);
+                    FloatVector k4 = taxaPorContato.mul(sK).mul(iK).sub(gama.mul(iK)).mul(h);
+
+                    FloatVector fluxo = k1.add(k2.mul(2.0f)).add(k3.mul(2.0f)).add(k4).div(6.0f);
+                    FloatVector incrementoS = fluxo.neg().sub(FloatVector.fromArray(ESPECIE_SIMPLES, compensacaoS, c - inicio));
+                    FloatVector incrementoI = fluxo.sub(FloatVector.fromArray(ESPECIE_SIMPLES, compensacaoI, c - inicio));
+                    FloatVector novoS = s.add(incrementoS);
+                    FloatVector novoI = i.add(incrementoI);
+                    novoS.sub(s).sub(incrementoS).intoArray(compensacaoS, c - inicio);
+                    novoI.sub(i).sub(incrementoI).intoArray(compensacaoI, c - inicio);
+                    s = novoS;
+                    i = novoI;
+                    // Sem valores negativos e pico pista a pista, como no escalar
+                    s = s.blend(0.0f, s.compare(VectorOperators.LT, 0.0f));
+                    i = i.blend(0.0f, i.compare(VectorOperators.LT, 0.0f));
+                    FloatVector pico = FloatVector.fromArray(ESPECIE_SIMPLES, picos, c);
+                    pico = pico.blend(i, i.compare(VectorOperators.GT, pico));
+                    s.intoArray(suscetiveis, c);
+                    i.intoArray(infectados, c);
+                    pico.intoArray(picos, c);
+                }
+            }
+        }
+
+        KernelLoteEscalar.instancia().integrarSIS(populacaoTotal, taxaRecuperacao, taxasTransmissao,
+            suscetiveis, infectados, incrementoTempo, numeroPassos, picos, limiteVetorial, fim);
+    }
+
+    // beta/N em precisão simples
+    private static float[] taxasPorContato(float[] taxasTransmissao, float populacaoTotal, int inicio, int fim) {
+        float[] taxasPorContato = new float[Math.max(0, fim - inicio)];
+        for (int c = inicio; c < fim; c++) {
+            taxasPorContato[c - inicio] = taxasTransmissao[c] / populacaoTotal;
+        }
+        return taxasPorContato;
+    }
+
+    @Override
+    public int largura(Precisao precisao) {
+        return precisao == Precisao.SIMPLES ? ESPECIE_SIMPLES.length() : ESPECIE.length();
+    }
+
+    @Override
+    public String descricao() {
+        return "Vector API (" + ESPECIE.length() + " pistas de double ou " + ESPECIE_SIMPLES.length()
+            + " de float, " + GRUPOS_POR_BLOCO + " registradores por bloco)";
+    }
+}
@@ -40,9 +40,24 @@ if (-not (Test-Path $BUILD_DIR)) {
     New-Item -ItemType Directory -Path $BUILD_DIR | Out-Null
 }
 
+Write-Host "      - Nucleo (modelos e motor de integracao)..." -ForegroundColor Gray
+cd "$ROOT\comum\java"
+javac -encoding UTF-8 -d "$BUILD_DIR" nucleo/*.java 2>&1 | Out-Null
+if ($LASTEXITCODE -ne 0) {
+    Write-Host "      ERRO ao compilar Nucleo" -ForegroundColor Red
+    exit 1
+}
+
+# Kernel em lote com a Vector API (opcional: sem ele o KernelLote usa a versao escalar)
+Write-Host "      - Nucleo vetorial (jdk.incubator.vector)..." -ForegroundColor Gray
+javac -encoding UTF-8 --add-modules jdk.incubator.vector -cp "$BUILD_DIR" -d "$BUILD_DIR" nucleo/vetorial/*.java 2>&1 | Out-Null
+if ($LASTEXITCODE -ne 0) {
+    Write-Host "      Vector API indisponivel: usando o kernel em lote escalar" -ForegroundColor DarkYellow
+}
+
 Write-Host "      - SIR..." -ForegroundColor Gray
 cd "$ROOT\SIR\java"
-javac -d "$BUILD_DIR" SIRSequencial.java SIRParalelo.java 2>&1 | Out-Null
+javac -cp "$BUILD_DIR" -d "$BUILD_DIR" SIRSequencial.java SIRParalelo.java SIREtario.java SIRMetapopulacao.java SIREstocastico.java SIRRede.java 2>&1 | Out-Null
 if ($LASTEXITCODE -ne 0) {
     Write-Host "      ERRO ao compilar SIR" -ForegroundColor Red
     exit 1
@@ -50,7 +65,7 @@ if ($LASTEXITCODE -ne 0) {
 
 Write-Host "      - SIS..." -ForegroundColor Gray
 cd "$ROOT\SIS\java"
-javac -d "$BUILD_DIR" SISSequencial.java SISParalelo.java 2>&1 | Out-Null
+javac -cp "$BUILD_DIR" -d "$BUILD_DIR" SISSequencial.java SISParalelo.java SISEtario.java SISMetapopulacao.java SISEstocastico.java SISRede.java 2>&1 | Out-Null
 if ($LASTEXITCODE -ne 0) {
     Write-Host "      ERRO ao compilar SIS" -ForegroundColor Red
     exit 1
@@ -58,9 +73,9 @@ if ($LASTEXITCODE -ne 0) {
 
 Write-Host "      - Cenarios..." -ForegroundColor Gray
 cd "$ROOT\SIR\java"
-javac -d "$BUILD_DIR" cenarios/*.java 2>&1 | Out-Null
+javac -cp "$BUILD_DIR" -d "$BUILD_DIR" cenarios/*.java 2>&1 | Out-Null
 cd "$ROOT\SIS\java"
-javac -d "$BUILD_DIR" cenarios/*.java 2>&1 | Out-Null
+javac -cp "$BUILD_DIR" -d "$BUILD_DIR" cenarios/*.java 2>&1 | Out-Null
 
 Write-Host "      - Benchmark..." -ForegroundColor Gray
 cd "$ROOT\benchmarks"
@@ -72,6 +87,13 @@ if ($LASTEXITCODE -ne 0) {
     exit 1
 }
 
+Write-Host "      - Benchmark Kernels..." -ForegroundColor Gray
+javac -encoding UTF-8 -cp "$BUILD_DIR" -d "$BUILD_DIR" BenchmarksKernels.java 2>&1 | Out-Null
+if ($LASTEXITCODE -ne 0) {
+    Write-Host "      ERRO ao compilar BenchmarksKernels" -ForegroundColor Red
+    exit 1
+}
+
 Write-Host "      - Benchmark Distribuido..." -ForegroundColor Gray
 javac -encoding UTF-8 -cp "$BUILD_DIR;..\SIR\java;..\SIS\java" -d "$BUILD_DIR" BenchmarksDistribuidoCompleto.java 2>&1 | Out-Null
 if ($LASTEXITCODE -ne 0) {
@@ -81,9 +103,9 @@ if ($LASTEXITCODE -ne 0) {
 
 Write-Host "      - Modelos Distribuidos (RMI)..." -ForegroundColor Gray
 cd "$ROOT\SIR\java\distribuido"
-javac -d "$BUILD_DIR" *.java 2>&1 | Out-Null
+javac -cp "$BUILD_DIR" -d "$BUILD_DIR" *.java 2>&1 | Out-Null
 cd "$ROOT\SIS\java\distribuido"
-javac -d "$BUILD_DIR" *.java 2>&1 | Out-Null
+javac -cp "$BUILD_DIR" -d "$BUILD_DIR" *.java 2>&1 | Out-Null
 
 Write-Host "      Concluido" -ForegroundColor Green
 
@@ -93,7 +115,7 @@ Write-Host "      Concluido" -ForegroundColor Green
 Write-Host "[3/7] Executando benchmarks locais..." -ForegroundColor Yellow
 
 cd "$ROOT\benchmarks"
-java -cp "$BUILD_DIR;..\SIR\java;..\SIS\java" Benchmarks
+java --add-modules jdk.incubator.vector -cp "$BUILD_DIR;..\SIR\java;..\SIS\java" Benchmarks
 
 if ($LASTEXITCODE -ne 0) {
     Write-Host "      ERRO durante execucao dos benchmarks" -ForegroundColor Red